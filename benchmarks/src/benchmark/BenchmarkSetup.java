@@ -0,0 +1,101 @@
+package benchmark;
+
+import core.Component;
+import core.Entity;
+import core.game.ECSManagment;
+import core.level.elements.ILevel;
+import core.systems.LevelSystem;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared setup of the benchmarks.
+ *
+ * <p>The benchmarks run headless: no window, no GPU, and no {@link com.badlogic.gdx.Gdx} context.
+ * Only the parts of the engine that do not need these are measured.
+ */
+final class BenchmarkSetup {
+
+  /** Marker components to build entities and filters with; see {@link #filter(int)}. */
+  static final List<Class<? extends Component>> COMPONENTS =
+      List.of(C0.class, C1.class, C2.class, C3.class, C4.class, C5.class);
+
+  private BenchmarkSetup() {}
+
+  /**
+   * Reset the game state and turn off logging.
+   *
+   * <p>The ECS logs each added, removed, and changed entity; the logging would dominate the
+   * measurements.
+   */
+  static void reset() {
+    Logger.getLogger("").setLevel(Level.OFF);
+    ECSManagment.removeAllSystems();
+    ECSManagment.removeAllEntities();
+  }
+
+  /**
+   * Load the given level as the current level.
+   *
+   * <p>Adds a {@link LevelSystem} without painter, so the level will not be drawn.
+   *
+   * @param level Level to load.
+   */
+  static void loadLevel(final ILevel level) {
+    LevelSystem levelSystem = new LevelSystem(null, null, () -> {});
+    ECSManagment.add(levelSystem);
+    levelSystem.loadLevel(level);
+  }
+
+  /**
+   * Create an entity with the marker components of the given bit mask and add it to the game.
+   *
+   * @param mask Bit i set means the entity gets the i-th of the {@link #COMPONENTS}.
+   * @return The created entity.
+   */
+  static Entity entity(int mask) {
+    Entity entity = new Entity();
+    if ((mask & 1) != 0) entity.add(new C0());
+    if ((mask & 2) != 0) entity.add(new C1());
+    if ((mask & 4) != 0) entity.add(new C2());
+    if ((mask & 8) != 0) entity.add(new C3());
+    if ((mask & 16) != 0) entity.add(new C4());
+    if ((mask & 32) != 0) entity.add(new C5());
+    ECSManagment.add(entity);
+    return entity;
+  }
+
+  /**
+   * Get the filter of the {@link #COMPONENTS} in the given bit mask.
+   *
+   * @param mask Bit i set means the filter contains the i-th of the {@link #COMPONENTS}.
+   * @return Filter rules for an {@link core.utils.EntitySystemMapper}.
+   */
+  static Set<Class<? extends Component>> filter(int mask) {
+    Set<Class<? extends Component>> filter = new HashSet<>();
+    for (int i = 0; i < COMPONENTS.size(); i++)
+      if ((mask & (1 << i)) != 0) filter.add(COMPONENTS.get(i));
+    return filter;
+  }
+
+  /** Marker component. */
+  static final class C0 implements Component {}
+
+  /** Marker component. */
+  static final class C1 implements Component {}
+
+  /** Marker component. */
+  static final class C2 implements Component {}
+
+  /** Marker component. */
+  static final class C3 implements Component {}
+
+  /** Marker component. */
+  static final class C4 implements Component {}
+
+  /** Marker component. */
+  static final class C5 implements Component {}
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import contrib.components.CollideComponent;
+import contrib.systems.CollisionSystem;
+import core.Entity;
+import core.components.PositionComponent;
+import core.game.ECSManagment;
+import core.utils.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link CollisionSystem#execute()} in a crowded arena.
+ *
+ * <p>The colliders are placed randomly (with a fixed seed) in a square arena with about one
+ * collider per tile, so many hit boxes overlap. One execution of the system is one frame of the
+ * game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+  private static final float SPEED = 0.05f;
+
+  /** Number of entities with a {@link CollideComponent}. */
+  @Param({"300", "2000"})
+  public int colliders;
+
+  private final CollisionSystem system = new CollisionSystem();
+  private PositionComponent[] positions;
+  private float[] velocities;
+  private float arena;
+
+  /** Create the arena. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    ECSManagment.add(system);
+    Random random = new Random(42);
+    arena = (float) Math.sqrt(colliders);
+    positions = new PositionComponent[colliders];
+    velocities = new float[2 * colliders];
+    for (int i = 0; i < colliders; i++) {
+      Entity entity = new Entity();
+      positions[i] = new PositionComponent(random.nextFloat() * arena, random.nextFloat() * arena);
+      entity.add(positions[i]);
+      entity.add(new CollideComponent());
+      ECSManagment.add(entity);
+      velocities[2 * i] = (random.nextFloat() * 2 - 1) * SPEED;
+      velocities[2 * i + 1] = (random.nextFloat() * 2 - 1) * SPEED;
+    }
+    // the first execution fills the broadphase grid
+    system.execute();
+  }
+
+  /** Execute the system while no entity moves. */
+  @Benchmark
+  public void executeStatic() {
+    system.execute();
+  }
+
+  /** Move every entity a bit (bouncing off the walls of the arena) and execute the system. */
+  @Benchmark
+  public void executeMoving() {
+    for (int i = 0; i < positions.length; i++) {
+      Point position = positions[i].position();
+      float x = position.x + velocities[2 * i];
+      float y = position.y + velocities[2 * i + 1];
+      if (x < 0 || x > arena) velocities[2 * i] = -velocities[2 * i];
+      if (y < 0 || y > arena) velocities[2 * i + 1] = -velocities[2 * i + 1];
+      positions[i].position(new Point(x, y));
+    }
+    system.execute();
+  }
+}
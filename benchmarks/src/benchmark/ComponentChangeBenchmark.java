@@ -0,0 +1,70 @@
+package benchmark;
+
+import core.Entity;
+import core.game.ECSManagment;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link Entity#add(core.Component)} and {@link Entity#remove(Class)} of entities in
+ * the game.
+ *
+ * <p>Each change calls {@link ECSManagment#informAboutChanges(Entity, Class)}, so the mappers of
+ * the game are updated (component churn, e.g., picking up items or changing the AI state). The
+ * costs of a change should not depend on the number of entities in the game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComponentChangeBenchmark {
+
+  /** Number of entities in the game. */
+  @Param({"100", "1000", "10000"})
+  public int entities;
+
+  /** Number of mappers (systems with different filters) in the game. */
+  @Param({"1", "10", "50"})
+  public int systems;
+
+  private Entity[] changed;
+  private int next = 0;
+
+  /** Create the entities and the mappers. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    for (int i = 0; i < systems; i++)
+      ECSManagment.entitySystemMapper(BenchmarkSetup.filter(i % 63 + 1));
+    changed = new Entity[entities];
+    // the changed component (C5) is not part of the masks
+    for (int i = 0; i < entities; i++) changed[i] = BenchmarkSetup.entity(i % 32);
+  }
+
+  /** Add a component to an entity and remove it again. */
+  @Benchmark
+  public void addAndRemove() {
+    Entity entity = changed[next];
+    next = (next + 1) % changed.length;
+    entity.add(new BenchmarkSetup.C5());
+    entity.remove(BenchmarkSetup.C5.class);
+  }
+
+  /**
+   * Add an entity to the game and remove it again.
+   *
+   * @return The added and removed entity.
+   */
+  @Benchmark
+  public Entity addAndRemoveEntity() {
+    Entity entity = BenchmarkSetup.entity(next++ & 63);
+    ECSManagment.remove(entity);
+    return entity;
+  }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import core.Component;
+import core.game.ECSManagment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ECSManagment#entityStream()} and {@link ECSManagment#entityStream(Set)}.
+ *
+ * <p>Each entity gets a combination of marker components. Each "system" is an {@link
+ * core.utils.EntitySystemMapper} with a different filter, like the mappers created by the systems
+ * of the game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityStreamBenchmark {
+
+  /** Number of entities in the game. */
+  @Param({"100", "1000", "10000"})
+  public int entities;
+
+  /** Number of mappers (systems with different filters) in the game. */
+  @Param({"1", "10", "50"})
+  public int systems;
+
+  private final List<Set<Class<? extends Component>>> filters = new ArrayList<>();
+
+  /** Create the entities and the mappers. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    filters.clear();
+    for (int i = 0; i < systems; i++) {
+      // 63 different non-empty filters of the six marker components
+      Set<Class<? extends Component>> filter = BenchmarkSetup.filter(i % 63 + 1);
+      filters.add(filter);
+      ECSManagment.entitySystemMapper(filter);
+    }
+    for (int i = 0; i < entities; i++) BenchmarkSetup.entity(i % 64);
+  }
+
+  /**
+   * Iterate over all entities.
+   *
+   * @param blackhole Consumes the entities.
+   */
+  @Benchmark
+  public void allEntities(final Blackhole blackhole) {
+    ECSManagment.entityStream().forEach(blackhole::consume);
+  }
+
+  /**
+   * Iterate over the entities of each mapper, like one frame of the game with each system executed
+   * once.
+   *
+   * @param blackhole Consumes the entities.
+   */
+  @Benchmark
+  public void filteredEntities(final Blackhole blackhole) {
+    for (Set<Class<? extends Component>> filter : filters)
+      ECSManagment.entityStream(filter).forEach(blackhole::consume);
+  }
+}
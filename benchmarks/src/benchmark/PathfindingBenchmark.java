@@ -0,0 +1,84 @@
+package benchmark;
+
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.elements.tile.FloorTile;
+import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelSize;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ILevel#findPath(Tile, Tile)} on levels of the {@link RandomWalkGenerator}.
+ *
+ * <p>The paths are searched between {@link #PAIRS} random pairs of floor tiles (with a fixed seed).
+ * The {@link RandomWalkGenerator} itself is not seeded, so the levels differ between runs; compare
+ * the results of several forks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathfindingBenchmark {
+  private static final int PAIRS = 64;
+
+  /** Size of the generated level. */
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public LevelSize size;
+
+  private final Tile[] starts = new Tile[PAIRS];
+  private final Tile[] ends = new Tile[PAIRS];
+  private ILevel level;
+  private int next = 0;
+
+  /** Generate the level and choose the start and end tiles. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    level = new RandomWalkGenerator().level(DesignLabel.DEFAULT, size);
+    List<FloorTile> floor = level.floorTiles();
+    Random random = new Random(42);
+    for (int i = 0; i < PAIRS; i++) {
+      starts[i] = floor.get(random.nextInt(floor.size()));
+      ends[i] = floor.get(random.nextInt(floor.size()));
+    }
+  }
+
+  /**
+   * Search a path with A*, without the path cache of the level.
+   *
+   * @return The found path.
+   */
+  @Benchmark
+  public GraphPath<Tile> findPath() {
+    int i = next();
+    level.pathfinding().invalidate();
+    return level.findPath(starts[i], ends[i]);
+  }
+
+  /**
+   * Search a path that was searched before, so the path cache of the level is used.
+   *
+   * @return The found path.
+   */
+  @Benchmark
+  public GraphPath<Tile> findPathCached() {
+    int i = next();
+    return level.findPath(starts[i], ends[i]);
+  }
+
+  private int next() {
+    next = (next + 1) % PAIRS;
+    return next;
+  }
+}
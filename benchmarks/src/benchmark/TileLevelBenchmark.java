@@ -0,0 +1,71 @@
+package benchmark;
+
+import core.level.CompactTileLevel;
+import core.level.TileLevel;
+import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.level.utils.LevelSize;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the construction of a {@link TileLevel} from a layout of the {@link
+ * RandomWalkGenerator}.
+ *
+ * <p>The construction creates the tiles, chooses their textures, and connects them for the
+ * pathfinding. The layouts are generated before the measurement.
+ *
+ * <p>{@link #constructCompact()} measures the {@link CompactTileLevel} for comparison, which only
+ * copies the layout and creates the tiles on demand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileLevelBenchmark {
+  private static final int LAYOUTS = 8;
+
+  /** Size of the generated layouts. */
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public LevelSize size;
+
+  private final LevelElement[][][] layouts = new LevelElement[LAYOUTS][][];
+  private int next = 0;
+
+  /** Generate the layouts. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    RandomWalkGenerator generator = new RandomWalkGenerator();
+    for (int i = 0; i < LAYOUTS; i++) layouts[i] = generator.layout(size);
+  }
+
+  /**
+   * Create a level from one of the layouts.
+   *
+   * @return The created level.
+   */
+  @Benchmark
+  public TileLevel construct() {
+    next = (next + 1) % LAYOUTS;
+    return new TileLevel(layouts[next], DesignLabel.DEFAULT);
+  }
+
+  /**
+   * Create a compact level from one of the layouts.
+   *
+   * @return The created level.
+   */
+  @Benchmark
+  public CompactTileLevel constructCompact() {
+    next = (next + 1) % LAYOUTS;
+    return new CompactTileLevel(layouts[next], DesignLabel.DEFAULT);
+  }
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.elements.tile.FloorTile;
+import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelSize;
+import core.level.utils.LevelUtils;
+import core.utils.Point;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link LevelUtils#tilesInRange(Point, float)} in a medium {@link
+ * RandomWalkGenerator} level.
+ *
+ * <p>The centers are {@link #CENTERS} random floor tiles (with a fixed seed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TilesInRangeBenchmark {
+  private static final int CENTERS = 64;
+
+  /** Radius of the range, in tiles. */
+  @Param({"2", "5", "10"})
+  public float radius;
+
+  private final Point[] centers = new Point[CENTERS];
+  private int next = 0;
+
+  /** Generate and load the level and choose the centers. */
+  @Setup
+  public void setup() {
+    BenchmarkSetup.reset();
+    ILevel level = new RandomWalkGenerator().level(DesignLabel.DEFAULT, LevelSize.MEDIUM);
+    BenchmarkSetup.loadLevel(level);
+    List<FloorTile> floor = level.floorTiles();
+    Random random = new Random(42);
+    for (int i = 0; i < CENTERS; i++)
+      centers[i] = floor.get(random.nextInt(floor.size())).position();
+  }
+
+  /**
+   * Get the tiles around one of the centers.
+   *
+   * @return The tiles in the range.
+   */
+  @Benchmark
+  public List<Tile> tilesInRange() {
+    next = (next + 1) % CENTERS;
+    return LevelUtils.tilesInRange(centers[next], radius);
+  }
+}
@@ -16,6 +16,9 @@ public class FuncStats {
    */
   public ArrayList<String> funcBody;
 
+  /** Compiled body of the function; compiled on the first call by the {@link VirtualMachine}. */
+  Program program;
+
   /**
    * Create a new function with the given name.
    *
@@ -0,0 +1,337 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+/**
+ * A blockly program compiled into a list of instructions. The instructions are executed by the
+ * {@link VirtualMachine}.
+ *
+ * <p>The actions of the program are classified once with the same patterns that are used by
+ * {@link Server#processAction(String)}, and the conditions are parsed once with the blockly
+ * grammar. Scopes are compiled into jumps: an if-statement jumps over the actions of the if or else
+ * part, a while-loop evaluates its condition before each iteration, and a repeat-loop counts its
+ * iterations on the counter stack of the virtual machine. Like in {@link
+ * Server#processAction(String)}, the body of a repeat-loop is executed at least once, unless its
+ * count is not valid. Each function is compiled into its own program.
+ *
+ * <p>{@link #compile(String[])} returns null if the actions are not a complete program, i.e., a
+ * scope is not closed. These actions have to be processed by {@link
+ * Server#processAction(String)}.
+ */
+final class Program {
+
+  /** Instructions of the program. */
+  final Instruction[] instructions;
+
+  private Program(final List<Instruction> instructions) {
+    this.instructions = instructions.toArray(new Instruction[0]);
+  }
+
+  /**
+   * Compile the given actions.
+   *
+   * @param actions Actions of the program, one action per element.
+   * @return Returns the compiled program, or null if the actions are not a complete program.
+   */
+  static Program compile(final String[] actions) {
+    return compile(Arrays.asList(actions));
+  }
+
+  /**
+   * Compile the given actions.
+   *
+   * @param actions Actions of the program, one action per element.
+   * @return Returns the compiled program, or null if the actions are not a complete program.
+   */
+  static Program compile(final List<String> actions) {
+    Compiler compiler = new Compiler(actions.stream().map(String::trim).toList(), 0, 0);
+    try {
+      compiler.compileBlock();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    return new Program(compiler.instructions);
+  }
+
+  /** An instruction of the program. */
+  sealed interface Instruction {
+    /**
+     * Get the action the instruction was compiled from.
+     *
+     * @return Returns the action.
+     */
+    String source();
+  }
+
+  /** Assign a value or the result of an expression to an int variable. */
+  record Assign(String source, String name, Operand left, String op, Operand right)
+      implements Instruction {}
+
+  /** Create a new int array variable. */
+  record NewArray(String source, String name, int size) implements Instruction {}
+
+  /** Assign a value or the result of an expression to an element of an int array variable. */
+  record AssignArray(
+      String source, String name, int index, Operand left, String op, Operand right)
+      implements Instruction {}
+
+  /** Jump to the target if the condition is false; a null condition is not valid. */
+  record JumpIfFalse(String source, ParseTree condition, int target) implements Instruction {}
+
+  /** Jump to the target. */
+  record Jump(String source, int target) implements Instruction {}
+
+  /**
+   * Push the number of remaining iterations of a repeat-loop onto the counter stack; jump to the
+   * end of the loop if the count is not valid.
+   */
+  record RepeatInit(String source, Operand count, int end) implements Instruction {}
+
+  /** Jump to the target and count down if iterations remain; otherwise pop the counter. */
+  record RepeatNext(String source, int target) implements Instruction {}
+
+  /** Define a function. */
+  record Define(String source, FuncStats function) implements Instruction {}
+
+  /** Call a function. */
+  record Call(String source, String name) implements Instruction {}
+
+  /** Move the hero; the direction is the first argument of the action. */
+  record Move(String source, Object direction) implements Instruction {}
+
+  /** Shoot a fireball; the direction is the first argument of the action. */
+  record FireBall(String source, Object direction) implements Instruction {}
+
+  /** An operand of an expression. */
+  sealed interface Operand {}
+
+  /** An int literal. */
+  record Literal(int value) implements Operand {}
+
+  /** An int variable, or a value that is neither a number nor a variable. */
+  record Name(String name) implements Operand {}
+
+  /** An element of an int array variable. */
+  record ArrayElement(String name, int index) implements Operand {}
+
+  /** The length of an int array variable. */
+  record ArrayLength(String name) implements Operand {}
+
+  /**
+   * Compiles the actions of a block. Throws an IllegalArgumentException if the actions are not a
+   * complete program.
+   */
+  private static final class Compiler {
+    private final List<String> actions;
+    private final List<Instruction> instructions = new ArrayList<>();
+    private int position;
+    private int depth;
+
+    private Compiler(final List<String> actions, int position, int depth) {
+      this.actions = actions;
+      this.position = position;
+      this.depth = depth;
+    }
+
+    /**
+     * Compile the actions until the end of the current scope.
+     *
+     * @return Returns the action that ended the scope ("}" or the else part of an if-statement),
+     *     or null at the end of the program.
+     */
+    private String compileBlock() {
+      while (position < actions.size()) {
+        String action = actions.get(position++);
+        if (action.equals("}")) {
+          // like processAction, ignore a "}" without an open scope
+          if (depth == 0) continue;
+          return action;
+        }
+        if (action.contains("sonst")) {
+          if (depth == 0) throw new IllegalArgumentException("Else without if: " + action);
+          return action;
+        }
+        compileAction(action);
+      }
+      if (depth > 0) throw new IllegalArgumentException("Scope is not closed");
+      return null;
+    }
+
+    private String compileScope() {
+      depth++;
+      String end = compileBlock();
+      depth--;
+      return end;
+    }
+
+    private void compileAction(final String action) {
+      Matcher matcher;
+      if (action.contains("falls")) {
+        compileIf(action);
+      } else if (action.contains("solange")) {
+        compileWhile(action);
+      } else if ((matcher = Server.REPEAT_PATTERN.matcher(action)).find()) {
+        compileRepeat(action, matcher.group(1));
+      } else if ((matcher = Server.FUNC_DEF_PATTERN.matcher(action)).find()) {
+        compileFunction(matcher.group(1));
+      } else {
+        compileVariable(action);
+        compileCall(action);
+        compileDungeonAction(action);
+      }
+    }
+
+    private void compileIf(final String action) {
+      ParseTree condition = condition(action, Server.IF_PATTERN);
+      int jump = reserve();
+      String end = compileScope();
+      if (end.contains("sonst")) {
+        int jumpOverElse = reserve();
+        instructions.set(jump, new JumpIfFalse(action, condition, instructions.size()));
+        end = compileScope();
+        if (end.contains("sonst")) throw new IllegalArgumentException("Second else: " + end);
+        instructions.set(jumpOverElse, new Jump(end, instructions.size()));
+      } else {
+        instructions.set(jump, new JumpIfFalse(action, condition, instructions.size()));
+      }
+    }
+
+    private void compileWhile(final String action) {
+      ParseTree condition = condition(action, Server.WHILE_PATTERN);
+      int start = reserve();
+      String end = compileScope();
+      if (end.contains("sonst")) throw new IllegalArgumentException("Else in while: " + end);
+      instructions.add(new Jump(end, start));
+      instructions.set(start, new JumpIfFalse(action, condition, instructions.size()));
+    }
+
+    private void compileRepeat(final String action, final String count) {
+      Operand operand = operand(count);
+      int init = reserve();
+      int start = instructions.size();
+      String end = compileScope();
+      if (end.contains("sonst")) throw new IllegalArgumentException("Else in repeat: " + end);
+      instructions.add(new RepeatNext(end, start));
+      instructions.set(init, new RepeatInit(action, operand, instructions.size()));
+    }
+
+    private void compileFunction(final String name) {
+      int start = position;
+      Compiler body = new Compiler(actions, position, 1);
+      String end = body.compileBlock();
+      if (end.contains("sonst")) throw new IllegalArgumentException("Else in function: " + end);
+      position = body.position;
+
+      // keep the actions for processAction, like a function defined by processAction
+      FuncStats function = new FuncStats(name);
+      function.funcBody.addAll(actions.subList(start, position));
+      function.program = new Program(body.instructions);
+      instructions.add(new Define(actions.get(start - 1), function));
+    }
+
+    private void compileVariable(final String action) {
+      Matcher matcher = Server.ARRAY_CREATION_PATTERN.matcher(action);
+      if (matcher.find()) {
+        instructions.add(
+            new NewArray(action, matcher.group(1), Integer.parseInt(matcher.group(2))));
+        return;
+      }
+      matcher = Server.ARRAY_ASSIGN_EXPRESSION_PATTERN.matcher(action);
+      if (matcher.find()) {
+        instructions.add(
+            new AssignArray(
+                action,
+                matcher.group(2),
+                Integer.parseInt(matcher.group(3)),
+                operand(matcher.group(4)),
+                matcher.group(7),
+                operand(matcher.group(8))));
+        return;
+      }
+      matcher = Server.ARRAY_ASSIGN_VALUE_PATTERN.matcher(action);
+      if (matcher.find()) {
+        instructions.add(
+            new AssignArray(
+                action,
+                matcher.group(2),
+                Integer.parseInt(matcher.group(3)),
+                operand(matcher.group(4)),
+                null,
+                null));
+        return;
+      }
+      matcher = Server.ASSIGN_EXPRESSION_PATTERN.matcher(action);
+      if (matcher.find()) {
+        instructions.add(
+            new Assign(
+                action,
+                matcher.group(1),
+                operand(matcher.group(2)),
+                matcher.group(5),
+                operand(matcher.group(6))));
+        return;
+      }
+      matcher = Server.ASSIGN_VALUE_PATTERN.matcher(action);
+      if (matcher.find()) {
+        instructions.add(
+            new Assign(action, matcher.group(1), operand(matcher.group(2)), null, null));
+      }
+    }
+
+    private void compileCall(final String action) {
+      Matcher matcher = Server.FUNC_CALL_PATTERN.matcher(action);
+      if (matcher.find() && !Server.RESERVED_FUNCTIONS.contains(matcher.group(1))) {
+        instructions.add(new Call(action, matcher.group(1)));
+      }
+    }
+
+    private void compileDungeonAction(final String action) {
+      if (!action.contains("(") || !action.contains(")")) {
+        return;
+      }
+      Object[] args = Server.convertActionToArguments(action);
+      switch (action.substring(0, action.indexOf("("))) {
+        case "gehe" -> instructions.add(new Move(action, args[0]));
+        case "feuerball" -> instructions.add(new FireBall(action, args[0]));
+        default -> {
+          // unknown actions are ignored, like in processAction
+        }
+      }
+    }
+
+    // reserve the position of a jump, which is set when the target is known
+    private int reserve() {
+      instructions.add(null);
+      return instructions.size() - 1;
+    }
+
+    private static ParseTree condition(final String action, final Pattern pattern) {
+      Matcher matcher = pattern.matcher(action);
+      return matcher.find() ? Server.parseCondition(matcher.group(1)) : null;
+    }
+
+    private static Operand operand(final String value) {
+      Matcher matcher = Server.ARRAY_ACCESS_PATTERN.matcher(value);
+      if (matcher.find()) {
+        return new ArrayElement(matcher.group(1), Integer.parseInt(matcher.group(2)));
+      }
+      matcher = Server.ARRAY_LENGTH_PATTERN.matcher(value);
+      if (matcher.find()) {
+        return new ArrayLength(matcher.group(1));
+      }
+      if (value.matches("-?\\d+")) {
+        try {
+          return new Literal(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+          // too large; reported when the value is used
+        }
+      }
+      return new Name(value);
+    }
+  }
+}
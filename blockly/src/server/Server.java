@@ -8,8 +8,6 @@ import com.sun.net.httpserver.HttpContext;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpServer;
 import contrib.components.CollideComponent;
-import contrib.utils.EntityUtils;
-import contrib.utils.components.Debugger;
 import contrib.utils.components.skill.FireballSkill;
 import contrib.utils.components.skill.Skill;
 import core.Entity;
@@ -29,6 +27,7 @@ import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import nodes.StartNode;
@@ -54,6 +53,9 @@ import utils.Direction;
  * action may be performed? Does your block needs its own scope? If yes, at least add it to the
  * active_scopes stack. Compare to while-loops/repeat-loops/if-statements and func definitions.
  * Don't forget to add a test to the TestServer class for your new block.
+ *
+ * <p>The {@link #instance()} controls the hero of the game started by the client. To host many
+ * students in one process, use the {@link SessionServer}, which creates one server per session.
  */
 public class Server {
 
@@ -63,6 +65,31 @@ public class Server {
   /** Default port for the server. */
   private static final int DEFAULT_PORT = 8080;
 
+  // Patterns to classify the actions, see processAction and Program
+  static final Pattern ARRAY_ACCESS_PATTERN = Pattern.compile("(\\w+)\\[(\\d+)]");
+  static final Pattern ARRAY_LENGTH_PATTERN = Pattern.compile("(\\w+)\\.length");
+  static final Pattern FUNC_CALL_PATTERN = Pattern.compile("(\\w+)\\(\\)");
+  static final Pattern FUNC_DEF_PATTERN = Pattern.compile("public void (\\w+)\\(\\)");
+  static final Pattern ARRAY_CREATION_PATTERN =
+      Pattern.compile("int\\[] (\\w+) = new int\\[(\\d+)]");
+  static final Pattern SIMPLE_ASSIGN_PATTERN = Pattern.compile("int (\\w+) = (\\d+);");
+  static final Pattern ASSIGN_EXPRESSION_PATTERN =
+      Pattern.compile(
+          "int (\\w+) = (\\w+(\\[\\d+])?(\\.length)?) (\\+|-|\\*|/) (\\w+(\\[\\d+])?(\\.length)?)");
+  static final Pattern ASSIGN_VALUE_PATTERN =
+      Pattern.compile("int (\\w+) = (\\w+(\\[\\d+])?(\\.length)?)");
+  static final Pattern ARRAY_ASSIGN_EXPRESSION_PATTERN =
+      Pattern.compile(
+          "((\\w+)\\[(\\d+)]) = (\\w+(\\[\\d+])?(\\.length)?) (\\+|-|\\*|/) (\\w+(\\[\\d+])?(\\.length)?)");
+  static final Pattern ARRAY_ASSIGN_VALUE_PATTERN =
+      Pattern.compile("((\\w+)\\[(\\d+)]) = (\\w+(\\[\\d+])?(\\.length)?)");
+  static final Pattern WHILE_PATTERN = Pattern.compile("solange \\((.*)\\)");
+  static final Pattern REPEAT_PATTERN = Pattern.compile("wiederhole (\\w+) Mal");
+  static final Pattern IF_PATTERN = Pattern.compile("falls \\((.*)\\)");
+
+  /** Names of the built-in functions, which can not be called as user-defined functions. */
+  static final List<String> RESERVED_FUNCTIONS = List.of("gehe", "feuerball", "naheWand");
+
   private final Entity hero;
 
   /**
@@ -78,7 +105,7 @@ public class Server {
   public final HashMap<String, Variable> variables = new HashMap<>();
 
   /** Hashmap storing all functions. */
-  private final HashMap<String, FuncStats> functions = new HashMap<>();
+  final HashMap<String, FuncStats> functions = new HashMap<>();
 
   /** Stack containing all active scopes. */
   public final Stack<RepeatStats> active_repeats = new Stack<>();
@@ -96,7 +123,7 @@ public class Server {
    * This boolean will be set to true on error or if the user clicked the reset button in the
    * blockly frontend. The execution of the current program will stop if this variable is true.
    */
-  public boolean interruptExecution = false;
+  public volatile boolean interruptExecution = false;
 
   /** This boolean will be set to true on error. */
   public boolean errorOccurred = false;
@@ -105,8 +132,17 @@ public class Server {
   public String errorMsg = "";
 
   private boolean clearHUD = false;
-  private final String[] reservedFunctions = {"gehe", "feuerball", "naheWand"};
   private final Stack<String> currently_repeating_scope = new Stack<>();
+  private final BlocklyConditionVisitor conditionVisitor = new BlocklyConditionVisitor(this);
+
+  /** Changes and reads the dungeon the hero lives in. */
+  private final WorldAccess world;
+
+  private final long maxSteps;
+  private final long maxCpuNanos;
+  private long steps = 0;
+  private long runStart = System.nanoTime();
+  private long waitedNanos = 0;
 
   /**
    * Object containing the variable HUD in the dungeon. This object is used to add new variables to
@@ -121,6 +157,40 @@ public class Server {
    */
   private Server(Entity hero) {
     this.hero = hero;
+    this.world =
+        new WorldAccess() {
+          @Override
+          public void step(Runnable action) {
+            action.run();
+            waitDelta();
+          }
+
+          @Override
+          public <T> T read(Supplier<T> query) {
+            return query.get();
+          }
+        };
+    this.maxSteps = Long.MAX_VALUE;
+    this.maxCpuNanos = Long.MAX_VALUE;
+  }
+
+  /**
+   * Constructor of a server for a single session of the {@link SessionServer}.
+   *
+   * <p>All actions in and queries of the dungeon are passed to the given world access, which
+   * performs them on the thread of the game world.
+   *
+   * @param hero The hero entity of the session. Used to control the movement of the hero.
+   * @param world Performs the actions and queries in the game world of the session.
+   * @param maxSteps Maximum number of actions that may be processed by one program.
+   * @param maxCpuNanos Maximum time in nanoseconds one program may run, without the time spent
+   *     waiting for the game.
+   */
+  Server(Entity hero, WorldAccess world, long maxSteps, long maxCpuNanos) {
+    this.hero = hero;
+    this.world = world;
+    this.maxSteps = maxSteps;
+    this.maxCpuNanos = maxCpuNanos;
   }
 
   /**
@@ -174,15 +244,15 @@ public class Server {
 
   /**
    * Handle the start request. It receives the program that should be executed in the dungeon from
-   * the request body. It will process each action step by step. If the execution was interrupted by
-   * an error or the reset button was clicked the execution will be stopped. In this case all
-   * variables and other values will be cleared. If the program run into an error the response to
-   * the blockly frontend will contain an error message.
+   * the request body and executes it (see {@link #execute(String)}). If the execution was
+   * interrupted by an error or the reset button was clicked the execution will be stopped. In this
+   * case all variables and other values will be cleared. If the program run into an error the
+   * response to the blockly frontend will contain an error message.
    *
    * @param exchange
    * @throws IOException
    */
-  private void handleStartRequest(HttpExchange exchange) throws IOException {
+  void handleStartRequest(HttpExchange exchange) throws IOException {
     if (clearHUD) {
       clearHUDValues();
       clearHUD = false;
@@ -190,17 +260,7 @@ public class Server {
     InputStream inStream = exchange.getRequestBody();
     String text = new String(inStream.readAllBytes(), StandardCharsets.UTF_8);
 
-    String[] actions = text.split("\n");
-
-    String errAction = null;
-    for (String action : actions) {
-      action = action.trim();
-      processAction(action);
-      if (interruptExecution) {
-        errAction = action;
-        break;
-      }
-    }
+    String errAction = execute(text);
     // Build response for blockly frontend
     String response;
     exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
@@ -226,6 +286,39 @@ public class Server {
     os.close();
   }
 
+  /**
+   * Execute the given actions.
+   *
+   * <p>If no scope is currently open and the actions form a complete program (every scope is
+   * closed), the program is compiled once into a {@link Program} and run by the {@link
+   * VirtualMachine}, so loops do not parse their actions again in each iteration. Otherwise (e.g.,
+   * if the blockly frontend executes the program step by step), each action is processed by {@link
+   * #processAction(String)}.
+   *
+   * @param program Actions to execute, one action per line.
+   * @return Returns the action at which the execution was interrupted, or null if the execution
+   *     was not interrupted.
+   */
+  public String execute(String program) {
+    steps = 0;
+    waitedNanos = 0;
+    runStart = System.nanoTime();
+    String[] actions = program.split("\n");
+
+    Program compiled = active_scopes.isEmpty() ? Program.compile(actions) : null;
+    if (compiled != null) {
+      return new VirtualMachine(this).run(compiled);
+    }
+    for (String action : actions) {
+      action = action.trim();
+      processAction(action);
+      if (interruptExecution) {
+        return action;
+      }
+    }
+    return null;
+  }
+
   /** Clear the variable and array HUD in the dungeon. */
   private void clearHUDValues() {
     if (variableHUD == null) {
@@ -243,14 +336,13 @@ public class Server {
    *     frontend
    * @throws IOException
    */
-  private void handleResetRequest(HttpExchange exchange) throws IOException {
+  void handleResetRequest(HttpExchange exchange) throws IOException {
     // Reset values
     interruptExecution = true;
 
-    Debugger.TELEPORT_TO_START();
+    step(this::teleportToStart);
 
-    PositionComponent pc = getHeroPosition();
-    String response = pc.position().x + "," + pc.position().y;
+    String response = read(this::heroPositionString);
 
     exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
     exchange.sendResponseHeaders(200, response.getBytes().length);
@@ -268,11 +360,10 @@ public class Server {
    *     frontend
    * @throws IOException
    */
-  private void handleClearRequest(HttpExchange exchange) throws IOException {
+  void handleClearRequest(HttpExchange exchange) throws IOException {
     clearGlobalValues();
 
-    PositionComponent pc = getHeroPosition();
-    String response = pc.position().x + "," + pc.position().y;
+    String response = read(this::heroPositionString);
 
     exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
     exchange.sendResponseHeaders(200, response.getBytes().length);
@@ -310,12 +401,59 @@ public class Server {
    *
    * @param errMsg Error message that will be sent to the blockly frontend.
    */
-  private void setError(String errMsg) {
+  void setError(String errMsg) {
     interruptExecution = true;
     errorOccurred = true;
     errorMsg = errMsg;
   }
 
+  /**
+   * Count a step of the current program and stop the execution if the program exceeded the
+   * maximum number of steps or the maximum computing time.
+   *
+   * @return Returns false if a limit was exceeded. Otherwise, returns true.
+   */
+  boolean checkLimits() {
+    if (++steps > maxSteps) {
+      setError("Das Programm hat mehr als " + maxSteps + " Schritte ausgeführt");
+      return false;
+    }
+    if (maxCpuNanos != Long.MAX_VALUE
+        && System.nanoTime() - runStart - waitedNanos > maxCpuNanos) {
+      setError("Das Programm hat zu viel Rechenzeit benötigt");
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Perform the given action in the dungeon and wait until the game reacted to it. The time spent
+   * waiting does not count to the computing time of the program.
+   *
+   * @param action Action to perform in the dungeon.
+   */
+  private void step(Runnable action) {
+    long start = System.nanoTime();
+    world.step(action);
+    waitedNanos += System.nanoTime() - start;
+  }
+
+  /**
+   * Evaluate the given query in the dungeon. The time spent waiting does not count to the
+   * computing time of the program.
+   *
+   * @param query Query to evaluate.
+   * @return The result of the query.
+   */
+  private <T> T read(Supplier<T> query) {
+    long start = System.nanoTime();
+    try {
+      return world.read(query);
+    } finally {
+      waitedNanos += System.nanoTime() - start;
+    }
+  }
+
   /**
    * This function will be called when a scope is repeating itself. This can be the case for while
    * or repeat loops. It will process the actions of the loop until the condition of the loop is
@@ -328,6 +466,9 @@ public class Server {
         case "while" -> {
           WhileStats currentWhile = active_whiles.peek();
           while (currentWhile.isRepeating && !interruptExecution) {
+            if (!checkLimits()) {
+              break;
+            }
             System.out.print("Repeating while loop");
             System.out.println(currentWhile);
             for (String whileAction : currentWhile.whileBody) {
@@ -342,6 +483,9 @@ public class Server {
         case "repeat" -> {
           RepeatStats currentRepeat = active_repeats.peek();
           while (currentRepeat.isRepeating && !interruptExecution) {
+            if (!checkLimits()) {
+              break;
+            }
             System.out.print("Repeating repeat loop");
             System.out.println(currentRepeat);
             for (String repeatAction : currentRepeat.repeatBody) {
@@ -372,6 +516,9 @@ public class Server {
   public void processAction(String action) {
     System.out.print("Processing action: ");
     System.out.println(action);
+    if (!checkLimits()) {
+      return;
+    }
     // Make sure we close the right scope
     addActionToWhileBody(action);
     addActionToRepeatBody(action);
@@ -510,7 +657,7 @@ public class Server {
    * @return Returns the variable from the hashmap
    * @throws IllegalAccessException
    */
-  private Variable getArrayVariable(String varName) throws IllegalAccessException {
+  Variable getArrayVariable(String varName) throws IllegalAccessException {
     Variable array_var = variables.get(varName);
     // Throw exception if nothing found
     if (array_var == null) {
@@ -537,16 +684,14 @@ public class Server {
    */
   public int getActualValueFromExpression(String value) throws IllegalAccessException {
     // Process array access
-    Pattern pattern = Pattern.compile("(\\w+)\\[(\\d+)]");
-    Matcher matcher = pattern.matcher(value);
+    Matcher matcher = ARRAY_ACCESS_PATTERN.matcher(value);
     if (matcher.find()) {
       Variable array_var = getArrayVariable(matcher.group(1));
       int index = Integer.parseInt(matcher.group(2));
       return array_var.arrayVal[index];
     }
     // We might have to return the array length
-    Pattern patternArraySize = Pattern.compile("(\\w+)\\.length");
-    Matcher matcherArraySize = patternArraySize.matcher(value);
+    Matcher matcherArraySize = ARRAY_LENGTH_PATTERN.matcher(value);
     if (matcherArraySize.find()) {
       Variable array_var = getArrayVariable(matcherArraySize.group(1));
       return array_var.arrayVal.length;
@@ -576,7 +721,7 @@ public class Server {
    * @param op Operator of the expression
    * @return Returns the result of the expression
    */
-  private int executeExpression(int leftValue, int rightValue, String op) {
+  static int executeExpression(int leftValue, int rightValue, String op) {
     try {
       return switch (op) {
         case "+" -> leftValue + rightValue;
@@ -598,11 +743,10 @@ public class Server {
    * @param action The current action that should be evaluated.
    */
   private void funcCallEvaluation(String action) {
-    Pattern pattern = Pattern.compile("(\\w+)\\(\\)");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = FUNC_CALL_PATTERN.matcher(action);
     if (matcher.find()) {
       String funcName = matcher.group(1);
-      if (Arrays.asList(reservedFunctions).contains(funcName)) {
+      if (RESERVED_FUNCTIONS.contains(funcName)) {
         return;
       }
       FuncStats calledFunc = functions.get(funcName);
@@ -653,8 +797,7 @@ public class Server {
    * @param action Current action that needs to be evaluated.
    */
   private void funcEvaluation(String action) {
-    Pattern pattern = Pattern.compile("public void (\\w+)\\(\\)");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = FUNC_DEF_PATTERN.matcher(action);
     // If pattern matches we have a new func definition
     if (matcher.find()) {
       active_func_defs.push(new FuncStats(matcher.group(1)));
@@ -669,7 +812,7 @@ public class Server {
    * @param name Name of the variable.
    * @param value Integer value of the variable.
    */
-  private void addBaseVar(String name, int value) {
+  void addBaseVar(String name, int value) {
     variables.put(name, new Variable(value));
     if (variableHUD != null) {
       variableHUD.addVariable(name, value);
@@ -682,7 +825,7 @@ public class Server {
    * @param name Name of the array variable.
    * @param value Integer array value of the array variable
    */
-  private void updateArrayHUD(String name, int[] value) {
+  void updateArrayHUD(String name, int[] value) {
     if (variableHUD != null) {
       variableHUD.addArrayVariable(name, value);
     }
@@ -696,8 +839,7 @@ public class Server {
    */
   private void variableEvaluation(String action) {
     // Check array creation
-    Pattern patternArray = Pattern.compile("int\\[] (\\w+) = new int\\[(\\d+)]");
-    Matcher matcherArray = patternArray.matcher(action);
+    Matcher matcherArray = ARRAY_CREATION_PATTERN.matcher(action);
     if (matcherArray.find()) {
       int array_size = Integer.parseInt(matcherArray.group(2));
       variables.put(matcherArray.group(1), new Variable(new int[array_size]));
@@ -710,8 +852,7 @@ public class Server {
     if (checkAssign(action)) return;
 
     // Simple assign
-    Pattern pattern = Pattern.compile("int (\\w+) = (\\d+);");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = SIMPLE_ASSIGN_PATTERN.matcher(action);
     // If pattern matches we have a new variable
     if (matcher.find()) {
       addBaseVar(matcher.group(1), Integer.parseInt(matcher.group(2)));
@@ -728,10 +869,7 @@ public class Server {
    */
   private boolean checkAssign(String action) {
     // Check expression with operator
-    Pattern pattern =
-        Pattern.compile(
-            "int (\\w+) = (\\w+(\\[\\d+])?(\\.length)?) (\\+|-|\\*|/) (\\w+(\\[\\d+])?(\\.length)?)");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = ASSIGN_EXPRESSION_PATTERN.matcher(action);
     if (matcher.find()) {
       String leftVal = matcher.group(2);
       String rightVal = matcher.group(6);
@@ -753,8 +891,7 @@ public class Server {
     }
 
     // Check single right value
-    Pattern patternRightValue = Pattern.compile("int (\\w+) = (\\w+(\\[\\d+])?(\\.length)?)");
-    Matcher matcherRightValue = patternRightValue.matcher(action);
+    Matcher matcherRightValue = ASSIGN_VALUE_PATTERN.matcher(action);
     if (matcherRightValue.find()) {
       String varNameRightValue = matcherRightValue.group(1);
       String rightValue = matcherRightValue.group(2);
@@ -782,10 +919,7 @@ public class Server {
    * @return Returns true if the pattern von array assign matched. Otherwise, returns false.
    */
   private boolean checkArrayAssign(String action) {
-    Pattern pattern =
-        Pattern.compile(
-            "((\\w+)\\[(\\d+)]) = (\\w+(\\[\\d+])?(\\.length)?) (\\+|-|\\*|/) (\\w+(\\[\\d+])?(\\.length)?)");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = ARRAY_ASSIGN_EXPRESSION_PATTERN.matcher(action);
     if (matcher.find()) {
       int index = Integer.parseInt(matcher.group(3));
       String leftVal = matcher.group(4);
@@ -810,9 +944,7 @@ public class Server {
     }
 
     // Check single right value
-    Pattern patternRightValue =
-        Pattern.compile("((\\w+)\\[(\\d+)]) = (\\w+(\\[\\d+])?(\\.length)?)");
-    Matcher matcherRightValue = patternRightValue.matcher(action);
+    Matcher matcherRightValue = ARRAY_ASSIGN_VALUE_PATTERN.matcher(action);
     if (matcherRightValue.find()) {
       String varNameRightValue = matcherRightValue.group(2);
       int indexRightValue = Integer.parseInt(matcherRightValue.group(3));
@@ -865,12 +997,11 @@ public class Server {
    *     loop was closed.
    */
   private boolean closeWhile(String action) {
-    Pattern pattern = Pattern.compile("solange \\((.*)\\)");
     // Check if loop must be ended
     if (action.equals("}") && active_scopes.peek().equals("while")) {
       WhileStats currentWhile = active_whiles.peek();
       String condition = currentWhile.condition;
-      boolean conditionResult = evalComplexCondition(condition, pattern);
+      boolean conditionResult = evalComplexCondition(condition, WHILE_PATTERN);
       if (conditionResult && evalActionsExecute()) {
         if (!currentWhile.isRepeating) {
           currentWhile.isRepeating = true;
@@ -916,10 +1047,8 @@ public class Server {
    * @param action Current action
    */
   private void whileEvaluation(String action) {
-    Pattern pattern = Pattern.compile("solange \\((.*)\\)");
-
     if (action.contains("solange")) {
-      boolean currentConditionResult = evalComplexCondition(action, pattern);
+      boolean currentConditionResult = evalComplexCondition(action, WHILE_PATTERN);
       active_scopes.push("while");
       active_whiles.push(new WhileStats(action, currentConditionResult));
     }
@@ -988,8 +1117,7 @@ public class Server {
    * @param action Current action
    */
   private void repeatEvaluation(String action) {
-    Pattern pattern = Pattern.compile("wiederhole (\\w+) Mal");
-    Matcher matcher = pattern.matcher(action);
+    Matcher matcher = REPEAT_PATTERN.matcher(action);
     if (matcher.find()) {
       String repeatString = matcher.group(1);
       try {
@@ -1022,8 +1150,7 @@ public class Server {
     }
     if (action.contains("falls")) {
       active_scopes.push("if");
-      Pattern pattern = Pattern.compile("falls \\((.*)\\)");
-      active_ifs.push(new IfStats(evalComplexCondition(action, pattern)));
+      active_ifs.push(new IfStats(evalComplexCondition(action, IF_PATTERN)));
     }
 
     if (action.contains("sonst")) {
@@ -1049,28 +1176,46 @@ public class Server {
     }
     Matcher matcher = pattern.matcher(action);
     if (matcher.find()) {
-      blocklyLexer lexer = new blocklyLexer(CharStreams.fromString(matcher.group(1)));
-      CommonTokenStream tokens = new CommonTokenStream(lexer);
-      blocklyParser parser = new blocklyParser(tokens);
-
-      ParseTree tree = parser.start();
-      BlocklyConditionVisitor eval = new BlocklyConditionVisitor(this);
-      try {
-        StartNode ast = (StartNode) eval.visit(tree);
-        boolean result = ast.getBoolValue();
-        System.out.println("Result of current condition: " + result);
-        return result;
-      } catch (NoSuchElementException e) {
-        System.out.println(e.getMessage());
-        setError(e.getMessage());
-        return false;
-      }
+      boolean result = evalCondition(parseCondition(matcher.group(1)));
+      System.out.println("Result of current condition: " + result);
+      return result;
     }
     System.out.println("Detected condition that is not valid: " + action);
     setError("Detected condition that is not valid: " + action);
     return false;
   }
 
+  /**
+   * Parse the given condition with the blockly grammar.
+   *
+   * @param condition Condition without the surrounding parentheses.
+   * @return Returns the parse tree of the condition.
+   */
+  static ParseTree parseCondition(String condition) {
+    blocklyLexer lexer = new blocklyLexer(CharStreams.fromString(condition));
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    blocklyParser parser = new blocklyParser(tokens);
+    return parser.start();
+  }
+
+  /**
+   * Evaluate a parsed condition (see {@link #parseCondition(String)}) with the current variables.
+   * Sets the error flag if a variable could not be found.
+   *
+   * @param condition Parse tree of the condition.
+   * @return Returns the result of the condition or false on error.
+   */
+  boolean evalCondition(ParseTree condition) {
+    try {
+      StartNode ast = (StartNode) conditionVisitor.visit(condition);
+      return ast.getBoolValue();
+    } catch (NoSuchElementException e) {
+      System.out.println(e.getMessage());
+      setError(e.getMessage());
+      return false;
+    }
+  }
+
   /**
    * Perform an actual action in the dungeon with the hero. This can either be movement or a
    * fireball in a specific direction.
@@ -1120,7 +1265,7 @@ public class Server {
    * @param action Action string to be converted.
    * @return Array of arguments extracted from the action string.
    */
-  private Object[] convertActionToArguments(String action) {
+  static Object[] convertActionToArguments(String action) {
     if (!action.contains("(") || !action.contains(")")) {
       return new Object[0];
     }
@@ -1159,16 +1304,19 @@ public class Server {
    * @param direction Direction in which the hero will be moved.
    */
   public void move(final Direction direction) {
-    VelocityComponent vc =
-        hero.fetch(VelocityComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(hero, VelocityComponent.class));
-    switch (direction) {
-      case UP -> vc.currentYVelocity(1 * vc.yVelocity());
-      case DOWN -> vc.currentYVelocity(-1 * vc.yVelocity());
-      case LEFT -> vc.currentXVelocity(-1 * vc.xVelocity());
-      case RIGHT -> vc.currentXVelocity(1 * vc.xVelocity());
-    }
-    waitDelta();
+    step(
+        () -> {
+          VelocityComponent vc =
+              hero.fetch(VelocityComponent.class)
+                  .orElseThrow(
+                      () -> MissingComponentException.build(hero, VelocityComponent.class));
+          switch (direction) {
+            case UP -> vc.currentYVelocity(1 * vc.yVelocity());
+            case DOWN -> vc.currentYVelocity(-1 * vc.yVelocity());
+            case LEFT -> vc.currentXVelocity(-1 * vc.xVelocity());
+            case RIGHT -> vc.currentXVelocity(1 * vc.xVelocity());
+          }
+        });
   }
 
   private void waitDelta() {
@@ -1185,29 +1333,48 @@ public class Server {
    *
    * <p>This method checks if the hero is near a wall in the specified direction. It retrieves the
    * hero's current coordinates and calculates the target coordinates based on the direction. It
-   * then checks if the target tile is accessible. If the hero or the target tile is null or not
-   * accessible, it returns true, indicating that the hero is near a wall.
+   * then checks if the target tile is accessible. If the target tile is null or not accessible, it
+   * returns true, indicating that the hero is near a wall.
    *
    * @param direction Direction in which the hero will be moved.
-   * @return Returns true if the hero is null or the target tile is not accessible. Otherwise,
-   *     returns false.
+   * @return Returns true if the target tile is null or not accessible. Otherwise, returns false.
    */
   public boolean isNearWall(final Direction direction) {
-    Coordinate heroCoords = EntityUtils.getHeroCoordinate();
-    if (heroCoords == null) {
-      return true;
-    }
-    Coordinate targetCoords = heroCoords.add(new Coordinate(direction.x(), direction.y()));
-    Tile targetTile = Game.tileAT(targetCoords);
-    if (targetTile == null) {
-      return true;
+    return read(
+        () -> {
+          Coordinate heroCoords = getHeroPosition().position().toCoordinate();
+          Coordinate targetCoords = heroCoords.add(new Coordinate(direction.x(), direction.y()));
+          Tile targetTile = Game.tileAT(targetCoords);
+          if (targetTile == null) {
+            return true;
+          }
+          return !targetTile.isAccessible();
+        });
+  }
+
+  /**
+   * Teleport the hero to the start tile of the current level. Does nothing if the start tile is not
+   * accessible.
+   */
+  private void teleportToStart() {
+    Tile start = Game.startTile();
+    if (start == null || !start.isAccessible()) {
+      return;
     }
-    return !targetTile.isAccessible();
+    getHeroPosition().position(start.position());
+  }
+
+  // position of the hero as sent to the blockly frontend, read in the game world
+  private String heroPositionString() {
+    Point position = getHeroPosition().position();
+    return position.x + "," + position.y;
   }
 
   /**
    * Get the current position of the hero in the dungeon.
    *
+   * <p>The component is changed by the game loop; read it on the thread of the game world.
+   *
    * @return Returns a position component which contains the x and y coordinates of the hero in the
    *     dungeon.
    */
@@ -1235,7 +1402,6 @@ public class Server {
                   return start.add(new Point(direction.x(), direction.y()));
                 }),
             1);
-    fireball.execute(hero);
-    waitDelta();
+    step(() -> fireball.execute(hero));
   }
 }
@@ -0,0 +1,513 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import contrib.entities.EntityFactory;
+import contrib.systems.*;
+import core.Entity;
+import core.Game;
+import core.game.HeadlessLoop;
+import core.utils.IVoidFunction;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hosts many blockly sessions in one process, e.g., for a whole classroom.
+ *
+ * <p>Each session has its own {@link Server} with its own interpreter state (variables, scopes,
+ * functions) and its own hero. All heroes live in one game world without window, which is stepped
+ * with a fixed tick rate on a dedicated thread (e.g., by a {@link HeadlessLoop}). The actions of
+ * the programs (moving, fireballs, ...) are queued and performed on this thread at the beginning of
+ * the next tick; the program continues after the tick was executed. Queries of the world (e.g.,
+ * whether the hero stands next to a wall) and the creation of heroes are performed on this thread
+ * as well, but without waiting for a tick. Once the server is stopped, waiting and new programs
+ * fail, and the requests are answered with 503.
+ *
+ * <p>The requests are handled on virtual threads, so a program that waits for the game does not
+ * block a platform thread. The server has the following interfaces: "/session" creates a new
+ * session and responds with its id; "/session/{id}/start", "/session/{id}/reset", and
+ * "/session/{id}/clear" behave like the interfaces of {@link Server#start()};
+ * "/session/{id}/close" removes the session and its hero. A reset stops the running program of
+ * the session and waits until it ended; a clear is refused (409) while a program runs, so the
+ * interpreter state is never changed by two requests at once.
+ *
+ * <p>To share the process fairly, the number of sessions and the number of programs that run at
+ * the same time are limited (the server responds with 503 if a limit is reached), each session
+ * can only run one program at a time (409 otherwise), and each program may only process a limited
+ * number of steps and use a limited computing time (see {@link #limits(long, long)}).
+ *
+ * <p>Note: The sessions are isolated in their interpreter state and each program only controls
+ * the hero of its session. The game world is not isolated: the game uses a single, static world
+ * ({@link Game}), so all heroes would share the current level, could block and hit each other,
+ * and a level change would affect all sessions. Therefore, the server only accepts one session at
+ * a time, unless sharing the world is allowed explicitly (see {@link #sharedWorld(boolean)}).
+ * Separate worlds per session need separate processes.
+ */
+public class SessionServer {
+
+  /** Default port for the server. */
+  public static final int DEFAULT_PORT = 8080;
+
+  /** Default maximum number of sessions. */
+  public static final int DEFAULT_MAX_SESSIONS = 500;
+
+  /** Default maximum number of programs that run at the same time. */
+  public static final int DEFAULT_MAX_RUNNING = 200;
+
+  /** Default maximum number of steps of a program. */
+  public static final long DEFAULT_MAX_STEPS = 100_000;
+
+  /** Default maximum computing time of a program in milliseconds. */
+  public static final long DEFAULT_MAX_CPU_MILLIS = 2_000;
+
+  // how long a reset waits for the running program to stop
+  private static final long RESET_TIMEOUT_SECONDS = 10;
+
+  private static final Logger LOGGER = Logger.getLogger(SessionServer.class.getSimpleName());
+
+  private final IVoidFunction world;
+  private final long tickNanos;
+  private final Supplier<Entity> heroFactory;
+  private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+  private final Queue<Step> pendingSteps = new ConcurrentLinkedQueue<>();
+  private final Queue<Step> pendingReads = new ConcurrentLinkedQueue<>();
+  private final WorldAccess worldAccess =
+      new WorldAccess() {
+        @Override
+        public void step(Runnable action) {
+          SessionServer.this.step(action);
+        }
+
+        @Override
+        public <T> T read(Supplier<T> query) {
+          return SessionServer.this.read(query);
+        }
+      };
+  // number of created sessions, including the ones that are being created
+  private final AtomicInteger openSessions = new AtomicInteger();
+  private volatile boolean stopped;
+  private volatile boolean sharedWorld = false;
+  private volatile int maxSessions = DEFAULT_MAX_SESSIONS;
+  private volatile Semaphore running = new Semaphore(DEFAULT_MAX_RUNNING);
+  private volatile long maxSteps = DEFAULT_MAX_STEPS;
+  private volatile long maxCpuNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_CPU_MILLIS);
+  private volatile ScheduledExecutorService ticker;
+  private volatile HttpServer httpServer;
+
+  /**
+   * Create a new session server.
+   *
+   * @param world Executes one tick of the game world (e.g., {@link HeadlessLoop#tick()}).
+   * @param tickRate Number of ticks per second.
+   * @param heroFactory Creates the hero of a new session. The hero is added to the game by the
+   *     server.
+   */
+  public SessionServer(
+      final IVoidFunction world, int tickRate, final Supplier<Entity> heroFactory) {
+    if (tickRate <= 0) throw new IllegalArgumentException("The tick rate must be positive.");
+    this.world = world;
+    this.tickNanos = TimeUnit.SECONDS.toNanos(1) / tickRate;
+    this.heroFactory = heroFactory;
+  }
+
+  /**
+   * Start a session server with a headless game world on the {@link #DEFAULT_PORT}.
+   *
+   * @param args "--shared-world" allows several sessions in the one game world (see {@link
+   *     #sharedWorld(boolean)}).
+   * @throws IOException If the server could not be started.
+   */
+  public static void main(String[] args) throws IOException {
+    Game.initBaseLogger(Level.WARNING);
+    Game.disableAudio(true);
+    HeadlessLoop loop = new HeadlessLoop().skip(HudSystem.class, HealthBarSystem.class);
+    loop.add(new CollisionSystem());
+    loop.add(new AISystem());
+    loop.add(new HealthSystem());
+    loop.add(new ProjectileSystem());
+    loop.add(new SpikeSystem());
+    loop.add(new PathSystem());
+    loop.add(new LevelTickSystem());
+    loop.add(new LeverSystem());
+    new SessionServer(
+            loop::tick,
+            HeadlessLoop.DEFAULT_TICK_RATE,
+            () -> {
+              try {
+                return EntityFactory.newHero();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            })
+        .sharedWorld(List.of(args).contains("--shared-world"))
+        .start(DEFAULT_PORT);
+  }
+
+  /**
+   * Allow several sessions in the one game world.
+   *
+   * <p>Without the shared world, the server only accepts one session at a time, because the heroes
+   * of all sessions would live in the same static world (see the class documentation). With the
+   * shared world, the number of sessions is limited by {@link #maxSessions(int)}.
+   *
+   * @param sharedWorld true to allow several sessions, false to accept only one session at a time.
+   * @return This server, for chaining.
+   */
+  public SessionServer sharedWorld(boolean sharedWorld) {
+    this.sharedWorld = sharedWorld;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of sessions if the world is shared (see {@link #sharedWorld(boolean)}).
+   *
+   * @param maxSessions Maximum number of sessions.
+   * @return This server, for chaining.
+   */
+  public SessionServer maxSessions(int maxSessions) {
+    this.maxSessions = maxSessions;
+    return this;
+  }
+
+  /**
+   * Set the maximum number of programs that run at the same time.
+   *
+   * <p>Must be called before the server is started.
+   *
+   * @param maxRunning Maximum number of programs that run at the same time.
+   * @return This server, for chaining.
+   * @throws IllegalStateException If the server was already started.
+   */
+  public SessionServer maxRunning(int maxRunning) {
+    if (httpServer != null) throw new IllegalStateException("The server was already started.");
+    this.running = new Semaphore(maxRunning);
+    return this;
+  }
+
+  /**
+   * Set the limits of a single program.
+   *
+   * <p>The limits apply to sessions created afterward.
+   *
+   * @param maxSteps Maximum number of actions a program may process.
+   * @param maxCpuMillis Maximum time in milliseconds a program may run, without the time spent
+   *     waiting for the game.
+   * @return This server, for chaining.
+   */
+  public SessionServer limits(long maxSteps, long maxCpuMillis) {
+    this.maxSteps = maxSteps;
+    this.maxCpuNanos = TimeUnit.MILLISECONDS.toNanos(maxCpuMillis);
+    return this;
+  }
+
+  /**
+   * Start the server and the game world.
+   *
+   * @param port Port to listen on.
+   * @return Returns the http server.
+   * @throws IOException Throws an IOException if the server could not be started.
+   */
+  public HttpServer start(int port) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    httpServer.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    httpServer.createContext("/session", this::handleRequest);
+    ticker =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "blockly-world");
+              thread.setDaemon(true);
+              return thread;
+            });
+    ticker.scheduleAtFixedRate(this::tick, 0, tickNanos, TimeUnit.NANOSECONDS);
+    httpServer.start();
+    return httpServer;
+  }
+
+  /** Stop the server and the game world. Running programs are interrupted. */
+  public void stop() {
+    stopped = true;
+    sessions.values().forEach(session -> session.server().interruptExecution = true);
+    if (httpServer != null) httpServer.stop(0);
+    if (ticker != null) ticker.shutdownNow();
+    // release the programs that wait for the game world
+    cancelPending();
+  }
+
+  private void cancelPending() {
+    Step step;
+    while ((step = pendingSteps.poll()) != null)
+      step.done().completeExceptionally(new CancellationException("The server was stopped."));
+    while ((step = pendingReads.poll()) != null)
+      step.done().completeExceptionally(new CancellationException("The server was stopped."));
+  }
+
+  /**
+   * Get the number of open sessions.
+   *
+   * @return The number of open sessions.
+   */
+  public int sessionCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Get the server of a session.
+   *
+   * @param id Id of the session.
+   * @return The server of the session, or null if there is no such session.
+   */
+  Server session(final String id) {
+    Session session = sessions.get(id);
+    return session == null ? null : session.server();
+  }
+
+  /**
+   * Execute one tick: perform the queued actions of the programs, step the game world, and let the
+   * programs continue.
+   */
+  private void tick() {
+    performReads();
+    List<Step> executed = new ArrayList<>();
+    Step step;
+    while ((step = pendingSteps.poll()) != null) {
+      try {
+        step.query().get();
+        executed.add(step);
+      } catch (RuntimeException e) {
+        step.done().completeExceptionally(e);
+      }
+    }
+    try {
+      world.execute();
+    } catch (RuntimeException e) {
+      // an exception would cancel all further ticks
+      LOGGER.log(Level.SEVERE, "Exception in the game world", e);
+    }
+    executed.forEach(done -> done.done().complete(null));
+  }
+
+  // evaluates the queued queries on the game thread
+  private void performReads() {
+    Step read;
+    while ((read = pendingReads.poll()) != null) {
+      try {
+        read.done().complete(read.query().get());
+      } catch (RuntimeException e) {
+        read.done().completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Perform the given action on the game thread and wait until the tick is executed.
+   *
+   * @param action Action to perform.
+   * @throws CancellationException If the server is stopped.
+   * @throws IllegalStateException If the server was not started.
+   */
+  void step(final Runnable action) {
+    if (ticker == null) throw new IllegalStateException("The server was not started.");
+    Step step =
+        new Step(
+            () -> {
+              action.run();
+              return null;
+            },
+            new CompletableFuture<>());
+    pendingSteps.add(step);
+    // the step may have been queued after stop() emptied the queue
+    if (stopped) cancelPending();
+    join(step.done());
+  }
+
+  /**
+   * Evaluate the given query on the game thread, without waiting for the next tick.
+   *
+   * @param query Query to evaluate.
+   * @return The result of the query.
+   * @throws CancellationException If the server is stopped.
+   * @throws IllegalStateException If the server was not started.
+   */
+  <T> T read(final Supplier<T> query) {
+    ScheduledExecutorService ticker = this.ticker;
+    if (ticker == null) throw new IllegalStateException("The server was not started.");
+    Step read = new Step(query::get, new CompletableFuture<>());
+    pendingReads.add(read);
+    try {
+      ticker.execute(this::performReads);
+    } catch (RejectedExecutionException e) {
+      cancelPending();
+    }
+    if (stopped) cancelPending();
+    @SuppressWarnings("unchecked")
+    T result = (T) join(read.done());
+    return result;
+  }
+
+  private static Object join(final CompletableFuture<Object> done) {
+    try {
+      return done.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) throw cause;
+      throw e;
+    }
+  }
+
+  private void handleRequest(final HttpExchange exchange) throws IOException {
+    String[] path = exchange.getRequestURI().getPath().split("/");
+    // path: "", "session", id, command
+    if (path.length <= 2) {
+      createSession(exchange);
+      return;
+    }
+    Session session = sessions.get(path[2]);
+    if (session == null || path.length != 4) {
+      respond(exchange, 404, "Unbekannte Sitzung");
+      return;
+    }
+    try {
+      switch (path[3]) {
+        case "start" -> startProgram(session, exchange);
+        case "reset" -> resetSession(session, exchange);
+        case "clear" -> clearSession(session, exchange);
+        case "close" -> closeSession(path[2], exchange);
+        default -> respond(exchange, 404, "Unbekannte Anfrage");
+      }
+    } catch (CancellationException e) {
+      respond(exchange, 503, "Der Server wurde beendet");
+    }
+  }
+
+  private void createSession(final HttpExchange exchange) throws IOException {
+    int limit = sharedWorld ? maxSessions : 1;
+    // reserve the slot atomically, so concurrent requests cannot exceed the limit
+    if (openSessions.getAndUpdate(open -> open < limit ? open + 1 : open) >= limit) {
+      respond(exchange, 503, "Zu viele Sitzungen");
+      return;
+    }
+    Entity hero;
+    try {
+      // the factory creates components that may read the world, e.g., the current level
+      hero =
+          read(
+              () -> {
+                Entity created = heroFactory.get();
+                Game.add(created);
+                return created;
+              });
+    } catch (CancellationException e) {
+      openSessions.decrementAndGet();
+      respond(exchange, 503, "Der Server wurde beendet");
+      return;
+    } catch (RuntimeException e) {
+      openSessions.decrementAndGet();
+      throw e;
+    }
+    String id = UUID.randomUUID().toString();
+    Server server = new Server(hero, worldAccess, maxSteps, maxCpuNanos);
+    sessions.put(id, new Session(server, hero, new ReentrantLock()));
+    LOGGER.info("Created session " + id + " (" + sessions.size() + " sessions)");
+    respond(exchange, 200, id);
+  }
+
+  private void startProgram(final Session session, final HttpExchange exchange)
+      throws IOException {
+    if (!session.lock().tryLock()) {
+      respond(exchange, 409, "Es läuft bereits ein Programm");
+      return;
+    }
+    try {
+      if (!running.tryAcquire()) {
+        exchange.getResponseHeaders().add("Retry-After", "1");
+        respond(exchange, 503, "Der Server ist ausgelastet");
+        return;
+      }
+      try {
+        session.server().handleStartRequest(exchange);
+      } finally {
+        running.release();
+      }
+    } finally {
+      session.lock().unlock();
+    }
+  }
+
+  private void resetSession(final Session session, final HttpExchange exchange)
+      throws IOException {
+    // stop the running program and wait until it released the interpreter state
+    session.server().interruptExecution = true;
+    boolean locked;
+    try {
+      locked = session.lock().tryLock(RESET_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      locked = false;
+    }
+    if (!locked) {
+      respond(exchange, 409, "Das Programm konnte nicht beendet werden");
+      return;
+    }
+    try {
+      session.server().handleResetRequest(exchange);
+    } finally {
+      session.lock().unlock();
+    }
+  }
+
+  private void clearSession(final Session session, final HttpExchange exchange)
+      throws IOException {
+    if (!session.lock().tryLock()) {
+      respond(exchange, 409, "Es läuft bereits ein Programm");
+      return;
+    }
+    try {
+      session.server().handleClearRequest(exchange);
+    } finally {
+      session.lock().unlock();
+    }
+  }
+
+  private void closeSession(final String id, final HttpExchange exchange) throws IOException {
+    Session session = sessions.remove(id);
+    if (session != null) {
+      openSessions.decrementAndGet();
+      session.server().interruptExecution = true;
+      read(
+          () -> {
+            Game.remove(session.hero());
+            return null;
+          });
+      LOGGER.info("Closed session " + id + " (" + sessions.size() + " sessions)");
+    }
+    respond(exchange, 200, "OK");
+  }
+
+  private static void respond(final HttpExchange exchange, int code, final String response)
+      throws IOException {
+    byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
+    exchange.sendResponseHeaders(code, bytes.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+
+  // the lock is held while a program runs or the interpreter state is reset or cleared
+  private record Session(Server server, Entity hero, ReentrantLock lock) {}
+
+  private record Step(Supplier<Object> query, CompletableFuture<Object> done) {}
+}
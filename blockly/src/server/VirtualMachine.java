@@ -0,0 +1,235 @@
+package server;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import server.Program.*;
+import utils.Direction;
+
+/**
+ * Executes a compiled {@link Program} for a {@link Server}.
+ *
+ * <p>The virtual machine works on the state of the server: variables and functions are stored in
+ * the hashmaps of the server (and shown in the HUD), conditions are evaluated by the condition
+ * visitor of the server, and the hero is moved by the server. Errors set the error flag of the
+ * server with the same messages as {@link Server#processAction(String)}.
+ *
+ * <p>Only instructions compiled from an action of the program count as a step for the limits of
+ * the server (see {@link Server#checkLimits()}); the jumps at the end of a scope do not.
+ *
+ * <p>The program counters of the called functions and the counters of the repeat-loops are stored
+ * in plain arrays, so the execution of an instruction does not create any objects.
+ */
+final class VirtualMachine {
+
+  /** Maximum depth of nested function calls. */
+  static final int MAX_CALL_DEPTH = 1000;
+
+  private static final Logger LOGGER = Logger.getLogger(VirtualMachine.class.getSimpleName());
+
+  private final Server server;
+  private Program[] programs = new Program[8];
+  private int[] counters = new int[8];
+  private int[] repeats = new int[8];
+  private int frames;
+  private int repeatCount;
+
+  /**
+   * Create a new virtual machine for the given server.
+   *
+   * @param server Server whose state is used by the programs.
+   */
+  VirtualMachine(final Server server) {
+    this.server = server;
+  }
+
+  /**
+   * Run the given program until it ends or the execution is interrupted.
+   *
+   * @param program Program to run.
+   * @return Returns the action at which the execution was interrupted, or null if the execution
+   *     was not interrupted.
+   */
+  String run(final Program program) {
+    frames = 0;
+    repeatCount = 0;
+    push(program);
+    while (frames > 0) {
+      int frame = frames - 1;
+      Instruction[] instructions = programs[frame].instructions;
+      int pc = counters[frame];
+      if (pc >= instructions.length) {
+        frames--;
+        continue;
+      }
+      Instruction instruction = instructions[pc];
+      counters[frame] = pc + 1;
+      if (server.interruptExecution || (isStep(instruction) && !server.checkLimits())) {
+        return instruction.source();
+      }
+      try {
+        execute(instruction, frame);
+      } catch (IllegalAccessException
+          | NoSuchElementException
+          | IndexOutOfBoundsException
+          | NumberFormatException
+          | ArithmeticException e) {
+        LOGGER.log(Level.FINE, e.getMessage(), e);
+        server.setError(e.getMessage());
+      }
+      if (server.interruptExecution) {
+        return instruction.source();
+      }
+    }
+    return null;
+  }
+
+  // the jumps at the end of a scope are added by the compiler, they are not an action
+  private static boolean isStep(final Instruction instruction) {
+    return !(instruction instanceof Jump) && !(instruction instanceof RepeatNext);
+  }
+
+  private void execute(final Instruction instruction, int frame) throws IllegalAccessException {
+    switch (instruction) {
+      case Assign assign ->
+          server.addBaseVar(assign.name(), value(assign.left(), assign.op(), assign.right()));
+      case NewArray newArray -> {
+        server.variables.put(newArray.name(), new Variable(new int[newArray.size()]));
+        server.updateArrayHUD(newArray.name(), new int[newArray.size()]);
+      }
+      case AssignArray assign -> {
+        int value = value(assign.left(), assign.op(), assign.right());
+        Variable arrayVar = server.getArrayVariable(assign.name());
+        arrayVar.arrayVal[assign.index()] = value;
+        server.updateArrayHUD(assign.name(), arrayVar.arrayVal);
+      }
+      case JumpIfFalse jump -> {
+        if (jump.condition() == null) {
+          server.setError("Detected condition that is not valid: " + jump.source());
+        } else if (!server.evalCondition(jump.condition())) {
+          counters[frame] = jump.target();
+        }
+      }
+      case Jump jump -> counters[frame] = jump.target();
+      case RepeatInit repeat -> {
+        int count;
+        try {
+          count = operand(repeat.count());
+        } catch (IllegalAccessException
+            | NoSuchElementException
+            | IndexOutOfBoundsException
+            | NumberFormatException e) {
+          // skip the loop, its body must not run with an unknown count
+          LOGGER.log(Level.FINE, e.getMessage(), e);
+          server.setError(e.getMessage());
+          counters[frame] = repeat.end();
+          return;
+        }
+        // like processAction, the body is executed at least once
+        pushRepeat(Math.max(count, 1) - 1);
+      }
+      case RepeatNext repeat -> {
+        if (repeats[repeatCount - 1] > 0) {
+          repeats[repeatCount - 1]--;
+          counters[frame] = repeat.target();
+        } else {
+          repeatCount--;
+        }
+      }
+      case Define define -> server.functions.put(define.function().name, define.function());
+      case Call call -> call(call.name());
+      case Move move -> {
+        if (move.direction() instanceof String direction) {
+          server.move(Direction.fromString(direction));
+        } else {
+          server.setError("Unexpected type for direction " + move.direction());
+        }
+      }
+      case FireBall fireBall -> {
+        if (fireBall.direction() instanceof String direction) {
+          server.shootFireBall(Direction.fromString(direction));
+        } else {
+          server.setError("Unexpected type for direction " + fireBall.direction());
+        }
+      }
+    }
+  }
+
+  private void call(final String name) {
+    FuncStats function = server.functions.get(name);
+    if (function == null) {
+      server.setError("Function " + name + " is not defined");
+      return;
+    }
+    if (function.program == null) {
+      // e.g., the function was defined step by step by processAction
+      function.program = Program.compile(function.funcBody.subList(0, bodySize(function)));
+      if (function.program == null) {
+        server.setError("Function " + name + " is not valid");
+        return;
+      }
+    }
+    if (frames >= MAX_CALL_DEPTH) {
+      server.setError("Too many nested function calls in function " + name);
+      return;
+    }
+    push(function.program);
+  }
+
+  // the body of a function defined by processAction ends with the "}" that closed the function
+  private static int bodySize(final FuncStats function) {
+    int size = function.funcBody.size();
+    if (size > 0 && function.funcBody.get(size - 1).trim().equals("}")) {
+      return size - 1;
+    }
+    return size;
+  }
+
+  private int value(final Operand left, final String op, final Operand right)
+      throws IllegalAccessException {
+    int leftValue = operand(left);
+    if (op == null) {
+      return leftValue;
+    }
+    return Server.executeExpression(leftValue, operand(right), op);
+  }
+
+  private int operand(final Operand operand) throws IllegalAccessException {
+    return switch (operand) {
+      case Literal literal -> literal.value();
+      case ArrayElement element ->
+          server.getArrayVariable(element.name()).arrayVal[element.index()];
+      case ArrayLength length -> server.getArrayVariable(length.name()).arrayVal.length;
+      case Name name -> {
+        Variable var = server.variables.get(name.name());
+        if (var == null) {
+          throw new NumberFormatException(name.name() + " is not a number or variable");
+        }
+        if (!var.type.equals("base")) {
+          throw new IllegalAccessException(
+              String.format(
+                  "Expected base variable. Got %s for variable %s", var.type, name.name()));
+        }
+        yield var.intVal;
+      }
+    };
+  }
+
+  private void push(final Program program) {
+    if (frames == programs.length) {
+      programs = Arrays.copyOf(programs, frames * 2);
+      counters = Arrays.copyOf(counters, frames * 2);
+    }
+    programs[frames] = program;
+    counters[frames] = 0;
+    frames++;
+  }
+
+  private void pushRepeat(int remaining) {
+    if (repeatCount == repeats.length) {
+      repeats = Arrays.copyOf(repeats, repeatCount * 2);
+    }
+    repeats[repeatCount++] = remaining;
+  }
+}
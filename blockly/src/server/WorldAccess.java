@@ -0,0 +1,28 @@
+package server;
+
+import java.util.function.Supplier;
+
+/**
+ * Access of a {@link Server} to the game world its hero lives in.
+ *
+ * <p>The world is only changed and read through this interface, so a world that is stepped on
+ * another thread (see {@link SessionServer}) is only touched by that thread.
+ */
+interface WorldAccess {
+
+  /**
+   * Perform the given action in the game world and wait until the game reacted to it.
+   *
+   * @param action Action to perform.
+   */
+  void step(Runnable action);
+
+  /**
+   * Evaluate the given query in the game world, without waiting for the game to react.
+   *
+   * @param query Query to evaluate.
+   * @param <T> Type of the result.
+   * @return The result of the query.
+   */
+  <T> T read(Supplier<T> query);
+}
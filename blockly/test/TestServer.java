@@ -574,4 +574,40 @@ public class TestServer {
     assertTrue(server.errorOccurred);
     assertEquals("Division by zero is not allowed.", server.errorMsg);
   }
+
+  /** Test a compiled program with a while loop. */
+  @Test
+  public void testExecuteWhile() {
+    assertNull(server.execute("int x = 0\nsolange (x < 10)\nint x = x + 1\n}"));
+    assertEquals(10, server.variables.get("x").intVal);
+    assertTrue(server.active_scopes.isEmpty());
+  }
+
+  /** Test a compiled program with an if-else statement inside a repeat loop. */
+  @Test
+  public void testExecuteRepeatIfElse() {
+    server.execute(
+        "int a = 0\nint b = 0\nwiederhole 4 Mal\nfalls (a < 2)\nint a = a + 1\n"
+            + "} sonst {\nint b = b + 1\n}\n}");
+    assertEquals(2, server.variables.get("a").intVal);
+    assertEquals(2, server.variables.get("b").intVal);
+  }
+
+  /** Test a compiled program that defines and calls a function. */
+  @Test
+  public void testExecuteFunction() {
+    server.execute(
+        "int[] arr = new int[3];\npublic void fill() {\nint arr[1] = arr.length * 2\n}\nfill();");
+    assertEquals(6, server.variables.get("arr").arrayVal[1]);
+  }
+
+  /** Test if a compiled program stops at the action that raised an error. */
+  @Test
+  public void testExecuteError() {
+    String action = server.execute("int a = 1\nint b = a / 0\nint c = 3");
+    assertEquals("int b = a / 0", action);
+    assertTrue(server.errorOccurred);
+    assertEquals("Division by zero is not allowed.", server.errorMsg);
+    assertNull(server.variables.get("c"));
+  }
 }
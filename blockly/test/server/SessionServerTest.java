@@ -0,0 +1,276 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import core.Entity;
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/** Test the session server. */
+@Timeout(30)
+public class SessionServerTest {
+  private final HttpClient client = HttpClient.newHttpClient();
+  private final List<Entity> heroes = new CopyOnWriteArrayList<>();
+  private SessionServer sessionServer;
+  private String base;
+
+  /** Stop the server after each test. */
+  @AfterEach
+  public void tearDown() {
+    if (sessionServer != null) sessionServer.stop();
+  }
+
+  private SessionServer newServer(final Runnable world) {
+    return new SessionServer(
+        world::run,
+        100,
+        () -> {
+          Entity hero = new Entity("hero");
+          hero.add(new PositionComponent());
+          hero.add(new VelocityComponent(1, 1));
+          heroes.add(hero);
+          return hero;
+        });
+  }
+
+  private void start(final SessionServer server) throws IOException {
+    sessionServer = server;
+    int port = server.start(0).getAddress().getPort();
+    base = "http://localhost:" + port + "/session";
+  }
+
+  private HttpResponse<String> post(final String path, final String body)
+      throws IOException, InterruptedException {
+    return client.send(request(path, body), HttpResponse.BodyHandlers.ofString());
+  }
+
+  private HttpRequest request(final String path, final String body) {
+    return HttpRequest.newBuilder(URI.create(base + path))
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private String createSession() throws IOException, InterruptedException {
+    HttpResponse<String> response = post("", "");
+    assertEquals(200, response.statusCode());
+    return response.body();
+  }
+
+  private static float xVelocity(final Entity hero) {
+    return hero.fetch(VelocityComponent.class).orElseThrow().currentXVelocity();
+  }
+
+  /** Test that a program that exceeds the step limit is stopped with an error. */
+  @Test
+  public void stepLimit() throws IOException, InterruptedException {
+    start(newServer(() -> {}).limits(100, 10_000));
+    String id = createSession();
+
+    HttpResponse<String> response =
+        post("/" + id + "/start", "int x = 0\nsolange (wahr)\nint x = x + 1\n}");
+
+    assertEquals(400, response.statusCode());
+    assertTrue(response.body().contains("100 Schritte"), response.body());
+    // the session can run the next program
+    assertEquals(200, post("/" + id + "/start", "int y = 1").statusCode());
+  }
+
+  /** Test that a session can only run one program at a time. */
+  @Test
+  public void busySession() throws Exception {
+    CountDownLatch moved = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    start(
+        newServer(
+            () -> {
+              // hold the tick in which the first hero started to move
+              if (!heroes.isEmpty() && xVelocity(heroes.get(0)) != 0 && moved.getCount() > 0) {
+                moved.countDown();
+                try {
+                  release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            }));
+    String id = createSession();
+
+    CompletableFuture<HttpResponse<String>> first =
+        client.sendAsync(
+            request("/" + id + "/start", "gehe(rechts)"), HttpResponse.BodyHandlers.ofString());
+    assertTrue(moved.await(10, TimeUnit.SECONDS));
+    HttpResponse<String> second = post("/" + id + "/start", "int x = 1");
+    release.countDown();
+
+    assertEquals(409, second.statusCode());
+    assertEquals(200, first.get(10, TimeUnit.SECONDS).statusCode());
+  }
+
+  /** Test that the server rejects sessions above the limit. */
+  @Test
+  public void tooManySessions() throws IOException, InterruptedException {
+    start(newServer(() -> {}).sharedWorld(true).maxSessions(2));
+    createSession();
+    createSession();
+
+    assertEquals(503, post("", "").statusCode());
+    assertEquals(2, sessionServer.sessionCount());
+  }
+
+  /** Test that the server only accepts one session at a time if the world is not shared. */
+  @Test
+  public void singleSessionWithoutSharedWorld() throws IOException, InterruptedException {
+    start(newServer(() -> {}));
+    String id = createSession();
+
+    assertEquals(503, post("", "").statusCode());
+    assertEquals(200, post("/" + id + "/close", "").statusCode());
+    createSession();
+    assertEquals(1, sessionServer.sessionCount());
+  }
+
+  /** Test that concurrent requests cannot create more sessions than allowed. */
+  @Test
+  public void concurrentSessions() throws Exception {
+    start(newServer(() -> {}).sharedWorld(true).maxSessions(5));
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 20; i++)
+      responses.add(client.sendAsync(request("", ""), HttpResponse.BodyHandlers.ofString()));
+
+    int created = 0;
+    for (CompletableFuture<HttpResponse<String>> response : responses)
+      if (response.get(10, TimeUnit.SECONDS).statusCode() == 200) created++;
+    assertEquals(5, created);
+    assertEquals(5, sessionServer.sessionCount());
+  }
+
+  /** Test that the server rejects programs above the limit of running programs. */
+  @Test
+  public void tooManyRunning() throws IOException, InterruptedException {
+    start(newServer(() -> {}).maxRunning(0));
+    String id = createSession();
+
+    HttpResponse<String> response = post("/" + id + "/start", "int x = 1");
+
+    assertEquals(503, response.statusCode());
+    assertTrue(response.headers().firstValue("Retry-After").isPresent());
+  }
+
+  /** Test that the sessions neither share their variables nor their hero. */
+  @Test
+  public void sessionsAreIsolated() throws IOException, InterruptedException {
+    start(newServer(() -> {}).sharedWorld(true));
+    String first = createSession();
+    String second = createSession();
+
+    assertEquals(200, post("/" + first + "/start", "int x = 5\ngehe(rechts)").statusCode());
+
+    assertEquals(5, sessionServer.session(first).variables.get("x").intVal);
+    assertNull(sessionServer.session(second).variables.get("x"));
+    assertEquals(2, heroes.size());
+    assertEquals(1, xVelocity(heroes.get(0)));
+    assertEquals(0, xVelocity(heroes.get(1)));
+  }
+
+  /** Test that a session cannot be cleared while its program runs. */
+  @Test
+  public void clearWhileRunning() throws Exception {
+    CountDownLatch moved = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    start(
+        newServer(
+            () -> {
+              if (!heroes.isEmpty() && xVelocity(heroes.get(0)) != 0 && moved.getCount() > 0) {
+                moved.countDown();
+                try {
+                  release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            }));
+    String id = createSession();
+
+    CompletableFuture<HttpResponse<String>> running =
+        client.sendAsync(
+            request("/" + id + "/start", "int x = 1\ngehe(rechts)"),
+            HttpResponse.BodyHandlers.ofString());
+    assertTrue(moved.await(10, TimeUnit.SECONDS));
+    HttpResponse<String> clear = post("/" + id + "/clear", "");
+    release.countDown();
+
+    assertEquals(409, clear.statusCode());
+    assertEquals(200, running.get(10, TimeUnit.SECONDS).statusCode());
+    assertEquals(1, sessionServer.session(id).variables.get("x").intVal);
+  }
+
+  /** Test that the game world cannot be accessed before the server was started. */
+  @Test
+  public void readBeforeStart() {
+    SessionServer server = newServer(() -> {});
+
+    assertThrows(IllegalStateException.class, () -> server.read(() -> 1));
+    assertThrows(IllegalStateException.class, () -> server.step(() -> {}));
+  }
+
+  /** Test that the limit of running programs cannot be changed after the start. */
+  @Test
+  public void maxRunningAfterStart() throws IOException {
+    start(newServer(() -> {}));
+
+    assertThrows(IllegalStateException.class, () -> sessionServer.maxRunning(1));
+  }
+
+  /** Test that the game world is not accessed after the server was stopped. */
+  @Test
+  public void stepAfterStop() throws IOException {
+    start(newServer(() -> {}));
+    sessionServer.stop();
+
+    assertThrows(CancellationException.class, () -> sessionServer.step(() -> {}));
+    assertThrows(CancellationException.class, () -> sessionServer.read(() -> 1));
+  }
+
+  /** Test that a program waiting for the game world is released when the server is stopped. */
+  @Test
+  public void stopReleasesWaitingStep() throws Exception {
+    CountDownLatch ticking = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    start(
+        newServer(
+            () -> {
+              ticking.countDown();
+              try {
+                release.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }));
+    assertTrue(ticking.await(10, TimeUnit.SECONDS));
+
+    CompletableFuture<Void> waiting =
+        CompletableFuture.runAsync(() -> sessionServer.step(() -> {}));
+    sessionServer.stop();
+    release.countDown();
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> waiting.get(10, TimeUnit.SECONDS));
+    assertInstanceOf(CancellationException.class, e.getCause());
+  }
+}
@@ -0,0 +1,82 @@
+package server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import core.Entity;
+import core.components.PositionComponent;
+import core.components.VelocityComponent;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+/** Test the execution of compiled programs by the {@link VirtualMachine}. */
+public class VirtualMachineTest {
+
+  private static Server server(long maxSteps) {
+    Entity hero = new Entity("hero");
+    hero.add(new PositionComponent());
+    hero.add(new VelocityComponent(1, 1));
+    return new Server(
+        hero,
+        new WorldAccess() {
+          @Override
+          public void step(Runnable action) {
+            action.run();
+          }
+
+          @Override
+          public <T> T read(Supplier<T> query) {
+            return query.get();
+          }
+        },
+        maxSteps,
+        Long.MAX_VALUE);
+  }
+
+  /** Test that only the actions of a program count as steps, not the jumps of a loop. */
+  @Test
+  public void stepsOfWhileLoop() {
+    // 1 assignment, 6 conditions and 5 assignments in the loop
+    String program = "int x = 0\nsolange (x < 5)\nint x = x + 1\n}";
+    Server server = server(12);
+    assertNull(server.execute(program));
+    assertFalse(server.errorOccurred);
+    assertEquals(5, server.variables.get("x").intVal);
+
+    server = server(11);
+    assertNotNull(server.execute(program));
+    assertTrue(server.errorOccurred);
+  }
+
+  /** Test that the end of a repeat-loop does not count as a step. */
+  @Test
+  public void stepsOfRepeatLoop() {
+    // 1 assignment, 1 repeat and 3 assignments in the loop
+    Server server = server(5);
+    assertNull(server.execute("int x = 0\nwiederhole 3 Mal\nint x = x + 1\n}"));
+    assertFalse(server.errorOccurred);
+    assertEquals(3, server.variables.get("x").intVal);
+  }
+
+  /** Test that the body of a repeat-loop with an invalid count is not executed. */
+  @Test
+  public void repeatInvalidCount() {
+    Server server = server(Long.MAX_VALUE);
+    String action = server.execute("int x = 0\nwiederhole y Mal\nint x = x + 1\n}\nint z = 1");
+    assertEquals("wiederhole y Mal", action);
+    assertTrue(server.errorOccurred);
+    assertEquals("y is not a number or variable", server.errorMsg);
+    assertEquals(0, server.variables.get("x").intVal);
+    assertNull(server.variables.get("z"));
+  }
+
+  /** Test that calling an undefined function stops the program with an error. */
+  @Test
+  public void callUndefinedFunction() {
+    Server server = server(Long.MAX_VALUE);
+    String action = server.execute("int x = 0\nfoo();\nint x = 1");
+    assertEquals("foo();", action);
+    assertTrue(server.errorOccurred);
+    assertEquals("Function foo is not defined", server.errorMsg);
+    assertEquals(0, server.variables.get("x").intVal);
+  }
+}
@@ -1,25 +1,47 @@
 package systems;
 
-import com.badlogic.gdx.utils.DelayedRemovalArray;
-import com.badlogic.gdx.utils.TimeUtils;
 import core.System;
+import core.game.PreRunConfiguration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import utils.TimedEffect;
 
 /**
  * EventScheduler is a class that extends the System class.
  *
- * <p>This class is responsible for scheduling and executing timed actions. It maintains a list of
+ * <p>This class is responsible for scheduling and executing timed actions. It maintains a queue of
  * scheduled actions, each of which is represented by a ScheduledAction object that encapsulates a
- * TimedEffect and an execution time. The class provides methods to schedule new actions, clear all
- * scheduled actions, and update the state of scheduled actions.
+ * TimedEffect and an execution tick. The class provides methods to schedule new actions (once,
+ * repeating, or many at once), cancel single actions, clear all scheduled actions, and execute the
+ * actions that are due.
+ *
+ * <p>The scheduler counts game ticks instead of reading the wall clock: every {@link #execute()}
+ * is one tick. Delays are given in milliseconds and converted to ticks with the frame rate of the
+ * game ({@link PreRunConfiguration#frameRate()}). If the game is paused (the system is stopped) or
+ * runs slower than the frame rate, the scheduled actions are delayed accordingly, and stepping
+ * the game frame by frame executes the actions deterministically.
+ *
+ * <p>The actions are kept in a min-heap ordered by their execution tick, so each tick only looks
+ * at the actions that are due. Actions with the same execution tick are executed in the order in
+ * which they were scheduled.
  *
  * <p>The EventScheduler class follows the Singleton design pattern, meaning that only one instance
  * of the class can exist. The getInstance() method is used to get the instance of the class.
  */
 public class EventScheduler extends System {
 
+  private static final int MIN_PURGE_SIZE = 64;
   private static EventScheduler INSTANCE;
-  private final DelayedRemovalArray<ScheduledAction> scheduledActions = new DelayedRemovalArray<>();
+  private final PriorityQueue<ScheduledAction> scheduledActions =
+      new PriorityQueue<>(
+          Comparator.<ScheduledAction>comparingLong(action -> action.executeAt)
+              .thenComparingLong(action -> action.sequence));
+  private long currentTick = 0;
+  private long sequence = 0;
+  private int cancelledActions = 0;
 
   private EventScheduler() {}
 
@@ -38,61 +60,211 @@ public class EventScheduler extends System {
     return INSTANCE;
   }
 
+  /**
+   * Converts the given delay in milliseconds to game ticks.
+   *
+   * <p>The delay is rounded up to whole ticks, based on {@link PreRunConfiguration#frameRate()}.
+   *
+   * @param delayMillis The delay in milliseconds.
+   * @return The delay in ticks, at least 0.
+   */
+  public static long toTicks(long delayMillis) {
+    if (delayMillis <= 0) return 0;
+    long frameRate = Math.max(1, PreRunConfiguration.frameRate());
+    return (delayMillis * frameRate + 999) / 1000;
+  }
+
+  /**
+   * Gets the current tick of the scheduler.
+   *
+   * <p>The tick is increased by one with every {@link #execute()}.
+   *
+   * @return The current tick.
+   */
+  public long currentTick() {
+    return currentTick;
+  }
+
   /**
    * Schedules a new action to be executed after a specified delay.
    *
-   * <p>This method creates a new ScheduledAction with the provided action and execution time, and
-   * adds it to the list of scheduled actions. The execution time is calculated as the current time
-   * plus the provided delay.
+   * <p>This method creates a new ScheduledAction with the provided action and adds it to the
+   * scheduled actions. The execution tick is calculated as the current tick plus the provided
+   * delay converted to ticks (see {@link #toTicks(long)}).
    *
    * @param action The action to be executed.
    * @param delayMillis The delay in milliseconds after which the action should be executed.
+   * @return The scheduled action, which can be used to cancel the action.
    */
-  public void scheduleAction(TimedEffect action, long delayMillis) {
-    long executeAt = TimeUtils.millis() + delayMillis;
-    scheduledActions.add(new ScheduledAction(action, executeAt));
+  public ScheduledAction scheduleAction(TimedEffect action, long delayMillis) {
+    ScheduledAction scheduledAction = new ScheduledAction(action, 0);
+    schedule(scheduledAction, toTicks(delayMillis));
+    return scheduledAction;
+  }
+
+  /**
+   * Schedules a new action to be executed repeatedly.
+   *
+   * <p>The action is executed for the first time after the given delay and then every period
+   * until it is cancelled with {@link ScheduledAction#cancel()} or the scheduler is cleared.
+   *
+   * @param action The action to be executed.
+   * @param delayMillis The delay in milliseconds after which the action should be executed for the
+   *     first time.
+   * @param periodMillis The time in milliseconds between two executions.
+   * @return The scheduled action, which can be used to cancel the action.
+   * @throws IllegalArgumentException if the period is shorter than one tick.
+   */
+  public ScheduledAction scheduleRepeating(
+      TimedEffect action, long delayMillis, long periodMillis) {
+    long period = toTicks(periodMillis);
+    if (period <= 0)
+      throw new IllegalArgumentException("The period must be positive, was " + periodMillis);
+    ScheduledAction scheduledAction = new ScheduledAction(action, period);
+    schedule(scheduledAction, toTicks(delayMillis));
+    return scheduledAction;
+  }
+
+  /**
+   * Schedules multiple actions to be executed after the same delay.
+   *
+   * <p>The actions are executed in the order of the given collection.
+   *
+   * @param actions The actions to be executed.
+   * @param delayMillis The delay in milliseconds after which the actions should be executed.
+   * @return The scheduled actions, in the order of the given collection.
+   */
+  public List<ScheduledAction> scheduleActions(
+      Collection<? extends TimedEffect> actions, long delayMillis) {
+    long delay = toTicks(delayMillis);
+    List<ScheduledAction> scheduled = new ArrayList<>(actions.size());
+    for (TimedEffect action : actions) {
+      ScheduledAction scheduledAction = new ScheduledAction(action, 0);
+      schedule(scheduledAction, delay);
+      scheduled.add(scheduledAction);
+    }
+    return scheduled;
   }
 
   /**
    * Clears all scheduled actions.
    *
-   * <p>This method removes all actions from the list of scheduled actions. After this method is
-   * called, the list of scheduled actions will be empty.
+   * <p>This method cancels all scheduled actions. After this method is called, the queue of
+   * scheduled actions will be empty.
    */
   public void clear() {
+    scheduledActions.forEach(
+        action -> {
+          action.cancelled = true;
+          action.queued = false;
+        });
     scheduledActions.clear();
+    cancelledActions = 0;
   }
 
   /**
    * Executes the scheduled actions.
    *
-   * <p>This method is called to process all the scheduled actions. It first gets the current time,
-   * then it starts iterating over the scheduled actions. For each scheduled action, it checks if
-   * the current time is greater than or equal to the execution time of the action. If it is, it
-   * applies the effect of the action and removes the action from the list of scheduled actions.
-   * After all actions have been processed, it ends the iteration over the scheduled actions.
+   * <p>This method is called once per frame and advances the scheduler by one tick. It then
+   * removes the actions whose execution tick is reached from the queue, in the order of their
+   * execution tick, and applies their effect. Cancelled actions are skipped, and repeating actions
+   * are scheduled again for their next execution.
+   *
+   * <p>Actions that are scheduled without delay by an executed action are executed in the same
+   * tick.
    */
   @Override
   public void execute() {
-    long currentTime = TimeUtils.millis();
-    scheduledActions.begin();
-    for (int i = 0; i < scheduledActions.size; i++) {
-      ScheduledAction scheduledAction = scheduledActions.get(i);
-      if (currentTime >= scheduledAction.executeAt) {
-        scheduledAction.action.applyEffect();
-        scheduledActions.removeIndex(i);
+    currentTick++;
+    while (!scheduledActions.isEmpty() && scheduledActions.peek().executeAt <= currentTick) {
+      ScheduledAction scheduledAction = scheduledActions.poll();
+      scheduledAction.queued = false;
+      if (scheduledAction.cancelled) {
+        cancelledActions--;
+        continue;
       }
+      if (scheduledAction.period <= 0) scheduledAction.done = true;
+      scheduledAction.action.applyEffect();
+      if (scheduledAction.period > 0 && !scheduledAction.cancelled)
+        schedule(scheduledAction, scheduledAction.period);
+    }
+  }
+
+  private void schedule(ScheduledAction scheduledAction, long delayTicks) {
+    scheduledAction.executeAt = currentTick + delayTicks;
+    scheduledAction.sequence = sequence++;
+    scheduledAction.queued = true;
+    scheduledActions.add(scheduledAction);
+  }
+
+  // cancelled actions stay in the queue until they are due; rebuild the queue if they pile up
+  private void cancelled() {
+    cancelledActions++;
+    if (cancelledActions > MIN_PURGE_SIZE && cancelledActions > scheduledActions.size() / 2) {
+      scheduledActions.removeIf(action -> action.cancelled);
+      cancelledActions = 0;
     }
-    scheduledActions.end();
   }
 
-  private static class ScheduledAction {
-    TimedEffect action;
-    long executeAt;
+  /**
+   * An action scheduled by the {@link EventScheduler}.
+   *
+   * <p>Use {@link #cancel()} to prevent the (further) execution of the action.
+   */
+  public final class ScheduledAction {
+    private final TimedEffect action;
+    private final long period;
+    private long executeAt;
+    private long sequence;
+    private boolean queued = false;
+    private boolean cancelled = false;
+    private boolean done = false;
 
-    ScheduledAction(TimedEffect action, long executeAt) {
+    private ScheduledAction(TimedEffect action, long period) {
       this.action = action;
-      this.executeAt = executeAt;
+      this.period = period;
+    }
+
+    /**
+     * Cancels the action.
+     *
+     * <p>If the action was not executed yet, it will not be executed. A repeating action will not
+     * be executed again. Has no effect if the action was already executed or cancelled.
+     */
+    public void cancel() {
+      if (cancelled || done) return;
+      cancelled = true;
+      // a repeating action cancelled by itself is not in the queue
+      if (queued) cancelled();
+    }
+
+    /**
+     * Checks if the action was cancelled.
+     *
+     * @return true if the action was cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    /**
+     * Checks if the action will not be executed (again).
+     *
+     * @return true if the action was executed (and is not repeating) or cancelled, false
+     *     otherwise.
+     */
+    public boolean isDone() {
+      return done || cancelled;
+    }
+
+    /**
+     * Gets the tick of the next execution of the action.
+     *
+     * @return The tick at which the action will be executed next.
+     * @see EventScheduler#currentTick()
+     */
+    public long executeAt() {
+      return executeAt;
     }
   }
 }
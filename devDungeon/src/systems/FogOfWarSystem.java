@@ -2,14 +2,15 @@ package systems;
 
 import components.TorchComponent;
 import contrib.utils.EntityUtils;
+import core.Component;
 import core.Entity;
 import core.Game;
 import core.System;
 import core.components.DrawComponent;
 import core.components.PositionComponent;
 import core.level.Tile;
+import core.level.elements.ILevel;
 import core.level.utils.LevelElement;
-import core.level.utils.LevelUtils;
 import core.utils.Point;
 import core.utils.components.MissingComponentException;
 import java.util.*;
@@ -22,6 +23,11 @@ import java.util.*;
  * visible to the player) and a list of entities that are hidden. It also keeps track of the last
  * known position of the hero (player character) and whether the fog of war system is currently
  * active.
+ *
+ * <p>The field of view is only calculated again if the hero moved to another tile, the view
+ * distance changed, or a tile near the hero changed (see {@link ILevel#regionVersion(int, int)}).
+ * The tiles are tracked by their index in the layout of the level, so on all other frames the
+ * system only updates the visibility of the entities.
  */
 public class FogOfWarSystem extends System {
   private static final int DISTANCE_TRANSITION_SIZE = 2; // size of distance transition (in tiles)
@@ -41,8 +47,31 @@ public class FogOfWarSystem extends System {
   /** The maximum view distance (all tiles to consider for calculation). */
   private static final int MAX_VIEW_DISTANCE = 25;
 
-  private final Map<Tile, Integer> darkenedTiles = new HashMap<>();
-  private final List<Entity> hiddenEntities = new ArrayList<>();
+  private static final int REGIONS_IN_VIEW = (2 * MAX_VIEW_DISTANCE + 2) / ILevel.REGION_SIZE + 2;
+
+  private static final Set<Class<? extends Component>> DRAWABLE =
+      Set.of(DrawComponent.class, PositionComponent.class);
+
+  // tiles are stored by their index (y * width + x) in the layout of the level
+  private final BitSet darkenedTiles = new BitSet();
+  private final BitSet tilesInView = new BitSet();
+  private final BitSet visibleTiles = new BitSet();
+  private final Set<Entity> hiddenEntities = new HashSet<>();
+  // region versions of the level around the hero at the last update of the fog
+  private final int[] regionVersions = new int[REGIONS_IN_VIEW * REGIONS_IN_VIEW];
+  private int[] originalTints = new int[0];
+  private ILevel level;
+  private Tile[][] layout;
+  private int width;
+  private int height;
+  private int heroX;
+  private int heroY;
+  private int computedViewDistance;
+  private int regionMinX;
+  private int regionMaxX = -1;
+  private int regionMinY;
+  private int regionMaxY = -1;
+  private boolean dirty = true;
   private boolean active = true;
 
   /**
@@ -57,6 +86,9 @@ public class FogOfWarSystem extends System {
   public void reset(boolean revert) {
     darkenedTiles.clear();
     hiddenEntities.clear();
+    level = null;
+    layout = null;
+    dirty = true;
     if (revert) {
       revert();
     }
@@ -77,8 +109,9 @@ public class FogOfWarSystem extends System {
 
   /** Reverts the FogOfWarSystem. This reveals all darkened tiles and hidden entities. */
   public void revert() {
-    revertTilesBackToLight(darkenedTiles.keySet().stream().toList());
+    revertAllTilesBackToLight();
     revealHiddenEntities();
+    dirty = true;
   }
 
   /**
@@ -136,12 +169,11 @@ public class FogOfWarSystem extends System {
     }
   }
 
-  private List<Tile> castLight(
-      int row, float start, float end, int radius, int xx, int xy, int yx, int yy, Point heroPos) {
-    List<Tile> visibleTiles = new ArrayList<>();
+  private void castLight(int row, float start, float end, int xx, int xy, int yx, int yy) {
     if (start < end) {
-      return visibleTiles;
+      return;
     }
+    int radius = MAX_VIEW_DISTANCE;
     float newStart = 0.0f;
     for (int i = row; i <= radius; i++) {
       int dx = -i - 1;
@@ -150,8 +182,8 @@ public class FogOfWarSystem extends System {
       while (dx <= 0) {
         dx += 1;
         // Translate the dx, dy coordinates into map coordinates
-        int X = (int) (heroPos.x + (dx * xx + dy * xy));
-        int Y = (int) (heroPos.y + (dx * yx + dy * yy));
+        int X = heroX + (dx * xx + dy * xy);
+        int Y = heroY + (dx * yx + dy * yy);
         // l_slope and r_slope store the slopes of the left and right extremities of the square
         // we're considering
         float lSlope = (dx - 0.5f) / (dy + 0.5f);
@@ -161,15 +193,14 @@ public class FogOfWarSystem extends System {
         } else if (end > lSlope) {
           break;
         } else {
-          // Our light beam is touching this square; light it
-          if (dx * dx + dy * dy < radius * radius) {
-            Tile tile = Game.tileAT(new Point(X, Y));
-            visibleTiles.add(tile);
-          }
-          Tile tile = Game.tileAT(new Point(X, Y));
+          Tile tile = tileAt(X, Y);
           if (tile == null) {
             continue;
           }
+          // Our light beam is touching this square; light it
+          if (dx * dx + dy * dy < radius * radius) {
+            visibleTiles.set(index(X, Y));
+          }
           if (blocked) { // previous step was a blocking square
 
             if (!tile.canSeeThrough()) { // this step is a blocking square
@@ -182,7 +213,7 @@ public class FogOfWarSystem extends System {
           } else {
             if (!tile.canSeeThrough() && i < radius) { // this step is a blocking square
               blocked = true;
-              visibleTiles.addAll(castLight(i + 1, start, lSlope, radius, xx, xy, yx, yy, heroPos));
+              castLight(i + 1, start, lSlope, xx, xy, yx, yy);
               newStart = rSlope;
             }
           }
@@ -190,15 +221,15 @@ public class FogOfWarSystem extends System {
       }
       if (blocked) break;
     }
-    return visibleTiles;
   }
 
-  private void darkenTile(Tile tile, int maxDistance, float scale, Point heroPos) {
-    int newTint = getTintColor(tile.coordinate().toPoint(), maxDistance, scale, heroPos);
+  private void darkenTile(int index, Tile tile, int maxDistance, float scale) {
+    int newTint = getTintColor(tile.coordinate().x, tile.coordinate().y, maxDistance, scale);
     int orgTint = tile.tintColor();
     int mixedTint = orgTint == -1 ? newTint : (orgTint & 0xFFFFFF00) | (newTint & 0x000000FF);
-    if (!darkenedTiles.containsKey(tile)) {
-      darkenedTiles.put(tile, orgTint);
+    if (!darkenedTiles.get(index)) {
+      darkenedTiles.set(index);
+      originalTints[index] = orgTint;
     }
     tile.tintColor(mixedTint);
   }
@@ -209,21 +240,16 @@ public class FogOfWarSystem extends System {
    * distance. The closer the tile is to the hero, the more transparent (closer to white) it
    * becomes. If the tile is beyond the view distance, it is fully opaque.
    *
-   * @param tilePos The position of the tile for which to calculate the tint color.
+   * @param x The x-coordinate of the tile for which to calculate the tint color.
+   * @param y The y-coordinate of the tile for which to calculate the tint color.
    * @param maxDistance The maximum distance from the hero's position at which the tile is fully
    *     opaque.
    * @param scale The scale factor for the distance. The larger the scale, the more transparent the
    *     tiles will be.
-   * @param heroPos The position of the hero.
    * @return The calculated tint color as an ARGB integer.
    */
-  private int getTintColor(Point tilePos, int maxDistance, float scale, Point heroPos) {
-    float distance =
-        (float)
-            heroPos
-                .toCoordinate()
-                .toPoint()
-                .distance(tilePos); // point -> coordinate -> point to floor the value
+  private int getTintColor(int x, int y, int maxDistance, float scale) {
+    float distance = (float) Math.hypot(x - heroX, y - heroY);
     if (distance > maxDistance) {
       return 0xFFFFFF00;
     }
@@ -233,26 +259,23 @@ public class FogOfWarSystem extends System {
     return 0xFFFFFF00 | alpha;
   }
 
-  private void revertTilesBackToLight(List<Tile> visibleTiles) {
-    Iterator<Tile> iterator = darkenedTiles.keySet().iterator();
-    while (iterator.hasNext()) {
-      Tile darkenTile = iterator.next();
-      Integer originalTint = darkenedTiles.get(darkenTile);
-      // match non-current tile or tile that are far away
-      if (visibleTiles.contains(darkenTile)) {
-        darkenTile.tintColor(originalTint);
-        iterator.remove();
+  private void revertTileBackToLight(int index) {
+    Tile tile = tileAt(index % width, index / width);
+    if (tile != null) tile.tintColor(originalTints[index]);
+    darkenedTiles.clear(index);
+  }
+
+  private void revertAllTilesBackToLight() {
+    if (layout != null) {
+      for (int i = darkenedTiles.nextSetBit(0); i >= 0; i = darkenedTiles.nextSetBit(i + 1)) {
+        revertTileBackToLight(i);
       }
     }
+    darkenedTiles.clear();
   }
 
-  private void hideAllHiddenEntities() {
-    darkenedTiles.keySet().stream()
-        .filter(tile -> tile.tintColor() < HIDE_ENTITY_THRESHOLD)
-        .flatMap(Game::entityAtTile)
-        .filter(entity -> entity.isPresent(DrawComponent.class))
-        .filter(entity -> !isAntiTorchAndLit(entity)) // Ignore anti-torches
-        .filter(entity -> !entity.name().contains("tpball")) // Ignore tpballs
+  private void updateHiddenEntities() {
+    Game.entityStream(DRAWABLE)
         .forEach(
             entity -> {
               DrawComponent dc =
@@ -260,11 +283,30 @@ public class FogOfWarSystem extends System {
                       .fetch(DrawComponent.class)
                       .orElseThrow(
                           () -> MissingComponentException.build(entity, DrawComponent.class));
-              dc.setVisible(false);
-              hiddenEntities.add(entity);
+              if (isInFog(entity)) {
+                if (isAntiTorchAndLit(entity)) return; // Ignore anti-torches
+                if (entity.name().contains("tpball")) return; // Ignore tpballs
+                dc.setVisible(false);
+                hiddenEntities.add(entity);
+              } else if (hiddenEntities.remove(entity)) {
+                dc.setVisible(true);
+              }
             });
   }
 
+  private boolean isInFog(Entity entity) {
+    PositionComponent pc =
+        entity
+            .fetch(PositionComponent.class)
+            .orElseThrow(() -> MissingComponentException.build(entity, PositionComponent.class));
+    int x = (int) Math.floor(pc.position().x);
+    int y = (int) Math.floor(pc.position().y);
+    Tile tile = tileAt(x, y);
+    return tile != null
+        && darkenedTiles.get(index(x, y))
+        && tile.tintColor() < HIDE_ENTITY_THRESHOLD;
+  }
+
   private boolean isAntiTorchAndLit(Entity entity) {
     return entity.name().contains("anti_torch")
         && entity
@@ -275,78 +317,151 @@ public class FogOfWarSystem extends System {
 
   private void revealHiddenEntities() {
     for (Entity entity : hiddenEntities) {
-      PositionComponent pc =
-          entity
-              .fetch(PositionComponent.class)
-              .orElseThrow(() -> MissingComponentException.build(entity, PositionComponent.class));
-      Tile tile = Game.tileAT(pc.position());
-      if (!darkenedTiles.containsKey(tile) || tile.tintColor() >= HIDE_ENTITY_THRESHOLD) {
-        DrawComponent dc =
-            entity
-                .fetch(DrawComponent.class)
-                .orElseThrow(() -> MissingComponentException.build(entity, DrawComponent.class));
-        dc.setVisible(true);
-      }
+      entity.fetch(DrawComponent.class).ifPresent(dc -> dc.setVisible(true));
     }
+    hiddenEntities.clear();
   }
 
   @Override
   public void execute() {
     if (!active) return;
 
+    ILevel currentLevel = Game.currentLevel();
     Point heroPos = EntityUtils.getHeroPosition();
-    if (heroPos == null) return; // no hero, no fog of war
+    if (heroPos == null || currentLevel == null) return; // no hero, no fog of war
 
-    List<Tile> allTilesInView = LevelUtils.tilesInRange(heroPos, MAX_VIEW_DISTANCE);
-    // Revert all darkened tiles back to light that are not in view
-    List<Tile> tilesOutsideView = new ArrayList<>(darkenedTiles.keySet());
-    tilesOutsideView.removeAll(allTilesInView);
-    revertTilesBackToLight(tilesOutsideView);
+    if (currentLevel != level) {
+      revertAllTilesBackToLight();
+      useLevel(currentLevel);
+    }
+    int x = (int) Math.floor(heroPos.x);
+    int y = (int) Math.floor(heroPos.y);
+    if (dirty
+        || x != heroX
+        || y != heroY
+        || currentViewDistance != computedViewDistance
+        || regionsChanged()) {
+      heroX = x;
+      heroY = y;
+      computedViewDistance = currentViewDistance;
+      updateFog();
+      rememberRegionVersions();
+      dirty = false;
+    }
+
+    // Hide entities in the fog of war and reveal entities in the visible area
+    updateHiddenEntities();
+  }
+
+  private void useLevel(ILevel newLevel) {
+    level = newLevel;
+    layout = newLevel.layout();
+    width = layout[0].length;
+    height = layout.length;
+    if (originalTints.length < width * height) originalTints = new int[width * height];
+    dirty = true;
+  }
+
+  private void updateFog() {
+    layout = level.layout();
+    // the tiles in range and the tiles in line of sight of the hero, see LevelUtils#tilesInRange
+    // for the range check; the range is measured from the center of the tile of the hero
+    float centerX = heroX + 0.5f;
+    float centerY = heroY + 0.5f;
+    tilesInView.clear();
+    int minX = Math.max(0, heroX - MAX_VIEW_DISTANCE - 1);
+    int maxX = Math.min(width - 1, heroX + MAX_VIEW_DISTANCE + 1);
+    int minY = Math.max(0, heroY - MAX_VIEW_DISTANCE - 1);
+    int maxY = Math.min(height - 1, heroY + MAX_VIEW_DISTANCE + 1);
+    for (int y = minY; y <= maxY; y++) {
+      for (int x = minX; x <= maxX; x++) {
+        if (layout[y][x] != null && isInRange(centerX, centerY, MAX_VIEW_DISTANCE, x, y))
+          tilesInView.set(index(x, y));
+      }
+    }
 
-    List<Tile> visibleTiles = new ArrayList<>();
-    visibleTiles.add(Game.tileAT(heroPos));
+    visibleTiles.clear();
+    if (tileAt(heroX, heroY) != null) visibleTiles.set(index(heroX, heroY));
     // Cast light into the surrounding tiles
     for (int octant = 0; octant < 8; octant++) {
-      visibleTiles.addAll(
-          castLight(
-              1,
-              1.0f,
-              0.0f,
-              MAX_VIEW_DISTANCE,
-              mult[octant][0],
-              mult[octant][1],
-              mult[octant][2],
-              mult[octant][3],
-              heroPos));
+      castLight(1, 1.0f, 0.0f, mult[octant][0], mult[octant][1], mult[octant][2], mult[octant][3]);
+    }
+    tilesInView.or(visibleTiles);
+
+    // Revert all darkened tiles back to light that are not in view
+    for (int i = darkenedTiles.nextSetBit(0); i >= 0; i = darkenedTiles.nextSetBit(i + 1)) {
+      if (!tilesInView.get(i)) revertTileBackToLight(i);
     }
-    List<Tile> distancedTiles = new ArrayList<>(visibleTiles.stream().toList()); // copy
 
-    // Handle tiles that are beyond the view distance
-    distancedTiles.removeAll(LevelUtils.tilesInRange(heroPos, currentViewDistance));
-    distancedTiles.forEach(
-        (tile) ->
-            darkenTile(
-                tile,
-                currentViewDistance + DISTANCE_TRANSITION_SIZE,
-                TINT_COLOR_DISTANCE_SCALE,
-                heroPos));
-    visibleTiles.removeAll(distancedTiles); // remove distanced tiles from visible tiles
-    allTilesInView.removeAll(distancedTiles); // and from tile behind walls
+    for (int i = tilesInView.nextSetBit(0); i >= 0; i = tilesInView.nextSetBit(i + 1)) {
+      int x = i % width;
+      int y = i / width;
+      Tile tile = layout[y][x];
+      if (!visibleTiles.get(i)) {
+        // Darken tiles that are behind walls
+        darkenTile(i, tile, currentViewDistance, TINT_COLOR_WALL_DISTANCE_SCALE);
+      } else if (!isInRange(centerX, centerY, currentViewDistance, x, y)) {
+        // Handle tiles that are beyond the view distance
+        darkenTile(
+            i, tile, currentViewDistance + DISTANCE_TRANSITION_SIZE, TINT_COLOR_DISTANCE_SCALE);
+      } else if (darkenedTiles.get(i)) {
+        // Revert visible tiles back to light
+        revertTileBackToLight(i);
+      }
+    }
+  }
+
+  // same check as LevelUtils#tilesInRange, without creating points for each tile
+  private static boolean isInRange(float centerX, float centerY, float radius, int x, int y) {
+    for (int cy = y; cy <= y + 1; cy++) {
+      for (int cx = x; cx <= x + 1; cx++) {
+        float dx = cx - centerX;
+        float dy = cy - centerY;
+        if (Math.sqrt(dx * dx + dy * dy) <= radius) return true;
+      }
+    }
+    return isPointInTile(centerX - radius, centerY, x, y)
+        || isPointInTile(centerX + radius, centerY, x, y)
+        || isPointInTile(centerX, centerY - radius, x, y)
+        || isPointInTile(centerX, centerY + radius, x, y);
+  }
 
-    allTilesInView.removeAll(visibleTiles); // remove visible tiles from tiles behind walls
+  private static boolean isPointInTile(float pointX, float pointY, int x, int y) {
+    return x < pointX && pointX < x + 1 && y < pointY && pointY < y + 1;
+  }
 
-    // Darken tiles that are behind walls
-    allTilesInView.forEach(
-        (tile) -> darkenTile(tile, currentViewDistance, TINT_COLOR_WALL_DISTANCE_SCALE, heroPos));
+  // the fog only has to be updated if a tile near the hero was changed (e.g., a wall was removed);
+  // the versions are taken after the fog was updated, so the tints set by the fog are ignored
+  private boolean regionsChanged() {
+    int i = 0;
+    for (int ry = regionMinY; ry <= regionMaxY; ry++) {
+      for (int rx = regionMinX; rx <= regionMaxX; rx++) {
+        if (level.regionVersion(rx, ry) != regionVersions[i++]) return true;
+      }
+    }
+    return false;
+  }
 
-    // Revert all visible tiles back to light
-    revertTilesBackToLight(visibleTiles);
+  private void rememberRegionVersions() {
+    regionMinX = Math.max(0, heroX - MAX_VIEW_DISTANCE - 1) / ILevel.REGION_SIZE;
+    regionMaxX = Math.min(width - 1, heroX + MAX_VIEW_DISTANCE + 1) / ILevel.REGION_SIZE;
+    regionMinY = Math.max(0, heroY - MAX_VIEW_DISTANCE - 1) / ILevel.REGION_SIZE;
+    regionMaxY = Math.min(height - 1, heroY + MAX_VIEW_DISTANCE + 1) / ILevel.REGION_SIZE;
+    int i = 0;
+    for (int ry = regionMinY; ry <= regionMaxY; ry++) {
+      for (int rx = regionMinX; rx <= regionMaxX; rx++) {
+        regionVersions[i++] = level.regionVersion(rx, ry);
+      }
+    }
+  }
 
-    // Hide entities in the fog of war
-    hideAllHiddenEntities();
+  private Tile tileAt(int x, int y) {
+    if (layout == null || x < 0 || y < 0 || y >= height || x >= width) return null;
+    return layout[y][x];
+  }
 
-    // Reveal entities in the visible area
-    revealHiddenEntities();
+  private int index(int x, int y) {
+    return y * width + x;
   }
 
   /**
@@ -361,9 +476,7 @@ public class FogOfWarSystem extends System {
    * @param newTile The new tile.
    */
   public void updateTile(Tile oldTile, Tile newTile) {
-    if (darkenedTiles.containsKey(oldTile)) {
-      int tint = darkenedTiles.remove(oldTile);
-      darkenedTiles.put(newTile, tint);
-    }
+    // the original tint is stored by the coordinate, so it already belongs to the new tile
+    dirty = true;
   }
 }
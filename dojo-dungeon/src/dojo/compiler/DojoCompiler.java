@@ -3,16 +3,19 @@ package dojo.compiler;
 import java.io.*;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import javax.tools.*;
 
-/** Class for compiling and testing sources at runtime. */
+/**
+ * Class for compiling and testing sources at runtime.
+ *
+ * <p>The sources are compiled in memory by the {@link InMemoryCompiler}; unchanged sources are not
+ * compiled again.
+ */
 public class DojoCompiler {
   /**
    * Result of the tests.
@@ -30,18 +33,6 @@ public class DojoCompiler {
     LOGGER.setLevel(Level.INFO);
   }
 
-  private static final String ABSOLUTE_BUILD_PATH;
-
-  static {
-    ABSOLUTE_BUILD_PATH = System.getProperty("dojoDungeonAbsBuildDir");
-    if (ABSOLUTE_BUILD_PATH == null) {
-      LOGGER.warning(
-          "Path to build directory not set as system property 'dojoDungeonAbsBuildDir'!");
-      throw new RuntimeException();
-    }
-    LOGGER.info("Using path to build directory: " + ABSOLUTE_BUILD_PATH);
-  }
-
   private final List<String> messages = new ArrayList<>();
   private String pathToSourceFiles;
   private Class<?> cls;
@@ -276,29 +267,10 @@ public class DojoCompiler {
 
   private Class<?> compile(String pathToSourceFiles, String fqClassName) throws Exception {
     Class<?> cls = Class.forName(fqClassName);
-
-    String argBuildDir = ABSOLUTE_BUILD_PATH;
-    String argToCompile = Paths.get(pathToSourceFiles, cls.getSimpleName() + ".java").toString();
-    URL argToLoad = Paths.get(argBuildDir).toUri().toURL();
-    LOGGER.info(
-        "Compiling: "
-            + fqClassName
-            + " in: "
-            + argToCompile
-            + " ("
-            + argBuildDir
-            + ") and load: "
-            + argToLoad);
-
-    // Compile source file
-    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-    compiler.run(null, null, null, "-d", argBuildDir, argToCompile);
+    Map<String, byte[]> classes = compileSourceFile(pathToSourceFiles, cls);
 
     // Load compiled class
-    try (URLClassLoader reloadClassLoader =
-        new URLClassLoader(new URL[] {argToLoad}, cls.getClassLoader().getParent())) {
-      return reloadClassLoader.loadClass(fqClassName);
-    }
+    return InMemoryCompiler.load(classes, fqClassName, cls.getClassLoader().getParent());
   }
 
   /**
@@ -312,49 +284,16 @@ public class DojoCompiler {
   public static Class<?> compileClassDependentOnOthers(String pathToSourceFiles, String fqClassName)
       throws Exception {
     Class<?> cls = Class.forName(fqClassName);
+    Map<String, byte[]> classes = compileSourceFile(pathToSourceFiles, cls);
 
-    String argBuildDir = ABSOLUTE_BUILD_PATH;
-    String argToCompile = Paths.get(pathToSourceFiles, cls.getSimpleName() + ".java").toString();
-    File fileToLoad =
-        Paths.get(argBuildDir, pathToSourceFiles.substring(4), cls.getSimpleName() + ".class")
-            .toFile();
-    LOGGER.info(
-        "Compiling: "
-            + fqClassName
-            + " in: "
-            + argToCompile
-            + " ("
-            + argBuildDir
-            + ") and load: "
-            + fileToLoad);
-
-    // Compile source file
-    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-    compiler.run(null, null, null, "-d", argBuildDir, argToCompile);
+    // Load compiled class, the other classes are loaded by the class loader of the game
+    return InMemoryCompiler.load(classes, fqClassName, cls.getClassLoader());
+  }
 
-    // Load compiled class
-    ClassLoader reloadClassLoader =
-        new ClassLoader() {
-          @Override
-          public Class<?> loadClass(String name) throws ClassNotFoundException {
-            if (name.equals(fqClassName)) {
-              try (BufferedInputStream bis =
-                  new BufferedInputStream(new FileInputStream(fileToLoad))) {
-                ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                int b;
-                while ((b = bis.read()) != -1) {
-                  bos.write(b);
-                }
-                byte[] buf = bos.toByteArray();
-                return defineClass(name, buf, 0, buf.length);
-              } catch (IOException e) {
-                LOGGER.warning("Could not load class: " + e.getMessage());
-                throw new ClassNotFoundException("", e);
-              }
-            }
-            return getParent().loadClass(name);
-          }
-        };
-    return reloadClassLoader.loadClass(fqClassName);
+  private static Map<String, byte[]> compileSourceFile(String pathToSourceFiles, Class<?> cls)
+      throws Exception {
+    Path sourceFile = Paths.get(pathToSourceFiles, cls.getSimpleName() + ".java");
+    LOGGER.info("Compiling: " + cls.getName() + " in: " + sourceFile);
+    return InMemoryCompiler.compile(sourceFile, cls.getName());
   }
 }
@@ -0,0 +1,170 @@
+package dojo.compiler;
+
+import core.utils.Hashing;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import javax.tools.*;
+
+/**
+ * Compiles sources in memory and loads the compiled classes.
+ *
+ * <p>The system java compiler and its file manager are created once and reused, so the class path
+ * is only opened and indexed by the first compilation. The class files are kept in memory instead
+ * of being written to the build directory. They are cached by the hash of the source, so compiling
+ * an unchanged source again does not run the compiler at all.
+ *
+ * <p>{@link #load(Map, String, ClassLoader)} defines the compiled classes in a new class loader, so
+ * every attempt gets fresh classes (with fresh static fields), even if the bytes come from the
+ * cache.
+ */
+final class InMemoryCompiler {
+  private static final int MAX_CACHED_SOURCES = 32;
+  private static final List<String> OPTIONS = List.of("-proc:none");
+  private static final Map<String, Map<String, byte[]>> CLASSES_BY_SOURCE_HASH =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+          return size() > MAX_CACHED_SOURCES;
+        }
+      };
+
+  private static JavaCompiler compiler;
+  private static StandardJavaFileManager standardFileManager;
+
+  private InMemoryCompiler() {}
+
+  /**
+   * Compile the given source file.
+   *
+   * @param sourceFile the source file.
+   * @param fqClassName the fully qualified name of the class declared in the source file.
+   * @return the class files by the fully qualified name of their class, including nested classes.
+   * @throws IOException if the source file could not be read.
+   * @throws CompilationException if the source could not be compiled.
+   */
+  static synchronized Map<String, byte[]> compile(Path sourceFile, String fqClassName)
+      throws IOException, CompilationException {
+    String source = Files.readString(sourceFile);
+    String sourceHash = Hashing.sha256Hex(fqClassName + '\n' + source);
+    Map<String, byte[]> classes = CLASSES_BY_SOURCE_HASH.get(sourceHash);
+    if (classes != null) {
+      return classes;
+    }
+
+    if (compiler == null) {
+      compiler = ToolProvider.getSystemJavaCompiler();
+      if (compiler == null) {
+        throw new CompilationException("No java compiler found, the game has to run on a JDK.");
+      }
+      standardFileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+    }
+
+    Map<String, byte[]> output = new HashMap<>();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    JavaFileObject sourceObject =
+        new SimpleJavaFileObject(sourceFile.toUri(), JavaFileObject.Kind.SOURCE) {
+          @Override
+          public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+          }
+        };
+    JavaFileManager fileManager =
+        new ForwardingJavaFileManager<>(standardFileManager) {
+          @Override
+          public JavaFileObject getJavaFileForOutput(
+              Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+            return new SimpleJavaFileObject(
+                URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+              @Override
+              public OutputStream openOutputStream() {
+                return new ByteArrayOutputStream() {
+                  @Override
+                  public void close() {
+                    output.put(className, toByteArray());
+                  }
+                };
+              }
+            };
+          }
+        };
+
+    boolean success =
+        compiler
+            .getTask(null, fileManager, diagnostics, OPTIONS, null, List.of(sourceObject))
+            .call();
+    if (!success) {
+      StringBuilder message = new StringBuilder("Could not compile " + sourceFile + ":");
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+          message
+              .append("\nline ")
+              .append(diagnostic.getLineNumber())
+              .append(": ")
+              .append(diagnostic.getMessage(Locale.getDefault()));
+        }
+      }
+      throw new CompilationException(message.toString());
+    }
+
+    classes = Collections.unmodifiableMap(output);
+    CLASSES_BY_SOURCE_HASH.put(sourceHash, classes);
+    return classes;
+  }
+
+  /**
+   * Load a compiled class in a new class loader.
+   *
+   * <p>The compiled classes are always defined by the new class loader, even if the parent knows
+   * classes with the same name; all other classes are loaded by the parent.
+   *
+   * @param classes the compiled classes, see {@link #compile(Path, String)}.
+   * @param fqClassName the fully qualified name of the class to load.
+   * @param parent the parent class loader.
+   * @return the loaded class.
+   * @throws ClassNotFoundException if the class could not be found.
+   */
+  static Class<?> load(Map<String, byte[]> classes, String fqClassName, ClassLoader parent)
+      throws ClassNotFoundException {
+    return new InMemoryClassLoader(classes, parent).loadClass(fqClassName);
+  }
+
+  /** Thrown if a source could not be compiled; the message contains the compiler errors. */
+  static final class CompilationException extends Exception {
+    CompilationException(String message) {
+      super(message);
+    }
+  }
+
+  private static final class InMemoryClassLoader extends ClassLoader {
+    private final Map<String, byte[]> classes;
+
+    InMemoryClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
+      super(parent);
+      this.classes = classes;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> cls = findLoadedClass(name);
+        if (cls == null) {
+          byte[] bytes = classes.get(name);
+          cls =
+              bytes != null
+                  ? defineClass(name, bytes, 0, bytes.length)
+                  : super.loadClass(name, false);
+        }
+        if (resolve) {
+          resolveClass(cls);
+        }
+        return cls;
+      }
+    }
+  }
+}
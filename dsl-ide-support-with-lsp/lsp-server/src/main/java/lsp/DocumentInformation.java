@@ -1,12 +1,32 @@
 package lsp;
 
 import identifiers.IdentifierRangesCollector;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 
-/** The information of a document. */
+/**
+ * The information of a document.
+ *
+ * <p>The content is kept in a {@link PieceTable}, so the incremental changes sent by the client
+ * can be applied without copying the document. Every change increments the version of the
+ * document. The parse results (identifiers and semantic tokens) belong to the version they were
+ * computed for and are only taken over if the document was not changed in the meantime.
+ */
 public class DocumentInformation {
-  private String fileContent;
-  private final IdentifierRangesCollector definitionIdCollector;
-  private final IdentifierRangesCollector usageIdCollector;
+  private final PieceTable content;
+  private long version;
+  private IdentifierRangesCollector definitionIdCollector;
+  private IdentifierRangesCollector usageIdCollector;
+  private CompletableFuture<SemanticTokens> semanticTokens = new CompletableFuture<>();
+  private ScheduledFuture<?> scheduledParse;
+  private SemanticTokens sentSemanticTokens;
 
   /**
    * Initializes a new DocumentInformation instance.
@@ -14,20 +34,58 @@ public class DocumentInformation {
    * @param fileContent the file content of the document.
    */
   DocumentInformation(String fileContent) {
-    this.fileContent = fileContent;
+    content = new PieceTable(fileContent);
     definitionIdCollector = new IdentifierRangesCollector();
     usageIdCollector = new IdentifierRangesCollector();
   }
 
   /**
-   * Update the file content and clear collected information.
+   * Update the file content.
+   *
+   * <p>The collected information is kept until the new content is parsed.
    *
    * @param fileContent the new file content.
    */
-  public void updateFileContent(String fileContent) {
-    this.fileContent = fileContent;
-    definitionIdCollector.clear();
-    usageIdCollector.clear();
+  public synchronized void updateFileContent(String fileContent) {
+    content.reset(fileContent);
+    changed();
+  }
+
+  /**
+   * Applies a change sent by the client. A change without range replaces the whole content.
+   *
+   * @param change the change to apply.
+   */
+  public synchronized void applyChange(TextDocumentContentChangeEvent change) {
+    Range range = change.getRange();
+    if (range == null) {
+      content.reset(change.getText());
+    } else {
+      Position start = range.getStart();
+      Position end = range.getEnd();
+      content.replace(
+          content.offsetAt(start.getLine(), start.getCharacter()),
+          content.offsetAt(end.getLine(), end.getCharacter()),
+          change.getText());
+    }
+    changed();
+  }
+
+  private void changed() {
+    version++;
+    // requests waiting for the tokens get the tokens of the new content
+    if (semanticTokens.isDone()) {
+      semanticTokens = new CompletableFuture<>();
+    }
+  }
+
+  /**
+   * Gets the version of the content; it is incremented on every change.
+   *
+   * @return the version of the content.
+   */
+  public synchronized long getVersion() {
+    return version;
   }
 
   /**
@@ -35,7 +93,7 @@ public class DocumentInformation {
    *
    * @return the usage id collector.
    */
-  public IdentifierRangesCollector getUsageIdCollector() {
+  public synchronized IdentifierRangesCollector getUsageIdCollector() {
     return usageIdCollector;
   }
 
@@ -44,7 +102,7 @@ public class DocumentInformation {
    *
    * @return the definition id collector.
    */
-  public IdentifierRangesCollector getDefinitionIdCollector() {
+  public synchronized IdentifierRangesCollector getDefinitionIdCollector() {
     return definitionIdCollector;
   }
 
@@ -53,7 +111,72 @@ public class DocumentInformation {
    *
    * @return the file content.
    */
-  public String getFileContent() {
-    return fileContent;
+  public synchronized String getFileContent() {
+    return content.toString();
+  }
+
+  /**
+   * Gets the semantic tokens of the current content. The future completes once the content is
+   * parsed.
+   *
+   * @return the semantic tokens of the current content.
+   */
+  synchronized CompletableFuture<SemanticTokens> getSemanticTokens() {
+    return semanticTokens;
+  }
+
+  /**
+   * Schedules a parse of the content and cancels the parse scheduled before, if it has not started
+   * yet.
+   *
+   * @param executor the executor to run the parse on.
+   * @param parse the parse to run.
+   * @param delayMs the delay in milliseconds.
+   */
+  synchronized void scheduleParse(ScheduledExecutorService executor, Runnable parse, long delayMs) {
+    if (scheduledParse != null) {
+      scheduledParse.cancel(false);
+    }
+    scheduledParse = executor.schedule(parse, delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Takes over the results of a parse, if the content was not changed since the parse started.
+   *
+   * @param parsedVersion the version of the parsed content.
+   * @param parsed the information collected while parsing.
+   * @param tokens the semantic tokens of the parsed content.
+   * @return true if the results were taken over, false if they are outdated.
+   */
+  synchronized boolean completeParse(
+      long parsedVersion, DocumentInformation parsed, SemanticTokens tokens) {
+    if (parsedVersion != version) {
+      return false;
+    }
+    definitionIdCollector = parsed.getDefinitionIdCollector();
+    usageIdCollector = parsed.getUsageIdCollector();
+    semanticTokens.complete(tokens);
+    return true;
+  }
+
+  /**
+   * Remembers the semantic tokens sent to the client, to compute the next delta.
+   *
+   * @param tokens the sent semantic tokens.
+   * @return the semantic tokens sent before, or null if none were sent.
+   */
+  synchronized SemanticTokens exchangeSentSemanticTokens(SemanticTokens tokens) {
+    SemanticTokens previous = sentSemanticTokens;
+    sentSemanticTokens = tokens;
+    return previous;
+  }
+
+  /** Cancels the scheduled parse and discards the parse in progress. */
+  synchronized void close() {
+    if (scheduledParse != null) {
+      scheduledParse.cancel(false);
+    }
+    version++;
+    semanticTokens.complete(new SemanticTokens(List.of()));
   }
 }
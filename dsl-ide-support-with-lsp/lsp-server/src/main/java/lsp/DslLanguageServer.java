@@ -28,7 +28,7 @@ public final class DslLanguageServer implements LanguageServer, LanguageClientAw
     return CompletableFuture.supplyAsync(
         () -> {
           ServerCapabilities serverCapabilities = new ServerCapabilities();
-          serverCapabilities.setTextDocumentSync(TextDocumentSyncKind.Full);
+          serverCapabilities.setTextDocumentSync(TextDocumentSyncKind.Incremental);
           serverCapabilities.setDefinitionProvider(true);
           serverCapabilities.setReferencesProvider(true);
           serverCapabilities.setSemanticTokensProvider(
@@ -11,10 +11,13 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Dictionary;
-import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
@@ -42,18 +45,41 @@ import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.SemanticTokens;
+import org.eclipse.lsp4j.SemanticTokensDelta;
+import org.eclipse.lsp4j.SemanticTokensDeltaParams;
 import org.eclipse.lsp4j.SemanticTokensParams;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.LanguageClient;
 import org.eclipse.lsp4j.services.TextDocumentService;
 import syntaxHighlighting.SemanticTokenTransformer;
+import syntaxHighlighting.SemanticTokensDiff;
 
-/** Implements {@code TextDocumentService} to provide capabilities on text documents. */
+/**
+ * Implements {@code TextDocumentService} to provide capabilities on text documents.
+ *
+ * <p>The documents are synchronized incrementally. After a change, the document is parsed again
+ * once the client stopped sending changes for {@link #REPARSE_DELAY_MS} milliseconds; a parse
+ * that is overtaken by a change is discarded. The parses run on a single background thread, which
+ * also publishes the diagnostics. Semantic token requests wait for the parse of the current
+ * content.
+ */
 public final class DslTextDocumentService implements TextDocumentService {
+  /** Milliseconds without changes before a document is parsed again. */
+  public static final long REPARSE_DELAY_MS = 150;
+
   private final ClientLogger clientLogger = ClientLogger.getInstance();
   private LanguageClient languageClient;
-  private final Dictionary<String, DocumentInformation> documentInformationByUri =
-      new Hashtable<>();
+  private final Map<String, DocumentInformation> documentInformationByUri =
+      new ConcurrentHashMap<>();
+  private final ScheduledExecutorService parseExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "dsl-parser");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final AtomicLong semanticTokensResultIds = new AtomicLong();
 
   /**
    * Initializes this class.
@@ -68,28 +94,42 @@ public final class DslTextDocumentService implements TextDocumentService {
   public void didOpen(final DidOpenTextDocumentParams didOpenTextDocumentParams) {
     String fileUri = didOpenTextDocumentParams.getTextDocument().getUri();
     this.clientLogger.logMessage("text/didOpen fileUri: " + fileUri);
-    try {
-      String fileContent = Files.readString(Paths.get(URI.create(fileUri)));
-      documentInformationByUri.put(fileUri, new DocumentInformation(fileContent));
-    } catch (IOException e) {
-      this.clientLogger.logMessage("error reading file: " + fileUri + "\n" + e.getMessage());
+    String fileContent = didOpenTextDocumentParams.getTextDocument().getText();
+    if (fileContent == null) {
+      try {
+        fileContent = Files.readString(Paths.get(URI.create(fileUri)));
+      } catch (IOException e) {
+        this.clientLogger.logMessage("error reading file: " + fileUri + "\n" + e.getMessage());
+        return;
+      }
     }
+    DocumentInformation documentInformation = new DocumentInformation(fileContent);
+    documentInformationByUri.put(fileUri, documentInformation);
+    scheduleParse(fileUri, documentInformation, 0);
   }
 
   @Override
   public void didChange(final DidChangeTextDocumentParams didChangeTextDocumentParams) {
     String fileUri = didChangeTextDocumentParams.getTextDocument().getUri();
     this.clientLogger.logMessage("text/didChange fileUri: " + fileUri);
-    String newDocumentContentWhenSyncModeIsFull =
-        didChangeTextDocumentParams.getContentChanges().getFirst().getText();
-    documentInformationByUri.get(fileUri).updateFileContent(newDocumentContentWhenSyncModeIsFull);
+    DocumentInformation documentInformation = documentInformationByUri.get(fileUri);
+    if (documentInformation == null) {
+      return;
+    }
+    for (TextDocumentContentChangeEvent change : didChangeTextDocumentParams.getContentChanges()) {
+      documentInformation.applyChange(change);
+    }
+    scheduleParse(fileUri, documentInformation, REPARSE_DELAY_MS);
   }
 
   @Override
   public void didClose(final DidCloseTextDocumentParams didCloseTextDocumentParams) {
     String fileUri = didCloseTextDocumentParams.getTextDocument().getUri();
     this.clientLogger.logMessage("text/didClose fileUri: " + fileUri);
-    documentInformationByUri.remove(fileUri);
+    DocumentInformation documentInformation = documentInformationByUri.remove(fileUri);
+    if (documentInformation != null) {
+      documentInformation.close();
+    }
     languageClient.publishDiagnostics(new PublishDiagnosticsParams(fileUri, List.of()));
   }
 
@@ -134,29 +174,95 @@ public final class DslTextDocumentService implements TextDocumentService {
       SemanticTokensParams semanticTokensParams) {
     String fileUri = semanticTokensParams.getTextDocument().getUri();
     this.clientLogger.logMessage("text/semanticTokensFull fileUri: " + fileUri);
-    return CompletableFuture.supplyAsync(
-        () -> parseFileToSemanticTokensAndPublishDiagnostics(fileUri));
+    DocumentInformation documentInformation = documentInformationByUri.get(fileUri);
+    if (documentInformation == null) {
+      return CompletableFuture.completedFuture(new SemanticTokens());
+    }
+    return documentInformation
+        .getSemanticTokens()
+        .thenApply(
+            tokens -> {
+              SemanticTokens sentTokens = withNewResultId(tokens);
+              documentInformation.exchangeSentSemanticTokens(sentTokens);
+              return sentTokens;
+            });
   }
 
-  private SemanticTokens parseFileToSemanticTokensAndPublishDiagnostics(String fileUri) {
+  @Override
+  public CompletableFuture<Either<SemanticTokens, SemanticTokensDelta>> semanticTokensFullDelta(
+      SemanticTokensDeltaParams semanticTokensDeltaParams) {
+    String fileUri = semanticTokensDeltaParams.getTextDocument().getUri();
+    this.clientLogger.logMessage("text/semanticTokensFullDelta fileUri: " + fileUri);
     DocumentInformation documentInformation = documentInformationByUri.get(fileUri);
     if (documentInformation == null) {
-      return new SemanticTokens();
+      return CompletableFuture.completedFuture(Either.forLeft(new SemanticTokens()));
+    }
+    return documentInformation
+        .getSemanticTokens()
+        .thenApply(
+            tokens -> {
+              SemanticTokens sentTokens = withNewResultId(tokens);
+              SemanticTokens previousTokens =
+                  documentInformation.exchangeSentSemanticTokens(sentTokens);
+              if (previousTokens == null
+                  || !previousTokens
+                      .getResultId()
+                      .equals(semanticTokensDeltaParams.getPreviousResultId())) {
+                return Either.forLeft(sentTokens);
+              }
+              return Either.forRight(
+                  new SemanticTokensDelta(
+                      SemanticTokensDiff.edits(previousTokens.getData(), sentTokens.getData()),
+                      sentTokens.getResultId()));
+            });
+  }
+
+  private SemanticTokens withNewResultId(SemanticTokens tokens) {
+    return new SemanticTokens(
+        String.valueOf(semanticTokensResultIds.incrementAndGet()), tokens.getData());
+  }
+
+  private void scheduleParse(
+      String fileUri, DocumentInformation documentInformation, long delayMs) {
+    documentInformation.scheduleParse(
+        parseExecutor,
+        () -> parseFileToSemanticTokensAndPublishDiagnostics(fileUri, documentInformation),
+        delayMs);
+  }
+
+  private void parseFileToSemanticTokensAndPublishDiagnostics(
+      String fileUri, DocumentInformation documentInformation) {
+    long version;
+    DocumentInformation parsed;
+    synchronized (documentInformation) {
+      version = documentInformation.getVersion();
+      parsed = new DocumentInformation(documentInformation.getFileContent());
     }
     ArrayList<Diagnostic> diagnostics = new ArrayList<>();
     SemanticTokenTransformer semanticTokenTransformer = new SemanticTokenTransformer();
 
-    parseFileIntoSemanticTokenTransformerAndCollectDiagnostics(
-        documentInformation, semanticTokenTransformer, diagnostics);
+    try {
+      parseFileIntoSemanticTokenTransformerAndCollectDiagnostics(
+          parsed, semanticTokenTransformer, diagnostics, documentInformation, version);
+    } catch (OutdatedParseException e) {
+      return;
+    } catch (RuntimeException e) {
+      // complete with the tokens found so far, so that waiting requests are answered
+      this.clientLogger.logMessage("error parsing file: " + fileUri + "\n" + e.getMessage());
+    }
 
-    languageClient.publishDiagnostics(new PublishDiagnosticsParams(fileUri, diagnostics));
-    return new SemanticTokens(semanticTokenTransformer.getResult());
+    if (documentInformation.completeParse(
+        version, parsed, new SemanticTokens(semanticTokenTransformer.getResult()))) {
+      languageClient.publishDiagnostics(new PublishDiagnosticsParams(fileUri, diagnostics));
+    }
   }
 
   private void parseFileIntoSemanticTokenTransformerAndCollectDiagnostics(
       DocumentInformation documentInformation,
       SemanticTokenTransformer semanticTokenTransformer,
-      ArrayList<Diagnostic> diagnostics) {
+      ArrayList<Diagnostic> diagnostics,
+      DocumentInformation openDocument,
+      long version) {
     BaseErrorListener errorListener =
         new BaseErrorListener() {
           @Override
@@ -192,12 +298,17 @@ public final class DslTextDocumentService implements TextDocumentService {
     lexer.removeErrorListeners();
     lexer.addErrorListener(errorListener);
 
-    AntlrGrammarParser parser = new AntlrGrammarParser(new CommonTokenStream(lexer));
+    CommonTokenStream tokenStream = new CommonTokenStream(lexer);
+    tokenStream.fill();
+    checkNotOutdated(openDocument, version);
+
+    AntlrGrammarParser parser = new AntlrGrammarParser(tokenStream);
     parser.removeErrorListeners();
     parser.addErrorListener(errorListener);
 
     try {
       ParseTree tree = parser.start();
+      checkNotOutdated(openDocument, version);
       ParseTreeWalker.DEFAULT.walk(
           new AntlrListener(semanticTokenTransformer, documentInformation), tree);
       diagnostics.addAll(
@@ -221,6 +332,19 @@ public final class DslTextDocumentService implements TextDocumentService {
     }
   }
 
+  private static void checkNotOutdated(DocumentInformation openDocument, long version) {
+    if (openDocument.getVersion() != version) {
+      throw new OutdatedParseException();
+    }
+  }
+
+  /** Thrown to stop a parse if the document was changed since the parse started. */
+  private static final class OutdatedParseException extends RuntimeException {
+    OutdatedParseException() {
+      super(null, null, false, false);
+    }
+  }
+
   @Override
   public CompletableFuture<Either<List<CompletionItem>, CompletionList>> completion(
       final CompletionParams completionParams) {
@@ -0,0 +1,275 @@
+package lsp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Piece table holding the content of an open document.
+ *
+ * <p>The content is described by a list of pieces, each pointing into either the original content
+ * or an append-only buffer with all inserted text. An edit only splits the pieces at its bounds and
+ * inserts one piece for the new text, so it does not copy the document. Typing at the end of the
+ * last insertion extends its piece instead of adding a new one. Each piece knows the number of line
+ * breaks it contains, so lsp positions can be converted to offsets without building the content.
+ *
+ * <p>Like in the lsp specification, {@code \r\n}, {@code \r} and {@code \n} end a line. A piece
+ * counts a {@code \r} at its end as a line break; if the next piece starts with the {@code \n} of
+ * the same {@code \r\n}, the line break is counted only once.
+ *
+ * <p>The content as string is built on demand and cached until the next edit.
+ */
+final class PieceTable {
+  private static final int MAX_PIECES = 2048;
+  private static final int MIN_COMPACTION_SIZE = 1 << 16;
+
+  private final List<Piece> pieces = new ArrayList<>();
+  private final StringBuilder added = new StringBuilder();
+  private String original;
+  private int length;
+  private String content;
+
+  /**
+   * Initializes a new {@code PieceTable} instance.
+   *
+   * @param content the initial content.
+   */
+  PieceTable(final String content) {
+    reset(content);
+  }
+
+  /**
+   * Replaces the whole content.
+   *
+   * @param content the new content.
+   */
+  void reset(final String content) {
+    original = content;
+    added.setLength(0);
+    pieces.clear();
+    if (!content.isEmpty()) {
+      int lineBreaks = countLineBreaks(content, 0, content.length());
+      pieces.add(new Piece(false, 0, content.length(), lineBreaks));
+    }
+    length = content.length();
+    this.content = content;
+  }
+
+  /**
+   * Replaces the text between {@code start} (inclusive) and {@code end} (exclusive).
+   *
+   * @param start the offset of the first replaced char.
+   * @param end the offset after the last replaced char.
+   * @param text the new text.
+   */
+  void replace(final int start, final int end, final String text) {
+    if (start < 0 || end < start || end > length) {
+      throw new IndexOutOfBoundsException(
+          "range [" + start + ", " + end + ") is outside of the content of length " + length);
+    }
+    int index = split(start);
+    int endIndex = split(end);
+    pieces.subList(index, endIndex).clear();
+    if (!text.isEmpty()) {
+      int lineBreaks = countLineBreaks(text, 0, text.length());
+      Piece previous = index > 0 ? pieces.get(index - 1) : null;
+      if (previous != null && previous.added && previous.end() == added.length()) {
+        // the \r at the end of the previous piece and the \n of the text are one line break
+        if (endsWith(previous, '\r') && text.charAt(0) == '\n') {
+          lineBreaks--;
+        }
+        pieces.set(
+            index - 1,
+            new Piece(
+                true,
+                previous.start,
+                previous.length + text.length(),
+                previous.lineBreaks + lineBreaks));
+      } else {
+        pieces.add(index, new Piece(true, added.length(), text.length(), lineBreaks));
+      }
+      added.append(text);
+    }
+    length += text.length() - (end - start);
+    content = null;
+    if (pieces.size() > MAX_PIECES
+        || added.length() > Math.max(MIN_COMPACTION_SIZE, 4 * length)) {
+      reset(toString());
+    }
+  }
+
+  /**
+   * Converts a lsp position to an offset.
+   *
+   * <p>A character after the end of the line is moved to the end of the line, a line after the end
+   * of the content to the end of the content.
+   *
+   * @param line the 0 based line index.
+   * @param character the 0 based (UTF-16) char index in the line.
+   * @return the offset of the position in the content.
+   */
+  int offsetAt(final int line, final int character) {
+    int offset = 0;
+    int pieceIndex = 0;
+    int pieceOffset = 0;
+    int lines = line;
+    while (lines > 0 && pieceIndex < pieces.size()) {
+      Piece piece = pieces.get(pieceIndex);
+      int lineBreaks = lineBreaks(pieceIndex);
+      if (lineBreaks < lines) {
+        lines -= lineBreaks;
+        offset += piece.length;
+        pieceIndex++;
+        continue;
+      }
+      CharSequence buffer = buffer(piece);
+      while (lines > 0) {
+        char c = buffer.charAt(piece.start + pieceOffset++);
+        // a line starts after a \n, or after a \r that is not part of a \r\n
+        if (c == '\n' || (c == '\r' && !isLineFeed(pieceIndex, pieceOffset))) {
+          lines--;
+        }
+      }
+      offset += pieceOffset;
+    }
+    if (lines > 0) {
+      return length;
+    }
+    int characters = character;
+    while (characters > 0 && pieceIndex < pieces.size()) {
+      Piece piece = pieces.get(pieceIndex);
+      CharSequence buffer = buffer(piece);
+      while (characters > 0 && pieceOffset < piece.length) {
+        char c = buffer.charAt(piece.start + pieceOffset);
+        if (c == '\n' || c == '\r') {
+          return offset;
+        }
+        pieceOffset++;
+        offset++;
+        characters--;
+      }
+      if (pieceOffset == piece.length) {
+        pieceIndex++;
+        pieceOffset = 0;
+      }
+    }
+    return offset;
+  }
+
+  /**
+   * Gets the length of the content.
+   *
+   * @return the length of the content.
+   */
+  int length() {
+    return length;
+  }
+
+  /**
+   * Gets the number of pieces the content consists of.
+   *
+   * @return the number of pieces.
+   */
+  int pieceCount() {
+    return pieces.size();
+  }
+
+  /**
+   * Gets the content.
+   *
+   * @return the content.
+   */
+  @Override
+  public String toString() {
+    if (content == null) {
+      StringBuilder builder = new StringBuilder(length);
+      for (Piece piece : pieces) {
+        builder.append(buffer(piece), piece.start, piece.end());
+      }
+      content = builder.toString();
+    }
+    return content;
+  }
+
+  // returns the index of the piece starting at the offset, splits a piece if necessary
+  private int split(final int offset) {
+    int pieceStart = 0;
+    for (int i = 0; i < pieces.size(); i++) {
+      if (offset == pieceStart) {
+        return i;
+      }
+      Piece piece = pieces.get(i);
+      int pieceEnd = pieceStart + piece.length;
+      if (offset < pieceEnd) {
+        int headLength = offset - pieceStart;
+        CharSequence buffer = buffer(piece);
+        int headLineBreaks = countLineBreaks(buffer, piece.start, piece.start + headLength);
+        int tailLineBreaks = piece.lineBreaks - headLineBreaks;
+        // a \r\n split between head and tail is counted by the head and by the tail
+        if (buffer.charAt(piece.start + headLength - 1) == '\r'
+            && buffer.charAt(piece.start + headLength) == '\n') {
+          tailLineBreaks++;
+        }
+        pieces.set(i, new Piece(piece.added, piece.start, headLength, headLineBreaks));
+        pieces.add(
+            i + 1,
+            new Piece(
+                piece.added,
+                piece.start + headLength,
+                piece.length - headLength,
+                tailLineBreaks));
+        return i + 1;
+      }
+      pieceStart = pieceEnd;
+    }
+    return pieces.size();
+  }
+
+  private CharSequence buffer(final Piece piece) {
+    return piece.added ? added : original;
+  }
+
+  // the number of line breaks of the piece, without a \r at its end that the next piece continues
+  private int lineBreaks(final int pieceIndex) {
+    Piece piece = pieces.get(pieceIndex);
+    if (endsWith(piece, '\r') && isLineFeed(pieceIndex, piece.length)) {
+      return piece.lineBreaks - 1;
+    }
+    return piece.lineBreaks;
+  }
+
+  // whether the char at the offset in the piece is a \n; an offset at the end of the piece refers
+  // to the first char of the next piece
+  private boolean isLineFeed(final int pieceIndex, final int pieceOffset) {
+    Piece piece = pieces.get(pieceIndex);
+    if (pieceOffset < piece.length) {
+      return buffer(piece).charAt(piece.start + pieceOffset) == '\n';
+    }
+    if (pieceIndex + 1 == pieces.size()) {
+      return false;
+    }
+    Piece next = pieces.get(pieceIndex + 1);
+    return buffer(next).charAt(next.start) == '\n';
+  }
+
+  private boolean endsWith(final Piece piece, final char c) {
+    return buffer(piece).charAt(piece.end() - 1) == c;
+  }
+
+  // counts \n and \r, but a \r\n only once; a \r at the end is always counted
+  private static int countLineBreaks(final CharSequence text, final int start, final int end) {
+    int lineBreaks = 0;
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == end || text.charAt(i + 1) != '\n'))) {
+        lineBreaks++;
+      }
+    }
+    return lineBreaks;
+  }
+
+  private record Piece(boolean added, int start, int length, int lineBreaks) {
+    int end() {
+      return start + length;
+    }
+  }
+}
@@ -19,7 +19,7 @@ public class SemanticTokenProviderOptionsFactory {
   public static SemanticTokensWithRegistrationOptions create() {
     SemanticTokensWithRegistrationOptions options = new SemanticTokensWithRegistrationOptions();
     SemanticTokensServerFull serverFull = new SemanticTokensServerFull();
-    serverFull.setDelta(false);
+    serverFull.setDelta(true);
     options.setFull(serverFull);
     options.setRange(false);
     options.setLegend(
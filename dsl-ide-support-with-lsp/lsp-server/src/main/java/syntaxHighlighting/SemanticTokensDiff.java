@@ -0,0 +1,52 @@
+package syntaxHighlighting;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+
+/**
+ * Computes the edits that turn the previously sent semantic tokens into the current ones, to answer
+ * {@code textDocument/semanticTokens/full/delta} requests.
+ *
+ * <p>The tokens are encoded relative to their predecessor, so an edit of the document usually only
+ * changes the tokens around the edit. The unchanged tokens at the start and the end are kept, and
+ * the tokens in between are replaced by a single edit.
+ */
+public final class SemanticTokensDiff {
+  private static final int INTS_PER_TOKEN = 5;
+
+  private SemanticTokensDiff() {}
+
+  /**
+   * Computes the edits that turn {@code previous} into {@code current}.
+   *
+   * @param previous the previously sent token data.
+   * @param current the current token data.
+   * @return the edits, empty if the data is equal.
+   */
+  public static List<SemanticTokensEdit> edits(List<Integer> previous, List<Integer> current) {
+    int maxCommon = Math.min(previous.size(), current.size());
+    int prefix = 0;
+    while (prefix < maxCommon && previous.get(prefix).equals(current.get(prefix))) {
+      prefix++;
+    }
+    if (prefix == previous.size() && prefix == current.size()) {
+      return List.of();
+    }
+    // only keep whole tokens
+    prefix -= prefix % INTS_PER_TOKEN;
+    int suffix = 0;
+    while (suffix < maxCommon - prefix
+        && previous
+            .get(previous.size() - 1 - suffix)
+            .equals(current.get(current.size() - 1 - suffix))) {
+      suffix++;
+    }
+    suffix -= suffix % INTS_PER_TOKEN;
+    return List.of(
+        new SemanticTokensEdit(
+            prefix,
+            previous.size() - prefix - suffix,
+            new ArrayList<>(current.subList(prefix, current.size() - suffix))));
+  }
+}
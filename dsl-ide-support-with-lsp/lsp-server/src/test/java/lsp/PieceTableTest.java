@@ -0,0 +1,80 @@
+package lsp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests that edits and positions are handled as in the lsp specification. */
+public class PieceTableTest {
+  @Test
+  void replace() {
+    PieceTable pieceTable = new PieceTable("graph g {\n  a -> b\n}");
+
+    pieceTable.replace(pieceTable.offsetAt(1, 7), pieceTable.offsetAt(1, 8), "c");
+    pieceTable.replace(pieceTable.offsetAt(2, 0), pieceTable.offsetAt(2, 0), "  c -> d\n");
+    pieceTable.replace(pieceTable.offsetAt(0, 0), pieceTable.offsetAt(0, 5), "");
+
+    assertEquals(" g {\n  a -> c\n  c -> d\n}", pieceTable.toString());
+    assertEquals(pieceTable.toString().length(), pieceTable.length());
+  }
+
+  @Test
+  void typing() {
+    PieceTable pieceTable = new PieceTable("a\n");
+
+    for (char c : "bcdef".toCharArray()) {
+      pieceTable.replace(pieceTable.length(), pieceTable.length(), String.valueOf(c));
+    }
+
+    assertEquals("a\nbcdef", pieceTable.toString());
+    assertEquals(2, pieceTable.pieceCount());
+  }
+
+  @Test
+  void offsetAt() {
+    PieceTable pieceTable = new PieceTable("ab\ncd");
+    pieceTable.replace(3, 3, "x\ny");
+
+    // "ab\nx\nycd"
+    assertEquals(0, pieceTable.offsetAt(0, 0));
+    assertEquals(2, pieceTable.offsetAt(0, 10));
+    assertEquals(3, pieceTable.offsetAt(1, 0));
+    assertEquals(6, pieceTable.offsetAt(2, 1));
+    assertEquals(8, pieceTable.offsetAt(2, 3));
+    assertEquals(8, pieceTable.offsetAt(5, 0));
+  }
+
+  @Test
+  void offsetAtLineTerminators() {
+    PieceTable pieceTable = new PieceTable("a\r\nb\rc\nd");
+
+    assertEquals(1, pieceTable.offsetAt(0, 5));
+    assertEquals(3, pieceTable.offsetAt(1, 0));
+    assertEquals(4, pieceTable.offsetAt(1, 5));
+    assertEquals(5, pieceTable.offsetAt(2, 0));
+    assertEquals(7, pieceTable.offsetAt(3, 0));
+    assertEquals(8, pieceTable.offsetAt(4, 0));
+  }
+
+  @Test
+  void offsetAtSplitCrLf() {
+    PieceTable pieceTable = new PieceTable("a\r\nb");
+    // split the \r\n into two pieces
+    pieceTable.replace(2, 2, "x");
+    pieceTable.replace(2, 3, "");
+
+    assertEquals("a\r\nb", pieceTable.toString());
+    assertEquals(3, pieceTable.offsetAt(1, 0));
+    assertEquals(4, pieceTable.offsetAt(1, 1));
+    assertEquals(4, pieceTable.offsetAt(2, 0));
+
+    // type the \n of a \r\n after the \r
+    PieceTable typed = new PieceTable("a");
+    typed.replace(1, 1, "\r");
+    typed.replace(2, 2, "\n");
+    typed.replace(3, 3, "b");
+
+    assertEquals(3, typed.offsetAt(1, 0));
+    assertEquals(4, typed.offsetAt(2, 0));
+  }
+}
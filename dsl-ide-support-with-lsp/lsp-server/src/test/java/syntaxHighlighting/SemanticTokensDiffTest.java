@@ -0,0 +1,71 @@
+package syntaxHighlighting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.lsp4j.SemanticTokensEdit;
+import org.junit.jupiter.api.Test;
+
+/** Tests that the semantic token edits turn the previous tokens into the current ones. */
+public class SemanticTokensDiffTest {
+  private static final List<Integer> A = List.of(0, 0, 5, 1, 0);
+  private static final List<Integer> B = List.of(1, 2, 3, 2, 0);
+  private static final List<Integer> C = List.of(2, 4, 1, 3, 1);
+
+  @Test
+  void unchanged() {
+    assertTrue(SemanticTokensDiff.edits(tokens(A, B), tokens(A, B)).isEmpty());
+  }
+
+  @Test
+  void commonPrefix() {
+    List<SemanticTokensEdit> edits = SemanticTokensDiff.edits(tokens(A, B), tokens(A, B, C));
+
+    assertEquals(List.of(new SemanticTokensEdit(10, 0, C)), edits);
+    assertEquals(tokens(A, B, C), apply(tokens(A, B), edits));
+  }
+
+  @Test
+  void commonSuffix() {
+    List<SemanticTokensEdit> edits = SemanticTokensDiff.edits(tokens(A, C), tokens(B, C));
+
+    assertEquals(List.of(new SemanticTokensEdit(0, 5, B)), edits);
+    assertEquals(tokens(B, C), apply(tokens(A, C), edits));
+  }
+
+  @Test
+  void insertionInTheMiddle() {
+    List<SemanticTokensEdit> edits = SemanticTokensDiff.edits(tokens(A, C), tokens(A, B, C));
+
+    assertEquals(List.of(new SemanticTokensEdit(5, 0, B)), edits);
+    assertEquals(tokens(A, B, C), apply(tokens(A, C), edits));
+  }
+
+  @Test
+  void onlyWholeTokensAreKept() {
+    List<Integer> changed = List.of(0, 0, 5, 1, 1);
+    List<SemanticTokensEdit> edits = SemanticTokensDiff.edits(tokens(A), tokens(changed));
+
+    assertEquals(List.of(new SemanticTokensEdit(0, 5, changed)), edits);
+  }
+
+  @SafeVarargs
+  private static List<Integer> tokens(List<Integer>... tokens) {
+    List<Integer> data = new ArrayList<>();
+    for (List<Integer> token : tokens) {
+      data.addAll(token);
+    }
+    return data;
+  }
+
+  private static List<Integer> apply(List<Integer> data, List<SemanticTokensEdit> edits) {
+    List<Integer> result = new ArrayList<>(data);
+    for (SemanticTokensEdit edit : edits) {
+      result.subList(edit.getStart(), edit.getStart() + edit.getDeleteCount()).clear();
+      result.addAll(edit.getStart(), edit.getData());
+    }
+    return result;
+  }
+}
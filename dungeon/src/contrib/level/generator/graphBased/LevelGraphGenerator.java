@@ -4,7 +4,8 @@ import contrib.level.generator.graphBased.levelGraph.Direction;
 import contrib.level.generator.graphBased.levelGraph.LevelGraph;
 import contrib.level.generator.graphBased.levelGraph.LevelNode;
 import core.Entity;
-import java.util.HashSet;
+import core.level.elements.ILevel;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -39,13 +40,22 @@ public final class LevelGraphGenerator {
    * @return The generated graph.
    */
   public static LevelGraph generate(final Set<Set<Entity>> entityCollections) {
-    LevelGraph graph = new LevelGraph();
-    // this will generate a tree
-    entityCollections.forEach(graph::add);
-    // draw some random edges to make it more fun
-    // TODO add some more rules so the level graph are more fun and less confusing
-    // graph.addRandomEdges(RANGE_OF_RANDOM_EDGE_COUNT);
-    return graph;
+    return generate(entityCollections, new LevelGraph());
+  }
+
+  /**
+   * Generates a {@link LevelGraph} with one node for each provided collection of entities.
+   *
+   * <p>The same seed will always result in the same graph if the given set has a stable iteration
+   * order (e.g., a {@link LinkedHashSet}).
+   *
+   * @param entityCollections A collection of entity collections. For each entity collection, a node
+   *     will be created, and the entity collection will be added as payload.
+   * @param seed Seed for the random decisions made while building the graph.
+   * @return The generated graph.
+   */
+  public static LevelGraph generate(final Set<Set<Entity>> entityCollections, long seed) {
+    return generate(entityCollections, new LevelGraph(seed));
   }
 
   /**
@@ -55,8 +65,31 @@ public final class LevelGraphGenerator {
    * @return The generated graph.
    */
   public static LevelGraph generate(int nodeCount) {
-    Set<Set<Entity>> outerSet = new HashSet<>();
+    return generate(nodeCount, ILevel.RANDOM.nextLong());
+  }
+
+  /**
+   * Generates a {@link LevelGraph} with the given numbers of nodes.
+   *
+   * <p>The same seed will always result in the same graph.
+   *
+   * @param nodeCount Number of nodes in the graph.
+   * @param seed Seed for the random decisions made while building the graph.
+   * @return The generated graph.
+   */
+  public static LevelGraph generate(int nodeCount, long seed) {
+    Set<Set<Entity>> outerSet = new LinkedHashSet<>();
     for (int i = 0; i < nodeCount; i++) outerSet.add(Set.of(new Entity()));
-    return generate(outerSet);
+    return generate(outerSet, seed);
+  }
+
+  private static LevelGraph generate(
+      final Set<Set<Entity>> entityCollections, final LevelGraph graph) {
+    // this will generate a tree
+    entityCollections.forEach(graph::add);
+    // draw some random edges to make it more fun
+    // TODO add some more rules so the level graph are more fun and less confusing
+    // graph.addRandomEdges(RANGE_OF_RANDOM_EDGE_COUNT);
+    return graph;
   }
 }
@@ -19,9 +19,12 @@ import core.level.utils.LevelSize;
 import core.utils.IVoidFunction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 /**
  * This generator will use the {@link LevelGraphGenerator} and {@link RoomGenerator} to generate a
@@ -43,6 +46,10 @@ import java.util.logging.Logger;
  * level.
  *
  * <p>Now you can get a dot representation of the level graph in the log.
+ *
+ * <p>The rooms are generated independently of each other, so they are generated in parallel on a
+ * {@link ForkJoinPool}. Use the methods with a seed to get a reproducible level: The same seed
+ * results in the same level, regardless of the number of threads used.
  */
 public final class RoomBasedLevelGenerator {
 
@@ -66,7 +73,25 @@ public final class RoomBasedLevelGenerator {
    * @return The generated level.
    */
   public static ILevel level(final Set<Set<Entity>> entities, final DesignLabel designLabel) {
-    return level(LevelGraphGenerator.generate(entities), designLabel);
+    return level(entities, designLabel, ILevel.RANDOM.nextLong());
+  }
+
+  /**
+   * Get a room-based level with a room for each given entity-set.
+   *
+   * <p>The same seed results in the same level if the given set has a stable iteration order (e.g.,
+   * a {@link java.util.LinkedHashSet}).
+   *
+   * @param entities Collection of Entity-Sets. For each Entity-Set, one room will be added to the
+   *     level, and the entities will be placed in this room.
+   * @param designLabel Design of the level.
+   * @param seed Seed for the generation of the level graph and the rooms.
+   * @return The generated level.
+   */
+  public static ILevel level(
+      final Set<Set<Entity>> entities, final DesignLabel designLabel, long seed) {
+    Random random = new Random(seed);
+    return level(LevelGraphGenerator.generate(entities, random.nextLong()), designLabel, seed);
   }
 
   /**
@@ -79,17 +104,67 @@ public final class RoomBasedLevelGenerator {
    * @return The generated level.
    */
   public static ILevel level(final LevelGraph graph, final DesignLabel designLabel) {
-    RoomGenerator roomG = new RoomGenerator();
+    return level(graph, designLabel, ILevel.RANDOM.nextLong());
+  }
+
+  /**
+   * Get a room-based level with a given level graph.
+   *
+   * <p>The rooms are generated in parallel on the common {@link ForkJoinPool}.
+   *
+   * @param graph Level graph to generate the level for.
+   * @param designLabel Design of the level.
+   * @param seed Seed for the generation of the rooms.
+   * @return The generated level.
+   */
+  public static ILevel level(final LevelGraph graph, final DesignLabel designLabel, long seed) {
+    return level(graph, designLabel, seed, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Get a room-based level with a given level graph.
+   *
+   * <p>The rooms are generated in parallel on the given pool. The seed of each room is drawn in the
+   * order of the nodes before the generation starts, so the result does not depend on the number
+   * of threads of the pool.
+   *
+   * @param graph Level graph to generate the level for.
+   * @param designLabel Design of the level.
+   * @param seed Seed for the generation of the rooms.
+   * @param pool Pool to generate the rooms on.
+   * @return The generated level.
+   */
+  public static ILevel level(
+      final LevelGraph graph, final DesignLabel designLabel, long seed, final ForkJoinPool pool) {
     LOGGER.info(graph.toDot());
+    List<LevelNode> nodes = List.copyOf(graph.nodes());
+    Random random = new Random(seed);
+    long[] layoutSeeds = new long[nodes.size()];
+    long[] levelSeeds = new long[nodes.size()];
+    for (int i = 0; i < nodes.size(); i++) {
+      layoutSeeds[i] = random.nextLong();
+      levelSeeds[i] = random.nextLong();
+    }
+
     // generate TileLevel for each Node
-    graph
-        .nodes()
-        .forEach(
-            node ->
-                node.level(
-                    new TileLevel(roomG.layout(sizeFor(node), node.neighbours()), designLabel)));
+    List<TileLevel> levels =
+        pool.submit(
+                () ->
+                    IntStream.range(0, nodes.size())
+                        .parallel()
+                        .mapToObj(
+                            i -> {
+                              LevelNode node = nodes.get(i);
+                              LevelElement[][] layout =
+                                  new RoomGenerator()
+                                      .layout(sizeFor(node), node.neighbours(), layoutSeeds[i]);
+                              return new TileLevel(layout, designLabel, levelSeeds[i]);
+                            })
+                        .toList())
+            .join();
+    for (int i = 0; i < nodes.size(); i++) nodes.get(i).level(levels.get(i));
 
-    for (LevelNode node : graph.nodes()) {
+    for (LevelNode node : nodes) {
       ILevel level = node.level();
       // remove trapdoor exit, in rooms we only use doors
       List<Tile> exits = new ArrayList<>(level.exitTiles());
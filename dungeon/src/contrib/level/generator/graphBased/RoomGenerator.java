@@ -77,7 +77,22 @@ public final class RoomGenerator {
    * @return The generated room layout.
    */
   public LevelElement[][] layout(final LevelSize size, final LevelNode[] doors) {
-    return generateRoom(size, RANDOM.nextLong(), doors);
+    return layout(size, doors, RANDOM.nextLong());
+  }
+
+  /**
+   * Generates a room layout with the given parameters.
+   *
+   * <p>The same seed will always result in the same layout. A generator must not be used by more
+   * than one thread at the same time.
+   *
+   * @param size Size of the room.
+   * @param doors Array of DoorDirections to specify where doors should be generated.
+   * @param seed Seed to initialize the random number generator.
+   * @return The generated room layout.
+   */
+  public LevelElement[][] layout(final LevelSize size, final LevelNode[] doors, long seed) {
+    return generateRoom(size, seed, doors);
   }
 
   /**
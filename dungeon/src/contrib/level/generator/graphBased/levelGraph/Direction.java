@@ -41,7 +41,17 @@ public enum Direction {
    * @return A random direction.
    */
   public static Direction random() {
-    int randomValue = RANDOM.nextInt(Direction.values().length);
+    return random(RANDOM);
+  }
+
+  /**
+   * Returns a random direction, chosen by the given random number generator.
+   *
+   * @param random The random number generator to use.
+   * @return A random direction.
+   */
+  public static Direction random(final Random random) {
+    int randomValue = random.nextInt(Direction.values().length);
     return Direction.values()[randomValue];
   }
 
@@ -1,6 +1,7 @@
 package contrib.level.generator.graphBased.levelGraph;
 
 import core.Entity;
+import core.level.elements.ILevel;
 import core.utils.Tuple;
 import java.util.*;
 
@@ -25,12 +26,29 @@ import java.util.*;
  * <p>The Dot representation of the graph can be obtained using {@link #toDot()}.
  *
  * <p>Use {@link #add(Set)} to add a new entity collection and thus a new node to the graph.
+ *
+ * <p>The nodes are kept in insertion order. A graph created with {@link #LevelGraph(long)} will
+ * therefore always be built the same way for the same seed and the same sequence of operations.
  */
 public final class LevelGraph {
-  private static final Random RANDOM = new Random();
-  private final Set<LevelNode> nodes = new HashSet<>();
+  private final Random random;
+  private final Set<LevelNode> nodes = new LinkedHashSet<>();
   private LevelNode root;
 
+  /** Create an empty level graph with a random seed. */
+  public LevelGraph() {
+    this(ILevel.RANDOM.nextLong());
+  }
+
+  /**
+   * Create an empty level graph.
+   *
+   * @param seed Seed for the random decisions made while building the graph.
+   */
+  public LevelGraph(long seed) {
+    random = new Random(seed);
+  }
+
   /**
    * Connects the provided level graph to this level graph.
    *
@@ -65,7 +83,7 @@ public final class LevelGraph {
     List<LevelNode> graphAFreeNodes =
         graphANodes.stream().filter(n -> n.neighboursCount() < LevelNode.MAX_NEIGHBOURS).toList();
     if (graphAFreeNodes.isEmpty()) {
-      createAdapter(graphA, Direction.random());
+      createAdapter(graphA, Direction.random(graphA.random));
       return add(graphA, graphB);
     }
 
@@ -76,7 +94,7 @@ public final class LevelGraph {
     List<LevelNode> graphBFreeNodes =
         graphBNodes.stream().filter(n -> n.neighboursCount() < LevelNode.MAX_NEIGHBOURS).toList();
     if (graphBFreeNodes.isEmpty()) {
-      createAdapter(graphB, Direction.random());
+      createAdapter(graphB, Direction.random(graphB.random));
       return add(graphA, graphB);
     }
 
@@ -88,7 +106,7 @@ public final class LevelGraph {
     }
 
     // add adapter and try again
-    createAdapter(graphA, Direction.random());
+    createAdapter(graphA, Direction.random(graphA.random));
     return add(graphA, graphB);
   }
 
@@ -135,7 +153,7 @@ public final class LevelGraph {
       origin.add(adapter);
     } else {
       // connect the adapter
-      Collections.shuffle(nodes);
+      Collections.shuffle(nodes, origin.random);
       LevelNode on = nodes.get(0);
       Optional<LevelNode> old = on.forceNeighbor(adapter, direction);
       adapter.forceNeighbor(on, Direction.opposite(direction));
@@ -177,7 +195,7 @@ public final class LevelGraph {
   public void addRandomEdges(int divider) {
     // for two nodes no extra edges are needed
     if (nodes.size() >= 3) {
-      int howManyExtraEdges = RANDOM.nextInt(nodes.size() / divider, nodes.size());
+      int howManyExtraEdges = random.nextInt(nodes.size() / divider, nodes.size());
 
       // Consider only nodes that still have space for another neighbor.
       // Examine every possible combination (no random selection as it could lead to potential
@@ -186,8 +204,8 @@ public final class LevelGraph {
       List<LevelNode> listA = new ArrayList<>(nodes().stream().toList());
       listA.removeIf(n -> n.neighboursCount() == LevelNode.MAX_NEIGHBOURS);
       List<LevelNode> listB = new ArrayList<>(listA);
-      Collections.shuffle(listA);
-      Collections.shuffle(listB);
+      Collections.shuffle(listA, random);
+      Collections.shuffle(listB, random);
 
       int connected = 0;
       for (LevelNode a : listA)
@@ -228,14 +246,23 @@ public final class LevelGraph {
    * @return copy of the set with all nodes in this graph.
    */
   public Set<LevelNode> nodes() {
-    return new HashSet<>(nodes);
+    return new LinkedHashSet<>(nodes);
+  }
+
+  /**
+   * Get the random number generator of this graph.
+   *
+   * @return the random number generator used for the random decisions in this graph.
+   */
+  Random random() {
+    return random;
   }
 
   private boolean add(final LevelNode node) {
     if (node.neighboursCount() == LevelNode.MAX_NEIGHBOURS) return false;
     List<LevelNode> shuffledNodes = new ArrayList<>(nodes().stream().toList());
     shuffledNodes.remove(node);
-    Collections.shuffle(shuffledNodes);
+    Collections.shuffle(shuffledNodes, random);
     for (LevelNode n : shuffledNodes) {
       if (n.connect(node)) return true;
     }
@@ -253,7 +280,7 @@ public final class LevelGraph {
     this.nodes.addAll(nodes);
     alreadyVisited.add(this);
     // collect each other node
-    Set<LevelGraph> otherGraphs = new HashSet<>();
+    Set<LevelGraph> otherGraphs = new LinkedHashSet<>();
     for (LevelNode n : nodes) otherGraphs.add(n.originGraph());
     for (LevelGraph og : otherGraphs)
       if (!alreadyVisited.contains(og)) og.addNodesToNodeList(nodes, alreadyVisited);
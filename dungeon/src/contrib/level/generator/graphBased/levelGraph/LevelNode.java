@@ -77,7 +77,7 @@ public class LevelNode {
   public boolean connect(final LevelNode other) {
     List<Direction> freeDirections = possibleConnectDirections(other);
     if (!freeDirections.isEmpty()) {
-      Collections.shuffle(freeDirections);
+      Collections.shuffle(freeDirections, originGraph.random());
       if (other.connect(this, Direction.opposite(freeDirections.getFirst())))
         return connect(other, freeDirections.getFirst());
     }
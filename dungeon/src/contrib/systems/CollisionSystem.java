@@ -1,13 +1,18 @@
 package contrib.systems;
 
+import com.badlogic.gdx.utils.LongMap;
 import contrib.components.CollideComponent;
 import core.Entity;
 import core.System;
+import core.components.PositionComponent;
 import core.level.Tile;
+import core.utils.IVoidFunction;
+import core.utils.Point;
 import core.utils.components.MissingComponentException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
 /**
  * System to check for collisions between two entities.
@@ -17,6 +22,13 @@ import java.util.stream.Stream;
  *
  * <p>The system does imply the hit boxes are axis aligned.
  *
+ * <p>To avoid testing every entity against every other entity, the hit boxes are stored in a
+ * uniform spatial hash with cells of {@link #CELL_SIZE}. The hash is updated incrementally: each
+ * collider listens to the position changes of its entity, and only colliders that moved are checked
+ * again and, if they left their cells, re-inserted. Only entities that share a cell will be tested
+ * for an exact collision. The cells and the active collisions are stored in maps with primitive
+ * long keys.
+ *
  * <p>Each CollideComponent should only be informed when a collision begins or ends. For this, a map
  * with all currently active collisions is stored and allows informing the entities when a collision
  * ended.
@@ -25,71 +37,264 @@ import java.util.stream.Stream;
  */
 public final class CollisionSystem extends System {
 
-  private final Map<CollisionKey, CollisionData> collisions = new HashMap<>();
+  /**
+   * Edge length of a broadphase cell in the spatial hash, in tiles.
+   *
+   * <p>Only entities whose hit boxes share at least one cell are tested for an exact collision.
+   */
+  public static final float CELL_SIZE = 1f;
+
+  // key: the packed ids of both entities, see pairKey
+  private final LongMap<CollisionData> collisions = new LongMap<>();
+  private final Map<Entity, Collider> colliders = new HashMap<>();
+  // key: the packed cell indices, see cellKey
+  private final LongMap<List<Collider>> cells = new LongMap<>();
+  // colliders whose position changed since the last execution
+  private final List<Collider> moved = new ArrayList<>();
+  private final List<CollisionData> candidates = new ArrayList<>();
 
   /** Create a new CollisionSystem. */
   public CollisionSystem() {
     super(CollideComponent.class);
+    onEntityAdd = entity -> attach(colliders.computeIfAbsent(entity, Collider::new));
+    onEntityChange =
+        entity -> {
+          Collider collider = colliders.get(entity);
+          if (collider != null) attach(collider);
+        };
+    onEntityRemove =
+        entity -> {
+          Collider collider = colliders.remove(entity);
+          if (collider != null) detach(collider);
+        };
   }
 
   /**
-   * Test every CollideEntity with every other CollideEntity for collision.
+   * Test every CollideEntity against the CollideEntities in the same or a neighbouring cell of the
+   * spatial hash.
+   *
+   * <p>The grid is updated first; only the colliders that moved since the last execution are
+   * checked, and they only change their cells if their hit box moved into another cell. Afterward,
+   * every pair that collided in the last execution is checked again (so that leaving a collision
+   * is detected even if the two entities are far apart now), followed by every pair of entities
+   * that share a cell.
    *
    * <p>The collision check will be performed only once for a given tuple of entities, i.e. when
    * entity A does collide with entity B, it also means B collides with A.
    */
   @Override
   public void execute() {
-    filteredEntityStream(CollideComponent.class)
-        .flatMap(this::createDataPairs)
-        .forEach(this::onEnterLeaveCheck);
+    for (int i = 0; i < moved.size(); i++) updateGrid(moved.get(i));
+    moved.clear();
+
+    for (CollisionData cdata : collisions.values()) {
+      Collider a = colliders.get(cdata.ea);
+      Collider b = colliders.get(cdata.eb);
+      if (a == null || b == null) continue;
+      // reuse the stored pair, unless a CollideComponent was replaced
+      if (a.cc == cdata.a && b.cc == cdata.b) candidates.add(cdata);
+      else candidates.add(new CollisionData(a.entity, a.cc, b.entity, b.cc));
+    }
+    for (LongMap.Entry<List<Collider>> cell : cells) createDataPairs(cell.key, cell.value);
+
+    // callbacks may add or remove entities, so the candidates are collected before processing
+    for (int i = 0; i < candidates.size(); i++) onEnterLeaveCheck(candidates.get(i));
+    candidates.clear();
   }
 
   /**
-   * Create a stream of pairs of entities.
+   * Connect the given collider to the current components of its entity.
    *
-   * <p>Pair a given entity with every other entity with a higher ID.
+   * <p>The collider listens to the position changes of the {@link PositionComponent} of its entity
+   * and is updated in the next execution.
    *
-   * @param a Entity which is the lower ID partner.
-   * @return The stream which contains every valid pair of Entities.
+   * @param collider Collider to connect.
    */
-  private Stream<CollisionData> createDataPairs(final Entity a) {
-    return filteredEntityStream().filter(b -> isSmallerThen(a, b)).map(b -> newDataPair(a, b));
+  private void attach(final Collider collider) {
+    Entity entity = collider.entity;
+    PositionComponent pc = entity.fetchOrNull(PositionComponent.class);
+    if (pc != collider.pc) {
+      if (collider.pc != null) collider.pc.removePositionListener(collider.onMove);
+      if (pc != null) pc.addPositionListener(collider.onMove);
+      collider.pc = pc;
+    }
+    collider.cc =
+        entity
+            .fetch(CollideComponent.class)
+            .orElseThrow(() -> MissingComponentException.build(entity, CollideComponent.class));
+    collider.removed = false;
+    collider.onMove.execute();
   }
 
   /**
-   * Compare the entities.
+   * Disconnect the given collider from its entity and remove it from the grid.
    *
-   * <p>This comparison is applied in the {@link #createDataPairs(Entity a) createDataPairs} method
-   * to create only tuples with entities with higher ID. This avoids performing a collision check
-   * twice for a pair of entities, first for (a,b) and second for (b,a).
+   * @param collider Collider to disconnect.
+   */
+  private void detach(final Collider collider) {
+    if (collider.pc != null) collider.pc.removePositionListener(collider.onMove);
+    collider.pc = null;
+    collider.removed = true;
+    removeFromGrid(collider);
+  }
+
+  /**
+   * Move the given collider to the cells currently covered by its hit box.
    *
-   * @param a First Entity.
-   * @param b Second Entity
-   * @return true when the comparison between a and b is less than zero, otherwise false.
+   * <p>The bounds of the hit box are stored in the collider. If the hit box did not leave its
+   * cells since the last execution, the grid is not touched. Entities without a {@link
+   * PositionComponent} are not part of the grid.
+   *
+   * @param collider Collider to update.
    */
-  private boolean isSmallerThen(final Entity a, final Entity b) {
-    return a.compareTo(b) < 0;
+  private void updateGrid(final Collider collider) {
+    collider.moved = false;
+    if (collider.removed) return;
+    if (collider.pc == null) {
+      removeFromGrid(collider);
+      return;
+    }
+    Point bottomLeft = collider.cc.bottomLeft(collider.entity);
+    Point topRight = collider.cc.topRight(collider.entity);
+    collider.left = bottomLeft.x;
+    collider.bottom = bottomLeft.y;
+    collider.right = topRight.x;
+    collider.top = topRight.y;
+    int minX = cell(bottomLeft.x);
+    int minY = cell(bottomLeft.y);
+    int maxX = cell(topRight.x);
+    int maxY = cell(topRight.y);
+
+    if (collider.inGrid
+        && collider.minX == minX
+        && collider.minY == minY
+        && collider.maxX == maxX
+        && collider.maxY == maxY) return;
+
+    removeFromGrid(collider);
+    collider.minX = minX;
+    collider.minY = minY;
+    collider.maxX = maxX;
+    collider.maxY = maxY;
+    for (int x = minX; x <= maxX; x++)
+      for (int y = minY; y <= maxY; y++) {
+        long key = cellKey(x, y);
+        List<Collider> cell = cells.get(key);
+        if (cell == null) {
+          cell = new ArrayList<>();
+          cells.put(key, cell);
+        }
+        cell.add(collider);
+      }
+    collider.inGrid = true;
   }
 
   /**
-   * Create a pair of CollideComponents which is then used to check whether a collision is happening
-   * and to store in the internal map. Which allows informing the CollideComponents about an ended
-   * Collision.
+   * Remove the given collider from every cell it is stored in.
    *
-   * @param a The first Entity.
-   * @param b the second Entity.
-   * @return The pair of CollideComponents.
+   * <p>Empty cells will be removed from the grid.
+   *
+   * @param collider Collider to remove.
    */
-  private CollisionData newDataPair(final Entity a, final Entity b) {
-    CollideComponent cca =
-        a.fetch(CollideComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(a, CollideComponent.class));
-    CollideComponent ccb =
-        b.fetch(CollideComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(b, CollideComponent.class));
+  private void removeFromGrid(final Collider collider) {
+    if (!collider.inGrid) return;
+    for (int x = collider.minX; x <= collider.maxX; x++)
+      for (int y = collider.minY; y <= collider.maxY; y++) {
+        long key = cellKey(x, y);
+        List<Collider> cell = cells.get(key);
+        if (cell != null) {
+          cell.remove(collider);
+          if (cell.isEmpty()) cells.remove(key);
+        }
+      }
+    collider.inGrid = false;
+  }
 
-    return new CollisionData(a, cca, b, ccb);
+  /**
+   * Collect the pairs of entities inside the given cell.
+   *
+   * <p>A pair of hit boxes can share more than one cell. The pair is only collected in the cell
+   * that contains the bottom-left corner of the overlap of both cell ranges, so every pair is
+   * collected exactly once. Pairs that are already stored as an active collision were collected
+   * before and will be skipped, as well as pairs whose stored hit boxes do not overlap.
+   *
+   * @param key Key of the cell.
+   * @param cell Colliders inside the cell.
+   */
+  private void createDataPairs(final long key, final List<Collider> cell) {
+    int cellX = (int) (key >> 32);
+    int cellY = (int) key;
+    for (int i = 0; i < cell.size(); i++) {
+      Collider a = cell.get(i);
+      for (int j = i + 1; j < cell.size(); j++) {
+        Collider b = cell.get(j);
+        if (Math.max(a.minX, b.minX) != cellX || Math.max(a.minY, b.minY) != cellY) continue;
+        if (!overlaps(a, b)) continue;
+        Collider first = isSmallerThen(a.entity, b.entity) ? a : b;
+        Collider second = first == a ? b : a;
+        if (!collisions.containsKey(pairKey(first.entity.id(), second.entity.id())))
+          candidates.add(
+              new CollisionData(first.entity, first.cc, second.entity, second.cc));
+      }
+    }
+  }
+
+  /**
+   * Get the cell index for the given coordinate.
+   *
+   * @param value x or y coordinate.
+   * @return The index of the cell on the corresponding axis.
+   */
+  private static int cell(final float value) {
+    return (int) Math.floor(value / CELL_SIZE);
+  }
+
+  /**
+   * Pack the given cell indices into one key.
+   *
+   * @param x Cell index on the x-axis.
+   * @param y Cell index on the y-axis.
+   * @return The key of the cell.
+   */
+  private static long cellKey(final int x, final int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Pack the ids of two entities into one key.
+   *
+   * @param a Id of the first entity.
+   * @param b Id of the second entity.
+   * @return The key of the pair.
+   */
+  private static long pairKey(final int a, final int b) {
+    return ((long) a << 32) | (b & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Check if the stored hit boxes of two colliders intersect, like {@link #checkForCollision}.
+   *
+   * @param a First collider.
+   * @param b Second collider.
+   * @return true if the hit boxes intersect, otherwise false.
+   */
+  private static boolean overlaps(final Collider a, final Collider b) {
+    return a.left < b.right && a.right > b.left && a.bottom < b.top && a.top > b.bottom;
+  }
+
+  /**
+   * Compare the entities.
+   *
+   * <p>This comparison is applied in the {@link #createDataPairs(long, List) createDataPairs}
+   * method to create only tuples with the lower ID entity first. This avoids performing a collision
+   * check twice for a pair of entities, first for (a,b) and second for (b,a).
+   *
+   * @param a First Entity.
+   * @param b Second Entity
+   * @return true when the comparison between a and b is less than zero, otherwise false.
+   */
+  private boolean isSmallerThen(final Entity a, final Entity b) {
+    return a.compareTo(b) < 0;
   }
 
   /**
@@ -102,7 +307,7 @@ public final class CollisionSystem extends System {
    * @param cdata The CollisionData where a collision change may happen.
    */
   private void onEnterLeaveCheck(final CollisionData cdata) {
-    CollisionKey key = new CollisionKey(cdata.ea.id(), cdata.eb.id());
+    long key = pairKey(cdata.ea.id(), cdata.eb.id());
 
     if (checkForCollision(cdata.ea, cdata.a, cdata.eb, cdata.b)) {
       // a collision is currently happening
@@ -188,7 +393,39 @@ public final class CollisionSystem extends System {
     }
   }
 
-  private record CollisionKey(int a, int b) {}
+  /**
+   * Broadphase state of an entity: its components, the bounds of its hit box and the range of
+   * cells covered by it.
+   */
+  private final class Collider {
+    private final Entity entity;
+    // marks the collider as moved, executed after each position change of the entity
+    private final IVoidFunction onMove;
+    private CollideComponent cc;
+    private PositionComponent pc;
+    private boolean moved = false;
+    private boolean removed = false;
+    private boolean inGrid = false;
+    private float left;
+    private float bottom;
+    private float right;
+    private float top;
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    private Collider(final Entity entity) {
+      this.entity = entity;
+      this.onMove =
+          () -> {
+            if (!moved) {
+              moved = true;
+              CollisionSystem.this.moved.add(this);
+            }
+          };
+    }
+  }
 
   protected record CollisionData(Entity ea, CollideComponent a, Entity eb, CollideComponent b) {}
 }
@@ -9,10 +9,10 @@ import core.Game;
 import core.System;
 import core.components.DrawComponent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -24,33 +24,53 @@ import java.util.stream.Stream;
  */
 public class HealthSystem extends System {
   protected final List<IHealthObserver> observers = new ArrayList<>();
+  // reused every frame to partition the entities into alive and dead
+  private final List<HSData> alive = new ArrayList<>();
+  private final List<HSData> dead = new ArrayList<>();
+  // one data object per entity, so the entities are not wrapped again in every frame
+  private final Map<Entity, HSData> data = new HashMap<>();
 
   /** Create a new HealthSystem. */
   public HealthSystem() {
     super(HealthComponent.class, DrawComponent.class);
+    onEntityRemove = data::remove;
   }
 
   @Override
   public void execute() {
     // filter entities for components and partition into alive and dead
-    Map<Boolean, List<HSData>> deadOrAlive =
-        filteredEntityStream(HealthComponent.class, DrawComponent.class)
-            .map(
-                e ->
-                    new HSData(
-                        e,
-                        e.fetch(HealthComponent.class).orElseThrow(),
-                        e.fetch(DrawComponent.class).orElseThrow()))
-            .collect(Collectors.partitioningBy(hsd -> hsd.hc.isDead()));
-
-    // apply damage to all entities which are still alive
-    deadOrAlive.get(false).forEach(this::applyDamage);
-
-    // handle dead entities
-    deadOrAlive.get(true).stream()
-        .map(this::activateDeathAnimation)
-        .filter(this::isDeathAnimationFinished)
-        .forEach(this::removeDeadEntities);
+    forEachEntity(
+        view -> {
+          HSData hsd =
+              data(
+                  view.entity(),
+                  view.fetch(HealthComponent.class),
+                  view.fetch(DrawComponent.class));
+          if (hsd.hc.isDead()) dead.add(hsd);
+          else alive.add(hsd);
+        });
+
+    try {
+      // apply damage to all entities which are still alive
+      alive.forEach(this::applyDamage);
+
+      // handle dead entities
+      for (HSData hsd : dead)
+        if (isDeathAnimationFinished(activateDeathAnimation(hsd))) removeDeadEntities(hsd);
+    } finally {
+      alive.clear();
+      dead.clear();
+    }
+  }
+
+  // the stored data object of the entity, or a new one if a component was replaced
+  private HSData data(final Entity entity, final HealthComponent hc, final DrawComponent dc) {
+    HSData hsd = data.get(entity);
+    if (hsd == null || hsd.hc != hc || hsd.dc != dc) {
+      hsd = new HSData(entity, hc, dc);
+      data.put(entity, hsd);
+    }
+    return hsd;
   }
 
   protected HSData applyDamage(final HSData hsd) {
@@ -1,5 +1,6 @@
 package contrib.utils.components.ai.fight;
 
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
 import com.badlogic.gdx.ai.pfa.GraphPath;
 import contrib.utils.components.ai.AIUtils;
 import core.Entity;
@@ -15,7 +16,8 @@ public class CollideAI implements Consumer<Entity> {
   private final float rushRange;
   private final int delay = Game.frameRate();
   private int timeSinceLastUpdate = delay;
-  private GraphPath<Tile> path;
+  // reused for every path calculation of this AI
+  private final GraphPath<Tile> path = new DefaultGraphPath<>();
 
   /**
    * Attacks the player by colliding if he is within the given range. Otherwise, it will move
@@ -31,13 +33,13 @@ public class CollideAI implements Consumer<Entity> {
   public void accept(final Entity entity) {
     if (LevelUtils.playerInRange(entity, rushRange)) {
       // the faster pathing once a certain range is reached
-      path = LevelUtils.calculatePathToHero(entity);
+      LevelUtils.calculatePathToHero(entity, path);
       AIUtils.move(entity, path);
       timeSinceLastUpdate = delay;
     } else {
       // check if new pathing update
       if (timeSinceLastUpdate >= delay) {
-        path = LevelUtils.calculatePathToHero(entity);
+        LevelUtils.calculatePathToHero(entity, path);
         timeSinceLastUpdate = -1;
       }
       timeSinceLastUpdate++;
@@ -1,42 +1,37 @@
 package dsl.interpreter;
 
-import dsl.parser.DungeonASTConverter;
+import dsl.parser.ProgramASTCache;
 import dsl.parser.ast.*;
-import dsl.semanticanalysis.environment.GameEnvironment;
-import dsl.semanticanalysis.symbol.Symbol;
-import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateType;
-import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import dsl.semanticanalysis.typesystem.typebuilding.TypeBuilder;
 import entrypoint.*;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 /** AstVisitor implementation to search for quest_config definition. */
 public class DSLEntryPointFinder implements AstVisitor<Object> {
   private ArrayList<DSLEntryPoint> entryPoints;
   private ParsedFile parsedFile;
-  private final GameEnvironment environment;
-  private AggregateType questConfigDataType;
+  private final String questConfigTypeName;
+  private final ProgramASTCache astCache;
   private final HashMap<Path, ParsedFile> parsedFiles;
 
+  /** Constructor, uses the {@link ProgramASTCache#defaultCache() default AST cache}. */
+  public DSLEntryPointFinder() {
+    this(ProgramASTCache.defaultCache());
+  }
+
   /**
    * Constructor.
    *
-   * <p>Creates a GameEnvironment to get the {@link IType} for {@link DungeonConfig}.
+   * <p>Only the name of the DSL type of {@link DungeonConfig} is needed to find the entry points,
+   * so no GameEnvironment is created.
+   *
+   * @param astCache the cache to get the ASTs of the files from
    */
-  public DSLEntryPointFinder() {
-    this.environment = new GameEnvironment();
+  public DSLEntryPointFinder(ProgramASTCache astCache) {
+    this.questConfigTypeName = TypeBuilder.getDSLTypeName(DungeonConfig.class);
+    this.astCache = astCache;
     this.parsedFiles = new HashMap<>();
-    var symbols = environment.getGlobalScope().getSymbols();
-    for (Symbol symbol : symbols) {
-      if (symbol instanceof AggregateType aggregateType) {
-        if (aggregateType.getOriginType().equals(DungeonConfig.class)) {
-          this.questConfigDataType = aggregateType;
-        }
-      }
-    }
   }
 
   /**
@@ -48,27 +43,46 @@ public class DSLEntryPointFinder implements AstVisitor<Object> {
    *     quest_config definitions, the list of found quest_config objects otherwise
    */
   public Optional<List<DSLEntryPoint>> getEntryPoints(Path filePath) {
-    Node programAST;
-    if (this.parsedFiles.containsKey(filePath)) {
-      this.parsedFile = this.parsedFiles.get(filePath);
-      programAST = parsedFile.rootASTNode();
-    } else {
-      String content = DSLFileLoader.fileToString(filePath);
-      programAST = DungeonASTConverter.getProgramAST(content);
-      ParsedFile parsedFile = new ParsedFile(filePath, programAST);
-      this.parsedFiles.put(filePath, parsedFile);
-      this.parsedFile = parsedFile;
-    }
+    this.parsedFile = this.parsedFiles.computeIfAbsent(filePath, this::parseFile);
     // we don't want to do the whole interpretation here...
     // we only want to know, which (well formed) entry points exist
     // would be enough to do this in a light AST-Visitor..
-    List<DSLEntryPoint> list = findEntryPoints(programAST);
+    List<DSLEntryPoint> list = findEntryPoints(parsedFile.rootASTNode());
     if (list.size() != 0) {
       return Optional.of(list);
     }
     return Optional.empty();
   }
 
+  /**
+   * Search all passed files for quest_config definitions.
+   *
+   * <p>The files, which were not parsed by this finder before, are read and parsed in parallel.
+   *
+   * @param filePaths the paths of the files to search for quest_config definitions in
+   * @return the found quest_config objects of all files
+   */
+  public List<DSLEntryPoint> getEntryPoints(Collection<Path> filePaths) {
+    List<ParsedFile> newFiles =
+        filePaths.stream()
+            .distinct()
+            .filter(path -> !this.parsedFiles.containsKey(path))
+            .toList()
+            .parallelStream()
+            .map(this::parseFile)
+            .toList();
+    newFiles.forEach(file -> this.parsedFiles.put(file.filePath(), file));
+
+    List<DSLEntryPoint> list = new ArrayList<>();
+    filePaths.forEach(path -> getEntryPoints(path).ifPresent(list::addAll));
+    return list;
+  }
+
+  private ParsedFile parseFile(Path filePath) {
+    String content = DSLFileLoader.fileToString(filePath);
+    return new ParsedFile(filePath, astCache.getProgramAST(content));
+  }
+
   private List<DSLEntryPoint> findEntryPoints(Node programAST) {
     this.entryPoints = new ArrayList<>();
     programAST.accept(this);
@@ -132,7 +146,7 @@ public class DSLEntryPointFinder implements AstVisitor<Object> {
   public Object visit(ObjectDefNode node) {
     Node typeSpecifier = node.getTypeSpecifier();
     String typeSpecifierName = (String) typeSpecifier.accept(this);
-    if (typeSpecifierName.equals(questConfigDataType.getName())) {
+    if (typeSpecifierName.equals(questConfigTypeName)) {
       // found one
       String displayName = getDisplayName(node);
       this.entryPoints.add(new DSLEntryPoint(this.parsedFile, displayName, node));
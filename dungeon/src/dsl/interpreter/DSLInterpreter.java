@@ -9,6 +9,9 @@ import dsl.runtime.callable.ICallable;
 import dsl.runtime.callable.NativeFunction;
 import dsl.runtime.environment.RuntimeEnvironment;
 import dsl.runtime.memoryspace.EncapsulatedObject;
+import dsl.runtime.memoryspace.Frame;
+import dsl.runtime.memoryspace.FrameLayout;
+import dsl.runtime.memoryspace.FramePool;
 import dsl.runtime.memoryspace.IMemorySpace;
 import dsl.runtime.memoryspace.MemorySpace;
 import dsl.runtime.value.*;
@@ -17,6 +20,7 @@ import dsl.semanticanalysis.analyzer.SemanticAnalyzer;
 import dsl.semanticanalysis.environment.GameEnvironment;
 import dsl.semanticanalysis.environment.IEnvironment;
 import dsl.semanticanalysis.scope.IScope;
+import dsl.semanticanalysis.scope.Scope;
 import dsl.semanticanalysis.symbol.FunctionSymbol;
 import dsl.semanticanalysis.symbol.PropertySymbol;
 import dsl.semanticanalysis.symbol.ScopedSymbol;
@@ -48,6 +52,12 @@ public class DSLInterpreter implements AstVisitor<Object> {
   private final ArrayDeque<IMemorySpace> instanceMemoryStack;
   private IMemorySpace globalSpace;
 
+  // local memory spaces are array-backed frames, which are reused after their scope was left
+  private final FramePool framePool;
+  private final IdentityHashMap<Node, FrameLayout> nodeFrameLayouts;
+  private final IdentityHashMap<IScope, FrameLayout> scopeFrameLayouts;
+  private final IdentityHashMap<Node, Symbol> resolvedSymbols;
+
   private SymbolTable symbolTable() {
     return environment.getSymbolTable();
   }
@@ -81,6 +91,10 @@ public class DSLInterpreter implements AstVisitor<Object> {
     memoryStack = new ArrayDeque<>();
     instanceMemoryStack = new ArrayDeque<>();
     globalSpace = new MemorySpace();
+    framePool = new FramePool();
+    nodeFrameLayouts = new IdentityHashMap<>();
+    scopeFrameLayouts = new IdentityHashMap<>();
+    resolvedSymbols = new IdentityHashMap<>();
     statementStack = new ArrayDeque<>();
     scenarioBuilderStorage = new ScenarioBuilderStorage();
     memoryStack.push(globalSpace);
@@ -385,6 +399,9 @@ public class DSLInterpreter implements AstVisitor<Object> {
     this.memoryStack.clear();
     this.globalSpace = new MemorySpace();
     this.memoryStack.push(this.globalSpace);
+    this.nodeFrameLayouts.clear();
+    this.scopeFrameLayouts.clear();
+    this.resolvedSymbols.clear();
 
     this.environment = new RuntimeEnvironment(environment, this);
 
@@ -773,7 +790,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
   // this is used for resolving object references
   @Override
   public Object visit(IdNode node) {
-    var symbol = this.symbolTable().getSymbolsForAstNode(node).get(0);
+    var symbol = resolvedSymbol(node);
     if (symbol instanceof NativeFunction nativeFunction) {
       return new FunctionValue(nativeFunction.getFunctionType(), nativeFunction);
     }
@@ -781,6 +798,10 @@ public class DSLInterpreter implements AstVisitor<Object> {
       return new FunctionValue(functionSymbol.getFunctionType(), functionSymbol);
     }
 
+    // local variables are looked up by their slot
+    if (symbol.getSlot() >= 0 && this.getCurrentMemorySpace() instanceof Frame frame) {
+      return frame.resolve(symbol);
+    }
     return this.getCurrentMemorySpace().resolve(node.getName(), true);
   }
 
@@ -806,9 +827,8 @@ public class DSLInterpreter implements AstVisitor<Object> {
     // push scope exit mark
     statementStack.addFirst(new Node(Node.Type.ScopeExitMark));
 
-    // push new MemorySpace on top of memory stack
-    MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
-    this.memoryStack.push(ms);
+    // push new Frame on top of memory stack
+    pushFrame(frameLayout(node));
 
     // push statements in reverse order onto the statement stack
     // (as execution is done by popping the topmost statement from the stack)
@@ -869,8 +889,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       // if we only got one statement (no block), we need to create a new MemorySpace
       // here
       if (!node.getIfStmt().type.equals(Node.Type.Block)) {
-        MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
-        memoryStack.push(ms);
+        pushFrame(frameLayout(node.getIfStmt()));
         statementStack.push(new Node(Node.Type.ScopeExitMark));
       }
 
@@ -887,8 +906,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       // if we only got one statement (no block), we need to create a new MemorySpace
       // here
       if (!node.getIfStmt().type.equals(Node.Type.Block)) {
-        MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
-        memoryStack.push(ms);
+        pushFrame(frameLayout(node.getIfStmt()));
         statementStack.push(new Node(Node.Type.ScopeExitMark));
       }
       statementStack.addFirst(node.getIfStmt());
@@ -896,8 +914,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       // if we only got one statement (no block), we need to create a new MemorySpace
       // here
       if (!node.getElseStmt().type.equals(Node.Type.Block)) {
-        MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
-        memoryStack.push(ms);
+        pushFrame(frameLayout(node.getElseStmt()));
         statementStack.push(new Node(Node.Type.ScopeExitMark));
       }
       statementStack.addFirst(node.getElseStmt());
@@ -1103,7 +1120,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
   @Override
   public Object visit(Node node) {
     if (node.type.equals(Node.Type.ScopeExitMark)) {
-      this.memoryStack.pop();
+      framePool.release(this.memoryStack.pop());
     }
     return null;
   }
@@ -1265,8 +1282,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
 
   @Override
   public Object visit(WhileLoopStmtNode node) {
-    MemorySpace loopsMemorySpace = new MemorySpace(this.getCurrentMemorySpace());
-    this.memoryStack.push(loopsMemorySpace);
+    pushFrame(frameLayout(node));
 
     // add loop-bottom-mark node for checking
     // and updating the loop condition and variable(s)
@@ -1301,8 +1317,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
     }
 
     // create new loop-variable in surrounding (or loops?) memoryspace
-    MemorySpace loopMemorySpace = new MemorySpace(this.getCurrentMemorySpace());
-    this.memoryStack.push(loopMemorySpace);
+    Frame loopMemorySpace = pushFrame(frameLayout(node));
 
     // get the symbol for the loop variable
     Node variableIdNode = forLoopStmtNode.getVarIdNode();
@@ -1347,7 +1362,8 @@ public class DSLInterpreter implements AstVisitor<Object> {
     Iterator<Value> loopIterator = node.getInternalIterator();
     if (loopIterator.hasNext()) {
       // create loops-memory space for next iteration
-      MemorySpace newLoopMemorySpace = new MemorySpace(this.getCurrentMemorySpace());
+      Frame newLoopMemorySpace =
+          framePool.acquire(frameLayout(loopNode), this.getCurrentMemorySpace());
 
       // update loop variable
       Value nextIterationValue = loopIterator.next();
@@ -1383,8 +1399,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
         Value conditionValue = (Value) whileLoopStmtNode.getExpressionNode().accept(this);
         if (isBooleanTrue(conditionValue)) {
           // setup memory space for next iteration
-          MemorySpace newIterationMemorySpace = new MemorySpace(this.getCurrentMemorySpace());
-          this.memoryStack.push(newIterationMemorySpace);
+          pushFrame(frameLayout(loopNode));
 
           // prepare execution of next iteration
           this.statementStack.push(node);
@@ -1394,12 +1409,83 @@ public class DSLInterpreter implements AstVisitor<Object> {
       case forLoop, countingForLoop -> updateForLoopState(loopsMemorySpace, node);
       default -> {}
     }
+    // the next iteration may reuse the frame
+    framePool.release(loopsMemorySpace);
 
     return null;
   }
 
   // endregion
 
+  // region frames
+
+  /**
+   * Push a new {@link Frame} with the passed layout on top of the memory stack.
+   *
+   * @param layout The layout of the frame
+   * @return The pushed frame
+   */
+  private Frame pushFrame(FrameLayout layout) {
+    Frame frame = framePool.acquire(layout, this.getCurrentMemorySpace());
+    this.memoryStack.push(frame);
+    return frame;
+  }
+
+  /**
+   * Get the {@link FrameLayout} for the scope, which was created by the semantic analysis for the
+   * passed AST node (e.g. a statement block or a loop). The slots of the variables in the scope are
+   * resolved on the first call.
+   *
+   * @param node The AST node
+   * @return The layout of the frames for the node
+   */
+  private FrameLayout frameLayout(Node node) {
+    FrameLayout layout = nodeFrameLayouts.get(node);
+    if (layout == null) {
+      IScope scope = symbolTable().getScopeForAstNode(node);
+      layout = scope == Scope.NULL ? FrameLayout.NONE : frameLayout(scope);
+      nodeFrameLayouts.put(node, layout);
+    }
+    return layout;
+  }
+
+  /**
+   * Get the {@link FrameLayout} for the passed scope. The slots of the variables in the scope are
+   * resolved on the first call.
+   *
+   * @param scope The scope
+   * @return The layout of the frames for the scope
+   */
+  private FrameLayout frameLayout(IScope scope) {
+    FrameLayout layout = scopeFrameLayouts.get(scope);
+    if (layout == null) {
+      layout = FrameLayout.of(scope);
+      scopeFrameLayouts.put(scope, layout);
+    }
+    return layout;
+  }
+
+  /**
+   * Get the {@link Symbol} referenced by an AST node. The symbol is cached, so the lookup does not
+   * allocate after the first call.
+   *
+   * @param node The AST node
+   * @return The Symbol referenced by node, or Symbol.NULL, if no Symbol could be found
+   */
+  private Symbol resolvedSymbol(Node node) {
+    Symbol symbol = resolvedSymbols.get(node);
+    if (symbol == null) {
+      symbol = symbolTable().getSymbolsForAstNode(node).get(0);
+      // don't cache nodes without symbol (e.g. temporary nodes created for native calls)
+      if (symbol != Symbol.NULL) {
+        resolvedSymbols.put(node, symbol);
+      }
+    }
+    return symbol;
+  }
+
+  // endregion
+
   // region function execution
 
   /**
@@ -1466,7 +1552,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       this.memoryStack.push(functionMemorySpace);
       // call callable
       Value returnValue = callCallable(callable, mockIdNodes);
-      this.memoryStack.pop();
+      framePool.release(this.memoryStack.pop());
 
       return returnValue;
     } else if (callable.getCallableType().equals(ICallable.Type.UserDefined)) {
@@ -1492,7 +1578,9 @@ public class DSLInterpreter implements AstVisitor<Object> {
     executeUserDefinedFunctionBody(symbol);
     functionMemorySpace = memoryStack.pop();
 
-    return getReturnValueFromMemorySpace(functionMemorySpace);
+    Value returnValue = getReturnValueFromMemorySpace(functionMemorySpace);
+    framePool.release(functionMemorySpace);
+    return returnValue;
   }
 
   /**
@@ -1513,7 +1601,9 @@ public class DSLInterpreter implements AstVisitor<Object> {
     executeUserDefinedFunctionBody(symbol);
     functionMemorySpace = memoryStack.pop();
 
-    return getReturnValueFromMemorySpace(functionMemorySpace);
+    Value returnValue = getReturnValueFromMemorySpace(functionMemorySpace);
+    framePool.release(functionMemorySpace);
+    return returnValue;
   }
 
   /**
@@ -1578,7 +1668,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
    */
   private IMemorySpace createFunctionMemorySpace(ScopedSymbol functionSymbol) {
     // push new memorySpace and parameters on spaceStack
-    var functionMemSpace = new MemorySpace(memoryStack.peek());
+    var functionMemSpace = framePool.acquire(frameLayout(functionSymbol), memoryStack.peek());
 
     // create and bind the return value
     var functionType = (FunctionType) functionSymbol.getDataType();
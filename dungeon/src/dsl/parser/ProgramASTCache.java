@@ -0,0 +1,269 @@
+package dsl.parser;
+
+import core.utils.Hashing;
+import dsl.parser.ast.Node;
+import java.io.*;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache for the ASTs of DSL programs.
+ *
+ * <p>Parsing a program with ANTLR and converting the parse tree with the {@link
+ * DungeonASTConverter} is done once per program content: the AST is stored in the cache directory
+ * in a compressed binary form, keyed by a hash of the program. If the same program is loaded again
+ * (e.g. after a restart), the AST is read from the cache instead.
+ *
+ * <p>The key also contains a hash of the class files of the AST converter and the AST nodes, so a
+ * build which changes the parser invalidates the cache. If the class files cannot be read, the
+ * cache is not used. Cache entries which cannot be read are ignored and overwritten.
+ *
+ * <p>Reading an entry only accepts the classes of an AST ({@link dsl.parser.ast} and the lists and
+ * strings they contain), so a manipulated entry cannot instantiate other classes. An entry of
+ * incompatible classes is deleted. The cache directory is only accessible by its owner, if the file
+ * system supports it.
+ *
+ * <p>Only the AST is cached; the semantic analysis is still done by the {@link
+ * dsl.semanticanalysis.analyzer.SemanticAnalyzer} (the symbols and types refer to the Java classes
+ * of the running game).
+ *
+ * <p>The cache can be used from multiple threads, so files can be parsed in parallel.
+ */
+public class ProgramASTCache {
+  /** System property to set the cache directory. */
+  public static final String CACHE_DIRECTORY_PROPERTY = "dungeon.dsl.cache";
+
+  /** Increase this, if the format of the cache entries changes. */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Accepts the classes of an AST and rejects all others.
+   *
+   * <p>Next to the nodes (and their enums), an AST contains {@link ArrayList}s of children and
+   * {@link String}s; an {@link ArrayList} checks its backing {@code Object[]} and an enum its super
+   * class {@link Enum} on deserialization.
+   */
+  static final ObjectInputFilter AST_FILTER =
+      info -> {
+        Class<?> type = info.serialClass();
+        if (type == null) {
+          return ObjectInputFilter.Status.UNDECIDED;
+        }
+        boolean allowed =
+            type.getPackageName().equals(Node.class.getPackageName())
+                || type == ArrayList.class
+                || type == String.class
+                || type == Object[].class
+                || type == Enum.class;
+        return allowed ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+      };
+
+  private static final String FILE_ENDING = ".ast";
+  private static final Set<PosixFilePermission> OWNER_ONLY =
+      PosixFilePermissions.fromString("rwx------");
+  private static final Logger LOGGER = Logger.getLogger(ProgramASTCache.class.getSimpleName());
+  private static ProgramASTCache defaultCache;
+
+  private static String classFilesHash;
+
+  private final Path directory;
+  private final String converterVersion;
+
+  /**
+   * Create a new cache, which stores the ASTs in the passed directory.
+   *
+   * @param directory the cache directory; it is created, if it does not exist
+   */
+  public ProgramASTCache(Path directory) {
+    this.directory = directory;
+    String hash = buildHash();
+    this.converterVersion = hash != null ? FORMAT_VERSION + ":" + hash : null;
+  }
+
+  /**
+   * Get the cache used by default.
+   *
+   * <p>The cache directory is set by the system property {@value #CACHE_DIRECTORY_PROPERTY}, or
+   * ".dungeon/dsl-cache" in the home directory of the user otherwise.
+   *
+   * @return the default cache
+   */
+  public static synchronized ProgramASTCache defaultCache() {
+    if (defaultCache == null) {
+      String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+      Path path =
+          directory != null
+              ? Path.of(directory)
+              : Path.of(System.getProperty("user.home"), ".dungeon", "dsl-cache");
+      defaultCache = new ProgramASTCache(path);
+    }
+    return defaultCache;
+  }
+
+  /**
+   * Get the AST of the passed program.
+   *
+   * <p>Reads the AST from the cache, if the program was parsed before. Otherwise, the program is
+   * parsed with {@link DungeonASTConverter#getProgramAST(String)} and the AST is stored in the
+   * cache.
+   *
+   * @param program the program to get the AST for
+   * @return the AST of the program
+   */
+  public Node getProgramAST(String program) {
+    if (converterVersion == null) {
+      return DungeonASTConverter.getProgramAST(program);
+    }
+    Path file = directory.resolve(key(program) + FILE_ENDING);
+    if (Files.exists(file)) {
+      Node cached = read(file);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    Node programAST = DungeonASTConverter.getProgramAST(program);
+    write(file, programAST);
+    return programAST;
+  }
+
+  /** Delete all entries of this cache. */
+  public void clear() {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    try (var files = Files.list(directory)) {
+      for (Path file : files.filter(f -> f.toString().endsWith(FILE_ENDING)).toList()) {
+        Files.deleteIfExists(file);
+      }
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not clear the AST cache " + directory, e);
+    }
+  }
+
+  private String key(String program) {
+    MessageDigest digest = Hashing.sha256();
+    digest.update(converterVersion.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+    digest.update(program.getBytes(StandardCharsets.UTF_8));
+    return Hashing.hex(digest);
+  }
+
+  private Node read(Path file) {
+    try (ObjectInputStream in =
+        new ObjectInputStream(
+            new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+      in.setObjectInputFilter(AST_FILTER);
+      return (Node) in.readObject();
+    } catch (InvalidClassException | ClassNotFoundException | ClassCastException e) {
+      // the entry does not fit the classes of this build or was rejected by the filter
+      LOGGER.info("Deleting incompatible AST cache entry " + file + ": " + e);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException deleteException) {
+        LOGGER.log(Level.WARNING, "Could not delete AST cache entry " + file, deleteException);
+      }
+      return null;
+    } catch (IOException e) {
+      LOGGER.info("Ignoring unreadable AST cache entry " + file + ": " + e);
+      return null;
+    }
+  }
+
+  private void write(Path file, Node programAST) {
+    try {
+      createDirectory();
+      // write to a temporary file first, so other processes never read a partial entry
+      Path temporary = Files.createTempFile(directory, "ast", ".tmp");
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(
+              new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary))))) {
+        out.writeObject(programAST);
+      }
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not write AST cache entry " + file, e);
+    }
+  }
+
+  // the cached ASTs may contain the data of other users' programs
+  private void createDirectory() throws IOException {
+    if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(directory);
+      return;
+    }
+    Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+    if (!Files.getPosixFilePermissions(directory).equals(OWNER_ONLY)) {
+      Files.setPosixFilePermissions(directory, OWNER_ONLY);
+    }
+  }
+
+  /**
+   * Hash the class files of the AST converter and the AST nodes, so a new build of the parser
+   * invalidates the cached ASTs.
+   *
+   * @return the hash, or null if the class files could not be read
+   */
+  private static synchronized String buildHash() {
+    if (classFilesHash == null) {
+      try {
+        classFilesHash = hashClassFiles();
+      } catch (IOException | URISyntaxException | RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Could not hash the DSL parser, the AST cache is disabled", e);
+        classFilesHash = "";
+      }
+    }
+    return classFilesHash.isEmpty() ? null : classFilesHash;
+  }
+
+  private static String hashClassFiles() throws IOException, URISyntaxException {
+    URL classFile = DungeonASTConverter.class.getResource("DungeonASTConverter.class");
+    if (classFile == null) {
+      throw new FileNotFoundException("DungeonASTConverter.class");
+    }
+    URI uri = classFile.toURI();
+    FileSystem jar = null;
+    if (uri.getScheme().equals("jar")) {
+      try {
+        jar = FileSystems.newFileSystem(uri, Map.of());
+      } catch (FileSystemAlreadyExistsException e) {
+        // the jar is already open, Path.of uses its file system
+      }
+    }
+    try {
+      Path converter = Path.of(uri);
+      List<Path> files = new ArrayList<>();
+      files.add(converter);
+      try (var nodes = Files.list(converter.resolveSibling("ast"))) {
+        nodes
+            .filter(f -> f.toString().endsWith(".class"))
+            .sorted((a, b) -> a.getFileName().toString().compareTo(b.getFileName().toString()))
+            .forEach(files::add);
+      }
+      MessageDigest digest = Hashing.sha256();
+      for (Path file : files) {
+        digest.update(file.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(Files.readAllBytes(file));
+      }
+      return Hashing.hex(digest);
+    } finally {
+      if (jar != null) {
+        jar.close();
+      }
+    }
+  }
+}
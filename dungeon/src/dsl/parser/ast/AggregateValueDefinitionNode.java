@@ -1,10 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
 /** WTF? . */
 public class AggregateValueDefinitionNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
 
   /** WTF? . */
   public final int idIdx = 0;
@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 
 /** WTF? . */
 public abstract class BinaryNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public final int lhsIdx = 0;
 
@@ -1,7 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class ComparisonNode extends BinaryNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public enum ComparisonType {
     /** WTF? . */
@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.List;
 
 /** WTF? . */
 public class DotAttrListNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   /**
    * WTF? .
    *
@@ -1,10 +1,13 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
 /** WTF? . */
 public class DotDefNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   private final int idNodeIdx = 0;
   private final int dotStmtStartIdx = 1;
 
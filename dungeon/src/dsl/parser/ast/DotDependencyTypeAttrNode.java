@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
 import graph.taskdependencygraph.TaskEdge;
+import java.io.Serial;
 
 /** WTF? . */
 public class DotDependencyTypeAttrNode extends DotAttrNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   /**
    * WTF? .
    *
@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
 import graph.taskdependencygraph.TaskEdge;
+import java.io.Serial;
 
 /** WTF? . */
 public class DotDependencyTypeNode extends IdNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   private final TaskEdge.Type taskEdgeType;
 
   /**
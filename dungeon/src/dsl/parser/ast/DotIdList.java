@@ -1,9 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.List;
 
 /** WTF? . */
 public class DotIdList extends Node {
+  @Serial private static final long serialVersionUID = 1L;
 
   /**
    * Return the stored IdNodes of this DotIdList-Node, in order of definition. Will cast each stored
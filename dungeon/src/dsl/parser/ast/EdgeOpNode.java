@@ -1,7 +1,10 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class EdgeOpNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
 
   /**
    * WTF? .
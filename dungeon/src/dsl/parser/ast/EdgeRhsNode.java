@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 
 /** WTF? . */
 public class EdgeRhsNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   private final int edgeOpIdx = 0;
   private final int idNodeIdx = 1;
 
@@ -1,7 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class EqualityNode extends BinaryNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public enum EqualityType {
     /** WTF? . */
@@ -1,7 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class FactorNode extends BinaryNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public enum FactorType {
     /** WTF? . */
@@ -1,10 +1,13 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
 /** WTF? . */
 public class FuncCallNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public final int idIdx = 0;
 
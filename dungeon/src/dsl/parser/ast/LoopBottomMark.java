@@ -3,6 +3,7 @@ package dsl.parser.ast;
 import dsl.interpreter.DSLInterpreter;
 import dsl.runtime.value.Value;
 import dsl.semanticanalysis.symbol.Symbol;
+import java.io.Serial;
 import java.util.Iterator;
 
 /**
@@ -14,10 +15,13 @@ import java.util.Iterator;
  * the symbols corresponding to the loop and counter variable).
  */
 public class LoopBottomMark extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
+  // the loop state only exists during interpretation and is never cached
   private final LoopStmtNode loopStmtNode;
-  private final Iterator<Value> internalIterator;
-  private final Symbol loopVariableSymbol;
-  private final Symbol counterVariableSymbol;
+  private final transient Iterator<Value> internalIterator;
+  private final transient Symbol loopVariableSymbol;
+  private final transient Symbol counterVariableSymbol;
 
   /**
    * Constructor for bottom mark of {@link LoopStmtNode}s, which have no internal iterator and no
@@ -1,11 +1,23 @@
 package dsl.parser.ast;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
-/** WTF? . */
-public class Node {
-  // used for running index to give every Node a unique identifier
-  private static int _idx;
+/**
+ * WTF? .
+ *
+ * <p>Nodes are {@link Serializable}, so the AST of a program can be cached (see {@link
+ * dsl.parser.ProgramASTCache}). A deserialized node gets a new unique index.
+ */
+public class Node implements Serializable {
+  @Serial private static final long serialVersionUID = 1L;
+
+  // used for running index to give every Node a unique identifier; files may be parsed in parallel
+  private static final AtomicInteger _idx = new AtomicInteger();
 
   /**
    * WTF? .
@@ -150,7 +162,7 @@ public class Node {
 
   private Node parent;
   private SourceFileReference sourceFileReference = SourceFileReference.NULL;
-  private final int idx;
+  private transient int idx;
 
   /**
    * Constructor for AST-Node with children.
@@ -159,8 +171,7 @@ public class Node {
    * @param nodeChildren List of children of the node
    */
   public Node(Type nodeType, ArrayList<Node> nodeChildren) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = nodeChildren;
@@ -177,8 +188,7 @@ public class Node {
    * @param nodeType The {@link Type} of the node
    */
   public Node(Type nodeType) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = new ArrayList<>();
@@ -192,8 +202,7 @@ public class Node {
    * @param sourceReference The {@link SourceFileReference} for the new node
    */
   public Node(Type nodeType, SourceFileReference sourceReference) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = new ArrayList<>();
@@ -269,6 +278,18 @@ public class Node {
     return SourceFileReference.NULL;
   }
 
+  @Serial
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // the index must be unique in this process
+    idx = _idx.incrementAndGet();
+  }
+
+  @Serial
+  private Object readResolve() {
+    return this.type == Type.NONE ? NONE : this;
+  }
+
   /**
    * WTF? .
    *
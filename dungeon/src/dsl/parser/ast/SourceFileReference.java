@@ -1,7 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+import java.io.Serializable;
+
 /** WTF? . */
-public class SourceFileReference {
+public class SourceFileReference implements Serializable {
+  @Serial private static final long serialVersionUID = 1L;
+
   int line;
   int column;
 
@@ -37,6 +42,11 @@ public class SourceFileReference {
   /** WTF? . */
   public static SourceFileReference NULL = new SourceFileReference(-1, -1);
 
+  @Serial
+  private Object readResolve() {
+    return this.line == -1 && this.column == -1 ? NULL : this;
+  }
+
   /**
    * WTF? .
    *
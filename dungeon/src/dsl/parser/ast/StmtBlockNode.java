@@ -1,9 +1,12 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
 import java.util.ArrayList;
 
 /** WTF? . */
 public class StmtBlockNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   /**
    * WTF? .
    *
@@ -1,7 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class StringNode extends Node {
+  @Serial private static final long serialVersionUID = 1L;
+
   private final String value;
 
   /**
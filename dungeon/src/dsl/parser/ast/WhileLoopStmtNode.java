@@ -1,7 +1,11 @@
 package dsl.parser.ast;
 
+import java.io.Serial;
+
 /** WTF? . */
 public class WhileLoopStmtNode extends LoopStmtNode {
+  @Serial private static final long serialVersionUID = 1L;
+
   /** WTF? . */
   public final int expressionIdx = 1;
 
@@ -0,0 +1,228 @@
+package dsl.runtime.memoryspace;
+
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.symbol.Symbol;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An {@link IMemorySpace} for the local variables of a statement block, loop iteration or function
+ * call.
+ *
+ * <p>The variables declared in the scope of the frame are stored in an array by their slot (see
+ * {@link FrameLayout}). Values bound under other names (e.g. the return value of a function) are
+ * stored in a small list and looked up by name. Frames are reused by a {@link FramePool} and don't
+ * allocate a map.
+ *
+ * <p>Note: aggregate values created in the scope of a frame keep it as their parent memory space.
+ * Such a frame and its ancestor frames are marked as captured (see {@link #capture()}) and are
+ * neither cleared nor reused by the pool, so the aggregate value never sees the variables of
+ * another scope.
+ */
+public class Frame implements IMemorySpace {
+  private FrameLayout layout = FrameLayout.NONE;
+  private IMemorySpace parent = MemorySpace.NONE;
+  private Value[] slots = new Value[4];
+  private String[] extraNames = new String[2];
+  private Value[] extraValues = new Value[2];
+  private int extraCount;
+  private boolean captured;
+
+  /**
+   * Constructor.
+   *
+   * @param layout the layout of the frame
+   * @param parent the parent memory space
+   */
+  public Frame(FrameLayout layout, IMemorySpace parent) {
+    reset(layout, parent);
+  }
+
+  /**
+   * Prepare this frame for a new use: set its layout and parent and remove all values.
+   *
+   * @param layout the layout of the frame
+   * @param parent the parent memory space
+   */
+  void reset(FrameLayout layout, IMemorySpace parent) {
+    this.layout = layout;
+    this.parent = parent;
+    if (slots.length < layout.size()) {
+      slots = new Value[layout.size()];
+    }
+  }
+
+  /** Remove all values and the parent of this frame, so they can be garbage collected. */
+  void clear() {
+    Arrays.fill(slots, 0, Math.min(slots.length, layout.size()), null);
+    Arrays.fill(extraValues, 0, extraCount, null);
+    Arrays.fill(extraNames, 0, extraCount, null);
+    extraCount = 0;
+    parent = MemorySpace.NONE;
+    layout = FrameLayout.NONE;
+  }
+
+  /**
+   * Mark this frame and all its ancestor frames as captured: a memory space that outlives the
+   * scope of the frame uses it as its parent and resolves names through the whole chain of parents,
+   * so none of these frames must be returned to a {@link FramePool}.
+   */
+  public void capture() {
+    Frame frame = this;
+    while (!frame.captured) {
+      frame.captured = true;
+      if (!(frame.parent instanceof Frame parentFrame)) {
+        break;
+      }
+      frame = parentFrame;
+    }
+  }
+
+  /**
+   * Check, whether this frame is captured by a memory space that outlives its scope.
+   *
+   * @return true, if the frame is captured
+   */
+  public boolean isCaptured() {
+    return captured;
+  }
+
+  /**
+   * Getter for the layout of the frame.
+   *
+   * @return the layout of the frame
+   */
+  public FrameLayout layout() {
+    return layout;
+  }
+
+  /**
+   * Resolve the value of a resolved variable.
+   *
+   * <p>Walks the chain of frames up to the frame of the variable's scope and reads the value from
+   * the slot of the variable. If no such frame is found or the variable is not bound in it, the
+   * name of the symbol is resolved instead.
+   *
+   * @param symbol the symbol of the variable
+   * @return The resolved {@link Value} or Value.NONE, if the variable could not be resolved
+   */
+  public Value resolve(Symbol symbol) {
+    int slot = symbol.getSlot();
+    if (slot >= 0) {
+      Frame frame = this;
+      while (true) {
+        if (frame.layout.scope() == symbol.getScope()) {
+          Value value = frame.slots[slot];
+          if (value != null) {
+            return value;
+          }
+          break;
+        }
+        if (!(frame.parent instanceof Frame parentFrame)) {
+          break;
+        }
+        frame = parentFrame;
+      }
+    }
+    return resolve(symbol.getName(), true);
+  }
+
+  @Override
+  public boolean bindValue(String name, Value value) {
+    if (value.equals(Value.NONE)) {
+      return false;
+    }
+    int slot = layout.slotOf(name);
+    if (slot >= 0) {
+      if (slots[slot] != null) {
+        return false;
+      }
+      slots[slot] = value;
+      return true;
+    }
+    if (extraIndexOf(name) >= 0) {
+      return false;
+    }
+    if (extraCount == extraNames.length) {
+      extraNames = Arrays.copyOf(extraNames, extraCount * 2);
+      extraValues = Arrays.copyOf(extraValues, extraCount * 2);
+    }
+    extraNames[extraCount] = name;
+    extraValues[extraCount] = value;
+    extraCount++;
+    return true;
+  }
+
+  @Override
+  public Value resolve(String name) {
+    return resolve(name, true);
+  }
+
+  @Override
+  public Value resolve(String name, boolean resolveInParent) {
+    int slot = layout.slotOf(name);
+    if (slot >= 0 && slots[slot] != null) {
+      return slots[slot];
+    }
+    int extra = extraIndexOf(name);
+    if (extra >= 0) {
+      return extraValues[extra];
+    }
+    if (this.parent != MemorySpace.NONE && this.parent != null && resolveInParent) {
+      return this.parent.resolve(name, true);
+    }
+    return Value.NONE;
+  }
+
+  @Override
+  public void delete(String name) {
+    int slot = layout.slotOf(name);
+    if (slot >= 0) {
+      slots[slot] = null;
+      return;
+    }
+    int extra = extraIndexOf(name);
+    if (extra >= 0) {
+      extraCount--;
+      extraNames[extra] = extraNames[extraCount];
+      extraValues[extra] = extraValues[extraCount];
+      extraNames[extraCount] = null;
+      extraValues[extraCount] = null;
+    }
+  }
+
+  @Override
+  public boolean setValue(String name, Value value) {
+    var resolved = resolve(name, false);
+    if (resolved.equals(Value.NONE)) {
+      return false;
+    }
+    resolved.setInternalValue(value.getInternalValue());
+    return true;
+  }
+
+  @Override
+  public Set<Map.Entry<String, Value>> getValueSet() {
+    Map<String, Value> values = new LinkedHashMap<>();
+    for (int i = 0; i < layout.size(); i++) {
+      if (slots[i] != null) {
+        values.put(layout.nameOf(i), slots[i]);
+      }
+    }
+    for (int i = 0; i < extraCount; i++) {
+      values.put(extraNames[i], extraValues[i]);
+    }
+    return values.entrySet();
+  }
+
+  private int extraIndexOf(String name) {
+    for (int i = 0; i < extraCount; i++) {
+      if (extraNames[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
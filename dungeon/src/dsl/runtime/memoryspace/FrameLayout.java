@@ -0,0 +1,95 @@
+package dsl.runtime.memoryspace;
+
+import dsl.semanticanalysis.scope.IScope;
+import dsl.semanticanalysis.symbol.PropertySymbol;
+import dsl.semanticanalysis.symbol.Symbol;
+import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The layout of the {@link Frame}s created for a scope: assigns each variable, which is declared in
+ * the scope, a slot in the frame.
+ *
+ * <p>The slot of a variable is stored in its {@link Symbol} (see {@link Symbol#getSlot()}), so a
+ * resolved identifier can be looked up in a frame by index instead of by name.
+ */
+public final class FrameLayout {
+  /** Layout of a frame without a known scope; all values are stored by name. */
+  public static final FrameLayout NONE = new FrameLayout(null, new String[0]);
+
+  private final IScope scope;
+  private final String[] names;
+
+  private FrameLayout(IScope scope, String[] names) {
+    this.scope = scope;
+    this.names = names;
+  }
+
+  /**
+   * Resolve the slots of all variables declared in the passed scope and create the layout of the
+   * frames for this scope.
+   *
+   * <p>Types and properties are not stored in frames and don't get a slot.
+   *
+   * @param scope the scope to create the layout for
+   * @return the created layout
+   */
+  public static FrameLayout of(IScope scope) {
+    List<String> names = new ArrayList<>();
+    for (Symbol symbol : scope.getSymbols()) {
+      if (symbol instanceof IType
+          || symbol instanceof PropertySymbol
+          || symbol.getScope() != scope) {
+        continue;
+      }
+      symbol.setSlot(names.size());
+      names.add(symbol.getName());
+    }
+    return new FrameLayout(scope, names.toArray(new String[0]));
+  }
+
+  /**
+   * Getter for the scope of this layout.
+   *
+   * @return the scope, for which this layout was created, or null for {@link #NONE}
+   */
+  public IScope scope() {
+    return scope;
+  }
+
+  /**
+   * Getter for the number of slots.
+   *
+   * @return the number of slots of a frame with this layout
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Get the slot of a variable by its name.
+   *
+   * @param name the name of the variable
+   * @return the slot of the variable or -1, if no variable with the passed name is declared in the
+   *     scope of this layout
+   */
+  public int slotOf(String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the name of the variable stored in a slot.
+   *
+   * @param slot the slot
+   * @return the name of the variable stored in the slot
+   */
+  public String nameOf(int slot) {
+    return names[slot];
+  }
+}
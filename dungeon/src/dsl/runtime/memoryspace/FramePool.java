@@ -0,0 +1,57 @@
+package dsl.runtime.memoryspace;
+
+import java.util.ArrayDeque;
+
+/**
+ * Reuses {@link Frame}s, so entering a scope (e.g. a statement block, a loop iteration or a
+ * function call) does not allocate a new memory space.
+ */
+public class FramePool {
+  /** The maximum number of unused frames kept by a pool. */
+  public static final int MAX_POOLED_FRAMES = 256;
+
+  private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+
+  /**
+   * Get an empty frame from the pool, or create a new one, if the pool is empty.
+   *
+   * @param layout the layout of the frame
+   * @param parent the parent memory space of the frame
+   * @return the frame
+   */
+  public Frame acquire(FrameLayout layout, IMemorySpace parent) {
+    Frame frame = frames.poll();
+    if (frame == null) {
+      return new Frame(layout, parent);
+    }
+    frame.reset(layout, parent);
+    return frame;
+  }
+
+  /**
+   * Return a frame to the pool. Other memory spaces are ignored.
+   *
+   * <p>The frame must not be used afterward. A captured frame (see {@link Frame#capture()}) is
+   * still referenced by another memory space, so it is neither cleared nor pooled.
+   *
+   * @param memorySpace the memory space to return
+   */
+  public void release(IMemorySpace memorySpace) {
+    if (!(memorySpace instanceof Frame frame) || frame.isCaptured()) {
+      return;
+    }
+    frame.clear();
+    if (frames.size() < MAX_POOLED_FRAMES) {
+      frames.push(frame);
+    }
+  }
+
+  /**
+   * Getter for the number of unused frames in the pool.
+   *
+   * @return the number of unused frames in the pool
+   */
+  public int size() {
+    return frames.size();
+  }
+}
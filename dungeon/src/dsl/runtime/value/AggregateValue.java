@@ -1,5 +1,6 @@
 package dsl.runtime.value;
 
+import dsl.runtime.memoryspace.Frame;
 import dsl.runtime.memoryspace.IMemorySpace;
 import dsl.runtime.memoryspace.MemorySpace;
 import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
@@ -43,6 +44,10 @@ public class AggregateValue extends Value {
   }
 
   private void initializeMemorySpace(IMemorySpace parentSpace) {
+    // the new memory space outlives the scope of the frame, so the frame must not be reused
+    if (parentSpace instanceof Frame frame) {
+      frame.capture();
+    }
     this.memorySpace = new MemorySpace(parentSpace);
     this.memorySpace.bindValue(THIS_NAME, this);
   }
@@ -23,6 +23,7 @@ package dsl.semanticanalysis;
 
 import dsl.parser.ast.Node;
 import dsl.semanticanalysis.scope.IScope;
+import dsl.semanticanalysis.scope.Scope;
 import dsl.semanticanalysis.symbol.Symbol;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -50,6 +51,12 @@ public class SymbolTable {
    */
   private final HashMap<Integer, Integer> symbolToAstNodeRelation;
 
+  /**
+   * Creates an association between a specific AST node (by index) and the scope it opens -> e.g.
+   * "which scope holds the variables declared in this block?".
+   */
+  private final HashMap<Integer, IScope> astNodeScopeRelation;
+
   /**
    * Getter for the global {@link IScope}, which is the topmost scope in the scope stack.
    *
@@ -147,6 +154,27 @@ public class SymbolTable {
     return astNodeIdxToAstNode.get(astNodeIdx);
   }
 
+  /**
+   * Add an association between an AST node and the scope, which was created for it (e.g. for a
+   * statement block or a loop).
+   *
+   * @param node The AST node
+   * @param scope The scope created for the AST node
+   */
+  public void addScopeNodeRelation(Node node, IScope scope) {
+    astNodeScopeRelation.put(node.getIdx(), scope);
+  }
+
+  /**
+   * Get the scope, which was created for a specific AST node.
+   *
+   * @param node The AST node
+   * @return The scope created for the AST node, or Scope.NULL, if no scope was created for it
+   */
+  public IScope getScopeForAstNode(Node node) {
+    return astNodeScopeRelation.getOrDefault(node.getIdx(), Scope.NULL);
+  }
+
   /**
    * Get the {@link Symbol} with passed index.
    *
@@ -169,5 +197,6 @@ public class SymbolTable {
     symbolIdxToSymbol = new HashMap<>();
     astNodeIdxToAstNode = new HashMap<>();
     symbolToAstNodeRelation = new HashMap<>();
+    astNodeScopeRelation = new HashMap<>();
   }
 }
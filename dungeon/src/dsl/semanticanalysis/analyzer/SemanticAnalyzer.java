@@ -437,6 +437,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
   @Override
   public Void visit(StmtBlockNode node) {
     var blockScope = new Scope(scopeStack.peek());
+    symbolTable.addScopeNodeRelation(node, blockScope);
     scopeStack.push(blockScope);
     for (var stmt : node.getStmts()) {
       stmt.accept(this);
@@ -454,6 +455,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
     // we need to create a new scope here (because it won't be created in a block-statement)
     if (!node.getIfStmt().type.equals(Node.Type.Block)) {
       var scope = new Scope(scopeStack.peek());
+      symbolTable.addScopeNodeRelation(node.getIfStmt(), scope);
       scopeStack.push(scope);
       node.getIfStmt().accept(this);
       scopeStack.pop();
@@ -473,6 +475,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
     // we need to create new scopes here (because it won't be created in block-statements)
     if (!node.getIfStmt().type.equals(Node.Type.Block)) {
       var ifScope = new Scope(scopeStack.peek());
+      symbolTable.addScopeNodeRelation(node.getIfStmt(), ifScope);
       scopeStack.push(ifScope);
       node.getIfStmt().accept(this);
       scopeStack.pop();
@@ -482,6 +485,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
 
     if (!node.getElseStmt().type.equals(Node.Type.Block)) {
       var elseScope = new Scope(scopeStack.peek());
+      symbolTable.addScopeNodeRelation(node.getElseStmt(), elseScope);
       scopeStack.push(elseScope);
       node.getElseStmt().accept(this);
       scopeStack.pop();
@@ -711,6 +715,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
     node.getExpressionNode().accept(this);
 
     var whileScope = new Scope(scopeStack.peek());
+    symbolTable.addScopeNodeRelation(node, whileScope);
     scopeStack.push(whileScope);
     node.getStmtNode().accept(this);
     scopeStack.pop();
@@ -725,6 +730,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
 
     // create loop scope
     Scope loopScope = new Scope(scopeStack.peek());
+    symbolTable.addScopeNodeRelation(node, loopScope);
 
     // create loop variable
     Node typeIdNode = node.getTypeIdNode();
@@ -750,6 +756,7 @@ public class SemanticAnalyzer implements AstVisitor<Void> {
 
     // create loop scope
     Scope loopScope = new Scope(scopeStack.peek());
+    symbolTable.addScopeNodeRelation(node, loopScope);
 
     // create loop variable
     Node typeIdNode = node.getTypeIdNode();
@@ -47,6 +47,9 @@ public class Symbol {
 
   private int idx;
 
+  // the index of the symbol's value in the frame of its scope, see FrameLayout
+  private int slot = -1;
+
   /** WTF? . */
   public static Symbol NULL = new Symbol("NULL SYMBOL", null, null);
 
@@ -101,6 +104,25 @@ public class Symbol {
     return idx;
   }
 
+  /**
+   * Getter for the slot of the symbol, which is the index of its value in the frames created for
+   * its scope.
+   *
+   * @return the slot of the symbol or -1, if no slot was assigned to the symbol
+   */
+  public int getSlot() {
+    return slot;
+  }
+
+  /**
+   * Setter for the slot of the symbol.
+   *
+   * @param slot the index of the symbol's value in the frames created for its scope
+   */
+  public void setSlot(int slot) {
+    this.slot = slot;
+  }
+
   /**
    * Getter for the {@link Type} of the symbol.
    *
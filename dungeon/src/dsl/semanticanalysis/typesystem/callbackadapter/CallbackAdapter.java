@@ -47,7 +47,7 @@ public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
   public Object call(Object... params) {
     Value returnValue =
         (Value)
-            interpreter.callCallableRawParameters(this.callable, Arrays.stream(params).toList());
+            interpreter.callCallableRawParameters(this.callable, Arrays.asList(params));
 
     return convertValueToObject(returnValue);
   }
@@ -21,6 +21,21 @@ import java.util.regex.Pattern;
 
 /** TypeBuilder. */
 public class TypeBuilder {
+  // the DSL member fields of a class don't change, so the reflection is only done once per class
+  private static final ClassValue<Field[]> DSL_MEMBER_FIELDS =
+      new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> clazz) {
+          return Arrays.stream(clazz.getDeclaredFields())
+              .filter(
+                  field ->
+                      field.isAnnotationPresent(DSLTypeMember.class)
+                          || field.isAnnotationPresent(DSLTypeNameMember.class)
+                          || field.isAnnotationPresent(DSLCallback.class))
+              .toArray(Field[]::new);
+        }
+      };
+
   private final HashMap<Class<?>, List<Method>> typeAdapters;
   private final HashMap<Type, IType> javaTypeToDSLType;
   private final HashSet<Type> currentLookedUpTypes;
@@ -127,26 +142,19 @@ public class TypeBuilder {
    */
   public static HashMap<String, Field> mapTypeMembersToField(AggregateType type) {
     var originClass = type.getOriginType();
-    HashMap<String, String> nameMap = new HashMap<>();
-    for (Field field : originClass.getDeclaredFields()) {
-      // bind new Symbol
+    HashMap<String, Field> nameMap = new HashMap<>();
+    for (Field field : DSL_MEMBER_FIELDS.get(originClass)) {
       if (field.isAnnotationPresent(DSLTypeMember.class)
           || field.isAnnotationPresent(DSLCallback.class)) {
-        String fieldName = getDSLFieldName(field);
-        nameMap.put(fieldName, field.getName());
+        nameMap.put(getDSLFieldName(field), field);
       }
     }
 
     HashMap<String, Field> typeMemberToField = new HashMap<>();
     for (var member : type.getSymbols()) {
-      var fieldName = nameMap.get(member.getName());
-      if (fieldName != null) {
-        try {
-          Field field = originClass.getDeclaredField(fieldName);
-          typeMemberToField.put(member.getName(), field);
-        } catch (NoSuchFieldException e) {
-          // TODO: handle
-        }
+      Field field = nameMap.get(member.getName());
+      if (field != null) {
+        typeMemberToField.put(member.getName(), field);
       }
     }
     return typeMemberToField;
@@ -646,7 +654,7 @@ public class TypeBuilder {
       var aggregateType = new AggregateType(typeName, globalScope, clazz);
 
       this.currentLookedUpTypes.add(clazz);
-      for (Field field : clazz.getDeclaredFields()) {
+      for (Field field : DSL_MEMBER_FIELDS.get(clazz)) {
         // bind new Symbol
         if (field.isAnnotationPresent(DSLTypeMember.class)
             || field.isAnnotationPresent(DSLTypeNameMember.class)) {
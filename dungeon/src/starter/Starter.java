@@ -221,10 +221,9 @@ public class Starter {
   }
 
   private static Set<DSLEntryPoint> processCLIArguments(String[] args) throws ParseException {
-    Set<DSLEntryPoint> entryPoints = new HashSet<>();
     DSLEntryPointFinder finder = new DSLEntryPointFinder();
-    DSLFileLoader.processArguments(args)
-        .forEach(path -> finder.getEntryPoints(path).ifPresent(entryPoints::addAll)); // WTF?
+    Set<DSLEntryPoint> entryPoints =
+        new HashSet<>(finder.getEntryPoints(DSLFileLoader.processArguments(args)));
 
     if (entryPoints.isEmpty()) throw new ParseException("No entry points found.", 0);
     else return entryPoints;
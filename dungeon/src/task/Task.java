@@ -1,27 +1,20 @@
 package task;
 
 import contrib.components.InventoryComponent;
-import contrib.components.ItemComponent;
 import core.Entity;
 import core.Game;
-import core.utils.MissingHeroException;
 import core.utils.components.MissingComponentException;
 import dsl.annotation.DSLType;
 import graph.petrinet.Place;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.logging.FileHandler;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 import java.util.stream.Stream;
 import task.game.components.TaskComponent;
-import task.game.components.TaskContentComponent;
 import task.game.content.QuestItem;
+import task.reporting.TaskEvent;
+import task.reporting.TaskEventLog;
 
 /**
  * A task that needs to be solved in the game.
@@ -45,7 +38,6 @@ import task.game.content.QuestItem;
 public abstract class Task {
 
   private static final Logger LOGGER = Logger.getLogger(Task.class.getName());
-  private static final Logger SOL_LOGGER = Logger.getLogger("TaskSolutionLogger");
   private static final Set<Task> ALL_TASKS = new HashSet<>();
   private static final List<Task> SOLVED_TASK_IN_ORDER = new ArrayList<>();
   private static final String DEFAULT_TASK_TEXT = "No task description provided";
@@ -78,22 +70,6 @@ public abstract class Task {
 
   private float achievedPoints;
 
-  static {
-    try {
-      SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy'T'HH-mm-ss");
-      String timestamp = dateFormat.format(new Date());
-      String directoryPath = System.getProperty("BASELOGDIR", "logs/") + "solutions/";
-      String filepath = directoryPath + timestamp + ".log";
-      Files.createDirectories(Paths.get(directoryPath));
-      FileHandler fileHandler = new FileHandler(filepath);
-      fileHandler.setFormatter(new SimpleFormatter());
-
-      SOL_LOGGER.addHandler(fileHandler);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-  }
-
   /**
    * Create a new Task with the {@link #DEFAULT_TASK_TEXT} in the {@link #DEFAULT_TASK_STATE}, with
    * an empty content-collection and without an {@link TaskComponent}.
@@ -128,9 +104,10 @@ public abstract class Task {
     return new ArrayList<>(SOLVED_TASK_IN_ORDER).stream();
   }
 
-  /** Clear the {@link #ALL_TASKS} Set. */
+  /** Clear the {@link #ALL_TASKS} Set and drop the index of the task entities. */
   public static void cleanupAllTask() {
     ALL_TASKS.clear();
+    TaskEntityIndex.reset();
   }
 
   /**
@@ -185,6 +162,7 @@ public abstract class Task {
   public boolean state(final TaskState state) {
     if (this.state == state) return false;
     this.state = state;
+    TaskEventLog.defaultLog().log(TaskEvent.stateChanged(this, state));
     observer.forEach(place -> place.notify(this, state));
     if (state == TaskState.FINISHED_CORRECT || state == TaskState.FINISHED_WRONG)
       SOLVED_TASK_IN_ORDER.add(this);
@@ -424,7 +402,7 @@ public abstract class Task {
    *
    * <p>This will inform the petri net about the task state changes.
    *
-   * <p>This will log the result.
+   * <p>This will log the result in the {@link TaskEventLog#defaultLog() task event log}.
    *
    * <p>This will give the player a reward, if the task was solved correctly.
    *
@@ -433,35 +411,25 @@ public abstract class Task {
    */
   public float gradeTask(Set<TaskContent> givenAnswers) {
     float score = scoringFunction.apply(this, givenAnswers);
-    StringBuilder msgBuilder = new StringBuilder();
-    msgBuilder
-        .append("Task: ")
-        .append(id)
-        .append(System.lineSeparator())
-        .append(taskName)
-        .append(System.lineSeparator())
-        .append(taskText)
-        .append(System.lineSeparator())
-        .append(" was solved with ")
-        .append(score)
-        .append("/")
-        .append(points)
-        .append(" Points.")
-        .append(System.lineSeparator());
-    msgBuilder.append("The task was solved");
-    if (score >= pointsToSolve) msgBuilder.append(" successfully.");
-    else msgBuilder.append(" unsuccessfully.");
-    msgBuilder.append(System.lineSeparator());
-    msgBuilder.append("Given answers: ");
-
-    for (TaskContent answer : givenAnswers) {
-      msgBuilder.append(answer.toString()).append(System.lineSeparator());
-    }
-    String msg = msgBuilder.toString();
-    SOL_LOGGER.info(msg);
-
-    if (score >= pointsToSolve) state(TaskState.FINISHED_CORRECT);
-    else state(TaskState.FINISHED_WRONG);
+    TaskState newState =
+        score >= pointsToSolve ? TaskState.FINISHED_CORRECT : TaskState.FINISHED_WRONG;
+    // the answers are converted here, they may change after the grading
+    List<String> answers = new ArrayList<>(givenAnswers.size());
+    for (TaskContent answer : givenAnswers) answers.add(answer.toString());
+    TaskEventLog.defaultLog()
+        .log(
+            new TaskEvent(
+                TaskEvent.Type.GRADED,
+                System.currentTimeMillis(),
+                id,
+                taskName,
+                newState,
+                score,
+                points,
+                pointsToSolve,
+                answers));
+
+    state(newState);
     achievedPoints = score;
 
     removeQuestItems();
@@ -469,27 +437,11 @@ public abstract class Task {
   }
 
   private void removeQuestItems() {
-    Entity hero = Game.hero().orElseThrow(MissingHeroException::new);
-    Task t = this;
+    TaskEntityIndex index = TaskEntityIndex.instance();
     // remove all quest items in invetorys
-    Game.allEntities()
-        .filter(entity -> entity.isPresent(InventoryComponent.class))
-        .forEach(entity -> removeQuestItemFromInventory(entity));
-    Game.allEntities()
-        .filter(entity -> entity.isPresent(ItemComponent.class))
-        .forEach(
-            entity -> {
-              ItemComponent ic =
-                  entity
-                      .fetch(ItemComponent.class)
-                      .orElseThrow(
-                          () -> MissingComponentException.build(entity, ItemComponent.class));
-              if (ic.item() instanceof QuestItem) {
-                if (((QuestItem) ic.item()).taskContentComponent().content().task().equals(t)) {
-                  Game.remove(entity);
-                }
-              }
-            });
+    index.inventories().forEach(this::removeQuestItemFromInventory);
+    // remove all quest items in the levels
+    index.questItemEntities(this).forEach(Game::remove);
   }
 
   private void removeQuestItemFromInventory(Entity hero) {
@@ -533,17 +485,7 @@ public abstract class Task {
    * @return the entity that stores the given content, empty if no entity stores the content.
    */
   public Optional<Entity> find(TaskContent taskContent) {
-    return Game.allEntities()
-        .filter(e -> e.isPresent(TaskContentComponent.class))
-        .filter(
-            e -> {
-              TaskContentComponent taskContentComponent =
-                  e.fetch(TaskContentComponent.class)
-                      .orElseThrow(
-                          () -> MissingComponentException.build(e, TaskContentComponent.class));
-              return taskContentComponent.content().equals(taskContent);
-            })
-        .findFirst();
+    return TaskEntityIndex.instance().find(taskContent);
   }
 
   /**
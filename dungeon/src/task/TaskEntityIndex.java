@@ -0,0 +1,150 @@
+package task;
+
+import contrib.components.InventoryComponent;
+import contrib.components.ItemComponent;
+import core.Component;
+import core.Entity;
+import core.Game;
+import core.game.EntityObserver;
+import java.util.*;
+import task.game.components.TaskContentComponent;
+import task.game.content.QuestItem;
+
+/**
+ * Index of the entities in the game that belong to a {@link Task}.
+ *
+ * <p>Maps each {@link TaskContent} to the entities with a {@link TaskContentComponent} for it, and
+ * each task to the entities that lay in the level as a {@link QuestItem} of the task. Additionally,
+ * the entities with an {@link InventoryComponent} are stored, because quest items can be moved
+ * between inventories without changing any component.
+ *
+ * <p>The index is built from {@link Game#allEntities()} on first use and is updated afterward as an
+ * {@link EntityObserver}, so looking up the entity of a task content does not need to check each
+ * entity of each level. {@link #reset()} unregisters the index; the next use builds it again.
+ */
+final class TaskEntityIndex implements EntityObserver {
+  private static TaskEntityIndex instance;
+
+  private final Map<TaskContent, Set<Entity>> contentEntities = new HashMap<>();
+  private final Map<Task, Set<Entity>> questItemEntities = new HashMap<>();
+  private final Map<Entity, Entry> entries = new HashMap<>();
+  private final Set<Entity> inventories = new LinkedHashSet<>();
+
+  private TaskEntityIndex() {}
+
+  /**
+   * Get the index, create it if necessary.
+   *
+   * @return the index of the entities in the game.
+   */
+  static TaskEntityIndex instance() {
+    if (instance == null) {
+      instance = new TaskEntityIndex();
+      Game.addObserver(instance);
+      Game.allEntities().forEach(instance::onAdd);
+    }
+    return instance;
+  }
+
+  /**
+   * Unregister the index from the game and drop it.
+   *
+   * <p>The next call of {@link #instance()} builds a new index from the entities in the game.
+   */
+  static void reset() {
+    if (instance == null) return;
+    Game.removeObserver(instance);
+    instance = null;
+  }
+
+  /**
+   * Find an entity that stores the given content.
+   *
+   * @param content Content we are looking for.
+   * @return the entity that stores the given content, empty if no entity stores the content.
+   */
+  Optional<Entity> find(final TaskContent content) {
+    Set<Entity> entities = contentEntities.get(content);
+    if (entities == null) return Optional.empty();
+    // the content of a component can be replaced without informing the game
+    return entities.stream()
+        .filter(
+            entity ->
+                entity
+                    .fetch(TaskContentComponent.class)
+                    .map(tcc -> tcc.content() == content)
+                    .orElse(false))
+        .findFirst();
+  }
+
+  /**
+   * Get the entities in the level that are a {@link QuestItem} of the given task.
+   *
+   * @param task the task of the quest items.
+   * @return a copy of the set of entities, so the entities can be removed while iterating.
+   */
+  List<Entity> questItemEntities(final Task task) {
+    Set<Entity> entities = questItemEntities.get(task);
+    return entities == null ? List.of() : List.copyOf(entities);
+  }
+
+  /**
+   * Get the entities with an {@link InventoryComponent}.
+   *
+   * @return a copy of the set of entities with an inventory.
+   */
+  List<Entity> inventories() {
+    return List.copyOf(inventories);
+  }
+
+  @Override
+  public void onAdd(final Entity entity) {
+    onRemove(entity);
+    TaskContent content =
+        entity.fetch(TaskContentComponent.class).map(TaskContentComponent::content).orElse(null);
+    Task questItemTask =
+        entity
+            .fetch(ItemComponent.class)
+            .map(ItemComponent::item)
+            .filter(item -> item instanceof QuestItem)
+            .map(item -> ((QuestItem) item).taskContentComponent().content())
+            .map(TaskContent::task)
+            .orElse(null);
+    boolean inventory = entity.isPresent(InventoryComponent.class);
+
+    if (content != null)
+      contentEntities.computeIfAbsent(content, k -> new LinkedHashSet<>()).add(entity);
+    if (questItemTask != null)
+      questItemEntities.computeIfAbsent(questItemTask, k -> new LinkedHashSet<>()).add(entity);
+    if (inventory) inventories.add(entity);
+    if (content != null || questItemTask != null || inventory)
+      entries.put(entity, new Entry(content, questItemTask));
+  }
+
+  @Override
+  public void onRemove(final Entity entity) {
+    Entry entry = entries.remove(entity);
+    if (entry == null) return;
+    if (entry.content != null) removeFrom(contentEntities, entry.content, entity);
+    if (entry.questItemTask != null) removeFrom(questItemEntities, entry.questItemTask, entity);
+    inventories.remove(entity);
+  }
+
+  @Override
+  public void onChange(final Entity entity, final Class<? extends Component> klass) {
+    if (klass == null
+        || klass == TaskContentComponent.class
+        || klass == ItemComponent.class
+        || klass == InventoryComponent.class) onAdd(entity);
+  }
+
+  private static <K> void removeFrom(
+      final Map<K, Set<Entity>> index, final K key, final Entity entity) {
+    Set<Entity> entities = index.get(key);
+    if (entities == null) return;
+    entities.remove(entity);
+    if (entities.isEmpty()) index.remove(key);
+  }
+
+  private record Entry(TaskContent content, Task questItemTask) {}
+}
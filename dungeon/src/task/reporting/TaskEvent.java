@@ -0,0 +1,82 @@
+package task.reporting;
+
+import java.util.List;
+import task.Task;
+
+/**
+ * An event in the life of a {@link Task}, written to the {@link TaskEventLog}.
+ *
+ * <p>A {@link Type#STATE_CHANGED} event only stores the new state of the task, the points and the
+ * answers are empty. A {@link Type#GRADED} event stores the achieved score, the points of the
+ * task, the points needed to solve it, and the given answers (as text); its state is the state the
+ * task changes to because of the grading.
+ *
+ * @param type Type of the event.
+ * @param timestamp Time of the event in milliseconds since the epoch.
+ * @param taskId Id of the task, unique only within one run of the game.
+ * @param taskName Name of the task.
+ * @param state State of the task after the event.
+ * @param score Achieved points, 0 for state changes.
+ * @param points Points the task is worth, 0 for state changes.
+ * @param pointsToSolve Points needed to solve the task, 0 for state changes.
+ * @param answers Given answers, empty for state changes.
+ */
+public record TaskEvent(
+    Type type,
+    long timestamp,
+    int taskId,
+    String taskName,
+    Task.TaskState state,
+    float score,
+    float points,
+    float pointsToSolve,
+    List<String> answers) {
+
+  /**
+   * Create a new event.
+   *
+   * <p>A null task name is stored as an empty string.
+   */
+  public TaskEvent {
+    taskName = taskName == null ? "" : taskName;
+    answers = List.copyOf(answers);
+  }
+
+  /**
+   * Create an event for the change of the state of a task.
+   *
+   * @param task Task whose state changed.
+   * @param state New state of the task.
+   * @return The created event.
+   */
+  public static TaskEvent stateChanged(final Task task, final Task.TaskState state) {
+    return new TaskEvent(
+        Type.STATE_CHANGED,
+        System.currentTimeMillis(),
+        task.id(),
+        task.taskName(),
+        state,
+        0,
+        0,
+        0,
+        List.of());
+  }
+
+  /**
+   * Check if the task was solved successfully with this grading.
+   *
+   * @return true if this is a {@link Type#GRADED} event with a score of at least {@link
+   *     #pointsToSolve()}, false if not.
+   */
+  public boolean solved() {
+    return type == Type.GRADED && score >= pointsToSolve;
+  }
+
+  /** The type of the event. */
+  public enum Type {
+    /** The state of the task changed. */
+    STATE_CHANGED,
+    /** The given answers to the task were graded. */
+    GRADED
+  }
+}
@@ -0,0 +1,284 @@
+package task.reporting;
+
+import core.utils.BatchWriter;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import task.Task;
+
+/**
+ * Append-only log of {@link TaskEvent}s.
+ *
+ * <p>{@link #log(TaskEvent)} only puts the event into a bounded queue, so it can be called on the
+ * game thread. A background thread takes the events from the queue in batches, writes them into a
+ * binary file, and flushes the file after each batch. If the queue is full (e.g., because the disk
+ * is too slow), new events are dropped and counted (see {@link #dropped()}).
+ *
+ * <p>The files of one log are named {@code <start time>-<index>.tev}. A new file is started when
+ * the current file reaches the maximum size. Each file starts with a magic number and the version
+ * of the format, followed by the events: type, timestamp, task id, task name and state, and for
+ * {@link TaskEvent.Type#GRADED} events the score, points, points to solve, and the answers. Use
+ * {@link TaskEventReader} to read the files.
+ *
+ * <p>The {@link #defaultLog() default log} writes into the directory "solutions" in the log
+ * directory (system property "BASELOGDIR") and is closed when the JVM shuts down.
+ */
+public final class TaskEventLog implements AutoCloseable {
+  /** Suffix of the log files. */
+  public static final String FILE_SUFFIX = ".tev";
+
+  /** Default maximum size of a log file in bytes. */
+  public static final long DEFAULT_MAX_FILE_SIZE = 4 * 1024 * 1024;
+
+  /** Default number of events that can wait for the writer. */
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  static final int MAGIC = 0x54455654; // "TEVT"
+  static final int VERSION = 1;
+
+  private static final Logger LOGGER = Logger.getLogger(TaskEventLog.class.getSimpleName());
+  private static final int MAX_BATCH_SIZE = 256;
+  private static final Task.TaskState[] STATES = Task.TaskState.values();
+  private static final TaskEvent.Type[] TYPES = TaskEvent.Type.values();
+  private static TaskEventLog defaultLog;
+
+  private final Path directory;
+  private final String name;
+  private final long maxFileSize;
+  private final BatchWriter<TaskEvent> writer;
+  private final AtomicLong dropped = new AtomicLong();
+
+  // only used by the writer thread
+  private DataOutputStream out;
+  private int fileIndex;
+
+  /**
+   * Create a new log and start its writer thread.
+   *
+   * <p>The directory is created when the first event is written.
+   *
+   * @param directory Directory for the log files.
+   * @param maxFileSize Maximum size of a log file in bytes; a file can be larger by one event.
+   * @param capacity Number of events that can wait for the writer.
+   */
+  public TaskEventLog(final Path directory, long maxFileSize, int capacity) {
+    this.directory = directory;
+    this.name = new SimpleDateFormat("yyyy-MM-dd'T'HH-mm-ss").format(new Date());
+    this.maxFileSize = maxFileSize;
+    this.writer =
+        new BatchWriter<>(
+            "task-event-writer",
+            capacity,
+            MAX_BATCH_SIZE,
+            new BatchWriter.Sink<>() {
+              @Override
+              public void write(final List<TaskEvent> batch) {
+                TaskEventLog.this.write(batch);
+              }
+
+              @Override
+              public void close() {
+                closeFile();
+              }
+            });
+  }
+
+  /**
+   * Get the log used by the {@link Task}s.
+   *
+   * @return The default log.
+   */
+  public static synchronized TaskEventLog defaultLog() {
+    if (defaultLog == null) {
+      Path path = Paths.get(System.getProperty("BASELOGDIR", "logs/"), "solutions");
+      defaultLog = new TaskEventLog(path, DEFAULT_MAX_FILE_SIZE, DEFAULT_CAPACITY);
+      Runtime.getRuntime().addShutdownHook(new Thread(defaultLog::close));
+    }
+    return defaultLog;
+  }
+
+  /**
+   * Add the given event to the log.
+   *
+   * <p>Does not block; the event is written by the writer thread.
+   *
+   * @param event Event to log.
+   * @return true if the event will be written, false if it was dropped because the log is closed
+   *     or the queue is full.
+   */
+  public boolean log(final TaskEvent event) {
+    if (writer.offer(event)) return true;
+    if (dropped.getAndIncrement() == 0)
+      LOGGER.warning("Task events are dropped, the writer can not keep up or the log is closed.");
+    return false;
+  }
+
+  /**
+   * Wait until all events that were logged before are written.
+   *
+   * @throws InterruptedException If the current thread is interrupted while waiting.
+   */
+  public void flush() throws InterruptedException {
+    writer.flush();
+  }
+
+  /**
+   * Get the number of dropped events.
+   *
+   * @return Number of events that were not written because the queue was full or the log was
+   *     closed.
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /**
+   * Get the directory of the log files.
+   *
+   * @return The directory of the log files.
+   */
+  public Path directory() {
+    return directory;
+  }
+
+  /**
+   * Write the remaining events and close the log.
+   *
+   * <p>Events logged afterward are dropped.
+   */
+  @Override
+  public void close() {
+    writer.close();
+  }
+
+  private void write(final List<TaskEvent> batch) {
+    try {
+      for (TaskEvent event : batch) {
+        if (out == null || out.size() >= maxFileSize) openNextFile();
+        encode(out, event);
+      }
+      out.flush();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not write " + batch.size() + " task events", e);
+      // start a new file with the next batch
+      closeFile();
+    }
+  }
+
+  private void openNextFile() throws IOException {
+    closeFile();
+    Files.createDirectories(directory);
+    while (out == null) {
+      Path file = directory.resolve(String.format("%s-%04d%s", name, fileIndex++, FILE_SUFFIX));
+      try {
+        out =
+            new DataOutputStream(
+                new BufferedOutputStream(
+                    Files.newOutputStream(
+                        file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+      } catch (FileAlreadyExistsException e) {
+        // another game was started in the same second
+      }
+    }
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+  }
+
+  private void closeFile() {
+    if (out == null) return;
+    try {
+      out.close();
+    } catch (IOException e) {
+      LOGGER.log(Level.WARNING, "Could not close the task event file", e);
+    }
+    out = null;
+  }
+
+  /**
+   * Write the given event.
+   *
+   * @param out Stream to write to.
+   * @param event Event to write.
+   * @throws IOException If writing failed.
+   */
+  static void encode(final DataOutputStream out, final TaskEvent event) throws IOException {
+    out.writeByte(event.type().ordinal());
+    out.writeLong(event.timestamp());
+    out.writeInt(event.taskId());
+    writeString(out, event.taskName());
+    out.writeByte(event.state() == null ? -1 : event.state().ordinal());
+    if (event.type() == TaskEvent.Type.GRADED) {
+      out.writeFloat(event.score());
+      out.writeFloat(event.points());
+      out.writeFloat(event.pointsToSolve());
+      out.writeInt(event.answers().size());
+      for (String answer : event.answers()) writeString(out, answer);
+    }
+  }
+
+  /**
+   * Read an event written by {@link #encode(DataOutputStream, TaskEvent)}.
+   *
+   * @param in Stream to read from.
+   * @return The read event.
+   * @throws IOException If reading failed, or the stream does not contain a valid event.
+   */
+  static TaskEvent decode(final DataInputStream in) throws IOException {
+    int type = in.readByte();
+    if (type < 0 || type >= TYPES.length) throw new IOException("Unknown task event type " + type);
+    long timestamp = in.readLong();
+    int taskId = in.readInt();
+    String taskName = readString(in);
+    int state = in.readByte();
+    if (state >= STATES.length) throw new IOException("Unknown task state " + state);
+    float score = 0;
+    float points = 0;
+    float pointsToSolve = 0;
+    List<String> answers = List.of();
+    if (TYPES[type] == TaskEvent.Type.GRADED) {
+      score = in.readFloat();
+      points = in.readFloat();
+      pointsToSolve = in.readFloat();
+      int count = in.readInt();
+      if (count < 0) throw new IOException("Invalid number of answers " + count);
+      answers = new ArrayList<>();
+      for (int i = 0; i < count; i++) answers.add(readString(in));
+    }
+    return new TaskEvent(
+        TYPES[type],
+        timestamp,
+        taskId,
+        taskName,
+        state < 0 ? null : STATES[state],
+        score,
+        points,
+        pointsToSolve,
+        answers);
+  }
+
+  private static void writeString(final DataOutputStream out, final String string)
+      throws IOException {
+    byte[] bytes = String.valueOf(string).getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) throw new IOException("Invalid string length " + length);
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length < length) throw new EOFException();
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,129 @@
+package task.reporting;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Reads the files written by a {@link TaskEventLog} and aggregates the results of the tasks.
+ *
+ * <p>The last event of a file may be incomplete if the game was terminated while writing; such an
+ * event is skipped.
+ */
+public final class TaskEventReader {
+  private static final Logger LOGGER = Logger.getLogger(TaskEventReader.class.getSimpleName());
+
+  private TaskEventReader() {}
+
+  /**
+   * Read the events of all log files in the given directory.
+   *
+   * <p>The files are read in the order of their names, i.e., in the order they were started.
+   *
+   * @param directory Directory of the log files.
+   * @return The events of all files.
+   * @throws IOException If a file could not be read or is not a task event file.
+   */
+  public static List<TaskEvent> read(final Path directory) throws IOException {
+    List<Path> files;
+    try (Stream<Path> stream = Files.list(directory)) {
+      files =
+          stream
+              .filter(file -> file.getFileName().toString().endsWith(TaskEventLog.FILE_SUFFIX))
+              .sorted()
+              .toList();
+    }
+    List<TaskEvent> events = new ArrayList<>();
+    for (Path file : files) events.addAll(readFile(file));
+    return events;
+  }
+
+  /**
+   * Read the events of the given log file.
+   *
+   * @param file The log file.
+   * @return The events of the file.
+   * @throws IOException If the file could not be read or is not a task event file.
+   */
+  public static List<TaskEvent> readFile(final Path file) throws IOException {
+    List<TaskEvent> events = new ArrayList<>();
+    try (BufferedInputStream buffered = new BufferedInputStream(Files.newInputStream(file));
+        DataInputStream in = new DataInputStream(buffered)) {
+      if (in.readInt() != TaskEventLog.MAGIC)
+        throw new IOException("Not a task event file: " + file);
+      int version = in.readInt();
+      if (version != TaskEventLog.VERSION)
+        throw new IOException("Unsupported task event version " + version + ": " + file);
+      while (true) {
+        // stop at the end of the file, but not within an event
+        buffered.mark(1);
+        if (buffered.read() == -1) break;
+        buffered.reset();
+        try {
+          events.add(TaskEventLog.decode(in));
+        } catch (EOFException e) {
+          LOGGER.info("Skipped the incomplete last event of " + file);
+          break;
+        }
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Aggregate the gradings of the given events per task name.
+   *
+   * <p>The task names are used instead of the task ids, because the ids are only unique within one
+   * run of the game.
+   *
+   * @param events Events to aggregate.
+   * @return The results of the graded tasks, by task name.
+   */
+  public static Map<String, TaskResult> results(final Collection<TaskEvent> events) {
+    Map<String, TaskResult> results = new TreeMap<>();
+    for (TaskEvent event : events) {
+      if (event.type() != TaskEvent.Type.GRADED) continue;
+      TaskResult result = results.get(event.taskName());
+      if (result == null) {
+        result = new TaskResult(event.taskName(), 0, 0, event.score(), 0);
+      }
+      results.put(
+          event.taskName(),
+          new TaskResult(
+              event.taskName(),
+              result.attempts() + 1,
+              result.solved() + (event.solved() ? 1 : 0),
+              Math.max(result.bestScore(), event.score()),
+              result.totalScore() + event.score()));
+    }
+    return results;
+  }
+
+  /**
+   * The aggregated gradings of a task.
+   *
+   * @param taskName Name of the task.
+   * @param attempts Number of gradings.
+   * @param solved Number of successful gradings.
+   * @param bestScore Highest achieved score.
+   * @param totalScore Sum of the achieved scores.
+   */
+  public record TaskResult(
+      String taskName, int attempts, int solved, float bestScore, float totalScore) {
+
+    /**
+     * Get the average score of the gradings.
+     *
+     * @return The average score, 0 if there are no gradings.
+     */
+    public float averageScore() {
+      return attempts == 0 ? 0 : totalScore / attempts;
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package contrib.level.generator.graphBased;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import contrib.level.generator.graphBased.levelGraph.LevelGraph;
+import contrib.level.generator.graphBased.levelGraph.LevelNode;
+import core.level.Tile;
+import core.level.utils.DesignLabel;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link RoomBasedLevelGenerator} class. */
+public class RoomBasedLevelGeneratorTest {
+
+  /** WTF? . */
+  @Test
+  public void level_sameSeed_differentPools() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool multi = new ForkJoinPool(4);
+    try {
+      LevelGraph a = LevelGraphGenerator.generate(8, 42);
+      LevelGraph b = LevelGraphGenerator.generate(8, 42);
+      RoomBasedLevelGenerator.level(a, DesignLabel.DEFAULT, 7, single);
+      RoomBasedLevelGenerator.level(b, DesignLabel.DEFAULT, 7, multi);
+
+      List<LevelNode> nodesA = List.copyOf(a.nodes());
+      List<LevelNode> nodesB = List.copyOf(b.nodes());
+      assertEquals(nodesA.size(), nodesB.size());
+      for (int i = 0; i < nodesA.size(); i++)
+        assertEquals(
+            layoutToString(nodesA.get(i).level().layout()),
+            layoutToString(nodesB.get(i).level().layout()));
+    } finally {
+      single.shutdown();
+      multi.shutdown();
+    }
+  }
+
+  private static String layoutToString(final Tile[][] layout) {
+    StringBuilder result = new StringBuilder();
+    for (Tile[] row : layout) {
+      for (Tile tile : row) result.append(tile.levelElement().ordinal());
+      result.append('\n');
+    }
+    return result.toString();
+  }
+}
@@ -487,6 +487,158 @@ public class CollisionSystemTest {
     cleanUpEnvironment();
   }
 
+  /**
+   * Checks that a collision between two hit boxes spanning multiple broadphase cells is only
+   * reported once, and that the collision ends when one entity is moved far away.
+   */
+  @Test
+  public void checkUpdateBroadphaseEnterAndLeave() {
+    prepareEnvironment();
+    CollisionSystem cs = new CollisionSystem();
+    Game.add(cs);
+    SimpleCounter sc1OnEnter = new SimpleCounter();
+    SimpleCounter sc1OnLeave = new SimpleCounter();
+    Entity e1 = prepareEntityWithPosition(new Point(0, 0));
+    e1.add(
+        new CollideComponent(
+            new Point(0, 0),
+            new Point(3, 3),
+            (a, b, c) -> sc1OnEnter.inc(),
+            (a, b, c) -> sc1OnLeave.inc()));
+    Game.add(e1);
+    SimpleCounter sc2OnEnter = new SimpleCounter();
+    SimpleCounter sc2OnLeave = new SimpleCounter();
+    Entity e2 = prepareEntityWithPosition(new Point(0.5f, 0.5f));
+    e2.add(
+        new CollideComponent(
+            new Point(0, 0),
+            new Point(3, 3),
+            (a, b, c) -> sc2OnEnter.inc(),
+            (a, b, c) -> sc2OnLeave.inc()));
+    Game.add(e2);
+
+    cs.execute();
+    cs.execute();
+    assertEquals(1, sc1OnEnter.getCount(), COLLISION_DETECTED_MESSSAGE);
+    assertEquals(1, sc2OnEnter.getCount(), COLLISION_DETECTED_MESSSAGE);
+    assertEquals(0, sc1OnLeave.getCount());
+    assertEquals(0, sc2OnLeave.getCount());
+
+    e2.fetch(PositionComponent.class)
+        .ifPresentOrElse(
+            pc -> pc.position(new Point(100, 100)), () -> fail(MISSING_POSITION_COMPONENT));
+    cs.execute();
+    assertEquals(1, sc1OnEnter.getCount());
+    assertEquals(1, sc2OnEnter.getCount());
+    assertEquals(1, sc1OnLeave.getCount());
+    assertEquals(1, sc2OnLeave.getCount());
+    cleanUpEnvironment();
+  }
+
+  /** Checks that entities far apart from each other are not reported as colliding. */
+  @Test
+  public void checkUpdateBroadphaseDistantEntities() {
+    prepareEnvironment();
+    CollisionSystem cs = new CollisionSystem();
+    Game.add(cs);
+    SimpleCounter onEnter = new SimpleCounter();
+    for (int i = 0; i < 10; i++) {
+      Entity e = prepareEntityWithPosition(new Point(i * 2, i * 2));
+      e.add(
+          new CollideComponent(
+              new Point(0, 0), new Point(1, 1), (a, b, c) -> onEnter.inc(), (a, b, c) -> {}));
+      Game.add(e);
+    }
+
+    cs.execute();
+    assertEquals(0, onEnter.getCount(), NO_COLLISION_DETECTION_MESSAGE);
+    cleanUpEnvironment();
+  }
+
+  /**
+   * Checks that an entity moved into another entity is reported as colliding, and that a replaced
+   * PositionComponent is followed as well.
+   */
+  @Test
+  public void checkUpdateBroadphaseMovedEntities() {
+    prepareEnvironment();
+    CollisionSystem cs = new CollisionSystem();
+    Game.add(cs);
+    SimpleCounter onEnter = new SimpleCounter();
+    SimpleCounter onLeave = new SimpleCounter();
+    Entity e1 = prepareEntityWithPosition(new Point(0, 0));
+    e1.add(
+        new CollideComponent(
+            new Point(0, 0),
+            new Point(1, 1),
+            (a, b, c) -> onEnter.inc(),
+            (a, b, c) -> onLeave.inc()));
+    Game.add(e1);
+    Entity e2 = prepareEntityWithPosition(new Point(20, 20));
+    e2.add(
+        new CollideComponent(
+            new Point(0, 0), new Point(1, 1), (a, b, c) -> {}, (a, b, c) -> {}));
+    Game.add(e2);
+
+    cs.execute();
+    assertEquals(0, onEnter.getCount(), NO_COLLISION_DETECTION_MESSAGE);
+
+    e2.fetch(PositionComponent.class)
+        .ifPresentOrElse(
+            pc -> pc.position(new Point(0.5f, 0.5f)), () -> fail(MISSING_POSITION_COMPONENT));
+    cs.execute();
+    assertEquals(1, onEnter.getCount(), COLLISION_DETECTED_MESSSAGE);
+
+    PositionComponent replaced = new PositionComponent(new Point(40, 40));
+    e2.add(replaced);
+    cs.execute();
+    assertEquals(1, onLeave.getCount(), NO_COLLISION_DETECTION_MESSAGE);
+
+    replaced.position(new Point(0.5f, 0.5f));
+    cs.execute();
+    assertEquals(2, onEnter.getCount(), COLLISION_DETECTED_MESSSAGE);
+    cleanUpEnvironment();
+  }
+
+  /**
+   * Coarse guard for the performance of the broadphase with 2000 moving colliders.
+   *
+   * <p>The target is below 1 ms per execution, see the CollisionBenchmark in the benchmarks
+   * project. The budget of this test is far more generous, so it does not fail on slow machines,
+   * but it still catches a return to a quadratic or allocation heavy update.
+   */
+  @Test
+  public void checkUpdateBroadphasePerformance() {
+    prepareEnvironment();
+    CollisionSystem cs = new CollisionSystem();
+    Game.add(cs);
+    int count = 2000;
+    PositionComponent[] positions = new PositionComponent[count];
+    for (int i = 0; i < count; i++) {
+      Entity e = prepareEntityWithPosition(new Point((i % 50) * 2, (i / 50) * 2));
+      e.add(
+          new CollideComponent(
+              new Point(0, 0), new Point(1, 1), (a, b, c) -> {}, (a, b, c) -> {}));
+      Game.add(e);
+      positions[i] = e.fetch(PositionComponent.class).orElseThrow();
+    }
+
+    int frames = 200;
+    long start = 0;
+    for (int frame = 0; frame < 2 * frames; frame++) {
+      // the first half of the frames warms up the JIT
+      if (frame == frames) start = System.nanoTime();
+      for (int i = frame % 10; i < count; i += 10) {
+        Point p = positions[i].position();
+        positions[i].position(new Point(p.x + 0.01f, p.y));
+      }
+      cs.execute();
+    }
+    long average = (System.nanoTime() - start) / frames;
+    assertTrue(average < 10_000_000, "Average execution took " + average + " ns.");
+    cleanUpEnvironment();
+  }
+
   /*
    * Checks the call of the onEnterCollider when the Collision started happening.
    *
@@ -3283,6 +3283,84 @@ public class TestDSLInterpreter {
         output);
   }
 
+  /** Test, if local variables are resolved correctly, if a callback is executed repeatedly. */
+  @Test
+  public void testLocalVariablesInRepeatedCallback() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component1 {},
+                    test_component_with_callback {
+                        consumer: func
+                    }
+                }
+
+                fn identity(string text) -> string {
+                    var result : string;
+                    result = text;
+                    return result;
+                }
+
+                fn func(entity ent) {
+                    var my_list : string[];
+                    my_list.add("Hello");
+                    my_list.add("World");
+                    for string entry in my_list count i {
+                        var text : string;
+                        text = identity(entry);
+                        print(text);
+                        print(i);
+                    }
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    // print currently just prints to system.out, so we need to
+    // check the contents for the printed string
+    var outputStream = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outputStream));
+
+    TestEnvironment env = new TestEnvironment();
+    DSLInterpreter interpreter = new DSLInterpreter();
+    env.getTypeBuilder().createDSLTypeForJavaTypeInScope(env.getGlobalScope(), Entity.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(
+            env.getGlobalScope(), TestComponentEntityConsumerCallback.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(env.getGlobalScope(), TestComponent1.class);
+
+    var config =
+        (CustomQuestConfig) Helpers.generateQuestConfigWithCustomTypes(program, env, interpreter);
+
+    var entity = config.entity();
+
+    TestComponentEntityConsumerCallback componentWithConsumer =
+        (TestComponentEntityConsumerCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentEntityConsumerCallback)
+                .toList()
+                .get(0);
+
+    // the frames of the first call are reused by the second call
+    componentWithConsumer.consumer.accept(entity);
+    componentWithConsumer.consumer.accept(entity);
+
+    String expectedOutput =
+        "Hello"
+            + System.lineSeparator()
+            + "0"
+            + System.lineSeparator()
+            + "World"
+            + System.lineSeparator()
+            + "1"
+            + System.lineSeparator();
+    String output = outputStream.toString();
+    assertEquals(expectedOutput + expectedOutput, output);
+  }
+
   /** WTF? . */
   @Test
   public void testCountingForLoop() {
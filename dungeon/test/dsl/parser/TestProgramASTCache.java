@@ -0,0 +1,142 @@
+package dsl.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dsl.parser.ast.IdNode;
+import dsl.parser.ast.Node;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the {@link ProgramASTCache}. */
+public class TestProgramASTCache {
+  private static final String PROGRAM =
+      """
+          fn test_func(int x) {
+              print(x);
+          }
+
+          quest_config c {
+              name: "test"
+          }
+          """;
+
+  /** A cached AST has the same structure as the parsed AST, but new node indices. */
+  @Test
+  public void testCachedAST(@TempDir Path directory) throws IOException {
+    ProgramASTCache cache = new ProgramASTCache(directory);
+    Node parsedAST = cache.getProgramAST(PROGRAM);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(1, files.filter(f -> f.toString().endsWith(".ast")).count());
+    }
+
+    Node cachedAST = new ProgramASTCache(directory).getProgramAST(PROGRAM);
+    assertSameStructure(parsedAST, cachedAST);
+  }
+
+  /** Different programs don't share a cache entry. */
+  @Test
+  public void testDifferentPrograms(@TempDir Path directory) throws IOException {
+    ProgramASTCache cache = new ProgramASTCache(directory);
+    cache.getProgramAST(PROGRAM);
+    Node otherAST = cache.getProgramAST("quest_config d { }");
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(2, files.count());
+    }
+    assertEquals(Node.Type.ObjectDefinition, otherAST.getChild(0).type);
+
+    cache.clear();
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  /** An unreadable cache entry is replaced by the parsed AST. */
+  @Test
+  public void testCorruptEntry(@TempDir Path directory) throws IOException {
+    ProgramASTCache cache = new ProgramASTCache(directory);
+    Node parsedAST = cache.getProgramAST(PROGRAM);
+    Path entry;
+    try (Stream<Path> files = Files.list(directory)) {
+      entry = files.findFirst().orElseThrow();
+    }
+    Files.writeString(entry, "not an ast");
+
+    Node reparsedAST = cache.getProgramAST(PROGRAM);
+    assertSameStructure(parsedAST, reparsedAST);
+    assertTrue(Files.size(entry) > "not an ast".length());
+  }
+
+  /** An entry with other classes than those of an AST is rejected and replaced. */
+  @Test
+  public void testForeignEntry(@TempDir Path directory) throws IOException {
+    ProgramASTCache cache = new ProgramASTCache(directory);
+    Node parsedAST = cache.getProgramAST(PROGRAM);
+    Path entry;
+    try (Stream<Path> files = Files.list(directory)) {
+      entry = files.findFirst().orElseThrow();
+    }
+    try (ObjectOutputStream out =
+        new ObjectOutputStream(new GZIPOutputStream(Files.newOutputStream(entry)))) {
+      out.writeObject(new Date());
+    }
+
+    Node reparsedAST = cache.getProgramAST(PROGRAM);
+    assertSameStructure(parsedAST, reparsedAST);
+    assertSameStructure(parsedAST, new ProgramASTCache(directory).getProgramAST(PROGRAM));
+  }
+
+  /** The filter accepts an AST, but no other classes. */
+  @Test
+  public void testFilter(@TempDir Path directory) throws Exception {
+    Node ast = new ProgramASTCache(directory).getProgramAST(PROGRAM);
+
+    assertSameStructure(ast, (Node) deserialize(ast));
+    assertThrows(InvalidClassException.class, () -> deserialize(new Date()));
+  }
+
+  private static Object deserialize(Serializable object) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      in.setObjectInputFilter(ProgramASTCache.AST_FILTER);
+      return in.readObject();
+    }
+  }
+
+  private static void assertSameStructure(Node expected, Node actual) {
+    if (expected == Node.NONE) {
+      assertSame(Node.NONE, actual);
+      return;
+    }
+    assertEquals(expected.type, actual.type);
+    assertNotEquals(expected.getIdx(), actual.getIdx());
+    assertEquals(
+        expected.getSourceFileReference().toString(), actual.getSourceFileReference().toString());
+    if (expected instanceof IdNode expectedId) {
+      assertEquals(expectedId.getName(), ((IdNode) actual).getName());
+    }
+    assertEquals(expected.getChildren().size(), actual.getChildren().size());
+    for (int i = 0; i < expected.getChildren().size(); i++) {
+      assertSameStructure(expected.getChild(i), actual.getChild(i));
+    }
+  }
+}
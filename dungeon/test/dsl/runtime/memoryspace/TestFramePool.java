@@ -0,0 +1,69 @@
+package dsl.runtime.memoryspace;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import dsl.runtime.value.AggregateValue;
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.typesystem.typebuilding.type.BuiltInType;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the reuse of {@link Frame}s by the {@link FramePool}. */
+public class TestFramePool {
+
+  /** A released frame is cleared and reused. */
+  @Test
+  public void releasedFrameIsReused() {
+    FramePool pool = new FramePool();
+    Frame frame = pool.acquire(FrameLayout.NONE, MemorySpace.NONE);
+    frame.bindValue("x", new Value(BuiltInType.intType, 42));
+
+    pool.release(frame);
+
+    assertEquals(1, pool.size());
+    Frame reused = pool.acquire(FrameLayout.NONE, MemorySpace.NONE);
+    assertSame(frame, reused);
+    assertEquals(Value.NONE, reused.resolve("x"));
+  }
+
+  /** A frame, which is the parent of an aggregate value, is neither cleared nor reused. */
+  @Test
+  public void capturedFrameIsNotReused() {
+    FramePool pool = new FramePool();
+    Frame frame = pool.acquire(FrameLayout.NONE, MemorySpace.NONE);
+    frame.bindValue("x", new Value(BuiltInType.intType, 42));
+    AggregateValue value = new AggregateValue(BuiltInType.noType, frame);
+
+    pool.release(frame);
+
+    assertTrue(frame.isCaptured());
+    assertEquals(0, pool.size());
+    assertNotSame(frame, pool.acquire(FrameLayout.NONE, MemorySpace.NONE));
+    assertEquals(42, value.getMemorySpace().resolve("x").getInternalValue());
+  }
+
+  /**
+   * An aggregate value created in a block of a function still resolves the variables of the
+   * function after the call returned, even if other frames are acquired afterward.
+   */
+  @Test
+  public void capturedAncestorFrameIsNotReused() {
+    FramePool pool = new FramePool();
+    MemorySpace global = new MemorySpace();
+    Frame function = pool.acquire(FrameLayout.NONE, global);
+    function.bindValue("x", new Value(BuiltInType.intType, 42));
+    Frame block = pool.acquire(FrameLayout.NONE, function);
+    AggregateValue value = new AggregateValue(BuiltInType.noType, block);
+
+    // leave the block and return from the function
+    pool.release(block);
+    pool.release(function);
+
+    assertTrue(function.isCaptured());
+    assertEquals(0, pool.size());
+    // the next call must not reuse the frames of the returned call
+    Frame nextCall = pool.acquire(FrameLayout.NONE, global);
+    nextCall.bindValue("x", new Value(BuiltInType.intType, 7));
+    assertNotSame(function, nextCall);
+    assertEquals(42, value.getMemorySpace().resolve("x").getInternalValue());
+  }
+}
@@ -0,0 +1,123 @@
+package reporting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import task.Task;
+import task.reporting.TaskEvent;
+import task.reporting.TaskEventLog;
+import task.reporting.TaskEventReader;
+
+/** Tests for the {@link TaskEventLog} and the {@link TaskEventReader}. */
+public class TaskEventLogTest {
+
+  private static TaskEvent graded(String taskName, float score, String... answers) {
+    return new TaskEvent(
+        TaskEvent.Type.GRADED,
+        System.currentTimeMillis(),
+        1,
+        taskName,
+        score >= 2 ? Task.TaskState.FINISHED_CORRECT : Task.TaskState.FINISHED_WRONG,
+        score,
+        3,
+        2,
+        List.of(answers));
+  }
+
+  private static TaskEvent activated(String taskName) {
+    return new TaskEvent(
+        TaskEvent.Type.STATE_CHANGED,
+        System.currentTimeMillis(),
+        1,
+        taskName,
+        Task.TaskState.ACTIVE,
+        0,
+        0,
+        0,
+        List.of());
+  }
+
+  /** The written events are read in the same order. */
+  @Test
+  public void writeAndRead(@TempDir Path directory) throws Exception {
+    try (TaskEventLog log = new TaskEventLog(directory, TaskEventLog.DEFAULT_MAX_FILE_SIZE, 16)) {
+      assertTrue(log.log(activated("quiz")));
+      assertTrue(log.log(graded("quiz", 3, "A", "Ä")));
+      log.flush();
+    }
+
+    List<TaskEvent> events = TaskEventReader.read(directory);
+    assertEquals(2, events.size());
+    assertEquals(TaskEvent.Type.STATE_CHANGED, events.get(0).type());
+    assertEquals(Task.TaskState.ACTIVE, events.get(0).state());
+    TaskEvent graded = events.get(1);
+    assertEquals("quiz", graded.taskName());
+    assertEquals(3, graded.score());
+    assertEquals(List.of("A", "Ä"), graded.answers());
+    assertTrue(graded.solved());
+  }
+
+  /** A new file is started if the current file is full. */
+  @Test
+  public void rotation(@TempDir Path directory) throws Exception {
+    try (TaskEventLog log = new TaskEventLog(directory, 64, 128)) {
+      for (int i = 0; i < 20; i++) log.log(graded("quiz" + i, i));
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertTrue(files.count() > 1);
+    }
+    List<TaskEvent> events = TaskEventReader.read(directory);
+    assertEquals(20, events.size());
+    for (int i = 0; i < 20; i++) assertEquals("quiz" + i, events.get(i).taskName());
+  }
+
+  /** An event that was not written completely is skipped. */
+  @Test
+  public void incompleteEvent(@TempDir Path directory) throws Exception {
+    try (TaskEventLog log = new TaskEventLog(directory, TaskEventLog.DEFAULT_MAX_FILE_SIZE, 16)) {
+      log.log(graded("quiz", 1));
+    }
+    Path file;
+    try (Stream<Path> files = Files.list(directory)) {
+      file = files.findFirst().orElseThrow();
+    }
+    Files.write(file, new byte[] {1, 0, 0}, StandardOpenOption.APPEND);
+
+    assertEquals(1, TaskEventReader.read(directory).size());
+  }
+
+  /** Events logged after closing are dropped. */
+  @Test
+  public void closed(@TempDir Path directory) {
+    TaskEventLog log = new TaskEventLog(directory, TaskEventLog.DEFAULT_MAX_FILE_SIZE, 16);
+    log.close();
+    assertFalse(log.log(activated("quiz")));
+    assertEquals(1, log.dropped());
+  }
+
+  /** The gradings are aggregated by task name. */
+  @Test
+  public void results() {
+    Map<String, TaskEventReader.TaskResult> results =
+        TaskEventReader.results(
+            List.of(activated("a"), graded("a", 1), graded("a", 3), graded("b", 2)));
+
+    assertEquals(2, results.size());
+    TaskEventReader.TaskResult a = results.get("a");
+    assertEquals(2, a.attempts());
+    assertEquals(1, a.solved());
+    assertEquals(3, a.bestScore());
+    assertEquals(2, a.averageScore());
+    assertEquals(1, results.get("b").solved());
+  }
+}
@@ -3,6 +3,7 @@ package task;
 import static org.junit.jupiter.api.Assertions.*;
 
 import core.Entity;
+import core.Game;
 import graph.petrinet.Place;
 import java.util.List;
 import java.util.function.BiFunction;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import task.game.components.TaskComponent;
+import task.game.components.TaskContentComponent;
 
 /** WTF? . */
 public class TaskTest {
@@ -128,6 +130,47 @@ public class TaskTest {
     assertTrue(t1.id() != t2.id());
   }
 
+  /** Find the entity of a content after its components changed. */
+  @Test
+  public void find() {
+    TaskContent content = Mockito.mock(TaskContent.class);
+    Entity entity = new Entity();
+    entity.add(new TaskContentComponent(content));
+    Game.add(entity);
+    try {
+      assertEquals(entity, task.find(content).orElseThrow());
+
+      entity.remove(TaskContentComponent.class);
+      assertTrue(task.find(content).isEmpty());
+
+      entity.add(new TaskContentComponent(content));
+      assertEquals(entity, task.find(content).orElseThrow());
+
+      Game.remove(entity);
+      assertTrue(task.find(content).isEmpty());
+    } finally {
+      Game.removeAllEntities();
+    }
+  }
+
+  /** The index of the task entities is built again after a cleanup. */
+  @Test
+  public void cleanupAllTask_resetsIndex() {
+    TaskEntityIndex index = TaskEntityIndex.instance();
+    Task.cleanupAllTask();
+    TaskContent content = Mockito.mock(TaskContent.class);
+    Entity entity = new Entity();
+    entity.add(new TaskContentComponent(content));
+    Game.add(entity);
+    try {
+      assertNotSame(index, TaskEntityIndex.instance());
+      assertEquals(entity, task.find(content).orElseThrow());
+    } finally {
+      Game.removeAllEntities();
+      Task.cleanupAllTask();
+    }
+  }
+
   private static class DummyTask extends Task {
     @Override
     public String correctAnswersAsString() {
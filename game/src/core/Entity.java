@@ -1,10 +1,13 @@
 package core;
 
 import core.game.ECSManagment;
+import core.utils.components.ComponentRegistry;
 import dsl.annotation.DSLContextPush;
 import dsl.annotation.DSLType;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -28,6 +31,10 @@ import java.util.stream.Stream;
  * <p>With {@link #isPresent(Class)}, you can check if the entity has a component of the given
  * class.
  *
+ * <p>The components are stored in an array indexed by {@link ComponentRegistry#id(Class)}, so a
+ * lookup is a plain array access. Use {@link #fetchOrNull(Class)} in hot paths to avoid the {@link
+ * Optional} allocation of {@link #fetch(Class)}.
+ *
  * @see Component
  * @see System
  */
@@ -37,7 +44,7 @@ public final class Entity implements Comparable<Entity> {
   private static final Logger LOGGER = Logger.getLogger(Entity.class.getSimpleName());
   private static int nextId = 0;
   private final int id;
-  private final HashMap<Class<? extends Component>, Component> components;
+  private Component[] components;
   private String name;
 
   /**
@@ -49,9 +56,9 @@ public final class Entity implements Comparable<Entity> {
    */
   public Entity(final String name) {
     id = nextId++;
-    components = new HashMap<>();
+    components = new Component[ComponentRegistry.count()];
     this.name = name;
-    LOGGER.info("The entity '" + name + "' was created.");
+    if (LOGGER.isLoggable(Level.INFO)) LOGGER.info("The entity '" + name + "' was created.");
   }
 
   /**
@@ -76,9 +83,13 @@ public final class Entity implements Comparable<Entity> {
    * @param component The component to add
    */
   public void add(final Component component) {
-    components.put(component.getClass(), component);
-    ECSManagment.informAboutChanges(this);
-    LOGGER.info(component.getClass().getName() + " Components from " + this + " was added.");
+    int index = ComponentRegistry.id(component.getClass());
+    if (index >= components.length)
+      components = Arrays.copyOf(components, Math.max(index + 1, ComponentRegistry.count()));
+    components[index] = component;
+    ECSManagment.informAboutChanges(this, component.getClass());
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info(component.getClass().getName() + " Components from " + this + " was added.");
   }
 
   /**
@@ -90,9 +101,12 @@ public final class Entity implements Comparable<Entity> {
    * @param klass the Class of the component
    */
   public void remove(final Class<? extends Component> klass) {
-    if (components.remove(klass) != null) {
-      ECSManagment.informAboutChanges(this);
-      LOGGER.info(klass.getName() + " from " + name + " was removed.");
+    int index = ComponentRegistry.id(klass);
+    if (index < components.length && components[index] != null) {
+      components[index] = null;
+      ECSManagment.informAboutChanges(this, klass);
+      if (LOGGER.isLoggable(Level.INFO))
+        LOGGER.info(klass.getName() + " from " + name + " was removed.");
     }
   }
 
@@ -106,7 +120,23 @@ public final class Entity implements Comparable<Entity> {
    * @see Optional
    */
   public <T extends Component> Optional<T> fetch(final Class<T> klass) {
-    return Optional.ofNullable(klass.cast(components.get(klass)));
+    return Optional.ofNullable(fetchOrNull(klass));
+  }
+
+  /**
+   * Get the component without wrapping it into an {@link Optional}.
+   *
+   * <p>This is meant for hot paths that run every frame. Use {@link #fetch(Class)} otherwise.
+   *
+   * @param klass Class of the component.
+   * @param <T> The type of the (given and returned) component.
+   * @return The requested component, or null if this entity does not store a component of the
+   *     given class.
+   */
+  public <T extends Component> T fetchOrNull(final Class<T> klass) {
+    int index = ComponentRegistry.id(klass);
+    if (index >= components.length) return null;
+    return klass.cast(components[index]);
   }
 
   /**
@@ -116,7 +146,8 @@ public final class Entity implements Comparable<Entity> {
    * @return true if the component is present in the entity, false if not
    */
   public boolean isPresent(final Class<? extends Component> klass) {
-    return components.containsKey(klass);
+    int index = ComponentRegistry.id(klass);
+    return index < components.length && components[index] != null;
   }
 
   /**
@@ -161,6 +192,6 @@ public final class Entity implements Comparable<Entity> {
    * @return Stream of components.
    */
   public Stream<Component> componentStream() {
-    return components.values().stream();
+    return Arrays.stream(components).filter(Objects::nonNull);
   }
 }
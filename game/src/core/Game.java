@@ -5,6 +5,7 @@ import com.badlogic.gdx.ai.pfa.GraphPath;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import core.components.PositionComponent;
 import core.game.ECSManagment;
+import core.game.EntityObserver;
 import core.game.GameLoop;
 import core.game.PreRunConfiguration;
 import core.level.Tile;
@@ -14,6 +15,7 @@ import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 import core.level.utils.LevelUtils;
 import core.systems.LevelSystem;
+import core.systems.PositionSystem;
 import core.utils.IVoidFunction;
 import core.utils.Point;
 import core.utils.components.MissingComponentException;
@@ -332,6 +334,27 @@ public final class Game {
     ECSManagment.remove(system);
   }
 
+  /**
+   * Register an {@link EntityObserver}.
+   *
+   * <p>The observer is informed about entities that are added to or removed from the game
+   * afterward, and about the component changes of the entities in the active level.
+   *
+   * @param observer the observer to register.
+   */
+  public static void addObserver(final EntityObserver observer) {
+    ECSManagment.addObserver(observer);
+  }
+
+  /**
+   * Unregister an {@link EntityObserver}.
+   *
+   * @param observer the observer to unregister.
+   */
+  public static void removeObserver(final EntityObserver observer) {
+    ECSManagment.removeObserver(observer);
+  }
+
   /**
    * Remove all entities from the game.
    *
@@ -445,6 +468,9 @@ public final class Game {
   /**
    * Returns the entities on the given tile. If the tile is null, an empty stream will be returned.
    *
+   * <p>If a {@link PositionSystem} is registered, the entities are looked up in its {@link
+   * core.utils.PositionIndex}; otherwise, each entity with a {@link PositionComponent} is checked.
+   *
    * @param check Tile to check for.
    * @return Stream of all entities on the given tile
    */
@@ -452,6 +478,15 @@ public final class Game {
     Tile tile = Game.tileAT(check.position());
     if (tile == null) return Stream.empty();
 
+    Optional<PositionSystem> positionSystem = ECSManagment.system(PositionSystem.class);
+    if (positionSystem.isPresent()) {
+      Coordinate coordinate = tile.coordinate();
+      // copy, so the caller can move the entities while streaming
+      return new ArrayList<>(positionSystem.get().index().entitiesAt(coordinate.x, coordinate.y))
+          .stream();
+    }
+
+    // no index without a PositionSystem, check each entity
     return ECSManagment.entityStream(Set.of(PositionComponent.class))
         .filter(
             e ->
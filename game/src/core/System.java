@@ -1,9 +1,11 @@
 package core;
 
+import core.game.ECSManagment;
 import core.utils.EntitySystemMapper;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -25,8 +27,10 @@ import java.util.stream.Stream;
  *
  * <p>If an Entity gets added or removed from a {@link EntitySystemMapper}, the {@link
  * #triggerOnAdd(Entity)} or {@link #triggerOnRemove(Entity)} will be called by the {@link
- * EntitySystemMapper}. Set the {@link #onEntityAdd} or {@link #onEntityRemove} attributes in the
- * inheriting System to implement the corresponding logic for these events.
+ * EntitySystemMapper}. If the components of an Entity that stays in the {@link EntitySystemMapper}
+ * change (e.g., a component is replaced by a new instance), {@link #triggerOnChange(Entity)} will
+ * be called. Set the {@link #onEntityAdd}, {@link #onEntityRemove} or {@link #onEntityChange}
+ * attributes in the inheriting System to implement the corresponding logic for these events.
  */
 public abstract class System {
   /**
@@ -62,6 +66,16 @@ public abstract class System {
    */
   protected Consumer<Entity> onEntityRemove = (e) -> {};
 
+  /**
+   * Will be called after the components of an entity in the corresponding {@link
+   * EntitySystemMapper} changed, e.g., if a component was replaced by a new instance.
+   *
+   * <p>Use this in your own system to refresh references to the components of an entity.
+   *
+   * <p>The default implementation is just empty.
+   */
+  protected Consumer<Entity> onEntityChange = (e) -> {};
+
   private int lastExecuteInFrames = 0;
 
   /**
@@ -79,7 +93,8 @@ public abstract class System {
     if (filterRules != null) this.filterRules = Set.of(filterRules);
     else this.filterRules = new HashSet<>();
     run = true;
-    LOGGER.info(String.format("A new %s was created", getClass().getName()));
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info("A new " + getClass().getName() + " was created");
   }
 
   /**
@@ -121,6 +136,17 @@ public abstract class System {
     onEntityRemove.accept(entity);
   }
 
+  /**
+   * Triggers the action associated with a change of the components of an Entity that stays in this
+   * System's corresponding {@link EntitySystemMapper}. This method calls the {@code onEntityChange}
+   * Consumer.
+   *
+   * @param entity The Entity whose components changed and that is still processed by this System.
+   */
+  public void triggerOnChange(Entity entity) {
+    onEntityChange.accept(entity);
+  }
+
   /**
    * Retrieves the set of Component classes that define the filter rules for this System.
    *
@@ -214,6 +240,21 @@ public abstract class System {
     return filteredEntityStream(Set.of(filterRules));
   }
 
+  /**
+   * Executes the given action for each active entity that is relevant to this system.
+   *
+   * <p>Unlike {@link #filteredEntityStream()}, this does not copy the entity set and does not
+   * allocate per entity. The components of the filter rules can be read from the given {@link
+   * EntitySystemMapper.View} without an {@link java.util.Optional}. The view is reused for each
+   * entity and must not be stored.
+   *
+   * @param action the action to execute for each entity.
+   * @see EntitySystemMapper#forEach(Consumer)
+   */
+  public final void forEachEntity(final Consumer<EntitySystemMapper.View> action) {
+    ECSManagment.entitySystemMapper(filterRules).forEach(action);
+  }
+
   /**
    * @return the frame count the system should have between executes
    */
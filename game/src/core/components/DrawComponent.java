@@ -3,27 +3,21 @@ package core.components;
 import core.Component;
 import core.systems.VelocitySystem;
 import core.utils.components.draw.Animation;
+import core.utils.components.draw.AnimationCache;
 import core.utils.components.draw.CoreAnimations;
 import core.utils.components.path.IPath;
-import core.utils.components.path.SimpleIPath;
-import core.utils.logging.CustomLogLevel;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.*;
 import java.util.function.Consumer;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Store all {@link Animation}s for an entity.
  *
  * <p>At creation, the component will read in each subdirectory in the given path and create an
- * animation for each subdirectory.
+ * animation for each subdirectory. The directories are only scanned once per path; the frames are
+ * stored in the {@link AnimationCache} and shared between all components of the same path.
  *
  * <p>Each Animation will be created with default settings. If you want to change these settings,
  * use the methods from {@link Animation}.
@@ -87,7 +81,12 @@ public final class DrawComponent implements Component {
   public DrawComponent(final IPath path) throws IOException {
     // fetch available animations
     try {
-      loadAnimationAssets(path);
+      // the frames are shared between all components of the same path, the animations are not
+      animationMap = new HashMap<>();
+      AnimationCache.instance()
+          .frames(path)
+          .orElseThrow()
+          .forEach((name, frames) -> animationMap.put(name, Animation.fromCollection(frames)));
       currentAnimation(
           CoreAnimations.IDLE_DOWN,
           CoreAnimations.IDLE_LEFT,
@@ -100,7 +99,7 @@ public final class DrawComponent implements Component {
         animationMap.put(CoreAnimations.IDLE.pathString(), Animation.defaultAnimation());
         currentAnimation(CoreAnimations.IDLE);
       }
-    } catch (NullPointerException np) {
+    } catch (NullPointerException | NoSuchElementException np) {
       // We convert the "NullPointerException" to a "FileNotFoundException" because the only
       // reason for a NullPointerException is if the directory does not exist.
       throw new FileNotFoundException("Path " + path + " not found.");
@@ -123,22 +122,6 @@ public final class DrawComponent implements Component {
     currentAnimation = idle;
   }
 
-  /**
-   * @param subDir in which to look for files for the animation
-   * @return a basic configured Animation
-   */
-  private static Animation allFilesFromDirectory(final File subDir) {
-    return Animation.fromCollection(
-        Arrays.stream(Objects.requireNonNull(subDir.listFiles()))
-            // only look for direct Files no recursive search
-            .filter(File::isFile)
-            // File object needs to be converted to IPath
-            .map(file -> new SimpleIPath(file.getPath()))
-            // sort by name streams may lose the ordering by name
-            .sorted(Comparator.comparing(SimpleIPath::pathString))
-            .collect(Collectors.toList()));
-  }
-
   /**
    * Get the current animation being displayed on the entity.
    *
@@ -386,126 +369,6 @@ public final class DrawComponent implements Component {
     this.animationMap = new HashMap<>(animationMap);
   }
 
-  /**
-   * Loading animation assets.
-   *
-   * <p>Checks if the game is running in a JAR or not and will execute the corresponding loading
-   * logic.
-   *
-   * <p>TODO: This is only a quick fix! We need to implement a proper way of loading assets. (See <a
-   * href="https://github.com/Dungeon-CampusMinden/Dungeon/issues/1361">Issue #1361</a>)
-   *
-   * @param path The path of the animation assets.
-   */
-  private void loadAnimationAssets(final IPath path) throws IOException {
-
-    Thread thread = Thread.currentThread();
-    StackTraceElement[] stack = thread.getStackTrace();
-
-    StackTraceElement currentElement = null;
-    Class<?> clazz = null;
-    for (int i = 1; i < stack.length; i++) {
-      currentElement = stack[i];
-      if (!currentElement.getClassName().equals(DrawComponent.class.getName())) {
-        try {
-          clazz = ClassLoader.getSystemClassLoader().loadClass(currentElement.getClassName());
-        } catch (ClassNotFoundException e) {
-          System.err.println(
-              "Could not load class " + currentElement.getClassName() + " from stacktrace.");
-        }
-        break;
-      }
-    }
-
-    File jarFile =
-        new File(
-            (clazz == null ? getClass() : clazz)
-                .getProtectionDomain()
-                .getCodeSource()
-                .getLocation()
-                .getPath());
-    if (jarFile.isFile()) loadAnimationsFromJar(path, jarFile);
-    else loadAnimationsFromIDE(path);
-  }
-
-  /**
-   * Load the animation assets if the game is running in a JAR.
-   *
-   * <p>This function will create a map of directories ({@link String}) and the files ({@link
-   * LinkedList}) inside these directories. The map will be filled with the directories inside the
-   * given path (e.g., "character/knight"). Ultimately, this function will manually create an
-   * Animation for each entry within this map.
-   *
-   * @param path Path to the assets.
-   * @param jarFile Path to the JAR files.
-   * @throws IOException if the JAR file or the files in the JAR file cannot be read.
-   */
-  private void loadAnimationsFromJar(final IPath path, final File jarFile) throws IOException {
-
-    JarFile jar = new JarFile(jarFile);
-    Enumeration<JarEntry> entries = jar.entries(); // gives ALL entries in jar
-
-    // This will be used to map the directory names (e.g., "idle") and the texture files.
-    // Ultimately, we will create animations out of this by using the
-    // Animation(LinkedList<String>) constructor.
-
-    HashMap<String, List<IPath>> storage = new HashMap<>();
-    animationMap = new HashMap<>();
-
-    // Iterate over each file and directory in the JAR.
-
-    while (entries.hasMoreElements()) {
-      // example: character/knight/idle_down/idle_down_knight_1.png
-      // but also: character/knight/idle/
-      // and: character/knight/
-      String fileName = entries.nextElement().getName();
-
-      // If the entry starts with the path name (character/knight/idle),
-      // this is true for entries like (character/knight/idle_down/idle_down_knight_1.png) and
-      // (character/knight/idle/).
-      if (fileName.startsWith(path.pathString() + "/")) {
-
-        // Get the index of the last FileSeparator; every character after that separator is
-        // part of the filename.
-        int lastSlashIndex = fileName.lastIndexOf("/");
-
-        // Ignore directories, so we only work with strings like
-        // (character/knight/idle_down/idle_down_knight_1.png).
-        if (lastSlashIndex != fileName.length() - 1) {
-          // Get the index of the second-to-last part of the string.
-          // For example, in "character/knight/idle_down/idle_down_knight_1.png", this would be the
-          // index of the slash in "/idle".
-
-          int secondLastSlashIndex = fileName.lastIndexOf("/", lastSlashIndex - 1);
-
-          // Get the name of the directory. The directory name is between the
-          // second-to-last and the last separator index.
-          // The directory name serves as the key of the animation in the animation map
-          // (similar to what the IPATh values are for them).
-          // For example: "idle"
-
-          String lastDir = fileName.substring(secondLastSlashIndex + 1, lastSlashIndex);
-
-          // add animation-files to new or existing storage map
-          if (storage.containsKey(lastDir)) storage.get(lastDir).add(new SimpleIPath(fileName));
-          else {
-            LinkedList<IPath> list = new LinkedList<>();
-            list.add(new SimpleIPath(fileName));
-            storage.put(lastDir, list);
-          }
-        }
-      }
-    }
-
-    // sort the files in lexicographic order (like the most os)
-    // animations will be played in order
-    storage.values().forEach(x -> x.sort(Comparator.comparing(IPath::pathString)));
-    // create animations
-    storage.forEach(
-        (name, textureSet) -> animationMap.put(name, Animation.fromCollection(textureSet)));
-    jar.close();
-  }
-
   /**
    * Check if the component is visible. If the component is visible, it will be drawn by the {@link
    * core.systems.DrawSystem}.
@@ -526,31 +389,6 @@ public final class DrawComponent implements Component {
     isVisible = visible;
   }
 
-  /**
-   * Load animations if the game is running in the IDE (or over the shell).
-   *
-   * @param path Path to the animations.
-   */
-  private void loadAnimationsFromIDE(final IPath path) {
-    URL url = DrawComponent.class.getResource("/" + path.pathString());
-    if (url != null) {
-      try {
-        try {
-          File apps = new File(url.toURI());
-          animationMap =
-              Arrays.stream(Objects.requireNonNull(apps.listFiles()))
-                  .filter(File::isDirectory)
-                  .collect(Collectors.toMap(File::getName, DrawComponent::allFilesFromDirectory));
-        } catch (IllegalArgumentException e) {
-          LOGGER.log(
-              CustomLogLevel.ERROR, "Could not load animations from directory: " + url.toURI(), e);
-        }
-      } catch (URISyntaxException e) {
-        LOGGER.log(CustomLogLevel.ERROR, "Could not load animations from directory", e);
-      }
-    }
-  }
-
   /**
    * Returns the tint color of the DrawComponent.
    *
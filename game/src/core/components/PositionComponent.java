@@ -2,8 +2,11 @@ package core.components;
 
 import core.Component;
 import core.level.Tile;
+import core.utils.IVoidFunction;
 import core.utils.Point;
 import dsl.annotation.DSLType;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Store the position of the associated entity in the level.
@@ -32,6 +35,7 @@ public final class PositionComponent implements Component {
   public static final Point ILLEGAL_POSITION = new Point(Integer.MIN_VALUE, Integer.MIN_VALUE);
 
   private Point position;
+  private final List<IVoidFunction> positionListeners = new ArrayList<>(1);
 
   /**
    * Create a new PositionComponent with given position.
@@ -83,6 +87,29 @@ public final class PositionComponent implements Component {
    */
   public void position(final Point position) {
     this.position = new Point(position);
+    // index based, so a listener can remove itself
+    for (int i = 0; i < positionListeners.size(); i++) positionListeners.get(i).execute();
+  }
+
+  /**
+   * Add a listener that is executed after each change of the position.
+   *
+   * <p>This is used, e.g., by the {@link core.utils.PositionIndex} to keep track of the entities on
+   * each tile.
+   *
+   * @param listener Listener to add.
+   */
+  public void addPositionListener(final IVoidFunction listener) {
+    positionListeners.add(listener);
+  }
+
+  /**
+   * Remove a listener that was added with {@link #addPositionListener(IVoidFunction)}.
+   *
+   * @param listener Listener to remove.
+   */
+  public void removePositionListener(final IVoidFunction listener) {
+    positionListeners.remove(listener);
   }
 
   /**
@@ -7,6 +7,7 @@ import core.components.PlayerComponent;
 import core.level.elements.ILevel;
 import core.utils.EntitySystemMapper;
 import java.util.*;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -29,7 +30,14 @@ public final class ECSManagment {
   private static final Logger LOGGER = Logger.getLogger(ECSManagment.class.getSimpleName());
   private static final Map<Class<? extends System>, System> SYSTEMS = new LinkedHashMap<>();
   private static final Map<ILevel, Set<EntitySystemMapper>> LEVEL_STORAGE_MAP = new HashMap<>();
+  private static final Map<Set<Class<? extends Component>>, EntitySystemMapper> ACTIVE_MAPPERS =
+      new HashMap<>();
   private static Set<EntitySystemMapper> activeEntityStorage = new HashSet<>();
+  // index of the active entity storage: component class -> mappers whose filter rules contain it
+  private static Map<Class<? extends Component>, List<EntitySystemMapper>> mappersByComponent;
+  // the mapper of the active entity storage without filter rules, contains all entities
+  private static EntitySystemMapper allEntitiesMapper;
+  private static final List<EntityObserver> OBSERVERS = new ArrayList<>();
 
   static {
     LEVEL_STORAGE_MAP.put(null, activeEntityStorage);
@@ -42,15 +50,77 @@ public final class ECSManagment {
    * <p>If necessary, the {@link System}s will trigger {@link System#triggerOnAdd(Entity)} or {@link
    * System#triggerOnRemove(Entity)}.
    *
+   * <p>Every {@link EntitySystemMapper} of the active entity storage is updated. If the class of
+   * the changed component is known, use {@link #informAboutChanges(Entity, Class)} instead.
+   *
    * @param entity the entity that has changes in its Component Collection.
    */
   public static void informAboutChanges(Entity entity) {
-    if (entityStream().anyMatch(entity1 -> entity1.equals(entity))) {
+    if (isActive(entity)) {
       activeEntityStorage.forEach(f -> f.update(entity));
-      LOGGER.info("Entity: " + entity + " informed the Game about component changes.");
+      OBSERVERS.forEach(o -> o.onChange(entity, null));
+      if (LOGGER.isLoggable(Level.INFO))
+        LOGGER.info("Entity: " + entity + " informed the Game about component changes.");
     }
   }
 
+  /**
+   * Inform the {@link System}s that a component of the given class was added to, removed from, or
+   * replaced in the given Entity.
+   *
+   * <p>If necessary, the {@link System}s will trigger {@link System#triggerOnAdd(Entity)} or {@link
+   * System#triggerOnRemove(Entity)}.
+   *
+   * <p>Only the {@link EntitySystemMapper}s whose filter rules contain the given class are updated;
+   * the membership of the entity in the other mappers can not change. The mappers are looked up in
+   * an index of the active entity storage, so the costs of a change depend neither on the number of
+   * entities nor on the number of mappers that do not care about the component.
+   *
+   * @param entity the entity that has changes in its Component Collection.
+   * @param klass the class of the added, removed, or replaced component.
+   */
+  public static void informAboutChanges(Entity entity, Class<? extends Component> klass) {
+    if (isActive(entity)) {
+      List<EntitySystemMapper> mappers = mappersByComponent().get(klass);
+      if (mappers != null) mappers.forEach(f -> f.update(entity));
+      OBSERVERS.forEach(o -> o.onChange(entity, klass));
+      if (LOGGER.isLoggable(Level.INFO))
+        LOGGER.info("Entity: " + entity + " informed the Game about component changes.");
+    }
+  }
+
+  /**
+   * Check if the given entity is part of the active entity storage.
+   *
+   * @param entity the entity to check.
+   * @return true if the entity is in the game (in the active level), false if not.
+   */
+  private static boolean isActive(Entity entity) {
+    mappersByComponent();
+    return allEntitiesMapper != null && allEntitiesMapper.contains(entity);
+  }
+
+  /**
+   * Get the index of the mappers of the active entity storage by component class.
+   *
+   * <p>The index is built on first use and dropped if a mapper is created or the active entity
+   * storage changes.
+   *
+   * @return Map of each component class to the mappers whose filter rules contain the class.
+   */
+  private static Map<Class<? extends Component>, List<EntitySystemMapper>> mappersByComponent() {
+    if (mappersByComponent == null) {
+      mappersByComponent = new HashMap<>();
+      allEntitiesMapper = null;
+      for (EntitySystemMapper mapper : activeEntityStorage) {
+        if (mapper.filterRules().isEmpty()) allEntitiesMapper = mapper;
+        for (Class<? extends Component> klass : mapper.filterRules())
+          mappersByComponent.computeIfAbsent(klass, k -> new ArrayList<>()).add(mapper);
+      }
+    }
+    return mappersByComponent;
+  }
+
   /**
    * The given entity will be added to the game.
    *
@@ -62,7 +132,9 @@ public final class ECSManagment {
    */
   public static void add(Entity entity) {
     activeEntityStorage.forEach(f -> f.add(entity));
-    LOGGER.info("Entity: " + entity + " will be added to the Game.");
+    OBSERVERS.forEach(o -> o.onAdd(entity));
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info("Entity: " + entity + " will be added to the Game.");
   }
 
   /**
@@ -74,7 +146,31 @@ public final class ECSManagment {
    */
   public static void remove(Entity entity) {
     activeEntityStorage.forEach(f -> f.remove(entity));
-    LOGGER.info("Entity: " + entity + " will be removed from the Game.");
+    OBSERVERS.forEach(o -> o.onRemove(entity));
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info("Entity: " + entity + " will be removed from the Game.");
+  }
+
+  /**
+   * Register an {@link EntityObserver}.
+   *
+   * <p>The observer is informed about entities that are added to or removed from the game
+   * afterward, and about the component changes of the entities in the active level. It is not
+   * informed about the entities that are already in the game.
+   *
+   * @param observer the observer to register.
+   */
+  public static void addObserver(final EntityObserver observer) {
+    OBSERVERS.add(observer);
+  }
+
+  /**
+   * Unregister an {@link EntityObserver}.
+   *
+   * @param observer the observer to unregister.
+   */
+  public static void removeObserver(final EntityObserver observer) {
+    OBSERVERS.remove(observer);
   }
 
   /**
@@ -96,6 +192,7 @@ public final class ECSManagment {
       Set<Class<? extends Component>> filter) {
     EntitySystemMapper mapper = new EntitySystemMapper(filter);
     activeEntityStorage.add(mapper);
+    mappersByComponent = null;
     entityStream().forEach(mapper::add);
     return mapper;
   }
@@ -120,11 +217,9 @@ public final class ECSManagment {
     System currentSystem = SYSTEMS.get(system.getClass());
     SYSTEMS.put(system.getClass(), system);
     // add to existing filter or create new filter if no matching exists
-    Optional<EntitySystemMapper> filter =
-        activeEntityStorage.stream().filter(f -> f.equals(system.filterRules())).findFirst();
-    filter.ifPresentOrElse(
-        f -> f.add(system), () -> createNewEntitySystemMapper(system.filterRules()).add(system));
-    LOGGER.info("A new " + system.getClass().getName() + " was added to the game");
+    entitySystemMapper(system.filterRules()).add(system);
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info("A new " + system.getClass().getName() + " was added to the game");
     return Optional.ofNullable(currentSystem);
   }
 
@@ -144,6 +239,8 @@ public final class ECSManagment {
    */
   public static void activeEntityStorage(final Set<EntitySystemMapper> entityStorage) {
     activeEntityStorage = entityStorage;
+    ACTIVE_MAPPERS.clear();
+    mappersByComponent = null;
   }
 
   /**
@@ -155,6 +252,20 @@ public final class ECSManagment {
     return new LinkedHashMap<>(SYSTEMS);
   }
 
+  /**
+   * Get the registered system of the given class.
+   *
+   * <p>Unlike {@link #systems()}, this does not copy the system map.
+   *
+   * @param klass Class of the system.
+   * @param <T> Type of the system.
+   * @return An Optional containing the registered system of the given class, or empty if no such
+   *     system is registered.
+   */
+  public static <T extends System> Optional<T> system(final Class<T> klass) {
+    return Optional.ofNullable(klass.cast(SYSTEMS.get(klass)));
+  }
+
   /** Remove all registered systems from the game. */
   public static void removeAllSystems() {
     new HashSet<>(SYSTEMS.keySet()).forEach(ECSManagment::remove);
@@ -188,15 +299,30 @@ public final class ECSManagment {
    * @return a stream of all entities currently in the game that contains the given components.
    */
   public static Stream<Entity> entityStream(Set<Class<? extends Component>> filter) {
-    Stream<Entity> returnStream;
-    Optional<EntitySystemMapper> rf =
-        activeEntityStorage.stream().filter(f -> f.equals(filter)).findFirst();
+    return entitySystemMapper(filter).stream();
+  }
 
-    if (rf.isEmpty()) {
-      EntitySystemMapper newMapper = createNewEntitySystemMapper(filter);
-      returnStream = newMapper.stream();
-    } else returnStream = rf.get().stream();
-    return returnStream;
+  /**
+   * Get the active {@link EntitySystemMapper} with the given filter rules.
+   *
+   * <p>The mappers of the active entity storage are indexed by their filter rules, so a lookup does
+   * not search the storage. If no mapper with the given filter rules exists, a new one will be
+   * created.
+   *
+   * @param filter Set of Component classes that define the filter rules.
+   * @return The {@link EntitySystemMapper} with the given filter rules.
+   */
+  public static EntitySystemMapper entitySystemMapper(Set<Class<? extends Component>> filter) {
+    EntitySystemMapper mapper = ACTIVE_MAPPERS.get(filter);
+    if (mapper == null) {
+      mapper =
+          activeEntityStorage.stream()
+              .filter(f -> f.equals(filter))
+              .findFirst()
+              .orElseGet(() -> createNewEntitySystemMapper(filter));
+      ACTIVE_MAPPERS.put(Set.copyOf(filter), mapper);
+    }
+    return mapper;
   }
 
   /**
@@ -226,7 +352,8 @@ public final class ECSManagment {
    */
   public static void removeAllEntities() {
     allEntities().forEach(ECSManagment::remove);
-    LOGGER.info("All entities will be removed from the game.");
+    if (LOGGER.isLoggable(Level.INFO))
+      LOGGER.info("All entities will be removed from the game.");
   }
 
   /**
@@ -0,0 +1,39 @@
+package core.game;
+
+import core.Component;
+import core.Entity;
+
+/**
+ * Observes the entities in the game, independent of the level they are stored in.
+ *
+ * <p>In contrast to a {@link core.System}, an observer is not informed about the entities of a
+ * level when the level is loaded or unloaded. It is informed when an entity is added to or removed
+ * from the game, and when a component of an entity in the active level changes. This allows indices
+ * over the entities of all levels (see {@link ECSManagment#allEntities()}).
+ *
+ * <p>Register an observer with {@link ECSManagment#addObserver(EntityObserver)}.
+ */
+public interface EntityObserver {
+
+  /**
+   * Called after the given entity was added to the game.
+   *
+   * @param entity the added entity.
+   */
+  void onAdd(Entity entity);
+
+  /**
+   * Called after the given entity was removed from the game.
+   *
+   * @param entity the removed entity.
+   */
+  void onRemove(Entity entity);
+
+  /**
+   * Called after a component of the given entity was added, removed, or replaced.
+   *
+   * @param entity the changed entity.
+   * @param klass the class of the changed component, or null if it is not known.
+   */
+  void onChange(Entity entity, Class<? extends Component> klass);
+}
@@ -22,6 +22,7 @@ import core.utils.components.MissingComponentException;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Logger;
 
 /**
@@ -55,33 +56,59 @@ public final class GameLoop extends ScreenAdapter {
   private final IVoidFunction onLevelLoad =
       () -> {
         newLevelWasLoadedInThisLoop = true;
-        Optional<Entity> hero = ECSManagment.hero();
-        boolean firstLoad = !ECSManagment.levelStorageMap().containsKey(Game.currentLevel());
-        hero.ifPresent(ECSManagment::remove);
-        // Remove the systems so that each triggerOnRemove(entity) will be called (basically
-        // cleanup).
-        Map<Class<? extends System>, System> s = ECSManagment.systems();
-        ECSManagment.removeAllSystems();
-        ECSManagment.activeEntityStorage(
-            ECSManagment.levelStorageMap()
-                .computeIfAbsent(Game.currentLevel(), k -> new HashSet<>()));
-        // readd the systems so that each triggerOnAdd(entity) will be called (basically
-        // setup). This will also create new EntitySystemMapper if needed.
-        s.values().forEach(ECSManagment::add);
-
-        try {
-          hero.ifPresent(this::placeOnLevelStart);
-        } catch (MissingComponentException e) {
-          LOGGER.warning(e.getMessage());
-        }
-        hero.ifPresent(ECSManagment::add);
-        Game.currentLevel().onLoad();
-        PreRunConfiguration.userOnLevelLoad().accept(firstLoad);
+        switchLevel();
       };
 
   // for singleton
   private GameLoop() {}
 
+  /**
+   * Switch the ECS to the current level of the {@link Game}.
+   *
+   * <p>This is the level-load logic shared by the {@link GameLoop} and the {@link HeadlessLoop}.
+   */
+  static void switchLevel() {
+    Optional<Entity> hero = ECSManagment.hero();
+    boolean firstLoad = !ECSManagment.levelStorageMap().containsKey(Game.currentLevel());
+    hero.ifPresent(ECSManagment::remove);
+    // Remove the systems so that each triggerOnRemove(entity) will be called (basically
+    // cleanup).
+    Map<Class<? extends System>, System> s = ECSManagment.systems();
+    ECSManagment.removeAllSystems();
+    ECSManagment.activeEntityStorage(
+        ECSManagment.levelStorageMap().computeIfAbsent(Game.currentLevel(), k -> new HashSet<>()));
+    // readd the systems so that each triggerOnAdd(entity) will be called (basically
+    // setup). This will also create new EntitySystemMapper if needed.
+    s.values().forEach(ECSManagment::add);
+
+    try {
+      hero.ifPresent(GameLoop::placeOnLevelStart);
+    } catch (MissingComponentException e) {
+      LOGGER.warning(e.getMessage());
+    }
+    hero.ifPresent(ECSManagment::add);
+    Game.currentLevel().onLoad();
+    PreRunConfiguration.userOnLevelLoad().accept(firstLoad);
+  }
+
+  /**
+   * Execute each running system that is due in this frame.
+   *
+   * @param newLevelWasLoaded Checked before each system; if it returns true, a new level was loaded
+   *     and the remaining systems are skipped for this frame.
+   */
+  static void executeSystems(final BooleanSupplier newLevelWasLoaded) {
+    for (System system : ECSManagment.systems().values()) {
+      // if a new level was loaded, stop this loop-run
+      if (newLevelWasLoaded.getAsBoolean()) break;
+      system.lastExecuteInFrames(system.lastExecuteInFrames() + 1);
+      if (system.isRunning() && system.lastExecuteInFrames() >= system.executeEveryXFrames()) {
+        system.execute();
+        system.lastExecuteInFrames(0);
+      }
+    }
+  }
+
   /** Starts the dungeon. */
   public static void run() {
     Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
@@ -152,15 +179,10 @@ public final class GameLoop extends ScreenAdapter {
     frame();
     clearScreen();
 
-    for (System system : ECSManagment.systems().values()) {
-      // if a new level was loaded, stop this loop-run
-      if (newLevelWasLoadedInThisLoop) break;
-      system.lastExecuteInFrames(system.lastExecuteInFrames() + 1);
-      if (system.isRunning() && system.lastExecuteInFrames() >= system.executeEveryXFrames()) {
-        system.execute();
-        system.lastExecuteInFrames(0);
-      }
-    }
+    // open the batch once for the whole frame, the systems only record their sprites
+    DrawSystem.painter().begin();
+    executeSystems(() -> newLevelWasLoadedInThisLoop);
+    DrawSystem.painter().end();
     newLevelWasLoadedInThisLoop = false;
     CameraSystem.camera().update();
     // stage logic
@@ -213,7 +235,7 @@ public final class GameLoop extends ScreenAdapter {
    *
    * @param entity entity to set on the start of the level, normally this is the hero.
    */
-  private void placeOnLevelStart(final Entity entity) {
+  private static void placeOnLevelStart(final Entity entity) {
     ECSManagment.add(entity);
     PositionComponent pc =
         entity
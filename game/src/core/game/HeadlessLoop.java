@@ -0,0 +1,176 @@
+package core.game;
+
+import core.Game;
+import core.System;
+import core.level.generator.IGenerator;
+import core.level.generator.postGeneration.WallGenerator;
+import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.systems.CameraSystem;
+import core.systems.DrawSystem;
+import core.systems.LevelSystem;
+import core.systems.PlayerSystem;
+import core.systems.PositionSystem;
+import core.systems.VelocitySystem;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A game loop without window, input, and rendering.
+ *
+ * <p>The {@link GameLoop} is driven by libGDX and needs a window and a GPU. This loop steps the
+ * systems of the game with a fixed time step as fast as possible, so the game logic can run on a
+ * server without a display (e.g., for batch simulations, load tests, or benchmarks).
+ *
+ * <p>On the first tick, the loop adds the {@link PositionSystem}, a {@link LevelSystem} without
+ * {@link core.utils.components.draw.Painter} (the level will not be drawn), and a {@link
+ * VelocitySystem} with a fixed time step, triggers {@link PreRunConfiguration#userOnSetup()}, and
+ * loads the first level with the given {@link IGenerator}. Use {@link #add(System)} to add further
+ * systems.
+ *
+ * <p>Systems that need a window, input, or a GPU are skipped by {@link #add(System)}. By default,
+ * these are the {@link DrawSystem}, the {@link CameraSystem}, and the {@link PlayerSystem}. Use
+ * {@link #skip(Class[])} to skip further systems (e.g., HUD systems).
+ *
+ * <p>Use {@link #tick()} to execute one tick or {@link #run(int)} to execute multiple ticks.
+ *
+ * @see GameLoop
+ */
+public final class HeadlessLoop {
+  /** Default number of ticks per simulated second. */
+  public static final int DEFAULT_TICK_RATE = 30;
+
+  private static final Logger LOGGER = Logger.getLogger(HeadlessLoop.class.getSimpleName());
+
+  private final Set<Class<? extends System>> skipped =
+      new HashSet<>(Set.of(DrawSystem.class, CameraSystem.class, PlayerSystem.class));
+  private final IGenerator generator;
+  private final float deltaTime;
+  private boolean doSetup = true;
+  private boolean newLevelWasLoadedInThisTick = false;
+  private long ticks = 0;
+
+  /**
+   * Create a new headless loop.
+   *
+   * @param generator Level generator to use to generate the levels.
+   * @param tickRate Number of ticks per simulated second; defines the fixed time step.
+   */
+  public HeadlessLoop(final IGenerator generator, int tickRate) {
+    if (tickRate <= 0) throw new IllegalArgumentException("The tick rate must be positive.");
+    this.generator = generator;
+    this.deltaTime = 1f / tickRate;
+  }
+
+  /**
+   * Create a new headless loop with the default level generator and {@link #DEFAULT_TICK_RATE}.
+   */
+  public HeadlessLoop() {
+    this(new WallGenerator(new RandomWalkGenerator()), DEFAULT_TICK_RATE);
+  }
+
+  /**
+   * Skip systems of the given classes.
+   *
+   * <p>Systems of these classes will not be added by {@link #add(System)}.
+   *
+   * @param systems Classes of the systems to skip.
+   * @return This loop, for chaining.
+   */
+  @SafeVarargs
+  public final HeadlessLoop skip(final Class<? extends System>... systems) {
+    skipped.addAll(Arrays.asList(systems));
+    return this;
+  }
+
+  /**
+   * Add a system to the game, unless it is skipped in headless mode.
+   *
+   * <p>A {@link VelocitySystem} will use the fixed time step of this loop.
+   *
+   * @param system The system to add.
+   * @return An optional that contains the previous existing system of the given system class, if
+   *     one exists. Empty if the system was skipped.
+   * @see ECSManagment#add(System)
+   */
+  public Optional<System> add(final System system) {
+    if (skipped.contains(system.getClass())) {
+      LOGGER.info(system.getClass().getSimpleName() + " is skipped in headless mode.");
+      return Optional.empty();
+    }
+    if (system instanceof VelocitySystem velocitySystem) velocitySystem.fixedDeltaTime(deltaTime);
+    return ECSManagment.add(system);
+  }
+
+  /**
+   * Execute one tick.
+   *
+   * <p>Triggers {@link PreRunConfiguration#userOnFrame()} and executes each due system once, like
+   * one frame of the {@link GameLoop}. On the first tick, the loop is set up (see {@link
+   * HeadlessLoop}).
+   */
+  public void tick() {
+    if (doSetup) setup();
+    PreRunConfiguration.userOnFrame().execute();
+    GameLoop.executeSystems(() -> newLevelWasLoadedInThisTick);
+    newLevelWasLoadedInThisTick = false;
+    ticks++;
+  }
+
+  /**
+   * Execute the given number of ticks as fast as possible.
+   *
+   * @param ticks Number of ticks to execute.
+   * @return The real time needed in nanoseconds.
+   */
+  public long run(int ticks) {
+    long start = java.lang.System.nanoTime();
+    for (int i = 0; i < ticks; i++) tick();
+    return java.lang.System.nanoTime() - start;
+  }
+
+  /**
+   * Get the number of executed ticks.
+   *
+   * @return Number of ticks executed by this loop.
+   */
+  public long ticks() {
+    return ticks;
+  }
+
+  /**
+   * Get the fixed time step.
+   *
+   * @return The simulated time per tick in seconds.
+   */
+  public float deltaTime() {
+    return deltaTime;
+  }
+
+  /**
+   * Get the simulated time.
+   *
+   * @return The simulated time since the first tick in seconds.
+   */
+  public float simulatedTime() {
+    return ticks * deltaTime;
+  }
+
+  private void setup() {
+    doSetup = false;
+    add(new PositionSystem());
+    add(
+        new LevelSystem(
+            null,
+            generator,
+            () -> {
+              newLevelWasLoadedInThisTick = true;
+              GameLoop.switchLevel();
+            }));
+    add(new VelocitySystem());
+    PreRunConfiguration.userOnSetup().execute();
+    Game.systems().get(LevelSystem.class).execute();
+  }
+}
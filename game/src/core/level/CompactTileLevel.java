@@ -0,0 +1,613 @@
+package core.level;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.utils.Array;
+import core.level.elements.ILevel;
+import core.level.elements.astar.PathfindingService;
+import core.level.elements.astar.TileConnection;
+import core.level.elements.astar.TileHeuristic;
+import core.level.elements.tile.*;
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.level.utils.TileTextureFactory;
+import core.utils.IVoidFunction;
+import core.utils.Tuple;
+import core.utils.components.path.IPath;
+import java.util.*;
+
+/**
+ * 2D tile-based level that stores its tiles in flat primitive arrays.
+ *
+ * <p>For each tile, the level only stores the type (one byte), the texture (index into the list of
+ * the textures used in the level), the tint color, and the visibility (one bit). A {@link Tile}
+ * object is created when the tile is requested (e.g., with {@link #tileAt(Coordinate)}). Changes of
+ * a created tile are written back to the arrays.
+ *
+ * <p>At most {@link #MAX_CACHED_TILES} created tiles are kept, so a tile keeps its identity as long
+ * as it is cached; the oldest tile is dropped first and created again from the arrays when it is
+ * requested the next time. Doors, exits, and pits have a state that is not stored in the arrays
+ * (e.g., the linked door), so these tiles are always kept.
+ *
+ * <p>The connections for the pathfinding are derived from the accessibility of the four neighbours
+ * of a tile (see {@link #getConnections(Tile)}) and are stored in the cached tile until the
+ * accessibility around it changes. The textures are chosen when a tile is created, so creating the
+ * level only copies the types of the layout.
+ *
+ * <p>Code that only uses single tiles (e.g., {@link #tileAt(Coordinate)}, {@link #startTile()}),
+ * {@link #randomTile(LevelElement)}, and the pathfinding only creates the tiles it touches. {@link
+ * #layout()} and the tile lists (e.g., {@link #floorTiles()}) create all (matching) tiles for each
+ * call; the level does not keep them.
+ *
+ * <p>The index of a tile is {@code y * width + x}, so the node count for the pathfinding is the
+ * number of tiles in the level.
+ *
+ * @see TileLevel
+ */
+public class CompactTileLevel implements ILevel {
+
+  /** Maximum number of created tiles that are kept, besides doors, exits, and pits. */
+  public static final int MAX_CACHED_TILES = 1 << 16;
+
+  private static final Coordinate[] CONNECTION_OFFSETS = {
+    new Coordinate(0, 1), new Coordinate(0, -1), new Coordinate(1, 0), new Coordinate(-1, 0),
+  };
+  private static final LevelElement[] ELEMENTS = LevelElement.values();
+  private static final short NO_TEXTURE = -1;
+  private final TileHeuristic tileHeuristic = new TileHeuristic();
+  private final PathfindingService pathfinding = new PathfindingService(this);
+  private final Random random;
+  private final DesignLabel designLabel;
+  private final int width;
+  private final int height;
+  private final byte[] elements;
+  private final short[] textures;
+  private final int[] tints;
+  private final BitSet visible;
+  private final BitSet accessible;
+  // cached tiles, null if the tile was not requested yet or was dropped
+  private final Tile[] tiles;
+  // indices of the cached tiles in the order of their creation, oldest at cachedHead
+  private final int[] cached;
+  private int cachedHead = 0;
+  private int cachedCount = 0;
+  private final List<IPath> texturePaths = new ArrayList<>();
+  private final Map<String, Short> textureIndices = new HashMap<>();
+  // reused by getConnections for tiles that are no longer cached
+  private final Array<Connection<Tile>> connections = new Array<>();
+  // [regionY * regionsX + regionX]
+  private final int[] regionVersions;
+  private final int regionsX;
+  private int startIndex = -1;
+  private IVoidFunction onFirstLoad = () -> {};
+  private boolean wasLoaded = false;
+
+  /**
+   * Create a new level.
+   *
+   * @param layout The layout of the level.
+   * @param designLabel The design the level should have.
+   */
+  public CompactTileLevel(LevelElement[][] layout, DesignLabel designLabel) {
+    this(layout, designLabel, ILevel.RANDOM);
+  }
+
+  /**
+   * Create a new level with a seeded random number generator.
+   *
+   * <p>The same layout, design, and seed always result in the same level. A {@link TileLevel}
+   * created with the same parameters has the same start and exit tile.
+   *
+   * @param layout The layout of the level.
+   * @param designLabel The design the level should have.
+   * @param seed Seed for the random choices of the level (see {@link #random()}).
+   */
+  public CompactTileLevel(LevelElement[][] layout, DesignLabel designLabel, long seed) {
+    this(layout, designLabel, new Random(seed));
+  }
+
+  private CompactTileLevel(LevelElement[][] layout, DesignLabel designLabel, Random random) {
+    this.random = random;
+    this.designLabel = designLabel;
+    height = layout.length;
+    width = height == 0 ? 0 : layout[0].length;
+    int size = width * height;
+    elements = new byte[size];
+    textures = new short[size];
+    tints = new int[size];
+    visible = new BitSet(size);
+    accessible = new BitSet(size);
+    tiles = new Tile[size];
+    cached = new int[Math.min(size, MAX_CACHED_TILES)];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int index = y * width + x;
+        elements[index] = (byte) layout[y][x].ordinal();
+        accessible.set(index, layout[y][x].value());
+      }
+    }
+    Arrays.fill(textures, NO_TEXTURE);
+    Arrays.fill(tints, -1);
+    visible.set(0, size);
+    regionsX = (width + REGION_SIZE - 1) / REGION_SIZE;
+    regionVersions = new int[regionsX * ((height + REGION_SIZE - 1) / REGION_SIZE)];
+
+    randomStart();
+    if (endTile() == null) randomEnd();
+  }
+
+  @Override
+  public int getNodeCount() {
+    return tiles.length;
+  }
+
+  @Override
+  public TileHeuristic tileHeuristic() {
+    return tileHeuristic;
+  }
+
+  @Override
+  public PathfindingService pathfinding() {
+    return pathfinding;
+  }
+
+  @Override
+  public Random random() {
+    return random;
+  }
+
+  /**
+   * Get the connections to the accessible neighbours of the given tile.
+   *
+   * <p>The connections are derived from the types of the neighbours the first time they are
+   * requested and are stored in the tile, until the accessibility of the tile or a neighbour
+   * changes or a neighbour is dropped from the cache. The returned array must not be changed.
+   *
+   * @param fromNode Tile to get the connections for.
+   * @return The connections to the accessible neighbours, empty if the tile is not accessible.
+   */
+  @Override
+  public Array<Connection<Tile>> getConnections(final Tile fromNode) {
+    Coordinate coordinate = fromNode.coordinate();
+    if (!inBounds(coordinate.x, coordinate.y)) {
+      connections.clear();
+      return connections;
+    }
+    int index = index(coordinate.x, coordinate.y);
+    // a tile that is no longer cached would keep its connections forever
+    boolean cachedTile = tiles[index] == fromNode;
+    if (cachedTile && fromNode.connections != null) return fromNode.connections;
+    Array<Connection<Tile>> result = cachedTile ? new Array<>(4) : connections;
+    result.clear();
+    if (accessible.get(index)) {
+      for (Coordinate offset : CONNECTION_OFFSETS) {
+        int x = coordinate.x + offset.x;
+        int y = coordinate.y + offset.y;
+        if (inBounds(x, y) && accessible.get(index(x, y)))
+          result.add(new TileConnection(fromNode, tile(index(x, y))));
+      }
+    }
+    // creating the neighbours may have dropped the tile from the cache
+    if (cachedTile && tiles[index] == fromNode) fromNode.connections = result;
+    return result;
+  }
+
+  /**
+   * Does nothing, the connections are derived from the types of the tiles (see {@link
+   * #getConnections(Tile)}).
+   *
+   * @param checkTile Ignored.
+   */
+  @Override
+  public void addConnectionsToNeighbours(final Tile checkTile) {}
+
+  @Override
+  public void onFirstLoad(IVoidFunction function) {
+    this.onFirstLoad = function;
+  }
+
+  @Override
+  public void onLoad() {
+    if (!wasLoaded) {
+      wasLoaded = true;
+      onFirstLoad.execute();
+    }
+  }
+
+  @Override
+  public void addFloorTile(FloorTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addWallTile(WallTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addHoleTile(HoleTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addDoorTile(DoorTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addExitTile(ExitTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addSkipTile(SkipTile tile) {
+    addTile(tile);
+  }
+
+  @Override
+  public void addPitTile(PitTile tile) {
+    addTile(tile);
+  }
+
+  /**
+   * Puts the given tile into the level at its coordinate, replacing the tile there.
+   *
+   * <p>Like in {@link TileLevel}, there can only be one exit; if an exit is added, the old exit
+   * becomes a floor.
+   *
+   * @param tile The tile to be added.
+   * @throws IllegalArgumentException If the coordinate of the tile is outside the level.
+   */
+  @Override
+  public void addTile(Tile tile) {
+    Coordinate coordinate = tile.coordinate();
+    if (!inBounds(coordinate.x, coordinate.y))
+      throw new IllegalArgumentException("The tile is outside the level: " + coordinate);
+    int index = index(coordinate.x, coordinate.y);
+    if (tile.levelElement() == LevelElement.EXIT) {
+      int exit = find(LevelElement.EXIT);
+      if (exit >= 0 && exit != index) changeTileElementType(tile(exit), LevelElement.FLOOR);
+    }
+    Tile old = tiles[index];
+    if (old != null) old.connections = null;
+    if (!keep(tile)) cache(index);
+    tiles[index] = tile;
+    tile.connections = null;
+    connectionsChanged(index);
+    tile.index(index);
+    tile.level(this);
+    tileChanged(tile);
+  }
+
+  /**
+   * Removes the tile from the tile lists and the pathfinding.
+   *
+   * <p>The type of the tile stays in the arrays until a new tile is added at its coordinate (see
+   * {@link #changeTileElementType(Tile, LevelElement)}).
+   *
+   * @param tile The tile to be removed.
+   */
+  @Override
+  public void removeTile(Tile tile) {
+    Coordinate coordinate = tile.coordinate();
+    if (!inBounds(coordinate.x, coordinate.y)) return;
+    int index = index(coordinate.x, coordinate.y);
+    if (tiles[index] == tile) tiles[index] = null;
+    tile.connections = null;
+    accessible.clear(index);
+    connectionsChanged(index);
+    pathfinding.invalidate();
+  }
+
+  @Override
+  public void changeTileElementType(final Tile tile, final LevelElement changeInto) {
+    ILevel level = tile.level();
+    if (level == null) return;
+    if (level != this) {
+      level.changeTileElementType(tile, changeInto);
+      return;
+    }
+    Coordinate coordinate = tile.coordinate();
+    removeTile(tile);
+    Tile newTile =
+        TileFactory.createTile(
+            texture(coordinate.x, coordinate.y, changeInto),
+            coordinate,
+            changeInto,
+            tile.designLabel());
+    newTile.tintColor(tile.tintColor());
+    newTile.visible(tile.visible());
+    addTile(newTile);
+
+    for (int y = coordinate.y - 1; y <= coordinate.y + 1; y++) {
+      for (int x = coordinate.x - 1; x <= coordinate.x + 1; x++) {
+        if (!inBounds(x, y) || (x == coordinate.x && y == coordinate.y)) continue;
+        int index = index(x, y);
+        Tile neighbour = tiles[index];
+        if (neighbour != null) neighbour.texturePath(texture(x, y, neighbour.levelElement()));
+        else {
+          // chosen again when the tile is created
+          textures[index] = NO_TEXTURE;
+          regionChanged(x, y);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void tileChanged(final Tile tile) {
+    Coordinate coordinate = tile.coordinate();
+    if (!inBounds(coordinate.x, coordinate.y)) return;
+    int index = index(coordinate.x, coordinate.y);
+    if (tiles[index] == tile) {
+      elements[index] = (byte) tile.levelElement.ordinal();
+      textures[index] = textureIndex(tile.texturePath);
+      tints[index] = tile.tintColor;
+      visible.set(index, tile.visible);
+      if (accessible.get(index) != tile.isAccessible()) {
+        accessible.set(index, tile.isAccessible());
+        connectionsChanged(index);
+        pathfinding.invalidate();
+      }
+    }
+    regionChanged(coordinate.x, coordinate.y);
+  }
+
+  @Override
+  public int regionVersion(int regionX, int regionY) {
+    if (regionX < 0 || regionX >= regionsX || regionY < 0) return 0;
+    int index = regionY * regionsX + regionX;
+    return index < regionVersions.length ? regionVersions[index] : 0;
+  }
+
+  @Override
+  public List<FloorTile> floorTiles() {
+    return tiles(LevelElement.FLOOR);
+  }
+
+  @Override
+  public List<WallTile> wallTiles() {
+    return tiles(LevelElement.WALL);
+  }
+
+  @Override
+  public List<HoleTile> holeTiles() {
+    return tiles(LevelElement.HOLE);
+  }
+
+  @Override
+  public List<DoorTile> doorTiles() {
+    return tiles(LevelElement.DOOR);
+  }
+
+  @Override
+  public List<ExitTile> exitTiles() {
+    return tiles(LevelElement.EXIT);
+  }
+
+  @Override
+  public List<SkipTile> skipTiles() {
+    return tiles(LevelElement.SKIP);
+  }
+
+  @Override
+  public List<PitTile> pitTiles() {
+    return tiles(LevelElement.PIT);
+  }
+
+  /**
+   * Retrieves a random tile of the specified type from the level.
+   *
+   * <p>Only the chosen tile is created. The choice is the same as the choice of a {@link
+   * TileLevel} with the same layout and random number generator.
+   *
+   * @param elementType Type of the tile to retrieve.
+   * @return A random tile of the specified type, or empty if there is no tile of that type.
+   */
+  @Override
+  public Optional<Tile> randomTile(final LevelElement elementType) {
+    int count = count(elementType);
+    if (count == 0) return Optional.empty();
+    return Optional.of(tile(nth(elementType, random().nextInt(count))));
+  }
+
+  @Override
+  public void randomEnd() {
+    int count = count(LevelElement.FLOOR);
+    if (count <= 1) {
+      // not enough Tiles for startTile and ExitTile
+      return;
+    }
+    int startRank = -1;
+    if (startIndex >= 0 && elements[startIndex] == LevelElement.FLOOR.ordinal()) {
+      startRank = 0;
+      for (int i = 0; i < startIndex; i++)
+        if (elements[i] == LevelElement.FLOOR.ordinal()) startRank++;
+    }
+    int rank = random().nextInt(count - 1);
+    changeTileElementType(
+        tile(nth(LevelElement.FLOOR, rank < startRank ? rank : rank + 1)), LevelElement.EXIT);
+  }
+
+  @Override
+  public Tile randomTile() {
+    int y = random().nextInt(height);
+    int x = random().nextInt(width);
+    return tile(index(x, y));
+  }
+
+  /**
+   * Retrieves the layout of the level.
+   *
+   * <p>This creates every tile of the level that is not cached, for each call; the returned array
+   * is not kept by the level. Prefer {@link #tileAt(Coordinate)} if only some tiles are needed.
+   *
+   * @return The layout of the level as a 2D array of tiles.
+   */
+  @Override
+  public Tile[][] layout() {
+    Tile[][] layout = new Tile[height][width];
+    for (int y = 0; y < height; y++)
+      for (int x = 0; x < width; x++) layout[y][x] = tile(index(x, y));
+    return layout;
+  }
+
+  @Override
+  public Tuple<Integer, Integer> size() {
+    return new Tuple<>(width, height);
+  }
+
+  @Override
+  public Tile tileAt(final Coordinate coordinate) {
+    if (!inBounds(coordinate.x, coordinate.y)) return null;
+    return tile(index(coordinate.x, coordinate.y));
+  }
+
+  @Override
+  public Tile startTile() {
+    return startIndex < 0 ? null : tile(startIndex);
+  }
+
+  @Override
+  public void startTile(Tile start) {
+    Coordinate coordinate = start.coordinate();
+    startIndex = inBounds(coordinate.x, coordinate.y) ? index(coordinate.x, coordinate.y) : -1;
+  }
+
+  @Override
+  public Tile endTile() {
+    int exit = find(LevelElement.EXIT);
+    return exit < 0 ? null : tile(exit);
+  }
+
+  private Tile tile(int index) {
+    Tile tile = tiles[index];
+    if (tile == null) {
+      Coordinate coordinate = new Coordinate(index % width, index / width);
+      tile =
+          TileFactory.createTile(
+              texturePath(index), coordinate, ELEMENTS[elements[index]], designLabel);
+      // the level is not set yet, so this does not count as a change
+      tile.tintColor(tints[index]);
+      tile.visible(visible.get(index));
+      tile.index(index);
+      tile.level(this);
+      if (!keep(tile)) cache(index);
+      tiles[index] = tile;
+    }
+    return tile;
+  }
+
+  // tiles with a state that is not stored in the arrays are never dropped
+  private static boolean keep(final Tile tile) {
+    return tile instanceof DoorTile || tile instanceof ExitTile || tile instanceof PitTile;
+  }
+
+  // remembers the index of a new cached tile; drops the oldest tile if the cache is full
+  private void cache(int index) {
+    while (cachedCount == cached.length) {
+      int oldest = cached[cachedHead];
+      cachedHead = (cachedHead + 1) % cached.length;
+      cachedCount--;
+      Tile tile = tiles[oldest];
+      // the entry is outdated if the tile was removed or replaced by a kept tile
+      if (tile != null && !keep(tile)) {
+        tiles[oldest] = null;
+        tile.connections = null;
+        connectionsChanged(oldest);
+      }
+    }
+    cached[(cachedHead + cachedCount) % cached.length] = index;
+    cachedCount++;
+  }
+
+  // drops the stored connections of the cached neighbours of the given tile
+  private void connectionsChanged(int index) {
+    int x = index % width;
+    int y = index / width;
+    Tile self = tiles[index];
+    if (self != null) self.connections = null;
+    for (Coordinate offset : CONNECTION_OFFSETS) {
+      int nx = x + offset.x;
+      int ny = y + offset.y;
+      if (!inBounds(nx, ny)) continue;
+      Tile neighbour = tiles[index(nx, ny)];
+      if (neighbour != null) neighbour.connections = null;
+    }
+  }
+
+  private IPath texturePath(int index) {
+    if (textures[index] == NO_TEXTURE)
+      textures[index] =
+          textureIndex(texture(index % width, index / width, ELEMENTS[elements[index]]));
+    return texturePaths.get(textures[index]);
+  }
+
+  // the texture only depends on the 3x3 neighbourhood, see TileTextureFactory
+  private IPath texture(int x, int y, LevelElement element) {
+    int minX = Math.max(0, x - 1);
+    int minY = Math.max(0, y - 1);
+    int maxX = Math.min(width - 1, x + 1);
+    int maxY = Math.min(height - 1, y + 1);
+    LevelElement[][] neighbourhood = new LevelElement[maxY - minY + 1][maxX - minX + 1];
+    for (int ny = minY; ny <= maxY; ny++)
+      for (int nx = minX; nx <= maxX; nx++)
+        neighbourhood[ny - minY][nx - minX] = ELEMENTS[elements[index(nx, ny)]];
+    Coordinate position = new Coordinate(x - minX, y - minY);
+    neighbourhood[position.y][position.x] = element;
+    return TileTextureFactory.findTexturePath(
+        new TileTextureFactory.LevelPart(element, designLabel, neighbourhood, position));
+  }
+
+  private short textureIndex(final IPath path) {
+    Short index = textureIndices.get(path.pathString());
+    if (index == null) {
+      if (texturePaths.size() >= Short.MAX_VALUE)
+        throw new IllegalStateException("Too many different textures in one level.");
+      index = (short) texturePaths.size();
+      texturePaths.add(path);
+      textureIndices.put(path.pathString(), index);
+    }
+    return index;
+  }
+
+  // collected for each call, so the level does not keep all tiles of a type
+  @SuppressWarnings("unchecked")
+  private <T extends Tile> List<T> tiles(final LevelElement element) {
+    List<Tile> collected = new ArrayList<>();
+    for (int i = 0; i < elements.length; i++)
+      if (elements[i] == element.ordinal()) collected.add(tile(i));
+    return (List<T>) Collections.unmodifiableList(collected);
+  }
+
+  private int count(final LevelElement element) {
+    int count = 0;
+    for (byte e : elements) if (e == element.ordinal()) count++;
+    return count;
+  }
+
+  // index of the n-th tile (starting at 0) of the given type, in the order of the layout
+  private int nth(final LevelElement element, int n) {
+    int remaining = n;
+    for (int i = 0; i < elements.length; i++)
+      if (elements[i] == element.ordinal() && remaining-- == 0) return i;
+    throw new NoSuchElementException("There is no " + element + " tile number " + n + ".");
+  }
+
+  private int find(final LevelElement element) {
+    for (int i = 0; i < elements.length; i++) if (elements[i] == element.ordinal()) return i;
+    return -1;
+  }
+
+  private void regionChanged(int x, int y) {
+    regionVersions[(y / REGION_SIZE) * regionsX + x / REGION_SIZE]++;
+  }
+
+  private boolean inBounds(int x, int y) {
+    return x >= 0 && x < width && y >= 0 && y < height;
+  }
+
+  private int index(int x, int y) {
+    return y * width + x;
+  }
+}
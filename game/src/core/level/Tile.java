@@ -21,7 +21,7 @@ import java.util.List;
  *
  * <p>A Tile can be accessible or non-accessible; this is represented by a boolean value.
  *
- * <p>After you add a Tile to a Level, you must call {@link #level(TileLevel)}.
+ * <p>After you add a Tile to a Level, you must call {@link #level(ILevel)}.
  *
  * <p>The concrete type of the Tile is defined by the inheriting class.
  */
@@ -33,7 +33,8 @@ public abstract class Tile {
   protected IPath texturePath;
   protected ILevel level;
   protected LevelElement levelElement;
-  protected transient Array<Connection<Tile>> connections = new Array<>();
+  // created on the first connection, CompactTileLevel stores the derived connections of its tiles
+  protected transient Array<Connection<Tile>> connections;
   protected int index;
   protected boolean visible = true;
   protected int tintColor = -1; // -1 means no tint color
@@ -84,7 +85,9 @@ public abstract class Tile {
    * @param texture New texture of the tile.
    */
   public void texturePath(final IPath texture) {
+    if (texture == texturePath) return;
     this.texturePath = texture;
+    changed();
   }
 
   /**
@@ -129,7 +132,9 @@ public abstract class Tile {
    * @param newLevelElement New type of the tile.
    */
   public void levelElement(final LevelElement newLevelElement) {
+    if (newLevelElement == levelElement) return;
     this.levelElement = newLevelElement;
+    changed();
   }
 
   /**
@@ -146,7 +151,7 @@ public abstract class Tile {
    *
    * @param tileLevel The level this tile is in.
    */
-  public void level(final TileLevel tileLevel) {
+  public void level(final ILevel tileLevel) {
     level = tileLevel;
   }
 
@@ -196,6 +201,9 @@ public abstract class Tile {
    * @return All connections to other tiles.
    */
   public Array<Connection<Tile>> connections() {
+    if (connections == null) {
+      connections = new Array<>();
+    }
     return connections;
   }
 
@@ -246,7 +254,9 @@ public abstract class Tile {
    * @param b The visibility status to set. True for visible, false for hidden.
    */
   public void visible(boolean b) {
+    if (b == visible) return;
     this.visible = b;
+    changed();
   }
 
   /**
@@ -265,7 +275,9 @@ public abstract class Tile {
    * @param color The color to set. -1 for no tint.
    */
   public void tintColor(int color) {
+    if (color == tintColor) return;
     this.tintColor = color;
+    changed();
   }
 
   /**
@@ -277,6 +289,16 @@ public abstract class Tile {
     return this.tintColor;
   }
 
+  /**
+   * Inform the level that the appearance of this tile has changed.
+   *
+   * <p>Call this if something that changes how the tile is drawn has changed (e.g., the texture),
+   * so cached drawings of the tile get rebuilt. See {@link ILevel#tileChanged(Tile)}.
+   */
+  protected void changed() {
+    if (level != null) level.tileChanged(this);
+  }
+
   @Override
   public String toString() {
     return "Tile{"
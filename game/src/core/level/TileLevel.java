@@ -1,6 +1,7 @@
 package core.level;
 
 import core.level.elements.ILevel;
+import core.level.elements.astar.PathfindingService;
 import core.level.elements.astar.TileConnection;
 import core.level.elements.astar.TileHeuristic;
 import core.level.elements.tile.*;
@@ -13,6 +14,7 @@ import core.utils.components.path.IPath;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Basic 2D-Matrix Tile-based level.
@@ -31,6 +33,7 @@ public class TileLevel implements ILevel {
     new Coordinate(0, 1), new Coordinate(0, -1), new Coordinate(1, 0), new Coordinate(-1, 0),
   };
   protected final TileHeuristic tileHeuristic = new TileHeuristic();
+  protected final PathfindingService pathfinding = new PathfindingService(this);
   protected Tile startTile;
   protected int nodeCount = 0;
   protected Tile[][] layout;
@@ -41,7 +44,10 @@ public class TileLevel implements ILevel {
   protected ArrayList<ExitTile> exitTiles = new ArrayList<>();
   protected ArrayList<SkipTile> skipTiles = new ArrayList<>();
   protected ArrayList<PitTile> pitTiles = new ArrayList<>();
+  private final Random random;
   private IVoidFunction onFirstLoad = () -> {};
+  // [regionY][regionX], created on the first change
+  private int[][] regionVersions;
 
   private boolean wasLoaded = false;
 
@@ -51,6 +57,18 @@ public class TileLevel implements ILevel {
    * @param layout The layout of the level.
    */
   public TileLevel(Tile[][] layout) {
+    this(layout, ILevel.RANDOM);
+  }
+
+  /**
+   * Create a new level with the given random number generator.
+   *
+   * @param layout The layout of the level.
+   * @param random Random number generator for the random choices of the level (see {@link
+   *     #random()}).
+   */
+  protected TileLevel(Tile[][] layout, Random random) {
+    this.random = random;
     this.layout = layout;
     putTilesInLists();
     if (startTile == null) randomStart();
@@ -67,6 +85,20 @@ public class TileLevel implements ILevel {
     this(convertLevelElementToTile(layout, designLabel));
   }
 
+  /**
+   * Create a new Level with a seeded random number generator.
+   *
+   * <p>The same layout, design, and seed always result in the same level (e.g., the same start and
+   * exit tile).
+   *
+   * @param layout The layout of the Level
+   * @param designLabel The design the level should have
+   * @param seed Seed for the random choices of the level (see {@link #random()}).
+   */
+  public TileLevel(LevelElement[][] layout, DesignLabel designLabel, long seed) {
+    this(convertLevelElementToTile(layout, designLabel), new Random(seed));
+  }
+
   /**
    * Converts the given LevelElement[][] in a corresponding Tile[][].
    *
@@ -108,6 +140,16 @@ public class TileLevel implements ILevel {
     return tileHeuristic;
   }
 
+  @Override
+  public PathfindingService pathfinding() {
+    return pathfinding;
+  }
+
+  @Override
+  public Random random() {
+    return random;
+  }
+
   /**
    * Check each tile around the tile, if it is accessible add it to the connectionList.
    *
@@ -122,6 +164,7 @@ public class TileLevel implements ILevel {
           && t.isAccessible()
           && !checkTile.connections().contains(new TileConnection(checkTile, t), false)) {
         checkTile.addConnection(t);
+        pathfinding.invalidate();
       }
     }
   }
@@ -240,6 +283,7 @@ public class TileLevel implements ILevel {
                     .connections()
                     .removeValue(new TileConnection(x.getToNode(), tile), false));
     if (tile.isAccessible()) removeIndex(tile.index());
+    pathfinding.invalidate();
   }
 
   /**
@@ -260,6 +304,7 @@ public class TileLevel implements ILevel {
                 x.getToNode().addConnection(tile);
             });
     tile.index(nodeCount++);
+    pathfinding.invalidate();
   }
 
   private void removeIndex(int index) {
@@ -282,6 +327,35 @@ public class TileLevel implements ILevel {
     }
     this.addToPathfinding(tile);
     tile.level(this);
+    tileChanged(tile);
+  }
+
+  @Override
+  public void tileChanged(final Tile tile) {
+    Coordinate coordinate = tile.coordinate();
+    int[][] versions = regionVersions();
+    int regionY = coordinate.y / REGION_SIZE;
+    int regionX = coordinate.x / REGION_SIZE;
+    if (regionY >= 0 && regionY < versions.length && regionX >= 0 && regionX < versions[0].length)
+      versions[regionY][regionX]++;
+  }
+
+  @Override
+  public int regionVersion(int regionX, int regionY) {
+    int[][] versions = regionVersions();
+    if (regionY < 0 || regionY >= versions.length || regionX < 0 || regionX >= versions[0].length)
+      return 0;
+    return versions[regionY][regionX];
+  }
+
+  private int[][] regionVersions() {
+    if (regionVersions == null) {
+      int width = layout.length == 0 ? 0 : layout[0].length;
+      regionVersions =
+          new int[(layout.length + REGION_SIZE - 1) / REGION_SIZE]
+              [(width + REGION_SIZE - 1) / REGION_SIZE];
+    }
+    return regionVersions;
   }
 
   @Override
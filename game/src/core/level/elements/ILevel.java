@@ -1,14 +1,13 @@
 package core.level.elements;
 
 import com.badlogic.gdx.ai.pfa.Connection;
-import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
 import com.badlogic.gdx.ai.pfa.GraphPath;
-import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
 import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
 import com.badlogic.gdx.utils.Array;
 import core.Entity;
 import core.components.PositionComponent;
 import core.level.Tile;
+import core.level.elements.astar.PathfindingService;
 import core.level.elements.astar.TileHeuristic;
 import core.level.elements.tile.*;
 import core.level.utils.Coordinate;
@@ -33,12 +32,31 @@ import java.util.function.Function;
  * <p>Also provides the API for the LibGDX Pathfinding.
  *
  * @see core.level.TileLevel
+ * @see core.level.CompactTileLevel
  */
 public interface ILevel extends IndexedGraph<Tile> {
 
   /** Default random number generator (seeded with current time). */
   Random RANDOM = new Random();
 
+  /**
+   * Width and height (in tiles) of the square regions used by {@link #regionVersion(int, int)}.
+   */
+  int REGION_SIZE = 16;
+
+  /**
+   * Get the random number generator of this level.
+   *
+   * <p>All random choices of the level (e.g., {@link #randomStart()}, {@link #randomEnd()}, and
+   * {@link #randomTile(LevelElement)}) use this generator. Levels with a seeded generator make the
+   * same choices in each run.
+   *
+   * @return The random number generator of this level; {@link #RANDOM} by default.
+   */
+  default Random random() {
+    return RANDOM;
+  }
+
   /**
    * Marks a random tile as the start of the level.
    *
@@ -73,7 +91,7 @@ public interface ILevel extends IndexedGraph<Tile> {
       return;
     }
     int startTileIndex = floorTiles.indexOf((FloorTile) startTile());
-    int index = RANDOM.nextInt(floorTiles.size() - 1);
+    int index = random().nextInt(floorTiles.size() - 1);
     changeTileElementType(
         floorTiles.get(index < startTileIndex ? index : index + 1), LevelElement.EXIT);
   }
@@ -245,6 +263,9 @@ public interface ILevel extends IndexedGraph<Tile> {
    * and design label. The new tile is then added back to the level at the same coordinates as the
    * original tile.
    *
+   * <p>The textures of the eight neighbours depend on the type of the tile, so they are chosen
+   * again as well. The rest of the level is not touched.
+   *
    * @param tile The tile to be changed.
    * @param changeInto The LevelElement to change the tile into.
    */
@@ -265,6 +286,44 @@ public interface ILevel extends IndexedGraph<Tile> {
     newTile.tintColor(tile.tintColor());
     newTile.visible(tile.visible());
     level.addTile(newTile);
+
+    Coordinate coordinate = tile.coordinate();
+    for (int y = coordinate.y - 1; y <= coordinate.y + 1; y++) {
+      for (int x = coordinate.x - 1; x <= coordinate.x + 1; x++) {
+        Tile neighbour = level.tileAt(new Coordinate(x, y));
+        if (neighbour != null && neighbour != newTile)
+          neighbour.texturePath(TileTextureFactory.findTexturePath(neighbour, level.layout()));
+      }
+    }
+  }
+
+  /**
+   * Inform the level that the appearance of the given tile has changed.
+   *
+   * <p>This is called by {@link Tile} if its texture, visibility, tint, or type changes, and if a
+   * tile is added to the level. Levels that support change tracking should increase the version
+   * of the region that contains the tile (see {@link #regionVersion(int, int)}).
+   *
+   * @param tile The changed tile.
+   */
+  default void tileChanged(final Tile tile) {}
+
+  /**
+   * Get the version of a region of the layout.
+   *
+   * <p>The layout is divided into squares of {@link #REGION_SIZE} x {@link #REGION_SIZE} tiles. The
+   * version of a region changes each time a tile in it changes (see {@link #tileChanged(Tile)}),
+   * so anything derived from the tiles of a region (e.g., the cached drawing of the level) only
+   * needs to be rebuilt if the version has changed.
+   *
+   * <p>The default implementation does not track changes and always returns 0.
+   *
+   * @param regionX x-index of the region (tile x-coordinate divided by {@link #REGION_SIZE}).
+   * @param regionY y-index of the region (tile y-coordinate divided by {@link #REGION_SIZE}).
+   * @return The current version of the region.
+   */
+  default int regionVersion(int regionX, int regionY) {
+    return 0;
   }
 
   /**
@@ -280,7 +339,7 @@ public interface ILevel extends IndexedGraph<Tile> {
   default Optional<Tile> randomTile(final LevelElement elementType) {
     Function<List<? extends Tile>, Optional<Tile>> returnVal =
         (list) ->
-            Optional.ofNullable(list.isEmpty() ? null : list.get(RANDOM.nextInt(list.size())));
+            Optional.ofNullable(list.isEmpty() ? null : list.get(random().nextInt(list.size())));
 
     return returnVal.apply(
         switch (elementType) {
@@ -342,9 +401,23 @@ public interface ILevel extends IndexedGraph<Tile> {
       throw new IllegalArgumentException(
           "Cannot calculate path because the end point is non-accessible.");
 
-    GraphPath<Tile> path = new DefaultGraphPath<>();
-    new IndexedAStarPathFinder<>(this).searchNodePath(start, end, tileHeuristic(), path);
-    return path;
+    return pathfinding().findPath(start, end);
+  }
+
+  /**
+   * Get the pathfinding service of this level.
+   *
+   * <p>The service reuses the A* state between queries, caches recent paths, and offers a shared
+   * flow field for goals that many entities walk to (e.g., the hero).
+   *
+   * <p>The default implementation creates a new service for each call, so nothing is reused or
+   * cached between the queries. Levels should override it, store their own service, and {@link
+   * PathfindingService#invalidate() invalidate} it if the connections between their tiles change.
+   *
+   * @return The pathfinding service of this level.
+   */
+  default PathfindingService pathfinding() {
+    return new PathfindingService(this);
   }
 
   @Override
@@ -449,7 +522,7 @@ public interface ILevel extends IndexedGraph<Tile> {
    * @return A randomly selected tile from the level.
    */
   default Tile randomTile() {
-    return layout()[RANDOM.nextInt(layout().length)][RANDOM.nextInt(layout()[0].length)];
+    return layout()[random().nextInt(layout().length)][random().nextInt(layout()[0].length)];
   }
 
   /**
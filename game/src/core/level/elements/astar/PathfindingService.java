@@ -0,0 +1,299 @@
+package core.level.elements.astar;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.utils.Coordinate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pathfinding for one level.
+ *
+ * <p>The service reuses one {@link IndexedAStarPathFinder} for all queries, so the node records of
+ * the finder are only allocated again if the number of nodes in the level changes. The results of
+ * the last {@link #CACHE_SIZE} queries are cached, so repeated queries with the same start and goal
+ * do not run A* again.
+ *
+ * <p>For goals that many entities walk to (e.g., the hero), use {@link #flowPath(Tile, Tile)}. The
+ * service computes the distance of the tiles around the goal once (a flow field) and every path to
+ * the same goal just follows the field. The field only reaches {@link #FLOW_FIELD_RANGE} around the
+ * goal, so moving the goal does not cost a search over the whole level.
+ *
+ * <p>Callers that query paths regularly (e.g., an AI in every frame) should pass their own path to
+ * {@link #findPath(Tile, Tile, GraphPath)} and {@link #flowPath(Tile, Tile, GraphPath)}, so the
+ * path is filled again instead of allocated for each query.
+ *
+ * <p>The cache key packs the coordinates of the start and the goal into 16 bits each. Queries with
+ * a coordinate outside of 0 to 65535 (i.e., levels with a dimension of 65536 or more) are not
+ * cached.
+ *
+ * <p>The level has to call {@link #invalidate()} if the connections between the tiles change; this
+ * clears the cache and the flow field.
+ *
+ * @see ILevel#findPath(Tile, Tile)
+ */
+public final class PathfindingService {
+  /** Maximum number of cached paths. */
+  public static final int CACHE_SIZE = 256;
+
+  /** Maximum path cost from the goal up to which the flow field is computed. */
+  public static final float FLOW_FIELD_RANGE = 32f;
+
+  private static final int MAX_COORDINATE = 0xFFFF;
+
+  private final ILevel level;
+  private final Map<Long, GraphPath<Tile>> cache =
+      new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, GraphPath<Tile>> eldest) {
+          if (size() <= CACHE_SIZE) return false;
+          // reuse the evicted path for the next query that is not cached
+          spare = eldest.getValue();
+          return true;
+        }
+      };
+  private GraphPath<Tile> spare;
+  private IndexedAStarPathFinder<Tile> finder;
+  private int finderNodeCount = -1;
+
+  // flow field: costs to the goal and the next tile on the way to the goal, indexed by tile index
+  private Tile flowGoal;
+  private float[] flowCosts = new float[0];
+  private Tile[] flowNext = new Tile[0];
+  private Tile[] flowNodes = new Tile[0];
+  // indices of the tiles in the flow field, so only these are reset for the next goal
+  private int[] flowReached = new int[0];
+  private int flowReachedCount = 0;
+  // open list of the flow field search: binary min-heap of the packed cost and tile index
+  private long[] flowOpen = new long[0];
+  private int flowOpenCount = 0;
+
+  /**
+   * Create a new pathfinding service.
+   *
+   * @param level Level to find the paths in.
+   */
+  public PathfindingService(final ILevel level) {
+    this.level = level;
+  }
+
+  /**
+   * Find the path between the given tiles using A*.
+   *
+   * <p>If the same path was requested before and the connections of the level did not change
+   * since, the cached result is returned.
+   *
+   * @param start The starting tile for pathfinding.
+   * @param end The destination tile for pathfinding.
+   * @return The path from the start to the end tile (a new instance, the caller can change it), or
+   *     an empty path if the end is not reachable.
+   */
+  public GraphPath<Tile> findPath(final Tile start, final Tile end) {
+    return findPath(start, end, new DefaultGraphPath<>());
+  }
+
+  /**
+   * Find the path between the given tiles using A* and store it in the given path.
+   *
+   * <p>Like {@link #findPath(Tile, Tile)}, but the given path is cleared and filled, so a caller
+   * can reuse one path for all of its queries.
+   *
+   * @param start The starting tile for pathfinding.
+   * @param end The destination tile for pathfinding.
+   * @param path Path to store the result in; its previous content is removed.
+   * @return The given path, or an empty path if the end is not reachable.
+   */
+  public GraphPath<Tile> findPath(final Tile start, final Tile end, final GraphPath<Tile> path) {
+    path.clear();
+    if (!fits(start.coordinate()) || !fits(end.coordinate())) {
+      // the coordinates do not fit into the cache key
+      finder().searchNodePath(start, end, level.tileHeuristic(), path);
+      return path;
+    }
+    long key = key(start, end);
+    GraphPath<Tile> cached = cache.get(key);
+    if (cached == null) {
+      cached = spare != null ? spare : new DefaultGraphPath<>();
+      spare = null;
+      cached.clear();
+      finder().searchNodePath(start, end, level.tileHeuristic(), cached);
+      cache.put(key, cached);
+    }
+    for (int i = 0; i < cached.getCount(); i++) path.add(cached.get(i));
+    return path;
+  }
+
+  /**
+   * Find the path between the given tiles using the flow field to the given goal.
+   *
+   * <p>The flow field is computed once for each goal and is shared by all queries to the same goal,
+   * so each query only follows the field from the start tile. The field is computed again if the
+   * goal changes or the connections of the level change. It only covers the tiles up to {@link
+   * #FLOW_FIELD_RANGE} from the goal; the paths of tiles further away are found with {@link
+   * #findPath(Tile, Tile)}. The result is a shortest path in both cases.
+   *
+   * @param start The starting tile for pathfinding.
+   * @param goal The destination tile for pathfinding.
+   * @return The path from the start to the goal, or an empty path if the goal is not reachable.
+   */
+  public GraphPath<Tile> flowPath(final Tile start, final Tile goal) {
+    return flowPath(start, goal, new DefaultGraphPath<>());
+  }
+
+  /**
+   * Find the path between the given tiles using the flow field to the given goal and store it in
+   * the given path.
+   *
+   * <p>Like {@link #flowPath(Tile, Tile)}, but the given path is cleared and filled, so a caller
+   * can reuse one path for all of its queries.
+   *
+   * @param start The starting tile for pathfinding.
+   * @param goal The destination tile for pathfinding.
+   * @param path Path to store the result in; its previous content is removed.
+   * @return The given path, or an empty path if the goal is not reachable.
+   */
+  public GraphPath<Tile> flowPath(final Tile start, final Tile goal, final GraphPath<Tile> path) {
+    if (goal != flowGoal) computeFlowField(goal);
+    path.clear();
+    int index = start.index();
+    if (index < 0 || index >= flowCosts.length) return path;
+    if (flowCosts[index] == Float.POSITIVE_INFINITY) return findPath(start, goal, path);
+    Tile current = start;
+    path.add(current);
+    while (current != goal) {
+      current = flowNext[current.index()];
+      path.add(current);
+    }
+    return path;
+  }
+
+  /**
+   * Clear the cached paths and the flow field.
+   *
+   * <p>Needs to be called if the connections between the tiles of the level change.
+   */
+  public void invalidate() {
+    cache.clear();
+    flowGoal = null;
+  }
+
+  private IndexedAStarPathFinder<Tile> finder() {
+    if (finder == null || finderNodeCount != level.getNodeCount()) {
+      finder = new IndexedAStarPathFinder<>(level);
+      finderNodeCount = level.getNodeCount();
+    }
+    return finder;
+  }
+
+  // Dijkstra from the goal up to the range; the connections between tiles are symmetric
+  private void computeFlowField(final Tile goal) {
+    int nodeCount = level.getNodeCount();
+    if (flowCosts.length != nodeCount) {
+      flowCosts = new float[nodeCount];
+      flowNext = new Tile[nodeCount];
+      flowNodes = new Tile[nodeCount];
+      flowReached = new int[nodeCount];
+      flowOpen = new long[Math.max(16, nodeCount)];
+      Arrays.fill(flowCosts, Float.POSITIVE_INFINITY);
+    } else {
+      clearFlowField();
+    }
+    flowReachedCount = 0;
+    flowGoal = goal;
+    if (goal.index() < 0 || goal.index() >= nodeCount) return;
+
+    // cost (as sortable int bits) in the upper half, tile index in the lower half
+    flowOpenCount = 0;
+    reach(goal, 0, null);
+    push(goal.index());
+    while (flowOpenCount > 0) {
+      long entry = poll();
+      int index = (int) entry;
+      float cost = Float.intBitsToFloat((int) (entry >>> 32));
+      if (cost > flowCosts[index]) continue;
+      Tile tile = flowNodes[index];
+      for (Connection<Tile> connection : level.getConnections(tile)) {
+        Tile neighbour = connection.getToNode();
+        int neighbourIndex = neighbour.index();
+        float neighbourCost = cost + connection.getCost();
+        if (neighbourIndex < 0
+            || neighbourIndex >= nodeCount
+            || neighbourCost > FLOW_FIELD_RANGE
+            || neighbourCost >= flowCosts[neighbourIndex]) continue;
+        reach(neighbour, neighbourCost, tile);
+        push(((long) Float.floatToIntBits(neighbourCost) << 32) | neighbourIndex);
+      }
+    }
+  }
+
+  // adds an entry to the open heap
+  private void push(long entry) {
+    if (flowOpenCount == flowOpen.length)
+      flowOpen = Arrays.copyOf(flowOpen, Math.max(16, flowOpen.length * 2));
+    int i = flowOpenCount++;
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (flowOpen[parent] <= entry) break;
+      flowOpen[i] = flowOpen[parent];
+      i = parent;
+    }
+    flowOpen[i] = entry;
+  }
+
+  // removes and returns the smallest entry of the open heap
+  private long poll() {
+    long result = flowOpen[0];
+    long last = flowOpen[--flowOpenCount];
+    int i = 0;
+    int half = flowOpenCount >>> 1;
+    while (i < half) {
+      int child = 2 * i + 1;
+      if (child + 1 < flowOpenCount && flowOpen[child + 1] < flowOpen[child]) child++;
+      if (last <= flowOpen[child]) break;
+      flowOpen[i] = flowOpen[child];
+      i = child;
+    }
+    flowOpen[i] = last;
+    return result;
+  }
+
+  private void reach(final Tile tile, float cost, final Tile next) {
+    int index = tile.index();
+    if (flowCosts[index] == Float.POSITIVE_INFINITY) flowReached[flowReachedCount++] = index;
+    flowCosts[index] = cost;
+    flowNext[index] = next;
+    flowNodes[index] = tile;
+  }
+
+  private void clearFlowField() {
+    for (int i = 0; i < flowReachedCount; i++) {
+      int index = flowReached[i];
+      flowCosts[index] = Float.POSITIVE_INFINITY;
+      flowNext[index] = null;
+      flowNodes[index] = null;
+    }
+    flowReachedCount = 0;
+  }
+
+  // packs both coordinates into 16 bits each, see fits
+  private static long key(final Tile start, final Tile end) {
+    Coordinate from = start.coordinate();
+    Coordinate to = end.coordinate();
+    return ((long) (from.x & 0xFFFF) << 48)
+        | ((long) (from.y & 0xFFFF) << 32)
+        | ((long) (to.x & 0xFFFF) << 16)
+        | (to.y & 0xFFFF);
+  }
+
+  private static boolean fits(final Coordinate coordinate) {
+    return coordinate.x >= 0
+        && coordinate.x <= MAX_COORDINATE
+        && coordinate.y >= 0
+        && coordinate.y <= MAX_COORDINATE;
+  }
+}
@@ -57,6 +57,7 @@ public class DoorTile extends Tile {
    */
   public void otherDoor(DoorTile otherDoor) {
     this.otherDoor = otherDoor;
+    changed();
   }
 
   /**
@@ -91,6 +92,7 @@ public class DoorTile extends Tile {
    */
   public void open() {
     open = true;
+    changed();
   }
 
   /**
@@ -100,6 +102,7 @@ public class DoorTile extends Tile {
    */
   public void close() {
     open = false;
+    changed();
   }
 
   /**
@@ -111,6 +114,17 @@ public class DoorTile extends Tile {
     return open;
   }
 
+  @Override
+  protected void changed() {
+    super.changed();
+    // the texture of the other door depends on the state of this door
+    if (otherDoor != null) otherDoor.tileChanged();
+  }
+
+  private void tileChanged() {
+    super.changed();
+  }
+
   @Override
   public IPath texturePath() {
     if (open && (otherDoor == null || otherDoor.isOpen())) return texturePath;
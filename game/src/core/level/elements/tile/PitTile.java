@@ -1,6 +1,5 @@
 package core.level.elements.tile;
 
-import core.Game;
 import core.level.Tile;
 import core.level.TileLevel;
 import core.level.utils.Coordinate;
@@ -46,8 +45,10 @@ public class PitTile extends Tile {
    */
   public void open() {
     this.open = true;
+    changed();
 
-    ((TileLevel) Game.currentLevel()).removeFromPathfinding(this);
+    // other levels update their pathfinding in tileChanged
+    if (level instanceof TileLevel tileLevel) tileLevel.removeFromPathfinding(this);
   }
 
   /**
@@ -61,8 +62,9 @@ public class PitTile extends Tile {
     }
 
     this.open = false;
+    changed();
 
-    ((TileLevel) Game.currentLevel()).addToPathfinding(this);
+    if (level instanceof TileLevel tileLevel) tileLevel.addToPathfinding(this);
   }
 
   /**
@@ -88,6 +90,7 @@ public class PitTile extends Tile {
       this.open();
     }
     this.timeToOpen = time;
+    changed();
   }
 
   /**
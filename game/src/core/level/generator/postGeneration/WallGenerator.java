@@ -6,6 +6,7 @@ import core.level.generator.IGenerator;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
+import java.util.Random;
 
 /**
  * Generator to generate Walls and Holes on a pre-generated level layout Works on every layout with
@@ -19,6 +20,7 @@ import core.level.utils.LevelSize;
  */
 public class WallGenerator implements IGenerator {
   private final IGenerator preGenerator;
+  private final Random random;
   private LevelElement[][] layout;
 
   /**
@@ -28,13 +30,28 @@ public class WallGenerator implements IGenerator {
    */
   public WallGenerator(IGenerator precedingGenerator) {
     this.preGenerator = precedingGenerator;
+    this.random = new Random();
+  }
+
+  /**
+   * Constructs a new WallGenerator using the layout from the passed IGenerator.
+   *
+   * <p>The seed is used for the random choices of the generated levels (e.g., the start tile). To
+   * generate the same levels in each run, the passed generator needs to be seeded as well.
+   *
+   * @param precedingGenerator generator used to generate layout beforehand
+   * @param seed seed for the random choices of the generated levels
+   */
+  public WallGenerator(IGenerator precedingGenerator, long seed) {
+    this.preGenerator = precedingGenerator;
+    this.random = new Random(seed);
   }
 
   @Override
   public ILevel level(DesignLabel designLabel, LevelSize size) {
     runPreGeneration(size);
     placeWalls();
-    return new TileLevel(layout, designLabel);
+    return new TileLevel(layout, designLabel, random.nextLong());
   }
 
   @Override
@@ -9,9 +9,12 @@ import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 import java.util.Random;
 
-/** Generates levels using random walk algorithm. */
+/**
+ * Generates levels using random walk algorithm.
+ *
+ * <p>Create the generator with a seed to generate the same sequence of levels in each run.
+ */
 public class RandomWalkGenerator implements IGenerator {
-  private static final Random RANDOM = new Random();
   private static final int SMALL_MIN_X_SIZE = 10;
   private static final int SMALL_MIN_Y_SIZE = 10;
   private static final int SMALL_MAX_X_SIZE = 30;
@@ -26,10 +29,28 @@ public class RandomWalkGenerator implements IGenerator {
   private static final int BIG_MAX_Y_SIZE = 300;
   private static final int MIN_STEPS_FACTOR = 4;
   private static final int MAX_STEPS_FACTOR = 2;
+  private final Random random;
+
+  /** Create a new generator with a random seed. */
+  public RandomWalkGenerator() {
+    this.random = new Random();
+  }
+
+  /**
+   * Create a new generator with the given seed.
+   *
+   * <p>Generators with the same seed generate the same levels if they are called in the same order
+   * with the same configuration.
+   *
+   * @param seed Seed for the random walk.
+   */
+  public RandomWalkGenerator(long seed) {
+    this.random = new Random(seed);
+  }
 
   @Override
   public ILevel level(DesignLabel designLabel, LevelSize size) {
-    return new TileLevel(layout(size), designLabel);
+    return new TileLevel(layout(size), designLabel, random.nextLong());
   }
 
   /**
@@ -56,8 +77,8 @@ public class RandomWalkGenerator implements IGenerator {
   }
 
   private LevelElement[][] drunkWalk(MinMaxValue minMaxValueX, MinMaxValue minMaxValueY) {
-    int xSize = RANDOM.nextInt(minMaxValueX.min(), minMaxValueX.max());
-    int ySize = RANDOM.nextInt(minMaxValueY.min(), minMaxValueY.max());
+    int xSize = random.nextInt(minMaxValueX.min(), minMaxValueX.max());
+    int ySize = random.nextInt(minMaxValueY.min(), minMaxValueY.max());
     LevelElement[][] layout = new LevelElement[ySize][xSize];
     for (int y = 0; y < ySize; y++) {
       for (int x = 0; x < xSize; x++) {
@@ -65,20 +86,20 @@ public class RandomWalkGenerator implements IGenerator {
       }
     }
 
-    Coordinate position = new Coordinate(RANDOM.nextInt(0, xSize), RANDOM.nextInt(0, ySize));
+    Coordinate position = new Coordinate(random.nextInt(0, xSize), random.nextInt(0, ySize));
     int steps =
-        RANDOM.nextInt((xSize * ySize) / MIN_STEPS_FACTOR, (xSize * ySize) / MAX_STEPS_FACTOR);
+        random.nextInt((xSize * ySize) / MIN_STEPS_FACTOR, (xSize * ySize) / MAX_STEPS_FACTOR);
     for (; steps > 0; steps--) {
       layout[position.y][position.x] = LevelElement.FLOOR;
 
-      if (RANDOM.nextBoolean()) {
-        if (RANDOM.nextBoolean()) {
+      if (random.nextBoolean()) {
+        if (random.nextBoolean()) {
           position.x = Math.min(position.x + 1, xSize - 1);
         } else {
           position.x = Math.max(position.x - 1, 0);
         }
       } else {
-        if (RANDOM.nextBoolean()) {
+        if (random.nextBoolean()) {
           position.y = Math.min(position.y + 1, ySize - 1);
         } else {
           position.y = Math.max(position.y - 1, 0);
@@ -5,8 +5,10 @@ import com.badlogic.gdx.ai.pfa.GraphPath;
 import core.Entity;
 import core.Game;
 import core.components.PositionComponent;
+import core.game.ECSManagment;
 import core.level.Tile;
 import core.level.elements.tile.DoorTile;
+import core.systems.PositionSystem;
 import core.utils.Point;
 import core.utils.Tuple;
 import core.utils.components.MissingComponentException;
@@ -39,11 +41,11 @@ public final class LevelUtils {
   /**
    * Finds the path from the given coordinate to another given coordinate.
    *
-   * <p>Throws an IllegalArgumentException if the tile at the start or end is non-accessible.
+   * <p>If the tile at the start or end is non-accessible, the path is empty.
    *
    * @param from The start coordinate.
    * @param to The end coordinate.
-   * @return Path from the start coordinate to the end coordinate.
+   * @return Path from the start coordinate to the end coordinate, or an empty path.
    */
   public static GraphPath<Tile> calculatePath(final Coordinate from, final Coordinate to) {
     Tile fromTile = Game.tileAT(from);
@@ -120,16 +122,51 @@ public final class LevelUtils {
    * <p>If no hero exists in the game, the path will be calculated from the given entity to the
    * given entity.
    *
-   * <p>Throws an IllegalArgumentException if one of the entities position is non-accessible.
+   * <p>The path is taken from the shared flow field to the hero (see {@link
+   * core.level.elements.astar.PathfindingService#flowPath(Tile, Tile)}), so chasing entities do
+   * not run their own A* search.
+   *
+   * <p>If the position of the entity or the hero is not an accessible tile, or the hero cannot be
+   * reached, the path is empty (like the path of {@link #calculatePath(Coordinate, Coordinate)}).
    *
    * @param entity Entity from which the path to the hero is calculated.
    * @return Path from the entity to the hero, if there is no hero, the path from the entity to
-   *     itself.
+   *     itself. An empty path if there is no path.
    */
   public static GraphPath<Tile> calculatePathToHero(final Entity entity) {
+    return calculatePathToHero(entity, new DefaultGraphPath<>());
+  }
+
+  /**
+   * Finds the path from the position of one entity to the position of the hero and stores it in
+   * the given path.
+   *
+   * <p>Like {@link #calculatePathToHero(Entity)}, but the given path is cleared and filled, so an
+   * entity that chases the hero in every frame can reuse one path.
+   *
+   * @param entity Entity from which the path to the hero is calculated.
+   * @param path Path to store the result in; its previous content is removed.
+   * @return The given path.
+   */
+  public static GraphPath<Tile> calculatePathToHero(
+      final Entity entity, final GraphPath<Tile> path) {
+    path.clear();
     Optional<Entity> hero = Game.hero();
-    if (hero.isPresent()) return calculatePath(entity, hero.get());
-    else return calculatePath(entity, entity);
+    Entity target = hero.orElse(entity);
+    Tile fromTile = Game.tileAT(positionOf(entity).toCoordinate());
+    Tile heroTile = Game.tileAT(positionOf(target).toCoordinate());
+    if (fromTile == null || !fromTile.isAccessible()) return path;
+    if (heroTile == null || !heroTile.isAccessible()) return path;
+    if (hero.isEmpty()) return Game.currentLevel().pathfinding().findPath(fromTile, heroTile, path);
+    // all entities chasing the hero share the flow field to the hero
+    return Game.currentLevel().pathfinding().flowPath(fromTile, heroTile, path);
+  }
+
+  private static Point positionOf(final Entity entity) {
+    return entity
+        .fetch(PositionComponent.class)
+        .orElseThrow(() -> MissingComponentException.build(entity, PositionComponent.class))
+        .position();
   }
 
   /**
@@ -292,6 +329,30 @@ public final class LevelUtils {
     return Point.inRange(entity1Position, entity2Position, range);
   }
 
+  /**
+   * Get all entities whose position is in the given range around the given point.
+   *
+   * <p>If a {@link PositionSystem} is registered, only the tiles in the range are checked (see
+   * {@link core.utils.PositionIndex#forEachInRange}); otherwise, each entity with a {@link
+   * PositionComponent} is checked.
+   *
+   * @param center Center of the range.
+   * @param range Radius of the range.
+   * @return List of the entities in the range.
+   */
+  public static List<Entity> entitiesInRange(final Point center, float range) {
+    List<Entity> entities = new ArrayList<>();
+    Optional<PositionSystem> positionSystem = ECSManagment.system(PositionSystem.class);
+    if (positionSystem.isPresent())
+      positionSystem.get().index().forEachInRange(center, range, entities::add);
+    else
+      Game.entityStream(Set.of(PositionComponent.class))
+          .filter(
+              e -> Point.inRange(center, e.fetchOrNull(PositionComponent.class).position(), range))
+          .forEach(entities::add);
+    return entities;
+  }
+
   /**
    * Check if the player is in the given range of an entity.
    *
@@ -371,11 +432,18 @@ public final class LevelUtils {
   /**
    * Checks if the given Tile is accessible and no entity is placed on that tile.
    *
+   * <p>A tile outside of the current level is never free.
+   *
    * @param tile Tile to check.
    * @return True if the Tile is free, false if not
    */
   public static boolean isFreeTile(final Tile tile) {
-    return tile.isAccessible() && Game.entityAtTile(tile).findAny().isEmpty();
+    if (!tile.isAccessible()) return false;
+    Optional<PositionSystem> positionSystem = ECSManagment.system(PositionSystem.class);
+    if (positionSystem.isEmpty()) return Game.entityAtTile(tile).findAny().isEmpty();
+    Coordinate coordinate = tile.coordinate();
+    if (Game.tileAT(coordinate) == null) return false;
+    return positionSystem.get().index().isEmpty(coordinate.x, coordinate.y);
   }
 
   /**
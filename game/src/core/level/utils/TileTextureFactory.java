@@ -58,21 +58,31 @@ public class TileTextureFactory {
   /**
    * Checks which texture must be used for the passed tile based on the surrounding tiles.
    *
+   * <p>The texture only depends on the eight neighbours of the tile, so only this 3x3
+   * neighbourhood of the layout is read. The costs do not depend on the size of the level.
+   *
    * @param element Tile to check for
    * @param layout The level
    * @param elementType The type ot the tile if different than the attribute
    * @return Path to texture
    */
   public static IPath findTexturePath(Tile element, Tile[][] layout, LevelElement elementType) {
-    LevelElement[][] elementLayout = new LevelElement[layout.length][layout[0].length];
-    for (int x = 0; x < layout[0].length; x++) {
-      for (int y = 0; y < layout.length; y++) {
-        elementLayout[y][x] = layout[y][x].levelElement();
+    Coordinate coordinate = element.coordinate();
+    // clip the neighbourhood at the border of the level, like the layout itself
+    int minX = Math.max(0, coordinate.x - 1);
+    int minY = Math.max(0, coordinate.y - 1);
+    int maxX = Math.min(layout[0].length - 1, coordinate.x + 1);
+    int maxY = Math.min(layout.length - 1, coordinate.y + 1);
+    LevelElement[][] neighbourhood = new LevelElement[maxY - minY + 1][maxX - minX + 1];
+    for (int y = minY; y <= maxY; y++) {
+      for (int x = minX; x <= maxX; x++) {
+        neighbourhood[y - minY][x - minX] = layout[y][x].levelElement();
       }
     }
-    elementLayout[element.coordinate().y][element.coordinate().x] = elementType;
+    Coordinate position = new Coordinate(coordinate.x - minX, coordinate.y - minY);
+    neighbourhood[position.y][position.x] = elementType;
     return findTexturePath(
-        new LevelPart(elementType, element.designLabel(), elementLayout, element.coordinate()));
+        new LevelPart(elementType, element.designLabel(), neighbourhood, position));
   }
 
   /**
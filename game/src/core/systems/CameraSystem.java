@@ -2,8 +2,6 @@ package core.systems;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.math.collision.BoundingBox;
 import core.Entity;
 import core.Game;
 import core.System;
@@ -62,10 +60,24 @@ public final class CameraSystem extends System {
    */
   public static boolean isPointInFrustum(float x, float y) {
     final float OFFSET = 1f;
-    BoundingBox bounds =
-        new BoundingBox(
-            new Vector3(x - OFFSET, y - OFFSET, 0), new Vector3(x + OFFSET, y + OFFSET, 0));
-    return CAMERA.frustum.boundsInFrustum(bounds);
+    // center and half extents, so no bounding box needs to be allocated for each check
+    return CAMERA.frustum.boundsInFrustum(x, y, 0, OFFSET, OFFSET, 0);
+  }
+
+  /**
+   * Checks if the area with the given lower left corner and size is probably visible on screen.
+   *
+   * @param x x-coordinate of the lower left corner of the area.
+   * @param y y-coordinate of the lower left corner of the area.
+   * @param width Width of the area.
+   * @param height Height of the area.
+   * @return true if a part of the area may be visible on screen, false if not.
+   */
+  public static boolean isAreaInFrustum(float x, float y, float width, float height) {
+    float halfWidth = width / 2;
+    float halfHeight = height / 2;
+    return CAMERA.frustum.boundsInFrustum(
+        x + halfWidth, y + halfHeight, 0, halfWidth, halfHeight, 0);
   }
 
   /**
@@ -1,20 +1,17 @@
 package core.systems;
 
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import core.Entity;
 import core.Game;
 import core.System;
 import core.components.DrawComponent;
 import core.components.PlayerComponent;
 import core.components.PositionComponent;
 import core.level.Tile;
-import core.utils.components.MissingComponentException;
 import core.utils.components.draw.Animation;
 import core.utils.components.draw.Painter;
 import core.utils.components.draw.PainterConfig;
 import core.utils.components.path.IPath;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * This system draws the entities on the screen.
@@ -47,6 +44,9 @@ public final class DrawSystem extends System {
   private static final Painter PAINTER = new Painter(BATCH);
 
   private final Map<IPath, PainterConfig> configs;
+  // the components of the players, reused every frame to draw the players after the other entities
+  private final List<DrawComponent> playerDrawComponents = new ArrayList<>();
+  private final List<PositionComponent> playerPositionComponents = new ArrayList<>();
 
   /** Create a new DrawSystem. */
   public DrawSystem() {
@@ -77,19 +77,34 @@ public final class DrawSystem extends System {
    *
    * <p>All entities with a {@link PlayerComponent} will be drawn on top.
    *
+   * <p>The entities are submitted to the {@link Painter} in one pass and flushed once: first the
+   * other entities, then the players, each in the order of the entities, so overlapping sprites
+   * keep their order.
+   *
    * @see DrawComponent
    * @see Animation
    */
   @Override
   public void execute() {
-    Map<Boolean, List<Entity>> partitionedEntities =
-        filteredEntityStream(DrawComponent.class, PositionComponent.class)
-            .collect(Collectors.partitioningBy(entity -> entity.isPresent(PlayerComponent.class)));
-    List<Entity> players = partitionedEntities.get(true);
-    List<Entity> npcs = partitionedEntities.get(false);
-
-    npcs.stream().filter(this::shouldDraw).forEach(entity -> draw(buildDataObject(entity)));
-    players.forEach(entity -> draw(buildDataObject(entity)));
+    forEachEntity(
+        view -> {
+          DrawComponent dc = view.fetch(DrawComponent.class);
+          PositionComponent pc = view.fetch(PositionComponent.class);
+          if (view.entity().isPresent(PlayerComponent.class)) {
+            playerDrawComponents.add(dc);
+            playerPositionComponents.add(pc);
+          } else if (shouldDraw(dc, pc)) {
+            draw(dc, pc);
+          }
+        });
+    try {
+      for (int i = 0; i < playerDrawComponents.size(); i++)
+        draw(playerDrawComponents.get(i), playerPositionComponents.get(i));
+    } finally {
+      playerDrawComponents.clear();
+      playerPositionComponents.clear();
+    }
+    PAINTER.flush(false);
   }
 
   /**
@@ -100,43 +115,35 @@ public final class DrawSystem extends System {
    *   <li>The entity itself is visible
    * </ol>
    *
-   * @param entity the entity to check
+   * @param dc the DrawComponent of the entity to check
+   * @param pc the PositionComponent of the entity to check
    * @return true if the entity should be drawn, false otherwise
    * @see DrawComponent#isVisible()
    */
-  private boolean shouldDraw(Entity entity) {
-    PositionComponent pc =
-        entity
-            .fetch(PositionComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(entity, PositionComponent.class));
-
-    if (Game.currentLevel().tileAt(pc.position()) == null) {
+  private boolean shouldDraw(final DrawComponent dc, final PositionComponent pc) {
+    Tile tile = Game.currentLevel().tileAt(pc.position());
+    if (tile == null) {
       return false;
     }
 
-    DrawComponent dc =
-        entity
-            .fetch(DrawComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(entity, DrawComponent.class));
     if (!dc.isVisible()) return false;
 
-    Tile tile = Game.currentLevel().tileAt(pc.position());
     return tile.visible();
   }
 
-  private void draw(final DSData dsd) {
-    reduceFrameTimer(dsd.dc);
-    setNextAnimation(dsd.dc);
-    final Animation animation = dsd.dc.currentAnimation();
+  private void draw(final DrawComponent dc, final PositionComponent pc) {
+    reduceFrameTimer(dc);
+    setNextAnimation(dc);
+    final Animation animation = dc.currentAnimation();
     IPath currentAnimationTexture = animation.nextAnimationTexturePath();
     if (!configs.containsKey(currentAnimationTexture)) {
       configs.put(
           currentAnimationTexture,
-          new PainterConfig(currentAnimationTexture, 0, 0, dsd.dc.tintColor()));
+          new PainterConfig(currentAnimationTexture, 0, 0, dc.tintColor()));
     }
     PainterConfig conf = this.configs.get(currentAnimationTexture);
-    conf.tintColor(dsd.dc.tintColor());
-    PAINTER.draw(dsd.pc.position(), currentAnimationTexture, conf);
+    conf.tintColor(dc.tintColor());
+    PAINTER.draw(pc.position(), currentAnimationTexture, conf);
   }
 
   /**
@@ -184,18 +191,4 @@ public final class DrawSystem extends System {
   public void stop() {
     run = true;
   }
-
-  private DSData buildDataObject(final Entity entity) {
-    DrawComponent dc =
-        entity
-            .fetch(DrawComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(entity, DrawComponent.class));
-    PositionComponent pc =
-        entity
-            .fetch(PositionComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(entity, PositionComponent.class));
-    return new DSData(entity, dc, pc);
-  }
-
-  private record DSData(Entity e, DrawComponent dc, PositionComponent pc) {}
 }
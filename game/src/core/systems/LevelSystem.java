@@ -11,15 +11,16 @@ import core.level.Tile;
 import core.level.elements.ILevel;
 import core.level.elements.tile.DoorTile;
 import core.level.elements.tile.ExitTile;
-import core.level.elements.tile.PitTile;
 import core.level.generator.IGenerator;
 import core.level.utils.*;
 import core.utils.IVoidFunction;
 import core.utils.components.MissingComponentException;
+import core.utils.components.draw.LevelChunkCache;
 import core.utils.components.draw.Painter;
-import core.utils.components.draw.PainterConfig;
-import core.utils.components.path.IPath;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 /**
@@ -31,9 +32,14 @@ import java.util.logging.Logger;
  * of the entities managed by this system is positioned on the end tile of the level. If so, the
  * next level will be loaded.
  *
+ * <p>The tiles are drawn with a {@link LevelChunkCache}, so only the visible parts of the level are
+ * drawn, and only the parts of the level that changed get rebuilt.
+ *
  * <p>The system uses the configured {@link IGenerator} to generate levels in the configured {@link
  * LevelSize}. Use {@link #generator(IGenerator)} to change the used level generator. Use {@link
- * #levelSize(LevelSize)} to set the size of the next levels that get loaded.
+ * #levelSize(LevelSize)} to set the size of the next levels that get loaded. Use {@link
+ * #pregenerate(boolean)} to generate the next level in the background while the current level is
+ * played.
  *
  * <p>If a new level is loaded, the system will trigger the onLevelLoad callback given in the
  * constructor of this system.
@@ -67,6 +73,11 @@ public final class LevelSystem extends System {
   private final Logger levelAPI_logger = Logger.getLogger(this.getClass().getSimpleName());
   private IVoidFunction onEndTile;
   private IGenerator generator;
+  // held while a generator creates a level, so no generator is used by two threads at once
+  private final Object generatorLock = new Object();
+  private LevelChunkCache chunkCache;
+  private boolean pregenerate = false;
+  private NextLevel nextLevel;
 
   /**
    * Create a new {@link LevelSystem}.
@@ -75,7 +86,8 @@ public final class LevelSystem extends System {
    * DesignLabel)} if you want to trigger the load of a level manually; otherwise, the first level
    * will be loaded if this system's {@link #execute()} is executed.
    *
-   * @param painter The {@link Painter} to use to draw the level.
+   * @param painter The {@link Painter} to use to draw the level. Can be null if the level should not
+   *     be drawn (e.g., in the {@link core.game.HeadlessLoop}).
    * @param generator Level generator to use to generate the level.
    * @param onLevelLoad Callback function that is called if a new level was loaded.
    */
@@ -136,9 +148,10 @@ public final class LevelSystem extends System {
    * @param label The wanted design of the new level.
    */
   public void loadLevel(final LevelSize size, final DesignLabel label) {
-    currentLevel = generator.level(label, size);
+    currentLevel = generate(size, label);
     onLevelLoad.execute();
     levelAPI_logger.info("A new level was loaded.");
+    if (pregenerate) pregenerateNextLevel();
   }
 
   /**
@@ -157,10 +170,15 @@ public final class LevelSystem extends System {
    *
    * <p>Will trigger the onLevelLoad callback.
    *
+   * <p>If a level of the given size was pre-generated (see {@link #pregenerate(boolean)}), it will
+   * be used.
+   *
    * @param size Wanted size of the level.
    */
   public void loadLevel(final LevelSize size) {
-    loadLevel(size, DesignLabel.randomDesign());
+    NextLevel next = nextLevel;
+    boolean pregenerated = next != null && next.size() == size;
+    loadLevel(size, pregenerated ? next.label() : DesignLabel.randomDesign());
   }
 
   /**
@@ -169,43 +187,82 @@ public final class LevelSystem extends System {
    * <p>Will trigger the onLevelLoad callback.
    */
   public void loadLevel() {
-    loadLevel(levelSize(), DesignLabel.randomDesign());
+    loadLevel(levelSize());
   }
 
-  private void drawLevel() {
-    Map<IPath, PainterConfig> mapping = new HashMap<>();
-
-    Tile[][] layout = currentLevel.layout();
-    for (Tile[] tiles : layout) {
-      for (int x = 0; x < layout[0].length; x++) {
-        Tile t = tiles[x];
-        if (t.levelElement() != LevelElement.SKIP && !isTilePitAndOpen(t) && t.visible()) {
-          IPath texturePath = t.texturePath();
-          if (!mapping.containsKey(texturePath)
-              || (mapping.get(texturePath).tintColor() != t.tintColor())) {
-            mapping.put(
-                texturePath, new PainterConfig(texturePath, X_OFFSET, Y_OFFSET, t.tintColor()));
-          }
-          painter.draw(t.position(), texturePath, mapping.get(texturePath));
-        }
-      }
-    }
+  /**
+   * Enable or disable the pre-generation of the next level.
+   *
+   * <p>If enabled, each time a level was generated, the next level is generated in the background
+   * with the configured {@link #levelSize()} and a random design. If the next level that is loaded
+   * with {@link #loadLevel(LevelSize, DesignLabel)} (or one of the other methods that use the
+   * generator) has the same size and design, the pre-generated level is used, so the level change
+   * does not need to wait for the generator.
+   *
+   * <p>A pre-generated level that does not match the loaded configuration is discarded; if its
+   * generation has not started yet, it is cancelled. The generator is never used by two threads at
+   * the same time, so a level change waits for a pre-generation that is already running. The
+   * generation runs outside the game loop, so the generator must not access the game state (e.g.,
+   * add entities).
+   *
+   * @param enable True to enable the pre-generation, false to disable it.
+   */
+  public void pregenerate(boolean enable) {
+    pregenerate = enable;
   }
 
   /**
-   * Checks if the provided tile is an instance of PitTile and if it's open.
+   * Get the generated level for the given configuration.
    *
-   * @param tile The tile to check.
-   * @return true if the tile is an instance of PitTile, and it's open, false otherwise.
+   * <p>Uses the pre-generated level if it matches the configuration, otherwise the generator.
+   *
+   * @param size The wanted size of the level.
+   * @param label The wanted design of the level.
+   * @return The generated level.
    */
-  private boolean isTilePitAndOpen(final Tile tile) {
-    if (tile instanceof PitTile) {
-      return ((PitTile) tile).isOpen();
-    } else {
-      return false;
+  private ILevel generate(final LevelSize size, final DesignLabel label) {
+    NextLevel next = nextLevel;
+    nextLevel = null;
+    if (next != null) {
+      if (next.generator() == generator && next.size() == size && next.label() == label) {
+        try {
+          return next.level().join();
+        } catch (CompletionException | CancellationException e) {
+          levelAPI_logger.warning("The pre-generation of the next level failed: " + e.getMessage());
+        }
+      } else {
+        // not needed; a generation that already runs holds the lock until it is done
+        next.level().cancel(false);
+      }
+    }
+    synchronized (generatorLock) {
+      return generator.level(label, size);
     }
   }
 
+  private void pregenerateNextLevel() {
+    IGenerator nextGenerator = generator;
+    LevelSize size = levelSize;
+    DesignLabel label = DesignLabel.randomDesign();
+    nextLevel =
+        new NextLevel(
+            nextGenerator,
+            size,
+            label,
+            CompletableFuture.supplyAsync(
+                () -> {
+                  synchronized (generatorLock) {
+                    return nextGenerator.level(label, size);
+                  }
+                }));
+  }
+
+  private void drawLevel() {
+    if (chunkCache == null || chunkCache.level() != currentLevel)
+      chunkCache = new LevelChunkCache(currentLevel, X_OFFSET, Y_OFFSET);
+    chunkCache.draw(painter);
+  }
+
   /**
    * Get the currently used level generator.
    *
@@ -265,6 +322,8 @@ public final class LevelSystem extends System {
   }
 
   private void playSound() {
+    // no audio in headless mode
+    if (Gdx.audio == null) return;
     Sound doorSound = Gdx.audio.newSound(Gdx.files.internal(SOUND_EFFECT));
     long soundId = doorSound.play();
     doorSound.setLooping(soundId, false);
@@ -276,7 +335,7 @@ public final class LevelSystem extends System {
    *
    * <p>Will load a new level if no level exists or one of the managed entities are on the end tile.
    *
-   * <p>Will draw the level.
+   * <p>Will draw the level, if this system has a {@link Painter}.
    */
   @Override
   public void execute() {
@@ -295,7 +354,7 @@ public final class LevelSystem extends System {
                           playSound();
                         });
               });
-    drawLevel();
+    if (painter != null) drawLevel();
   }
 
   /**
@@ -321,4 +380,8 @@ public final class LevelSystem extends System {
   public void stop() {
     run = true;
   }
+
+  /** A level that is generated in the background, with the configuration it is generated for. */
+  private record NextLevel(
+      IGenerator generator, LevelSize size, DesignLabel label, CompletableFuture<ILevel> level) {}
 }
@@ -5,6 +5,7 @@ import core.Game;
 import core.System;
 import core.components.PositionComponent;
 import core.utils.Point;
+import core.utils.PositionIndex;
 import core.utils.components.MissingComponentException;
 import java.util.NoSuchElementException;
 
@@ -17,15 +18,35 @@ import java.util.NoSuchElementException;
  * <p>If the position of an entity is equal to {@link PositionComponent#ILLEGAL_POSITION}, the
  * position of the entity will be set to a random accessible tile in the current level.
  *
+ * <p>The system also maintains a {@link PositionIndex} of the entities on each tile; see {@link
+ * #index()}.
+ *
  * <p>Note: In most cases, the position of an entity equals {@link
  * PositionComponent#ILLEGAL_POSITION} during the first frame of the currently active level. This
  * occurs because sometimes entities are created before the level is loaded.
  */
 public final class PositionSystem extends System {
 
+  private final PositionIndex index = new PositionIndex();
+
   /** Create a new PositionSystem. */
   public PositionSystem() {
     super(PositionComponent.class);
+    onEntityAdd = entity -> index.add(entity, entity.fetchOrNull(PositionComponent.class));
+    onEntityRemove = index::remove;
+    // the position component may have been replaced
+    onEntityChange = onEntityAdd;
+  }
+
+  /**
+   * Get the index of the entities on each tile.
+   *
+   * <p>The index contains each entity of the active level that is processed by this system.
+   *
+   * @return The position index of this system.
+   */
+  public PositionIndex index() {
+    return index;
   }
 
   @Override
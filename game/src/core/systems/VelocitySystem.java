@@ -11,7 +11,6 @@ import core.components.VelocityComponent;
 import core.level.Tile;
 import core.level.utils.LevelElement;
 import core.utils.Point;
-import core.utils.components.MissingComponentException;
 import core.utils.components.draw.CoreAnimationPriorities;
 import core.utils.components.draw.CoreAnimations;
 
@@ -43,72 +42,95 @@ public final class VelocitySystem extends System {
   // default time an Animation should be enqueued
   private static final int DEFAULT_FRAME_TIME = 1;
 
+  // time per execution in seconds, 0 means use the frame time of libGDX
+  private float fixedDeltaTime = 0;
+
   /** Create a new VelocitySystem. */
   public VelocitySystem() {
     super(VelocityComponent.class, PositionComponent.class, DrawComponent.class);
   }
 
+  /**
+   * Set a fixed time step for the movement.
+   *
+   * <p>By default, the velocity is scaled by the frame time of libGDX. With a fixed time step, the
+   * velocity is scaled by the given time instead, so the movement does not depend on the real time
+   * (e.g., in the {@link core.game.HeadlessLoop}).
+   *
+   * @param seconds Time per execution in seconds, 0 to use the frame time of libGDX again.
+   */
+  public void fixedDeltaTime(float seconds) {
+    if (seconds < 0) throw new IllegalArgumentException("The time step can not be negative.");
+    this.fixedDeltaTime = seconds;
+  }
+
   /** Updates the position of all entities based on their velocity. */
   @Override
   public void execute() {
-    filteredEntityStream(VelocityComponent.class, PositionComponent.class, DrawComponent.class)
-        .map(this::buildDataObject)
-        .forEach(this::updatePosition);
+    forEachEntity(
+        view ->
+            updatePosition(
+                view.entity(),
+                view.fetch(VelocityComponent.class),
+                view.fetch(PositionComponent.class),
+                view.fetch(DrawComponent.class)));
   }
 
-  private void updatePosition(VSData vsd) {
-    Vector2 velocity = new Vector2(vsd.vc.currentXVelocity(), vsd.vc.currentYVelocity());
-    float maxSpeed = Math.max(Math.abs(vsd.vc.xVelocity()), Math.abs(vsd.vc.yVelocity()));
+  private void updatePosition(
+      Entity entity, VelocityComponent vc, PositionComponent pc, DrawComponent dc) {
+    Vector2 velocity = new Vector2(vc.currentXVelocity(), vc.currentYVelocity());
+    float maxSpeed = Math.max(Math.abs(vc.xVelocity()), Math.abs(vc.yVelocity()));
     // Limit velocity to maxSpeed (primarily for diagonal movement)
     if (velocity.len() > maxSpeed) {
       velocity.nor();
       velocity.scl(maxSpeed);
     }
-    if (Gdx.graphics != null) {
+    if (fixedDeltaTime > 0) {
+      velocity.scl(fixedDeltaTime);
+    } else if (Gdx.graphics != null) {
       velocity.scl(Gdx.graphics.getDeltaTime());
     }
 
-    float newX = vsd.pc.position().x + velocity.x;
-    float newY = vsd.pc.position().y + velocity.y;
+    float newX = pc.position().x + velocity.x;
+    float newY = pc.position().y + velocity.y;
     boolean hitWall = false;
-    boolean canEnterOpenPits =
-        vsd.e.fetch(VelocityComponent.class).map(VelocityComponent::canEnterOpenPits).orElse(false);
+    boolean canEnterOpenPits = vc.canEnterOpenPits();
     try {
       if (this.isAccessible(Game.tileAT(new Point(newX, newY)), canEnterOpenPits)) {
         // no change in direction
-        vsd.pc.position(new Point(newX, newY));
-        this.movementAnimation(vsd);
+        pc.position(new Point(newX, newY));
+        this.movementAnimation(vc, dc);
       } else if (this.isAccessible(
-          Game.tileAT(new Point(newX, vsd.pc.position().y)), canEnterOpenPits)) {
+          Game.tileAT(new Point(newX, pc.position().y)), canEnterOpenPits)) {
         // redirect not moving along y
         hitWall = true;
-        vsd.pc.position(new Point(newX, vsd.pc.position().y));
-        this.movementAnimation(vsd);
-        vsd.vc.currentYVelocity(0.0f);
+        pc.position(new Point(newX, pc.position().y));
+        this.movementAnimation(vc, dc);
+        vc.currentYVelocity(0.0f);
       } else if (this.isAccessible(
-          Game.tileAT(new Point(vsd.pc.position().x, newY)), canEnterOpenPits)) {
+          Game.tileAT(new Point(pc.position().x, newY)), canEnterOpenPits)) {
         // redirect not moving along x
         hitWall = true;
-        vsd.pc.position(new Point(vsd.pc.position().x, newY));
-        this.movementAnimation(vsd);
-        vsd.vc.currentXVelocity(0.0f);
+        pc.position(new Point(pc.position().x, newY));
+        this.movementAnimation(vc, dc);
+        vc.currentXVelocity(0.0f);
       } else {
         hitWall = true;
       }
 
-      if (hitWall) vsd.vc.onWallHit().accept(vsd.e);
+      if (hitWall) vc.onWallHit().accept(entity);
 
-      float friction = Game.tileAT(vsd.pc.position()).friction();
-      float newVX = vsd.vc.currentXVelocity() * (Math.min(1.0f, 1.0f - friction));
+      float friction = Game.tileAT(pc.position()).friction();
+      float newVX = vc.currentXVelocity() * (Math.min(1.0f, 1.0f - friction));
       if (Math.abs(newVX) < 0.01f) newVX = 0.0f;
-      float newVY = vsd.vc.currentYVelocity() * (Math.min(1.0f, 1.0f - friction));
+      float newVY = vc.currentYVelocity() * (Math.min(1.0f, 1.0f - friction));
       if (Math.abs(newVY) < 0.01f) newVY = 0.0f;
 
-      vsd.vc.currentYVelocity(newVY);
-      vsd.vc.currentXVelocity(newVX);
+      vc.currentYVelocity(newVY);
+      vc.currentXVelocity(newVX);
     } catch (NullPointerException e) {
       // for some reason the entity is out of bound
-      vsd.pc().position(PositionComponent.ILLEGAL_POSITION);
+      pc.position(PositionComponent.ILLEGAL_POSITION);
       LOGGER.warning("Entity " + e + " is out of bound");
     }
   }
@@ -126,43 +148,43 @@ public final class VelocitySystem extends System {
         || (canEnterPitTiles && tile.levelElement().equals(LevelElement.PIT));
   }
 
-  private void movementAnimation(VSData vsd) {
-    float x = vsd.vc.currentXVelocity();
-    float y = vsd.vc.currentYVelocity();
+  private void movementAnimation(VelocityComponent vc, DrawComponent dc) {
+    float x = vc.currentXVelocity();
+    float y = vc.currentYVelocity();
 
     // move
     if (x != 0 || y != 0) {
-      vsd.dc.deQueueByPriority(CoreAnimationPriorities.RUN.priority());
-      if (x > 0) vsd.dc.queueAnimation(CoreAnimations.RUN_RIGHT, CoreAnimations.RUN);
-      else if (x < 0) vsd.dc.queueAnimation(CoreAnimations.RUN_LEFT, CoreAnimations.RUN);
-      else if (y > 0) vsd.dc.queueAnimation(CoreAnimations.RUN_UP, CoreAnimations.RUN);
-      else if (y < 0) vsd.dc.queueAnimation(CoreAnimations.RUN_DOWN, CoreAnimations.RUN);
-      vsd.vc.previousXVelocity(x);
-      vsd.vc.previousYVelocity(y);
-
-      vsd.dc.deQueueByPriority(CoreAnimationPriorities.IDLE.priority());
+      dc.deQueueByPriority(CoreAnimationPriorities.RUN.priority());
+      if (x > 0) dc.queueAnimation(CoreAnimations.RUN_RIGHT, CoreAnimations.RUN);
+      else if (x < 0) dc.queueAnimation(CoreAnimations.RUN_LEFT, CoreAnimations.RUN);
+      else if (y > 0) dc.queueAnimation(CoreAnimations.RUN_UP, CoreAnimations.RUN);
+      else if (y < 0) dc.queueAnimation(CoreAnimations.RUN_DOWN, CoreAnimations.RUN);
+      vc.previousXVelocity(x);
+      vc.previousYVelocity(y);
+
+      dc.deQueueByPriority(CoreAnimationPriorities.IDLE.priority());
     }
     // idle
     else {
       // each drawComponent has an idle animation, so no check is needed
-      if (vsd.vc.previousXVelocity() < 0)
-        vsd.dc.queueAnimation(
+      if (vc.previousXVelocity() < 0)
+        dc.queueAnimation(
             DEFAULT_FRAME_TIME,
             CoreAnimations.IDLE_LEFT,
             CoreAnimations.IDLE,
             CoreAnimations.IDLE_RIGHT,
             CoreAnimations.IDLE_DOWN,
             CoreAnimations.IDLE_UP);
-      else if (vsd.vc.previousXVelocity() > 0)
-        vsd.dc.queueAnimation(
+      else if (vc.previousXVelocity() > 0)
+        dc.queueAnimation(
             DEFAULT_FRAME_TIME,
             CoreAnimations.IDLE_RIGHT,
             CoreAnimations.IDLE,
             CoreAnimations.IDLE_LEFT,
             CoreAnimations.IDLE_DOWN,
             CoreAnimations.IDLE_UP);
-      else if (vsd.vc.previousYVelocity() > 0)
-        vsd.dc.queueAnimation(
+      else if (vc.previousYVelocity() > 0)
+        dc.queueAnimation(
             DEFAULT_FRAME_TIME,
             CoreAnimations.IDLE_UP,
             CoreAnimations.IDLE,
@@ -170,7 +192,7 @@ public final class VelocitySystem extends System {
             CoreAnimations.IDLE_LEFT,
             CoreAnimations.IDLE_RIGHT);
       else
-        vsd.dc.queueAnimation(
+        dc.queueAnimation(
             DEFAULT_FRAME_TIME,
             CoreAnimations.IDLE_DOWN,
             CoreAnimations.IDLE,
@@ -179,22 +201,4 @@ public final class VelocitySystem extends System {
             CoreAnimations.IDLE_RIGHT);
     }
   }
-
-  private VSData buildDataObject(Entity e) {
-    VelocityComponent vc =
-        e.fetch(VelocityComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(e, VelocityComponent.class));
-
-    PositionComponent pc =
-        e.fetch(PositionComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(e, PositionComponent.class));
-
-    DrawComponent dc =
-        e.fetch(DrawComponent.class)
-            .orElseThrow(() -> MissingComponentException.build(e, DrawComponent.class));
-
-    return new VSData(e, vc, pc, dc);
-  }
-
-  private record VSData(Entity e, VelocityComponent vc, PositionComponent pc, DrawComponent dc) {}
 }
@@ -0,0 +1,165 @@
+package core.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands items from any thread to a background thread that writes them in batches.
+ *
+ * <p>{@link #offer(Object)} and {@link #put(Object)} put the items into a bounded queue. The writer
+ * thread takes the items from the queue, up to the maximum batch size at once, and passes them to
+ * the {@link Sink}. After {@link #close()}, the writer thread passes the remaining items to the
+ * sink, closes the sink, and ends.
+ *
+ * <p>The sink is only called on the writer thread, so it does not have to be thread-safe. It has
+ * to handle its own errors; an exception thrown by the sink ends the writer thread.
+ *
+ * @param <T> Type of the items.
+ */
+public final class BatchWriter<T> implements AutoCloseable {
+  private static final long POLL_INTERVAL_MS = 200;
+
+  /**
+   * Writes the batches of a {@link BatchWriter}.
+   *
+   * @param <T> Type of the items.
+   */
+  public interface Sink<T> {
+    /**
+     * Write the given items.
+     *
+     * @param batch Items in the order they were added; not empty.
+     */
+    void write(List<T> batch);
+
+    /** Called once after the last batch was written. */
+    void close();
+  }
+
+  private final BlockingQueue<T> queue;
+  private final int maxBatchSize;
+  private final Sink<T> sink;
+  private final Thread writer;
+  private final AtomicLong submitted = new AtomicLong();
+  private final Object writtenLock = new Object();
+  private long written;
+  private volatile boolean closed;
+
+  /**
+   * Create a new writer and start its writer thread.
+   *
+   * @param threadName Name of the writer thread.
+   * @param capacity Number of items that can wait for the writer thread.
+   * @param maxBatchSize Maximum number of items passed to the sink at once.
+   * @param sink Sink that writes the items.
+   */
+  public BatchWriter(
+      final String threadName, int capacity, int maxBatchSize, final Sink<T> sink) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.maxBatchSize = maxBatchSize;
+    this.sink = sink;
+    this.writer = new Thread(this::run, threadName);
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Add the given item if there is space in the queue.
+   *
+   * @param item Item to write.
+   * @return true if the item will be written, false if the writer is closed or the queue is full.
+   */
+  public boolean offer(final T item) {
+    submitted.incrementAndGet();
+    if (!closed && queue.offer(item)) return true;
+    submitted.decrementAndGet();
+    return false;
+  }
+
+  /**
+   * Add the given item, and wait for space in the queue if necessary.
+   *
+   * @param item Item to write.
+   * @return true if the item will be written, false if the writer is closed.
+   * @throws InterruptedException If the current thread is interrupted while waiting.
+   */
+  public boolean put(final T item) throws InterruptedException {
+    if (closed) return false;
+    submitted.incrementAndGet();
+    try {
+      queue.put(item);
+    } catch (InterruptedException e) {
+      submitted.decrementAndGet();
+      throw e;
+    }
+    return true;
+  }
+
+  /**
+   * Wait until all items that were added before are written.
+   *
+   * @throws InterruptedException If the current thread is interrupted while waiting.
+   */
+  public void flush() throws InterruptedException {
+    long target = submitted.get();
+    synchronized (writtenLock) {
+      while (written < target && writer.isAlive()) writtenLock.wait(POLL_INTERVAL_MS);
+    }
+  }
+
+  /**
+   * Check if the writer is closed.
+   *
+   * @return true if {@link #close()} was called.
+   */
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Write the remaining items, close the sink, and wait for the writer thread to end.
+   *
+   * <p>Items added afterward are rejected.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    List<T> batch = new ArrayList<>(maxBatchSize);
+    while (true) {
+      T first;
+      try {
+        first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        first = null;
+      }
+      if (first == null) {
+        if (closed && queue.isEmpty()) break;
+        continue;
+      }
+      batch.add(first);
+      queue.drainTo(batch, maxBatchSize - 1);
+      sink.write(batch);
+      synchronized (writtenLock) {
+        written += batch.size();
+        writtenLock.notifyAll();
+      }
+      batch.clear();
+    }
+    sink.close();
+    synchronized (writtenLock) {
+      writtenLock.notifyAll();
+    }
+  }
+}
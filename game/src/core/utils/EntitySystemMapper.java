@@ -3,8 +3,14 @@ package core.utils;
 import core.Component;
 import core.Entity;
 import core.System;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 /**
@@ -31,14 +37,30 @@ import java.util.stream.Stream;
  *
  * <p>You can query the stored entities as a stream using {@link #stream()}.
  *
+ * <p>The entities are stored column-based: one dense array holds the entities and one dense array
+ * per filter component holds the matching components, so row {@code i} of each column belongs to
+ * the entity in row {@code i}. Use {@link #forEach(Consumer)} to iterate over the rows with a
+ * reusable {@link View} without allocating a stream, an {@link java.util.Optional} or a data object
+ * per entity. Entities that are removed while iterating are skipped and the arrays are compacted
+ * after the iteration.
+ *
  * <p>The {@link #equals(Object)} and {@link #equals(Set)} methods return true if the filter rules
  * are identical.
  */
 public final class EntitySystemMapper {
 
+  private static final int INITIAL_CAPACITY = 16;
+
   private final Set<Class<? extends Component>> filterRules;
-  private final Set<Entity> entities;
+  private final Class<? extends Component>[] columnTypes;
+  private final Map<Entity, Integer> rows = new HashMap<>();
   private final Set<System> systems;
+  private final View view = new View();
+  private Entity[] entities = new Entity[INITIAL_CAPACITY];
+  private Component[][] columns;
+  private int size = 0;
+  private int iterating = 0;
+  private boolean compactionNeeded = false;
 
   /**
    * Creates a new EntitySystemMapper with the given filter rules.
@@ -46,17 +68,17 @@ public final class EntitySystemMapper {
    * @param filterRules The Set of Component classes that define the filter rules for the
    *     EntitySystemMapper.
    */
+  @SuppressWarnings("unchecked")
   public EntitySystemMapper(final Set<Class<? extends Component>> filterRules) {
     this.filterRules = filterRules;
-    entities = new HashSet<>();
+    columnTypes = filterRules.toArray(new Class[0]);
+    columns = new Component[columnTypes.length][INITIAL_CAPACITY];
     systems = new HashSet<>();
   }
 
   /** Creates a new EntitySystemMapper with no filter rules. */
   public EntitySystemMapper() {
-    filterRules = new HashSet<>();
-    entities = new HashSet<>();
-    systems = new HashSet<>();
+    this(new HashSet<>());
   }
 
   /**
@@ -73,7 +95,7 @@ public final class EntitySystemMapper {
    */
   public boolean add(final System system) {
     if (systems.add(system)) {
-      entities.forEach(system::triggerOnAdd);
+      stream().forEach(system::triggerOnAdd);
       return true;
     }
     return false;
@@ -93,7 +115,7 @@ public final class EntitySystemMapper {
    */
   public boolean remove(final System system) {
     if (systems.remove(system)) {
-      entities.forEach(system::triggerOnRemove);
+      stream().forEach(system::triggerOnRemove);
       return true;
     }
     return false;
@@ -112,8 +134,12 @@ public final class EntitySystemMapper {
    *     does not fulfill the filter rules.
    */
   public boolean add(final Entity entity) {
-    if (!entities.contains(entity) && accept(entity)) {
-      entities.add(entity);
+    if (!rows.containsKey(entity) && accept(entity)) {
+      if (size == entities.length) grow();
+      entities[size] = entity;
+      rows.put(entity, size);
+      fillColumns(size);
+      size++;
       systems.forEach(system -> system.triggerOnAdd(entity));
       return true;
     }
@@ -132,8 +158,9 @@ public final class EntitySystemMapper {
    *     EntitySystemMapper and no removal was performed.
    */
   public boolean remove(final Entity entity) {
-    if (entities.contains(entity)) {
-      entities.remove(entity);
+    Integer row = rows.remove(entity);
+    if (row != null) {
+      removeRow(row);
       systems.forEach(system -> system.triggerOnRemove(entity));
       return true;
     }
@@ -146,22 +173,86 @@ public final class EntitySystemMapper {
    * <p>The method checks if the given Entity fulfills the filter rules defined in the
    * EntitySystemMapper. If the Entity fulfills the filter rules and is not already present in the
    * EntitySystemMapper, it will be added. If the Entity does not fulfill the filter rules and is
-   * currently present in the EntitySystemMapper, it will be removed.
+   * currently present in the EntitySystemMapper, it will be removed. If the Entity is already
+   * present, its row will be refreshed, in case a component was replaced by a new instance of the
+   * same class, and {@link System#triggerOnChange(Entity)} is called for each associated System.
    *
    * @param entity The Entity to update in the EntitySystemMapper.
    */
   public void update(final Entity entity) {
-    if (accept(entity)) add(entity);
-    else remove(entity);
+    if (accept(entity)) {
+      Integer row = rows.get(entity);
+      if (row != null) {
+        fillColumns(row);
+        systems.forEach(system -> system.triggerOnChange(entity));
+      } else add(entity);
+    } else remove(entity);
   }
 
   /**
    * Returns a Stream of the Entities in the EntitySystemMapper.
    *
+   * <p>The stream works on a copy of the stored entities, so it is safe to add or remove entities
+   * while processing the stream.
+   *
    * @return A Stream of Entities currently present in the EntitySystemMapper.
    */
   public Stream<Entity> stream() {
-    return new HashSet<>(entities).stream();
+    return Arrays.stream(Arrays.copyOf(entities, size)).filter(Objects::nonNull);
+  }
+
+  /**
+   * Executes the given action for each Entity in the EntitySystemMapper.
+   *
+   * <p>The action receives a {@link View} on the current row. The view is reused for each row and
+   * must not be stored. Entities that are added during the iteration will not be visited, entities
+   * that are removed during the iteration will be skipped.
+   *
+   * @param action The action to execute for each row.
+   */
+  public void forEach(final Consumer<View> action) {
+    // nested iterations over the same mapper need their own cursor
+    View cursor = iterating == 0 ? view : new View();
+    int end = size;
+    iterating++;
+    try {
+      for (int row = 0; row < end; row++) {
+        if (entities[row] == null) continue;
+        cursor.row = row;
+        action.accept(cursor);
+      }
+    } finally {
+      iterating--;
+      if (iterating == 0 && compactionNeeded) compact();
+    }
+  }
+
+  /**
+   * Checks if the given Entity is present in the EntitySystemMapper.
+   *
+   * @param entity The Entity to check for presence in the EntitySystemMapper.
+   * @return true if the Entity is present in the EntitySystemMapper, false otherwise.
+   */
+  public boolean contains(final Entity entity) {
+    return rows.containsKey(entity);
+  }
+
+  /**
+   * Returns the filter rules of the EntitySystemMapper.
+   *
+   * @return Unmodifiable view of the Component classes that define the filter rules.
+   */
+  public Set<Class<? extends Component>> filterRules() {
+    return Collections.unmodifiableSet(filterRules);
+  }
+
+  /**
+   * Returns the number of Entities in the EntitySystemMapper.
+   *
+   * @return The number of Entities currently present in the EntitySystemMapper.
+   */
+  public int size() {
+    return rows.size();
   }
 
   /**
@@ -196,6 +287,11 @@ public final class EntitySystemMapper {
     return o.equals(filterRules);
   }
 
+  @Override
+  public int hashCode() {
+    return filterRules.hashCode();
+  }
+
   /**
    * Check if the given entity has all the components needed to be processed by this mapper.
    *
@@ -219,4 +315,107 @@ public final class EntitySystemMapper {
   public boolean has(final System system) {
     return systems.contains(system);
   }
+
+  /**
+   * Copy the filter components of the entity in the given row into the columns.
+   *
+   * @param row Row of the entity.
+   */
+  private void fillColumns(final int row) {
+    Entity entity = entities[row];
+    for (int column = 0; column < columnTypes.length; column++)
+      columns[column][row] = entity.fetchOrNull(columnTypes[column]);
+  }
+
+  /**
+   * Remove the given row.
+   *
+   * <p>If no iteration is running, the last row is moved into the gap. Otherwise, the row is only
+   * cleared so that running iterations keep their order; the arrays are compacted after the last
+   * iteration has finished.
+   *
+   * @param row Row to remove.
+   */
+  private void removeRow(final int row) {
+    if (iterating > 0) {
+      entities[row] = null;
+      for (Component[] column : columns) column[row] = null;
+      compactionNeeded = true;
+      return;
+    }
+    int last = size - 1;
+    if (row != last) {
+      entities[row] = entities[last];
+      for (Component[] column : columns) column[row] = column[last];
+      rows.put(entities[row], row);
+    }
+    entities[last] = null;
+    for (Component[] column : columns) column[last] = null;
+    size--;
+  }
+
+  /** Remove all cleared rows, keeping the order of the remaining rows. */
+  private void compact() {
+    int target = 0;
+    for (int row = 0; row < size; row++) {
+      if (entities[row] == null) continue;
+      if (row != target) {
+        entities[target] = entities[row];
+        for (Component[] column : columns) column[target] = column[row];
+        rows.put(entities[target], target);
+      }
+      target++;
+    }
+    for (int row = target; row < size; row++) {
+      entities[row] = null;
+      for (Component[] column : columns) column[row] = null;
+    }
+    size = target;
+    compactionNeeded = false;
+  }
+
+  /** Double the capacity of the entity array and all columns. */
+  private void grow() {
+    int capacity = entities.length * 2;
+    entities = Arrays.copyOf(entities, capacity);
+    for (int column = 0; column < columns.length; column++)
+      columns[column] = Arrays.copyOf(columns[column], capacity);
+  }
+
+  /**
+   * A cursor on one row of an {@link EntitySystemMapper}.
+   *
+   * <p>The view is handed to the action of {@link #forEach(Consumer)} and points to the current
+   * row. Components of the filter rules are read from the columns; they are never null.
+   */
+  public final class View {
+    private int row;
+
+    private View() {}
+
+    /**
+     * Get the entity of the current row.
+     *
+     * @return The entity of the current row.
+     */
+    public Entity entity() {
+      return entities[row];
+    }
+
+    /**
+     * Get the component of the given class of the current row.
+     *
+     * <p>If the class is part of the filter rules, the component is read from its column.
+     * Otherwise, it is looked up on the entity and can be null.
+     *
+     * @param klass Class of the component.
+     * @param <T> The type of the (given and returned) component.
+     * @return The component of the given class, or null if the entity does not store one.
+     */
+    public <T extends Component> T fetch(final Class<T> klass) {
+      for (int column = 0; column < columnTypes.length; column++)
+        if (columnTypes[column] == klass) return klass.cast(columns[column][row]);
+      return entities[row].fetchOrNull(klass);
+    }
+  }
 }
@@ -0,0 +1,64 @@
+package core.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 hashes, e.g., for content-addressed file names and cache keys.
+ *
+ * <p>Every Java platform has to support SHA-256, so the methods do not throw a checked exception.
+ */
+public final class Hashing {
+
+  private Hashing() {}
+
+  /**
+   * Create a new SHA-256 digest, e.g., to hash data that is read in parts.
+   *
+   * @return A new SHA-256 digest.
+   */
+  public static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform has to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Get the SHA-256 hash of the given data as lowercase hex string.
+   *
+   * @param data Data to hash.
+   * @return The hash as 64 hex digits.
+   */
+  public static String sha256Hex(final byte[] data) {
+    return hex(sha256().digest(data));
+  }
+
+  /**
+   * Get the SHA-256 hash of the UTF-8 bytes of the given text as lowercase hex string.
+   *
+   * @param text Text to hash.
+   * @return The hash as 64 hex digits.
+   */
+  public static String sha256Hex(final String text) {
+    return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Finish the given digest and get its hash as lowercase hex string.
+   *
+   * @param digest Digest to finish; it is reset afterward.
+   * @return The hash as hex digits, two per byte of the hash.
+   */
+  public static String hex(final MessageDigest digest) {
+    return hex(digest.digest());
+  }
+
+  private static String hex(final byte[] hash) {
+    return HexFormat.of().formatHex(hash);
+  }
+}
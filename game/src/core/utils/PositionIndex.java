@@ -0,0 +1,160 @@
+package core.utils;
+
+import core.Entity;
+import core.components.PositionComponent;
+import core.level.utils.Coordinate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Index from tile coordinates to the entities positioned on these tiles.
+ *
+ * <p>An entity is on the tile with the coordinate {@link Point#toCoordinate()} of its {@link
+ * PositionComponent#position()}. The index is updated each time the position of an indexed {@link
+ * PositionComponent} changes, so looking up the entities on a tile does not need to check every
+ * entity in the game.
+ *
+ * <p>The index is maintained by the {@link core.systems.PositionSystem}, which adds and removes the
+ * entities of the active level.
+ *
+ * @see core.Game#entityAtTile(core.level.Tile)
+ */
+public final class PositionIndex {
+  private final Map<Long, List<Entity>> tiles = new HashMap<>();
+  private final Map<Entity, Entry> entries = new HashMap<>();
+
+  /**
+   * Add the given entity to the index.
+   *
+   * <p>The index listens to the position changes of the given component until the entity is
+   * removed. If the entity is already indexed with another component (e.g., its position component
+   * was replaced), the index switches to the given component.
+   *
+   * @param entity Entity to add.
+   * @param pc The position component of the entity.
+   */
+  public void add(final Entity entity, final PositionComponent pc) {
+    Entry indexed = entries.get(entity);
+    if (indexed != null && indexed.pc == pc) {
+      update(entity);
+      return;
+    }
+    remove(entity);
+    Entry entry = new Entry(pc, key(pc.position()), () -> update(entity));
+    entries.put(entity, entry);
+    tiles.computeIfAbsent(entry.key, k -> new ArrayList<>(1)).add(entity);
+    pc.addPositionListener(entry.listener);
+  }
+
+  /**
+   * Remove the given entity from the index.
+   *
+   * @param entity Entity to remove.
+   */
+  public void remove(final Entity entity) {
+    Entry entry = entries.remove(entity);
+    if (entry == null) return;
+    entry.pc.removePositionListener(entry.listener);
+    removeFromTile(entity, entry.key);
+  }
+
+  /**
+   * Get the entities on the tile with the given coordinate.
+   *
+   * @param x x-coordinate of the tile.
+   * @param y y-coordinate of the tile.
+   * @return Unmodifiable view of the entities on the tile. Do not add or remove entities to or from
+   *     the game while iterating over it.
+   */
+  public List<Entity> entitiesAt(int x, int y) {
+    List<Entity> entities = tiles.get(key(x, y));
+    return entities == null ? Collections.emptyList() : Collections.unmodifiableList(entities);
+  }
+
+  /**
+   * Check if there is any entity on the tile with the given coordinate.
+   *
+   * @param x x-coordinate of the tile.
+   * @param y y-coordinate of the tile.
+   * @return true if no entity is on the tile, false if not.
+   */
+  public boolean isEmpty(int x, int y) {
+    return !tiles.containsKey(key(x, y));
+  }
+
+  /**
+   * Execute the given action for each entity in the given range around the given point.
+   *
+   * <p>Only the tiles in the range are checked, so the costs depend on the size of the range and
+   * the number of entities in it, not on the number of entities in the game.
+   *
+   * @param center Center of the range.
+   * @param range Radius of the range.
+   * @param action Action to execute for each entity whose position is in the range.
+   */
+  public void forEachInRange(final Point center, float range, final Consumer<Entity> action) {
+    Coordinate min = new Point(center.x - range, center.y - range).toCoordinate();
+    Coordinate max = new Point(center.x + range, center.y + range).toCoordinate();
+    List<Entity> inRange = new ArrayList<>();
+    for (int x = min.x; x <= max.x; x++) {
+      for (int y = min.y; y <= max.y; y++) {
+        for (Entity entity : entitiesAt(x, y)) {
+          if (Point.inRange(center, entries.get(entity).pc.position(), range)) inRange.add(entity);
+        }
+      }
+    }
+    // collected first, so the action can move the entities
+    inRange.forEach(action);
+  }
+
+  /**
+   * Get the number of indexed entities.
+   *
+   * @return The number of entities in the index.
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  private void update(final Entity entity) {
+    Entry entry = entries.get(entity);
+    if (entry == null) return;
+    long key = key(entry.pc.position());
+    if (key == entry.key) return;
+    removeFromTile(entity, entry.key);
+    entry.key = key;
+    tiles.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entity);
+  }
+
+  private void removeFromTile(final Entity entity, long key) {
+    List<Entity> entities = tiles.get(key);
+    if (entities == null) return;
+    entities.remove(entity);
+    if (entities.isEmpty()) tiles.remove(key);
+  }
+
+  private static long key(final Point position) {
+    Coordinate coordinate = position.toCoordinate();
+    return key(coordinate.x, coordinate.y);
+  }
+
+  private static long key(int x, int y) {
+    return ((long) x << 32) | (y & 0xFFFFFFFFL);
+  }
+
+  private static final class Entry {
+    private final PositionComponent pc;
+    private final IVoidFunction listener;
+    private long key;
+
+    private Entry(final PositionComponent pc, long key, final IVoidFunction listener) {
+      this.pc = pc;
+      this.key = key;
+      this.listener = listener;
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package core.utils.components;
+
+import core.Component;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a dense, process-wide index to each {@link Component} class.
+ *
+ * <p>The index is created the first time a component class is seen and never changes afterward. It
+ * allows storing components in plain arrays instead of hash maps, e.g. the component storage of
+ * {@link core.Entity} and the component columns of {@link core.utils.EntitySystemMapper}.
+ */
+public final class ComponentRegistry {
+
+  private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+  private static final ClassValue<Integer> IDS =
+      new ClassValue<>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+          return NEXT_ID.getAndIncrement();
+        }
+      };
+
+  private ComponentRegistry() {}
+
+  /**
+   * Get the index of the given component class.
+   *
+   * @param klass Class of the component.
+   * @return The index of the component class, starting at 0.
+   */
+  public static int id(final Class<? extends Component> klass) {
+    return IDS.get(klass);
+  }
+
+  /**
+   * Get the number of component classes that got an index so far.
+   *
+   * @return The number of registered component classes.
+   */
+  public static int count() {
+    return NEXT_ID.get();
+  }
+}
@@ -57,7 +57,8 @@ public final class Animation {
   private Animation(
       final Collection<IPath> animationFrames, int frameTime, boolean looping, int prio) {
     assert (animationFrames != null && !animationFrames.isEmpty());
-    this.animationFrames = new ArrayList<>(animationFrames);
+    // immutable, so the frames can be shared between animations (see AnimationCache)
+    this.animationFrames = List.copyOf(animationFrames);
     frames = animationFrames.size();
     if (frameTime == 0) {
       throw new IllegalArgumentException(
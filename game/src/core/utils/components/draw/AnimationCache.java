@@ -0,0 +1,276 @@
+package core.utils.components.draw;
+
+import core.components.DrawComponent;
+import core.utils.components.path.IPath;
+import core.utils.components.path.SimpleIPath;
+import core.utils.logging.CustomLogLevel;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide cache of the animation frames in the asset directories.
+ *
+ * <p>The {@link DrawComponent} needs to know which animations (subdirectories) and which frames
+ * (files) exist in the asset directory of an entity. Searching these requires scanning the file
+ * system or the JAR file, so the result is stored here once per asset path and shared between all
+ * {@link DrawComponent}s of the same path. The stored frame lists are immutable; each {@link
+ * DrawComponent} creates its own {@link Animation}s on top of them, which only hold the playback
+ * state.
+ *
+ * <p>Use {@link #frames(IPath)} to get the frames of an asset path. Use {@link #preload(IPath...)}
+ * to scan asset paths in the background, e.g., at startup for the monsters of a level.
+ *
+ * <p>Like the {@link TextureMap}, this class is a singleton. Use {@link #instance()} to get access.
+ *
+ * @see DrawComponent
+ */
+public final class AnimationCache {
+  private static final Logger LOGGER = Logger.getLogger(AnimationCache.class.getSimpleName());
+  private static final AnimationCache INSTANCE = new AnimationCache();
+
+  // asset path -> (animation name -> frames)
+  private final Map<String, Map<String, List<IPath>>> cache = new ConcurrentHashMap<>();
+
+  private AnimationCache() {}
+
+  /**
+   * Get the instance of the AnimationCache.
+   *
+   * @return The only instance of the AnimationCache.
+   */
+  public static AnimationCache instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the animation frames in the given asset directory.
+   *
+   * <p>Each subdirectory of the given path is one animation. The frames of an animation are the
+   * files in the subdirectory, in lexicographic order.
+   *
+   * <p>The directory is only scanned until the frames of the given path are cached. The scan runs
+   * outside the cache, so it does not block the lookups of other paths; if two threads scan the
+   * same path at the same time, the result of the first one is kept.
+   *
+   * @param path Path to the directory in the assets folder (e.g., "character/knight").
+   * @return Immutable map of the animation names (the names of the subdirectories) to the frames of
+   *     the animation, or an empty Optional if the path does not exist.
+   * @throws IOException if the JAR file or the files in the JAR file cannot be read.
+   */
+  public Optional<Map<String, List<IPath>>> frames(final IPath path) throws IOException {
+    Map<String, List<IPath>> frames = cache.get(path.pathString());
+    if (frames != null) return Optional.of(frames);
+    return frames(path, callerClass());
+  }
+
+  /**
+   * Scan the given asset directories in the background.
+   *
+   * <p>Later calls to {@link #frames(IPath)} for these paths will not touch the file system.
+   * Errors are logged and do not stop the preloading of the other paths.
+   *
+   * @param paths Paths to the directories in the assets folder.
+   * @return A future that completes after all given paths are scanned.
+   */
+  public CompletableFuture<Void> preload(final IPath... paths) {
+    List<IPath> toLoad = List.of(paths);
+    // the caller can only be found on the calling thread
+    Class<?> caller = callerClass();
+    return CompletableFuture.runAsync(
+        () ->
+            toLoad.forEach(
+                path -> {
+                  try {
+                    frames(path, caller);
+                  } catch (IOException | RuntimeException e) {
+                    LOGGER.log(CustomLogLevel.ERROR, "Could not preload animations " + path, e);
+                  }
+                }));
+  }
+
+  /** Remove all cached animation frames, so the asset directories are scanned again. */
+  public void clear() {
+    cache.clear();
+  }
+
+  private Optional<Map<String, List<IPath>>> frames(final IPath path, final Class<?> caller)
+      throws IOException {
+    Map<String, List<IPath>> frames = cache.get(path.pathString());
+    if (frames != null) return Optional.of(frames);
+    frames = load(path, caller);
+    if (frames == null) return Optional.empty();
+    Map<String, List<IPath>> previous = cache.putIfAbsent(path.pathString(), frames);
+    return Optional.of(previous != null ? previous : frames);
+  }
+
+  private Map<String, List<IPath>> load(final IPath path, final Class<?> caller)
+      throws IOException {
+    Map<String, List<IPath>> frames = loadAnimationAssets(path, caller);
+    if (frames == null) return null;
+    Map<String, List<IPath>> immutable = new HashMap<>();
+    frames.forEach((name, files) -> immutable.put(name, List.copyOf(files)));
+    return Collections.unmodifiableMap(immutable);
+  }
+
+  /**
+   * Find the class that asked for the animations, i.e., the first class on the stack of the
+   * current thread outside the {@link DrawComponent}, this cache and the JDK.
+   *
+   * @return The calling class, or null if it could not be loaded.
+   */
+  private static Class<?> callerClass() {
+    StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+    for (int i = 1; i < stack.length; i++) {
+      String className = stack[i].getClassName();
+      if (!className.equals(DrawComponent.class.getName())
+          && !className.startsWith(AnimationCache.class.getName())
+          && !className.startsWith("java.")
+          && !className.startsWith("jdk.")) {
+        try {
+          return ClassLoader.getSystemClassLoader().loadClass(className);
+        } catch (ClassNotFoundException e) {
+          LOGGER.warning("Could not load class " + className + " from stacktrace.");
+          return null;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Loading animation assets.
+   *
+   * <p>Checks if the game is running in a JAR or not and will execute the corresponding loading
+   * logic. The JAR is the one that contains the given calling class.
+   *
+   * @param path The path of the animation assets.
+   * @param caller The class that asked for the animations (see {@link #callerClass()}), or null.
+   * @return The frames of each animation, or null if the path does not exist.
+   */
+  private Map<String, List<IPath>> loadAnimationAssets(final IPath path, final Class<?> caller)
+      throws IOException {
+    File jarFile =
+        new File(
+            (caller == null ? getClass() : caller)
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .getPath());
+    if (jarFile.isFile()) return loadAnimationsFromJar(path, jarFile);
+    else return loadAnimationsFromIDE(path);
+  }
+
+  /**
+   * Load the animation assets if the game is running in a JAR.
+   *
+   * <p>This function will create a map of directories ({@link String}) and the files ({@link
+   * LinkedList}) inside these directories. The map will be filled with the directories inside the
+   * given path (e.g., "character/knight").
+   *
+   * @param path Path to the assets.
+   * @param jarFile Path to the JAR files.
+   * @return The frames of each animation.
+   * @throws IOException if the JAR file or the files in the JAR file cannot be read.
+   */
+  private Map<String, List<IPath>> loadAnimationsFromJar(final IPath path, final File jarFile)
+      throws IOException {
+
+    // This will be used to map the directory names (e.g., "idle") and the texture files.
+    HashMap<String, List<IPath>> storage = new HashMap<>();
+
+    try (JarFile jar = new JarFile(jarFile)) {
+      Enumeration<JarEntry> entries = jar.entries(); // gives ALL entries in jar
+
+      // Iterate over each file and directory in the JAR.
+      while (entries.hasMoreElements()) {
+        // example: character/knight/idle_down/idle_down_knight_1.png
+        // but also: character/knight/idle/
+        // and: character/knight/
+        String fileName = entries.nextElement().getName();
+
+        // If the entry starts with the path name (character/knight/idle),
+        // this is true for entries like (character/knight/idle_down/idle_down_knight_1.png) and
+        // (character/knight/idle/).
+        if (fileName.startsWith(path.pathString() + "/")) {
+
+          // Get the index of the last FileSeparator; every character after that separator is
+          // part of the filename.
+          int lastSlashIndex = fileName.lastIndexOf("/");
+
+          // Ignore directories, so we only work with strings like
+          // (character/knight/idle_down/idle_down_knight_1.png).
+          if (lastSlashIndex != fileName.length() - 1) {
+            // Get the index of the second-to-last part of the string.
+            // For example, in "character/knight/idle_down/idle_down_knight_1.png", this would be
+            // the index of the slash in "/idle".
+            int secondLastSlashIndex = fileName.lastIndexOf("/", lastSlashIndex - 1);
+
+            // Get the name of the directory. The directory name is between the
+            // second-to-last and the last separator index.
+            // The directory name serves as the key of the animation in the animation map
+            // (similar to what the IPATh values are for them).
+            // For example: "idle"
+            String lastDir = fileName.substring(secondLastSlashIndex + 1, lastSlashIndex);
+
+            // add animation-files to new or existing storage map
+            storage
+                .computeIfAbsent(lastDir, key -> new LinkedList<>())
+                .add(new SimpleIPath(fileName));
+          }
+        }
+      }
+    }
+
+    // sort the files in lexicographic order (like the most os)
+    // animations will be played in order
+    storage.values().forEach(x -> x.sort(Comparator.comparing(IPath::pathString)));
+    return storage;
+  }
+
+  /**
+   * Load animations if the game is running in the IDE (or over the shell).
+   *
+   * @param path Path to the animations.
+   * @return The frames of each animation, or null if the path does not exist.
+   */
+  private Map<String, List<IPath>> loadAnimationsFromIDE(final IPath path) {
+    URL url = DrawComponent.class.getResource("/" + path.pathString());
+    if (url == null) return null;
+    try {
+      File[] directories = new File(url.toURI()).listFiles();
+      if (directories == null) return null;
+      Map<String, List<IPath>> storage = new HashMap<>();
+      for (File directory : directories) {
+        if (directory.isDirectory())
+          storage.put(directory.getName(), allFilesFromDirectory(directory));
+      }
+      return storage;
+    } catch (IllegalArgumentException | URISyntaxException e) {
+      LOGGER.log(CustomLogLevel.ERROR, "Could not load animations from directory: " + url, e);
+      return null;
+    }
+  }
+
+  /**
+   * @param subDir in which to look for files for the animation
+   * @return the sorted frames of the animation
+   */
+  private static List<IPath> allFilesFromDirectory(final File subDir) {
+    return Arrays.stream(Objects.requireNonNull(subDir.listFiles()))
+        // only look for direct Files no recursive search
+        .filter(File::isFile)
+        // File object needs to be converted to IPath
+        .map(file -> (IPath) new SimpleIPath(file.getPath()))
+        // sort by name streams may lose the ordering by name
+        .sorted(Comparator.comparing(IPath::pathString))
+        .toList();
+  }
+}
@@ -0,0 +1,192 @@
+package core.utils.components.draw;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.utils.FloatArray;
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.elements.tile.PitTile;
+import core.level.utils.Coordinate;
+import core.level.utils.LevelElement;
+import core.systems.CameraSystem;
+import core.utils.Point;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the drawing of the tiles of a level.
+ *
+ * <p>The layout is divided into chunks of {@link ILevel#REGION_SIZE} x {@link ILevel#REGION_SIZE}
+ * tiles. For each chunk, the sprites of the tiles are baked once into vertices and submitted with
+ * {@link Painter#draw(Texture, float[], int, int)}, so drawing a chunk does not touch its tiles.
+ * The rows are drawn in the order of the layout, so tiles that are taller than one row (e.g.,
+ * walls) overlap the next row as before; only the tiles within a row are grouped by texture.
+ *
+ * <p>A chunk is only rebuilt if the {@link ILevel#regionVersion(int, int) version} of its region
+ * changes, e.g., if a tile changes its type, visibility, tint, or texture, or a {@link PitTile}
+ * opens or closes. Chunks outside the camera frustum are skipped, so the drawing costs scale with
+ * the number of visible chunks instead of the size of the level.
+ *
+ * <p>Skip tiles, open pits, and invisible tiles are not drawn.
+ *
+ * @see core.systems.LevelSystem
+ */
+public final class LevelChunkCache {
+  private static final int CHUNK_SIZE = ILevel.REGION_SIZE;
+  // tile textures can be taller than one tile
+  private static final float MARGIN = 1f;
+
+  private final ILevel level;
+  private final float xOffset;
+  private final float yOffset;
+  private final Color color = new Color();
+  private Chunk[][] chunks = new Chunk[0][0];
+
+  /**
+   * Create a new cache for the given level.
+   *
+   * @param level Level to draw.
+   * @param xOffset Offset added to the x-coordinate of each tile.
+   * @param yOffset Offset added to the y-coordinate of each tile.
+   */
+  public LevelChunkCache(final ILevel level, float xOffset, float yOffset) {
+    this.level = level;
+    this.xOffset = xOffset;
+    this.yOffset = yOffset;
+  }
+
+  /**
+   * Get the level of this cache.
+   *
+   * @return The level whose tiles are cached.
+   */
+  public ILevel level() {
+    return level;
+  }
+
+  /**
+   * Draw all visible chunks of the level.
+   *
+   * <p>Chunks whose region has changed since the last call are rebuilt first.
+   *
+   * @param painter Painter to draw the chunks with.
+   */
+  public void draw(final Painter painter) {
+    // tiles are fetched one by one, so levels that create their tiles lazily only create the
+    // tiles of the visible chunks
+    int width = level.size().a();
+    int height = level.size().b();
+    int chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    int chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    if (chunks.length != chunksY || (chunksY > 0 && chunks[0].length != chunksX))
+      chunks = new Chunk[chunksY][chunksX];
+
+    for (int chunkY = 0; chunkY < chunksY; chunkY++) {
+      for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+        float x = chunkX * CHUNK_SIZE + xOffset - MARGIN;
+        float y = chunkY * CHUNK_SIZE + yOffset - MARGIN;
+        float size = CHUNK_SIZE + 2 * MARGIN;
+        if (!CameraSystem.isAreaInFrustum(x, y, size, size)) continue;
+
+        Chunk chunk = chunks[chunkY][chunkX];
+        int version = level.regionVersion(chunkX, chunkY);
+        if (chunk == null || chunk.version != version) {
+          chunk = build(width, height, chunkX, chunkY);
+          chunk.version = version;
+          chunks[chunkY][chunkX] = chunk;
+        }
+        for (int i = 0; i < chunk.textures.length; i++)
+          painter.draw(chunk.textures[i], chunk.vertices[i], 0, chunk.vertices[i].length);
+      }
+    }
+  }
+
+  private Chunk build(int width, int height, int chunkX, int chunkY) {
+    List<Texture> textures = new ArrayList<>();
+    List<FloatArray> vertices = new ArrayList<>();
+    Map<Texture, FloatArray> row = new LinkedHashMap<>();
+    int maxY = Math.min(height, (chunkY + 1) * CHUNK_SIZE);
+    int maxX = Math.min(width, (chunkX + 1) * CHUNK_SIZE);
+    for (int y = chunkY * CHUNK_SIZE; y < maxY; y++) {
+      row.clear();
+      for (int x = chunkX * CHUNK_SIZE; x < maxX; x++) {
+        Tile tile = level.tileAt(new Coordinate(x, y));
+        if (tile.levelElement() == LevelElement.SKIP
+            || (tile instanceof PitTile pit && pit.isOpen())
+            || !tile.visible()) continue;
+        Texture texture = TextureMap.instance().textureAt(tile.texturePath());
+        bake(row.computeIfAbsent(texture, t -> new FloatArray()), texture, tile);
+      }
+      for (Map.Entry<Texture, FloatArray> group : row.entrySet()) {
+        int last = textures.size() - 1;
+        // the previous row ended with the same texture, so both groups can be drawn at once
+        if (last >= 0 && textures.get(last) == group.getKey()) {
+          vertices.get(last).addAll(group.getValue());
+        } else {
+          textures.add(group.getKey());
+          vertices.add(group.getValue());
+        }
+      }
+    }
+
+    Chunk chunk = new Chunk(textures.size());
+    for (int i = 0; i < chunk.textures.length; i++) {
+      chunk.textures[i] = textures.get(i);
+      chunk.vertices[i] = vertices.get(i).toArray();
+    }
+    return chunk;
+  }
+
+  private void bake(final FloatArray vertices, final Texture texture, final Tile tile) {
+    float packedColor = Color.WHITE_FLOAT_BITS;
+    if (tile.tintColor() != -1) {
+      Color.rgba8888ToColor(color, tile.tintColor());
+      packedColor = color.toFloatBits();
+    }
+    Point position = tile.position();
+    float x = position.x + xOffset;
+    float y = position.y + yOffset;
+    float x2 = x + 1;
+    float y2 = y + (float) texture.getHeight() / (float) texture.getWidth();
+
+    // same layout as SpriteBatch#draw(Texture, float, float, float, float)
+    float[] sprite = new float[Sprite.SPRITE_SIZE];
+    sprite[Batch.X1] = x;
+    sprite[Batch.Y1] = y;
+    sprite[Batch.C1] = packedColor;
+    sprite[Batch.U1] = 0;
+    sprite[Batch.V1] = 1;
+    sprite[Batch.X2] = x;
+    sprite[Batch.Y2] = y2;
+    sprite[Batch.C2] = packedColor;
+    sprite[Batch.U2] = 0;
+    sprite[Batch.V2] = 0;
+    sprite[Batch.X3] = x2;
+    sprite[Batch.Y3] = y2;
+    sprite[Batch.C3] = packedColor;
+    sprite[Batch.U3] = 1;
+    sprite[Batch.V3] = 0;
+    sprite[Batch.X4] = x2;
+    sprite[Batch.Y4] = y;
+    sprite[Batch.C4] = packedColor;
+    sprite[Batch.U4] = 1;
+    sprite[Batch.V4] = 1;
+    vertices.addAll(sprite);
+  }
+
+  /** Baked vertices of one chunk, one vertex array per run of tiles with the same texture. */
+  private static final class Chunk {
+    private final Texture[] textures;
+    private final float[][] vertices;
+    private int version;
+
+    private Chunk(int size) {
+      textures = new Texture[size];
+      vertices = new float[size][];
+    }
+  }
+}
@@ -1,11 +1,13 @@
 package core.utils.components.draw;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import core.systems.CameraSystem;
 import core.utils.Point;
 import core.utils.components.path.IPath;
+import java.util.Arrays;
 
 /**
  * Draws the sprites on the batch.
@@ -22,12 +24,42 @@ import core.utils.components.path.IPath;
  * <p>The Painter is used by the {@link core.systems.DrawSystem} and {@link
  * core.systems.LevelSystem}.
  *
+ * <p>Drawing is frame-scoped: {@link #begin()} opens the batch once per frame, and {@link #end()}
+ * closes it. Between these calls, {@link #draw} only records the sprite in a reusable command
+ * buffer. Use {@link #flush(boolean)} to submit the recorded sprites as one layer; the sprites of
+ * a row can be sorted by texture (e.g., the level tiles, which do not overlap within a row), so the
+ * batch flushes less often on texture changes. If {@link #draw} is called outside of a frame, the
+ * sprite is drawn immediately in its own batch.
+ *
+ * <p>Sprites that are already baked into vertices (see {@link LevelChunkCache}) can be submitted
+ * with {@link #draw(Texture, float[], int, int)}, skipping the per-sprite work completely.
+ *
+ * <p>Use {@link #drawCalls()} and {@link #flushes()} to check how many sprites were drawn in the
+ * last frame and how many GPU render calls the batch needed for them. Sprites drawn outside of a
+ * frame are not counted.
+ *
  * @see PainterConfig
  * @see core.systems.DrawSystem
  * @see core.systems.LevelSystem
  */
 public class Painter {
+  private static final int INITIAL_CAPACITY = 1024;
+
   private final SpriteBatch batch;
+  // reused to convert the tint colors, do not use the static constants of Color for this
+  private final Color color = new Color();
+
+  // command buffer of the current layer, one entry per recorded sprite
+  private Texture[] textures = new Texture[INITIAL_CAPACITY];
+  private float[] commands = new float[INITIAL_CAPACITY * Command.SIZE];
+  private long[] order = new long[INITIAL_CAPACITY];
+  private int count = 0;
+
+  private boolean inFrame = false;
+  private int frameDrawCalls = 0;
+  private int frameFlushes = 0;
+  private int lastDrawCalls = 0;
+  private int lastFlushes = 0;
 
   /**
    * Create a new Painter.
@@ -38,11 +70,105 @@ public class Painter {
     this.batch = batch;
   }
 
+  /**
+   * Begin a new frame.
+   *
+   * <p>Opens the batch and resets the frame counters. Until {@link #end()} is called, all sprites
+   * are recorded and drawn on {@link #flush(boolean)} or {@link #end()}.
+   */
+  public void begin() {
+    if (inFrame) return;
+    inFrame = true;
+    frameDrawCalls = 0;
+    frameFlushes = 0;
+    count = 0;
+    batch.begin();
+  }
+
+  /**
+   * End the current frame.
+   *
+   * <p>Draws all sprites that are still recorded (in recording order) and closes the batch.
+   */
+  public void end() {
+    if (!inFrame) return;
+    flush(false);
+    batch.end();
+    frameFlushes += batch.renderCalls;
+    inFrame = false;
+    lastDrawCalls = frameDrawCalls;
+    lastFlushes = frameFlushes;
+  }
+
+  /**
+   * Submit all recorded sprites to the batch.
+   *
+   * <p>Sprites that are recorded after this call will be drawn on top of the submitted ones.
+   *
+   * @param sortByTexture If true, the sprites of each row (consecutively recorded sprites with the
+   *     same y-coordinate) are grouped by their texture before they are submitted; the rows and the
+   *     sprites with the same texture keep their recording order. Only use this for layers in which
+   *     the sprites of a row do not overlap. Sprites taller than a row (e.g., walls) still overlap
+   *     the next rows in recording order.
+   */
+  public void flush(boolean sortByTexture) {
+    if (count == 0) return;
+    for (int i = 0; i < count; i++)
+      order[i] = sortByTexture ? ((long) textures[i].hashCode() << 32) | i : i;
+    if (sortByTexture) {
+      int rowStart = 0;
+      for (int i = 1; i <= count; i++) {
+        if (i == count
+            || commands[i * Command.SIZE + Command.Y]
+                != commands[rowStart * Command.SIZE + Command.Y]) {
+          Arrays.sort(order, rowStart, i);
+          rowStart = i;
+        }
+      }
+    }
+
+    for (int i = 0; i < count; i++) {
+      int index = (int) order[i];
+      int offset = index * Command.SIZE;
+      batch.setPackedColor(commands[offset + Command.COLOR]);
+      batch.draw(
+          textures[index],
+          commands[offset + Command.X],
+          commands[offset + Command.Y],
+          commands[offset + Command.WIDTH],
+          commands[offset + Command.HEIGHT]);
+      textures[index] = null;
+    }
+    batch.setPackedColor(Color.WHITE_FLOAT_BITS);
+    count = 0;
+  }
+
+  /**
+   * Get the number of sprites that were drawn in the last completed frame.
+   *
+   * @return Number of drawn sprites.
+   */
+  public int drawCalls() {
+    return lastDrawCalls;
+  }
+
+  /**
+   * Get the number of GPU render calls (batch flushes) in the last completed frame.
+   *
+   * @return Number of render calls.
+   */
+  public int flushes() {
+    return lastFlushes;
+  }
+
   /**
    * Draw the given texture on the given point with the given configuration.
    *
    * <p>Will only draw the texture if it's in the frustum of the camera.
    *
+   * <p>Inside a frame (see {@link #begin()}), the texture is only recorded and drawn on the next
+   * {@link #flush(boolean)}.
+   *
    * @param position Position of the texture in the game world.
    * @param texturePath Path to the texture to draw.
    * @param config Painting configuration.
@@ -51,26 +177,78 @@ public class Painter {
     float realX = position.x + config.xOffset(); // including the drawOffset
     float realY = position.y + config.yOffset(); // including the drawOffset
     if (CameraSystem.isPointInFrustum(realX, realY)) {
-      Sprite sprite = new Sprite(TextureMap.instance().textureAt(texturePath));
-      // set up scaling of textures
-      sprite.setSize(config.xScaling(), config.yScaling());
-      // where to draw the sprite
-      sprite.setPosition(realX, realY);
-
-      // need to be called before drawing
-      batch.begin();
-
-      // tint the sprite
-      if (config.tintColor() != -1) {
-        Color color = Color.CLEAR;
-        Color.rgba8888ToColor(color, config.tintColor());
-        sprite.setColor(color);
+      record(TextureMap.instance().textureAt(texturePath), realX, realY, config);
+      if (inFrame) {
+        frameDrawCalls++;
+      } else {
+        // need to be called before drawing
+        batch.begin();
+        flush(false);
+        // need to be called after drawing
+        batch.end();
       }
+    }
+  }
 
-      // draw sprite
-      sprite.draw(batch);
-      // need to be called after drawing
+  /**
+   * Draw sprites that are already baked into vertices.
+   *
+   * <p>The vertices must use the {@link SpriteBatch} format ({@link Sprite#SPRITE_SIZE} floats per
+   * sprite) and are submitted as they are, without frustum check. Inside a frame (see {@link
+   * #begin()}), all recorded sprites are flushed first, so the baked sprites are drawn on top of
+   * them.
+   *
+   * @param texture Texture of all sprites in the given vertices.
+   * @param vertices Baked vertices of the sprites.
+   * @param offset Index of the first vertex value to draw.
+   * @param length Number of vertex values to draw.
+   */
+  public void draw(final Texture texture, final float[] vertices, int offset, int length) {
+    int sprites = length / Sprite.SPRITE_SIZE;
+    if (sprites == 0) return;
+    if (inFrame) {
+      frameDrawCalls += sprites;
+      flush(false);
+      batch.draw(texture, vertices, offset, length);
+    } else {
+      batch.begin();
+      batch.draw(texture, vertices, offset, length);
       batch.end();
     }
   }
+
+  private void record(final Texture texture, float x, float y, final PainterConfig config) {
+    if (count == textures.length) grow();
+    float packedColor = Color.WHITE_FLOAT_BITS;
+    // tint the sprite
+    if (config.tintColor() != -1) {
+      Color.rgba8888ToColor(color, config.tintColor());
+      packedColor = color.toFloatBits();
+    }
+    int offset = count * Command.SIZE;
+    textures[count] = texture;
+    commands[offset + Command.X] = x;
+    commands[offset + Command.Y] = y;
+    commands[offset + Command.WIDTH] = config.xScaling();
+    commands[offset + Command.HEIGHT] = config.yScaling();
+    commands[offset + Command.COLOR] = packedColor;
+    count++;
+  }
+
+  private void grow() {
+    int capacity = textures.length * 2;
+    textures = Arrays.copyOf(textures, capacity);
+    commands = Arrays.copyOf(commands, capacity * Command.SIZE);
+    order = Arrays.copyOf(order, capacity);
+  }
+
+  /** Layout of one recorded sprite in the command buffer. */
+  private static final class Command {
+    private static final int X = 0;
+    private static final int Y = 1;
+    private static final int WIDTH = 2;
+    private static final int HEIGHT = 3;
+    private static final int COLOR = 4;
+    private static final int SIZE = 5;
+  }
 }
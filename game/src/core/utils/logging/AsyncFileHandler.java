@@ -0,0 +1,173 @@
+package core.utils.logging;
+
+import core.utils.BatchWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * A {@link Handler} that writes the log records into a file on a background thread.
+ *
+ * <p>{@link #publish(LogRecord)} formats the record on the calling thread, so the formatter sees
+ * the caller and the current state of the message parameters, and puts the text into a bounded
+ * queue. The writer thread takes the texts from the queue in batches, writes them, and flushes
+ * the file once per batch. In contrast to a {@link java.util.logging.FileHandler}, logging does not
+ * wait for the file system. The file is written in UTF-8.
+ *
+ * <p>If the queue is full, records below {@link Level#WARNING} are dropped. Warnings and more
+ * severe records wait for free space, so they are not lost. The number of dropped records is
+ * written into the file with the next batch.
+ *
+ * <p>{@link #close()} writes the remaining records and closes the file. The handlers of the root
+ * logger are closed when the JVM shuts down.
+ */
+public final class AsyncFileHandler extends Handler {
+  /** Default number of records that can wait for the writer. */
+  public static final int DEFAULT_CAPACITY = 8192;
+
+  private static final int MAX_BATCH_SIZE = 512;
+
+  private final Writer target;
+  private final BatchWriter<String> writer;
+  private final AtomicLong dropped = new AtomicLong();
+  // only used by the writer thread
+  private boolean started;
+  private long reportedDrops;
+
+  /**
+   * Create a new handler that appends to the given file, and start its writer thread.
+   *
+   * @param file The log file; created if it does not exist.
+   * @param capacity Number of records that can wait for the writer.
+   * @throws IOException If the file could not be opened.
+   */
+  public AsyncFileHandler(final Path file, int capacity) throws IOException {
+    this.target =
+        Files.newBufferedWriter(
+            file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    setFormatter(new SimpleFormatter());
+    this.writer =
+        new BatchWriter<>(
+            "log-writer",
+            capacity,
+            MAX_BATCH_SIZE,
+            new BatchWriter.Sink<>() {
+              @Override
+              public void write(final List<String> batch) {
+                writeBatch(batch);
+              }
+
+              @Override
+              public void close() {
+                closeTarget();
+              }
+            });
+  }
+
+  @Override
+  public void publish(final LogRecord record) {
+    if (writer.isClosed() || !isLoggable(record)) return;
+    String text;
+    try {
+      text = getFormatter().format(record);
+    } catch (RuntimeException e) {
+      reportError("Could not format the log record", e, ErrorManager.FORMAT_FAILURE);
+      return;
+    }
+    if (writer.offer(text)) return;
+    if (record.getLevel().intValue() < Level.WARNING.intValue()) {
+      dropped.incrementAndGet();
+      return;
+    }
+    try {
+      if (!writer.put(text)) dropped.incrementAndGet();
+    } catch (InterruptedException e) {
+      dropped.incrementAndGet();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Get the number of dropped records.
+   *
+   * @return Number of records that were dropped because the queue was full.
+   */
+  public long dropped() {
+    return dropped.get();
+  }
+
+  /** Does nothing; the writer thread flushes the file after each batch. */
+  @Override
+  public void flush() {}
+
+  @Override
+  public void close() {
+    writer.close();
+  }
+
+  private void writeBatch(final List<String> batch) {
+    // the head is written with the first batch, after the formatter was configured
+    if (!started) {
+      write(getFormatter().getHead(this));
+      started = true;
+    }
+    reportDrops();
+    batch.forEach(this::write);
+    flushTarget();
+  }
+
+  private void closeTarget() {
+    reportDrops();
+    if (started) write(getFormatter().getTail(this));
+    try {
+      target.close();
+    } catch (IOException e) {
+      reportError("Could not close the log file", e, ErrorManager.CLOSE_FAILURE);
+    }
+  }
+
+  private void write(final String text) {
+    try {
+      target.write(text);
+    } catch (IOException e) {
+      reportError("Could not write the log record", e, ErrorManager.WRITE_FAILURE);
+    }
+  }
+
+  private void flushTarget() {
+    try {
+      target.flush();
+    } catch (IOException e) {
+      reportError("Could not flush the log file", e, ErrorManager.FLUSH_FAILURE);
+    }
+  }
+
+  // writes the number of records dropped since the last report
+  private void reportDrops() {
+    long drops = dropped.get();
+    if (drops == reportedDrops) return;
+    LogRecord report =
+        new LogRecord(
+            Level.WARNING,
+            (drops - reportedDrops) + " log records were dropped, the queue was full.");
+    report.setSourceClassName(AsyncFileHandler.class.getName());
+    report.setSourceMethodName("publish");
+    try {
+      write(getFormatter().format(report));
+    } catch (RuntimeException e) {
+      reportError("Could not format the log record", e, ErrorManager.FORMAT_FAILURE);
+    }
+    reportedDrops = drops;
+  }
+}
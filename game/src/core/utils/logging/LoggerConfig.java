@@ -6,7 +6,9 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -18,12 +20,17 @@ import java.util.logging.SimpleFormatter;
  *
  * <p>Will create a new Logfile and write the log messages into it. Disables the output of log
  * messages on the shell.
+ *
+ * <p>The log messages are written by an {@link AsyncFileHandler}, so logging does not block the
+ * game loop. Log calls in code that runs for each entity or component (e.g., in {@link
+ * core.Entity#add}) should check {@link Logger#isLoggable(Level)} before building the message, so
+ * a disabled level does not cost anything.
  */
 public final class LoggerConfig {
   private static Logger baseLogger;
-  private static FileHandler customFileHandler;
+  private static Handler customFileHandler;
 
-  private static void createCustomFileHandler() {
+  private static void createCustomFileHandler(int queueCapacity) {
     SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy'T'HH-mm-ss");
     String timestamp = dateFormat.format(new Date());
     String directoryPath = System.getProperty("BASELOGDIR", "logs/") + "systemlogs/";
@@ -37,8 +44,12 @@ public final class LoggerConfig {
         newLogFile.createNewFile();
         baseLogger.info("Logfile '" + filepath + "' was created.");
       }
-      customFileHandler = new FileHandler(filepath);
-      customFileHandler.setFormatter(new SimpleFormatter());
+      if (queueCapacity > 0) {
+        customFileHandler = new AsyncFileHandler(newLogFile.toPath(), queueCapacity);
+      } else {
+        customFileHandler = new FileHandler(filepath);
+        customFileHandler.setFormatter(new SimpleFormatter());
+      }
     } catch (IOException ioE) {
       baseLogger.warning(
           "Creation of FileHandler in class 'LoggerConfig' failed: " + ioE.getMessage());
@@ -51,15 +62,40 @@ public final class LoggerConfig {
    * <p>Set a logging level, and remove the console handler, and write all log messages into the log
    * files.
    *
+   * <p>The log messages are written asynchronously, with a queue for {@link
+   * AsyncFileHandler#DEFAULT_CAPACITY} messages.
+   *
    * @param level Set logging level to {@code level}
    */
   public static void initBaseLogger(Level level) {
+    initBaseLogger(level, AsyncFileHandler.DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initialize the base logger.
+   *
+   * <p>Set a logging level, and remove the console handler, and write all log messages into the log
+   * files.
+   *
+   * @param level Set logging level to {@code level}
+   * @param queueCapacity Number of log messages that can wait to be written by the {@link
+   *     AsyncFileHandler}; 0 to write the messages synchronously with a {@link FileHandler}.
+   */
+  public static void initBaseLogger(Level level, int queueCapacity) {
     baseLogger = Logger.getLogger("");
     baseLogger.setLevel(level);
 
-    baseLogger.removeHandler(baseLogger.getHandlers()[0]);
+    for (Handler handler : baseLogger.getHandlers()) {
+      if (handler instanceof ConsoleHandler || handler == customFileHandler) {
+        baseLogger.removeHandler(handler);
+      }
+    }
+    if (customFileHandler != null) {
+      customFileHandler.close();
+      customFileHandler = null;
+    }
 
-    createCustomFileHandler();
-    baseLogger.addHandler(customFileHandler);
+    createCustomFileHandler(queueCapacity);
+    if (customFileHandler != null) baseLogger.addHandler(customFileHandler);
   }
 }
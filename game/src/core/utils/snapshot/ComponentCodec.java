@@ -0,0 +1,36 @@
+package core.utils.snapshot;
+
+import core.Component;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes a component of a specific type into a snapshot and reads it back.
+ *
+ * <p>Register a codec with {@link Snapshot#registerCodec(Class, ComponentCodec)}. Components
+ * without a codec are only saved if they implement {@link java.io.Serializable}.
+ *
+ * @param <T> Type of the component.
+ * @see Snapshot
+ */
+public interface ComponentCodec<T extends Component> {
+
+  /**
+   * Write the state of the given component.
+   *
+   * @param component Component to write.
+   * @param out Output to write to.
+   * @throws IOException If the output could not be written.
+   */
+  void write(final T component, final DataOutput out) throws IOException;
+
+  /**
+   * Create a component from the state written by {@link #write(Component, DataOutput)}.
+   *
+   * @param in Input to read from.
+   * @return The created component.
+   * @throws IOException If the input could not be read.
+   */
+  T read(final DataInput in) throws IOException;
+}
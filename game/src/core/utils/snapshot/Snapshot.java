@@ -0,0 +1,378 @@
+package core.utils.snapshot;
+
+import core.Component;
+import core.Entity;
+import core.Game;
+import core.components.PositionComponent;
+import core.game.ECSManagment;
+import core.level.elements.ILevel;
+import core.utils.EntitySystemMapper;
+import core.utils.Hashing;
+import core.utils.Point;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Binary snapshots of the levels and entities of the game.
+ *
+ * <p>{@link #save(Path)} stores the current level and every level in {@link
+ * ECSManagment#levelStorageMap()} with their entities. The levels and entities are encoded on the
+ * calling thread, so call it from the game loop between two frames (e.g., in a system); writing
+ * the files happens on a background thread.
+ *
+ * <p>The snapshot is a directory with one file per level layout and per entity set, see {@link
+ * SnapshotFormat}. The files are named after their content, so saving again only writes the files
+ * of the levels and entity sets that have changed. The manifest is replaced atomically after all
+ * files were written, so a crash during the saving leaves the previous snapshot intact.
+ *
+ * <p>Use {@link #open(Path)} to load a snapshot. The levels and entities are read when they are
+ * requested, see {@link SnapshotReader}. Save a resumed game with {@link
+ * SnapshotReader#save(Path)}, which keeps the levels of the reader that were not requested yet.
+ *
+ * <p>The tiles are saved with their type, tint, visibility, and the state of doors, exits, and
+ * pits; the textures are chosen again when loading. The levels are restored as {@link
+ * core.level.TileLevel}. Components are saved if a {@link ComponentCodec} is registered for their
+ * class (see {@link #registerCodec(Class, ComponentCodec)}) or if their class is registered as
+ * serializable (see {@link #registerSerializable(Class, Class[])}); other components are skipped.
+ * A snapshot may come from an untrusted source, so only the registered classes are deserialized. A
+ * codec for the {@link PositionComponent} is registered by default.
+ */
+public final class Snapshot {
+
+  private static final Logger LOGGER = Logger.getLogger(Snapshot.class.getSimpleName());
+  private static final Map<String, ComponentCodec<?>> CODECS = new HashMap<>();
+  private static final Set<String> SERIALIZABLE = new HashSet<>();
+  private static final ExecutorService WRITER =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  static {
+    registerCodec(
+        PositionComponent.class,
+        new ComponentCodec<>() {
+          @Override
+          public void write(final PositionComponent component, final DataOutput out)
+              throws IOException {
+            out.writeFloat(component.position().x);
+            out.writeFloat(component.position().y);
+          }
+
+          @Override
+          public PositionComponent read(final DataInput in) throws IOException {
+            return new PositionComponent(new Point(in.readFloat(), in.readFloat()));
+          }
+        });
+  }
+
+  private Snapshot() {}
+
+  /**
+   * Register the codec for the components of the given class.
+   *
+   * <p>Replaces the codec registered before for this class.
+   *
+   * @param klass Class of the components.
+   * @param codec Codec to write and read the components.
+   * @param <T> Type of the components.
+   */
+  public static synchronized <T extends Component> void registerCodec(
+      final Class<T> klass, final ComponentCodec<T> codec) {
+    CODECS.put(klass.getName(), codec);
+  }
+
+  /**
+   * Register the components of the given class to be saved with Java serialization.
+   *
+   * <p>When a snapshot is read, only the registered classes are deserialized. Besides the
+   * component class, register the other non-JDK classes of its fields (e.g., enums or value
+   * classes); primitives, strings, boxed primitives, and the common collections are accepted.
+   *
+   * @param klass Class of the components.
+   * @param types Other classes contained in the serialized components.
+   * @param <T> Type of the components.
+   */
+  public static synchronized <T extends Component & Serializable> void registerSerializable(
+      final Class<T> klass, final Class<?>... types) {
+    SERIALIZABLE.add(klass.getName());
+    for (Class<?> type : types) SERIALIZABLE.add(type.getName());
+  }
+
+  /**
+   * Save the levels and entities of the game into the given directory.
+   *
+   * <p>To keep the levels of the snapshot the game was resumed from, use {@link
+   * SnapshotReader#save(Path)}.
+   *
+   * <p>Must be called on the game thread between two frames; the returned future completes when
+   * the files are written.
+   *
+   * @param directory Directory of the snapshot; created if it does not exist.
+   * @return A future that completes when the snapshot is written, or completes exceptionally if
+   *     writing failed.
+   */
+  public static CompletableFuture<Void> save(final Path directory) {
+    return save(directory, null);
+  }
+
+  /**
+   * Save the levels and entities of the game into the given directory.
+   *
+   * <p>The levels of {@code resumedFrom} that were not requested from the reader yet are saved
+   * with their stored layout and entities, at their index in the old snapshot. The levels that
+   * were requested are saved from the game, if they are still part of it.
+   *
+   * <p>Must be called on the game thread between two frames; the returned future completes when
+   * the files are written.
+   *
+   * @param directory Directory of the snapshot; created if it does not exist.
+   * @param resumedFrom Snapshot the game was resumed from, or null.
+   * @return A future that completes when the snapshot is written, or completes exceptionally if
+   *     writing failed.
+   */
+  public static CompletableFuture<Void> save(
+      final Path directory, final SnapshotReader resumedFrom) {
+    ILevel current = Game.currentLevel();
+    Set<ILevel> levels = new LinkedHashSet<>();
+    if (current != null) levels.add(current);
+    ECSManagment.levelStorageMap().keySet().stream()
+        .filter(Objects::nonNull)
+        .forEach(levels::add);
+    return save(directory, levels, current, Snapshot::entitiesOf, resumedFrom);
+  }
+
+  /**
+   * Open the snapshot in the given directory.
+   *
+   * @param directory Directory of the snapshot.
+   * @return A reader for the snapshot.
+   * @throws IOException If the manifest could not be read or is not a supported snapshot.
+   */
+  public static SnapshotReader open(final Path directory) throws IOException {
+    return new SnapshotReader(directory, codecs(), serializable());
+  }
+
+  /**
+   * Save the given levels and the levels of the resumed snapshot that were not loaded.
+   *
+   * @param directory Directory of the snapshot.
+   * @param levels Levels of the game.
+   * @param current The current level, or null.
+   * @param entities Entities of each level.
+   * @param resumedFrom Snapshot the game was resumed from, or null.
+   * @return A future that completes when the snapshot is written.
+   */
+  static CompletableFuture<Void> save(
+      final Path directory,
+      final Collection<ILevel> levels,
+      final ILevel current,
+      final Function<ILevel, Collection<Entity>> entities,
+      final SnapshotReader resumedFrom) {
+    // keep the indices of the resumed snapshot, the stored door links refer to them
+    List<ILevel> slots = new ArrayList<>();
+    if (resumedFrom != null) {
+      for (int i = 0; i < resumedFrom.levelCount(); i++) {
+        ILevel loaded = resumedFrom.loadedLevel(i);
+        slots.add(loaded != null && levels.contains(loaded) ? loaded : null);
+      }
+    }
+    for (ILevel level : levels) if (!slots.contains(level)) slots.add(level);
+    return save(
+        directory, slots, entities, current == null ? -1 : slots.indexOf(current), resumedFrom);
+  }
+
+  /**
+   * Save the given levels with their entities.
+   *
+   * @param directory Directory of the snapshot.
+   * @param levels Levels to save.
+   * @param entities Entities of each level.
+   * @param currentLevel Index of the current level, -1 if there is none.
+   * @return A future that completes when the snapshot is written.
+   */
+  static CompletableFuture<Void> save(
+      final Path directory,
+      final List<ILevel> levels,
+      final Function<ILevel, Collection<Entity>> entities,
+      int currentLevel) {
+    return save(directory, levels, entities, currentLevel, null);
+  }
+
+  /**
+   * Save the given levels with their entities.
+   *
+   * @param directory Directory of the snapshot.
+   * @param levels Levels to save; null for a level of {@code resumedFrom} that is kept as stored.
+   * @param entities Entities of each level.
+   * @param currentLevel Index of the current level, -1 if there is none.
+   * @param resumedFrom Snapshot with the levels that are kept as stored, or null.
+   * @return A future that completes when the snapshot is written.
+   */
+  static CompletableFuture<Void> save(
+      final Path directory,
+      final List<ILevel> levels,
+      final Function<ILevel, Collection<Entity>> entities,
+      int currentLevel,
+      final SnapshotReader resumedFrom) {
+    // encode on the calling thread, so the snapshot is consistent
+    Map<ILevel, Integer> levelIndex = new HashMap<>();
+    for (int i = 0; i < levels.size(); i++) {
+      if (levels.get(i) != null) levelIndex.put(levels.get(i), i);
+    }
+    Map<String, ComponentCodec<?>> codecs = codecs();
+    Set<String> serializable = serializable();
+    List<Entry> entries = new ArrayList<>(levels.size());
+    try {
+      for (int i = 0; i < levels.size(); i++) {
+        ILevel level = levels.get(i);
+        if (level == null) {
+          entries.add(
+              new Entry(
+                  null,
+                  null,
+                  resumedFrom.directory(),
+                  resumedFrom.layoutChunk(i),
+                  resumedFrom.entityChunk(i)));
+          continue;
+        }
+        // the doors of a resumed level keep their links to the levels that were not loaded
+        Map<Integer, SnapshotFormat.DoorLink> carriedLinks = new HashMap<>();
+        if (resumedFrom != null && i < resumedFrom.levelCount()) {
+          for (SnapshotFormat.DoorLink link : resumedFrom.doorLinks(i)) {
+            int other = link.otherLevel();
+            if (other < levels.size() && levels.get(other) == null)
+              carriedLinks.put(link.door(), link);
+          }
+        }
+        entries.add(
+            new Entry(
+                SnapshotFormat.encodeLevel(level, levelIndex, carriedLinks),
+                SnapshotFormat.encodeEntities(entities.apply(level), codecs, serializable),
+                null,
+                null,
+                null));
+      }
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            write(directory, entries, currentLevel);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        WRITER);
+  }
+
+  private static void write(final Path directory, final List<Entry> entries, int currentLevel)
+      throws IOException {
+    Files.createDirectories(directory);
+    Set<String> chunks = new HashSet<>();
+    Path manifest = directory.resolve(SnapshotFormat.MANIFEST);
+    Path temp = directory.resolve(SnapshotFormat.MANIFEST + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+      out.writeInt(SnapshotFormat.MAGIC);
+      out.writeInt(SnapshotFormat.VERSION);
+      out.writeInt(entries.size());
+      out.writeInt(currentLevel);
+      for (Entry entry : entries) {
+        String layout;
+        String entities;
+        if (entry.layout() == null) {
+          layout = copyChunk(entry.source(), directory, entry.layoutChunk());
+          entities = copyChunk(entry.source(), directory, entry.entityChunk());
+        } else {
+          layout = writeChunk(directory, SnapshotFormat.LEVEL_PREFIX, entry.layout());
+          entities = writeChunk(directory, SnapshotFormat.ENTITIES_PREFIX, entry.entities());
+        }
+        SnapshotFormat.writeString(out, layout);
+        SnapshotFormat.writeString(out, entities);
+        chunks.add(layout);
+        chunks.add(entities);
+      }
+    }
+    Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    // remove the chunks of the previous snapshots
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.toList()) {
+        String name = file.getFileName().toString();
+        if ((name.startsWith(SnapshotFormat.LEVEL_PREFIX)
+                || name.startsWith(SnapshotFormat.ENTITIES_PREFIX))
+            && name.endsWith(SnapshotFormat.CHUNK_SUFFIX)
+            && !chunks.contains(name)) Files.deleteIfExists(file);
+      }
+    }
+    LOGGER.info("Saved a snapshot with " + entries.size() + " levels to " + directory);
+  }
+
+  // writes the chunk if it does not exist yet; returns the file name
+  private static String writeChunk(final Path directory, final String prefix, final byte[] chunk)
+      throws IOException {
+    String name = prefix + hash(chunk) + SnapshotFormat.CHUNK_SUFFIX;
+    Path file = directory.resolve(name);
+    if (!Files.exists(file)) {
+      Path temp = directory.resolve(name + ".tmp");
+      Files.write(temp, chunk);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    return name;
+  }
+
+  // copies a kept chunk of another snapshot directory; returns the file name
+  private static String copyChunk(final Path source, final Path directory, final String name)
+      throws IOException {
+    Path file = directory.resolve(name);
+    if (!Files.exists(file)) {
+      Path temp = directory.resolve(name + ".tmp");
+      Files.copy(source.resolve(name), temp, StandardCopyOption.REPLACE_EXISTING);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    return name;
+  }
+
+  // the first 16 bytes of the hash are enough to tell the chunks apart
+  private static String hash(final byte[] data) {
+    return Hashing.sha256Hex(data).substring(0, 32);
+  }
+
+  private static Collection<Entity> entitiesOf(final ILevel level) {
+    // sorted by id, so an unchanged set results in the same chunk
+    Set<Entity> entities = new TreeSet<>();
+    Set<EntitySystemMapper> mappers = ECSManagment.levelStorageMap().get(level);
+    if (mappers != null) mappers.forEach(mapper -> mapper.stream().forEach(entities::add));
+    return entities;
+  }
+
+  private static synchronized Map<String, ComponentCodec<?>> codecs() {
+    return new HashMap<>(CODECS);
+  }
+
+  private static synchronized Set<String> serializable() {
+    return new HashSet<>(SERIALIZABLE);
+  }
+
+  /**
+   * A level of the manifest: either the encoded layout and entities, or the chunk files of a kept
+   * level in the {@code source} directory.
+   */
+  private record Entry(
+      byte[] layout, byte[] entities, Path source, String layoutChunk, String entityChunk) {}
+}
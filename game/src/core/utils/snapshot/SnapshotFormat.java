@@ -0,0 +1,447 @@
+package core.utils.snapshot;
+
+import core.Component;
+import core.Entity;
+import core.level.Tile;
+import core.level.TileLevel;
+import core.level.elements.ILevel;
+import core.level.elements.tile.DoorTile;
+import core.level.elements.tile.ExitTile;
+import core.level.elements.tile.PitTile;
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * The binary format of the snapshot files.
+ *
+ * <p>A snapshot is a directory with a manifest ({@link #MANIFEST}) and one chunk file per level
+ * layout and per entity set. The name of a chunk file is derived from its content, so an unchanged
+ * chunk is not written again and the chunks of an older manifest stay valid until the new manifest
+ * is written.
+ *
+ * <p>Manifest: magic, version, level count, index of the current level (or -1), and the names of
+ * the layout chunk and the entity chunk of each level.
+ *
+ * <p>Layout chunk: design label, width, height, one byte per tile for the {@link LevelElement},
+ * the start tile, and the tiles with a state that differs from a new tile (tint, visibility, open
+ * doors, exits, and pits, door links).
+ *
+ * <p>Entity chunk: for each entity its name and its components (class name, encoding, and the
+ * encoded component). Serialized components are read with an {@link ObjectInputFilter} that only
+ * accepts the registered classes, some JDK types, and primitives.
+ */
+final class SnapshotFormat {
+  /** Name of the manifest file in the snapshot directory. */
+  static final String MANIFEST = "snapshot.bin";
+
+  /** First int of the manifest. */
+  static final int MAGIC = 0x44534E50; // "DSNP"
+
+  /** Version of the format, increase on incompatible changes. */
+  static final int VERSION = 1;
+
+  /** Prefix of the layout chunk files. */
+  static final String LEVEL_PREFIX = "level-";
+
+  /** Prefix of the entity chunk files. */
+  static final String ENTITIES_PREFIX = "entities-";
+
+  /** Suffix of the chunk files. */
+  static final String CHUNK_SUFFIX = ".bin";
+
+  private static final Logger LOGGER = Logger.getLogger(SnapshotFormat.class.getSimpleName());
+  private static final LevelElement[] ELEMENTS = LevelElement.values();
+  private static final byte CODEC = 0;
+  private static final byte SERIALIZED = 1;
+  private static final int MAX_DEPTH = 20;
+  private static final int MAX_REFERENCES = 10_000;
+  // JDK types the serialized components may contain besides primitives
+  private static final Set<String> JDK_TYPES =
+      Set.of(
+          "java.lang.String",
+          "java.lang.Boolean",
+          "java.lang.Byte",
+          "java.lang.Character",
+          "java.lang.Short",
+          "java.lang.Integer",
+          "java.lang.Long",
+          "java.lang.Float",
+          "java.lang.Double",
+          "java.lang.Number",
+          "java.lang.Enum",
+          "java.util.ArrayList",
+          "java.util.LinkedList",
+          "java.util.ArrayDeque",
+          "java.util.HashMap",
+          "java.util.LinkedHashMap",
+          "java.util.TreeMap",
+          "java.util.HashSet",
+          "java.util.LinkedHashSet",
+          "java.util.TreeSet",
+          "java.util.CollSer", // List.of, Set.of, and Map.of
+          "java.util.UUID");
+
+  private SnapshotFormat() {}
+
+  /**
+   * A link from a door to the door of another level of the snapshot.
+   *
+   * @param door Index of the door tile in its level.
+   * @param otherLevel Index of the level of the other door in the snapshot.
+   * @param otherDoor Index of the other door tile in its level.
+   */
+  record DoorLink(int door, int otherLevel, int otherDoor) {}
+
+  /**
+   * A decoded level with the links of its doors.
+   *
+   * @param level The level.
+   * @param doorLinks The links of the doors of the level to doors in other levels.
+   */
+  record DecodedLevel(TileLevel level, List<DoorLink> doorLinks) {}
+
+  /**
+   * Encode the layout and the tile states of the given level.
+   *
+   * <p>A door without other door keeps its link from {@code carriedLinks}, if there is one. These
+   * are the links to levels of a resumed snapshot that were not loaded again.
+   *
+   * @param level Level to encode.
+   * @param levelIndex Index of each level in the snapshot, for the door links.
+   * @param carriedLinks Links of doors without other door, by the index of the door tile.
+   * @return The encoded level.
+   * @throws IOException If the level could not be encoded.
+   */
+  static byte[] encodeLevel(
+      final ILevel level,
+      final Map<ILevel, Integer> levelIndex,
+      final Map<Integer, DoorLink> carriedLinks)
+      throws IOException {
+    int width = level.size().a();
+    int height = level.size().b();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(width * height + 64);
+    DataOutputStream out = new DataOutputStream(bytes);
+    Tile first = level.tileAt(new Coordinate(0, 0));
+    writeString(out, first == null ? DesignLabel.DEFAULT.name() : first.designLabel().name());
+    out.writeInt(width);
+    out.writeInt(height);
+
+    List<Tile> changed = new ArrayList<>();
+    List<DoorTile> doors = new ArrayList<>();
+    List<ExitTile> exits = new ArrayList<>();
+    List<PitTile> pits = new ArrayList<>();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        Tile tile = level.tileAt(new Coordinate(x, y));
+        out.writeByte(tile.levelElement().ordinal());
+        if (tile.tintColor() != -1 || !tile.visible()) changed.add(tile);
+        if (tile instanceof DoorTile door) doors.add(door);
+        else if (tile instanceof ExitTile exit) exits.add(exit);
+        else if (tile instanceof PitTile pit) pits.add(pit);
+      }
+    }
+
+    Tile start = level.startTile();
+    out.writeInt(start == null ? -1 : index(start, width));
+
+    out.writeInt(changed.size());
+    for (Tile tile : changed) {
+      out.writeInt(index(tile, width));
+      out.writeInt(tile.tintColor());
+      out.writeBoolean(tile.visible());
+    }
+
+    out.writeInt(doors.size());
+    for (DoorTile door : doors) {
+      out.writeInt(index(door, width));
+      out.writeBoolean(door.isOpen());
+      out.writeInt(door.doorstep() == null ? -1 : index(door.doorstep(), width));
+      DoorTile other = door.otherDoor();
+      Integer otherLevel = other == null ? null : levelIndex.get(other.level());
+      DoorLink carried = carriedLinks.get(index(door, width));
+      if (otherLevel != null) {
+        out.writeInt(otherLevel);
+        out.writeInt(index(other, other.level().size().a()));
+      } else if (other == null && carried != null) {
+        out.writeInt(carried.otherLevel());
+        out.writeInt(carried.otherDoor());
+      } else {
+        out.writeInt(-1);
+        out.writeInt(-1);
+      }
+    }
+
+    out.writeInt(exits.size());
+    for (ExitTile exit : exits) {
+      out.writeInt(index(exit, width));
+      out.writeBoolean(exit.isOpen());
+    }
+
+    out.writeInt(pits.size());
+    for (PitTile pit : pits) {
+      out.writeInt(index(pit, width));
+      out.writeBoolean(pit.isOpen());
+      out.writeLong(pit.timeToOpen());
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decode a level encoded by {@link #encodeLevel(ILevel, Map, Map)}.
+   *
+   * <p>The links between the doors are returned, but not established.
+   *
+   * @param in Encoded level.
+   * @return The decoded level with the links of its doors.
+   */
+  static DecodedLevel decodeLevel(final ByteBuffer in) {
+    DesignLabel designLabel = DesignLabel.valueOf(readString(in));
+    int width = in.getInt();
+    int height = in.getInt();
+    LevelElement[][] layout = new LevelElement[height][width];
+    boolean hasExit = false;
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        layout[y][x] = ELEMENTS[in.get()];
+        hasExit |= layout[y][x] == LevelElement.EXIT;
+      }
+    }
+    TileLevel level = new TileLevel(layout, designLabel);
+    if (!hasExit) {
+      // the level chooses an exit if the layout has none
+      new ArrayList<>(level.exitTiles())
+          .forEach(exit -> level.changeTileElementType(exit, LevelElement.FLOOR));
+    }
+
+    int start = in.getInt();
+    if (start >= 0) level.startTile(tile(level, start, width));
+
+    for (int i = in.getInt(); i > 0; i--) {
+      Tile tile = tile(level, in.getInt(), width);
+      tile.tintColor(in.getInt());
+      tile.visible(in.get() != 0);
+    }
+
+    List<DoorLink> doorLinks = new ArrayList<>();
+    for (int i = in.getInt(); i > 0; i--) {
+      int index = in.getInt();
+      DoorTile door = (DoorTile) tile(level, index, width);
+      if (in.get() != 0) door.open();
+      else door.close();
+      int doorstep = in.getInt();
+      if (doorstep >= 0) door.doorstep(tile(level, doorstep, width));
+      int otherLevel = in.getInt();
+      int otherDoor = in.getInt();
+      if (otherLevel >= 0) doorLinks.add(new DoorLink(index, otherLevel, otherDoor));
+    }
+
+    for (int i = in.getInt(); i > 0; i--) {
+      ExitTile exit = (ExitTile) tile(level, in.getInt(), width);
+      if (in.get() != 0) exit.open();
+      else exit.close();
+    }
+
+    for (int i = in.getInt(); i > 0; i--) {
+      PitTile pit = (PitTile) tile(level, in.getInt(), width);
+      boolean open = in.get() != 0;
+      pit.timeToOpen(in.getLong());
+      if (!open) pit.close();
+    }
+    return new DecodedLevel(level, doorLinks);
+  }
+
+  /**
+   * Encode the given entities with their components.
+   *
+   * <p>Components without a codec that are not registered as {@link Serializable} are skipped.
+   *
+   * @param entities Entities to encode.
+   * @param codecs Codecs by component class name.
+   * @param serializable Names of the classes that may be serialized.
+   * @return The encoded entities.
+   * @throws IOException If an entity could not be encoded.
+   */
+  static byte[] encodeEntities(
+      final Collection<Entity> entities,
+      final Map<String, ComponentCodec<?>> codecs,
+      final Set<String> serializable)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(entities.size());
+    for (Entity entity : entities) {
+      writeString(out, entity.name());
+      List<Component> components = entity.componentStream().toList();
+      List<byte[]> encoded = new ArrayList<>(components.size());
+      List<Component> written = new ArrayList<>(components.size());
+      for (Component component : components) {
+        byte[] data = encodeComponent(component, codecs, serializable);
+        if (data != null) {
+          encoded.add(data);
+          written.add(component);
+        }
+      }
+      out.writeInt(written.size());
+      for (int i = 0; i < written.size(); i++) {
+        writeString(out, written.get(i).getClass().getName());
+        out.write(encoded.get(i));
+      }
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decode the entities encoded by {@link #encodeEntities(Collection, Map, Set)}.
+   *
+   * <p>The entities are not added to the game. Components that cannot be decoded are skipped, as
+   * well as serialized components that contain a class which is not allowed.
+   *
+   * @param in Encoded entities.
+   * @param codecs Codecs by component class name.
+   * @param serializable Names of the classes that may be deserialized.
+   * @return The decoded entities.
+   */
+  static List<Entity> decodeEntities(
+      final ByteBuffer in,
+      final Map<String, ComponentCodec<?>> codecs,
+      final Set<String> serializable) {
+    int count = in.getInt();
+    List<Entity> entities = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Entity entity = new Entity(readString(in));
+      for (int c = in.getInt(); c > 0; c--) {
+        String className = readString(in);
+        byte encoding = in.get();
+        byte[] data = new byte[in.getInt()];
+        in.get(data);
+        try {
+          entity.add(decodeComponent(className, encoding, data, codecs, serializable));
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+          LOGGER.warning("Could not restore " + className + ": " + e.getMessage());
+        }
+      }
+      entities.add(entity);
+    }
+    return entities;
+  }
+
+  /**
+   * Write a string as its length and its UTF-8 bytes.
+   *
+   * @param out Output to write to.
+   * @param string String to write.
+   * @throws IOException If the output could not be written.
+   */
+  static void writeString(final DataOutputStream out, final String string) throws IOException {
+    byte[] data = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(data.length);
+    out.write(data);
+  }
+
+  /**
+   * Read a string written by {@link #writeString(DataOutputStream, String)}.
+   *
+   * @param in Input to read from.
+   * @return The read string.
+   */
+  static String readString(final ByteBuffer in) {
+    byte[] data = new byte[in.getInt()];
+    in.get(data);
+    return new String(data, StandardCharsets.UTF_8);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static byte[] encodeComponent(
+      final Component component,
+      final Map<String, ComponentCodec<?>> codecs,
+      final Set<String> serializable)
+      throws IOException {
+    ComponentCodec<Component> codec =
+        (ComponentCodec<Component>) codecs.get(component.getClass().getName());
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    byte encoding;
+    if (codec != null) {
+      encoding = CODEC;
+      DataOutputStream data = new DataOutputStream(bytes);
+      codec.write(component, data);
+      data.flush();
+    } else if (component instanceof Serializable
+        && serializable.contains(component.getClass().getName())) {
+      encoding = SERIALIZED;
+      try (ObjectOutputStream data = new ObjectOutputStream(bytes)) {
+        data.writeObject(component);
+      } catch (NotSerializableException e) {
+        LOGGER.fine("Skipped " + component.getClass().getName() + ": " + e.getMessage());
+        return null;
+      }
+    } else return null;
+
+    ByteArrayOutputStream result = new ByteArrayOutputStream(bytes.size() + 5);
+    DataOutputStream out = new DataOutputStream(result);
+    out.writeByte(encoding);
+    out.writeInt(bytes.size());
+    bytes.writeTo(out);
+    out.flush();
+    return result.toByteArray();
+  }
+
+  private static Component decodeComponent(
+      final String className,
+      byte encoding,
+      final byte[] data,
+      final Map<String, ComponentCodec<?>> codecs,
+      final Set<String> serializable)
+      throws IOException, ClassNotFoundException {
+    if (encoding == CODEC) {
+      ComponentCodec<?> codec = codecs.get(className);
+      if (codec == null) throw new IOException("No codec registered.");
+      return codec.read(new DataInputStream(new ByteArrayInputStream(data)));
+    }
+    if (!serializable.contains(className))
+      throw new InvalidClassException(className, "Not registered as serializable.");
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+      in.setObjectInputFilter(filter(serializable));
+      return (Component) in.readObject();
+    }
+  }
+
+  /**
+   * Create the filter for the serialized components.
+   *
+   * <p>Accepts the given classes, the {@link #JDK_TYPES}, primitives, and arrays of them, up to a
+   * limited depth and number of references.
+   *
+   * @param serializable Names of the classes that may be deserialized.
+   * @return The filter.
+   */
+  private static ObjectInputFilter filter(final Set<String> serializable) {
+    return info -> {
+      if (info.depth() > MAX_DEPTH || info.references() > MAX_REFERENCES)
+        return ObjectInputFilter.Status.REJECTED;
+      Class<?> klass = info.serialClass();
+      if (klass == null) return ObjectInputFilter.Status.ALLOWED;
+      while (klass.isArray()) klass = klass.getComponentType();
+      if (klass.isPrimitive()
+          || JDK_TYPES.contains(klass.getName())
+          || serializable.contains(klass.getName())) return ObjectInputFilter.Status.ALLOWED;
+      return ObjectInputFilter.Status.REJECTED;
+    };
+  }
+
+  private static int index(final Tile tile, int width) {
+    Coordinate coordinate = tile.coordinate();
+    return coordinate.y * width + coordinate.x;
+  }
+
+  private static Tile tile(final ILevel level, int index, int width) {
+    return level.tileAt(new Coordinate(index % width, index / width));
+  }
+}
@@ -0,0 +1,234 @@
+package core.utils.snapshot;
+
+import core.Entity;
+import core.level.TileLevel;
+import core.level.elements.tile.DoorTile;
+import core.level.utils.Coordinate;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reads a snapshot written by {@link Snapshot#save(Path)}.
+ *
+ * <p>Only the manifest is read when the reader is created. A level is read (memory-mapped) and
+ * created the first time it is requested with {@link #level(int)}; the doors of the level are
+ * linked to the doors of the levels that were requested before. The entities of a level are
+ * created by {@link #entities(int)} and are not added to the game, e.g., use {@link
+ * core.level.elements.ILevel#onFirstLoad(core.utils.IVoidFunction)} to add them.
+ *
+ * <p>A game resumed from a snapshot is saved with {@link #save(Path)} of its reader: it keeps the
+ * levels of the reader that were not requested yet, with their indices, files, and door links, so
+ * saving a resumed game does not lose the levels the player has not visited again.
+ */
+public final class SnapshotReader {
+
+  private final Path directory;
+  private final Map<String, ComponentCodec<?>> codecs;
+  private final Set<String> serializable;
+  private final String[] layoutChunks;
+  private final String[] entityChunks;
+  private final int currentLevel;
+  private final TileLevel[] levels;
+  private final List<SnapshotFormat.DoorLink>[] doorLinks;
+
+  /**
+   * Open the snapshot in the given directory.
+   *
+   * @param directory Directory of the snapshot.
+   * @param codecs Codecs for the components, by class name.
+   * @param serializable Names of the classes that may be deserialized.
+   * @throws IOException If the manifest could not be read or is not a supported snapshot.
+   */
+  @SuppressWarnings("unchecked")
+  SnapshotReader(
+      final Path directory,
+      final Map<String, ComponentCodec<?>> codecs,
+      final Set<String> serializable)
+      throws IOException {
+    this.directory = directory;
+    this.codecs = codecs;
+    this.serializable = serializable;
+    try (DataInputStream in =
+        new DataInputStream(Files.newInputStream(directory.resolve(SnapshotFormat.MANIFEST)))) {
+      if (in.readInt() != SnapshotFormat.MAGIC)
+        throw new IOException("Not a snapshot: " + directory);
+      int version = in.readInt();
+      if (version != SnapshotFormat.VERSION)
+        throw new IOException("Unsupported snapshot version " + version + ": " + directory);
+      int count = in.readInt();
+      currentLevel = in.readInt();
+      layoutChunks = new String[count];
+      entityChunks = new String[count];
+      for (int i = 0; i < count; i++) {
+        layoutChunks[i] = readString(in);
+        entityChunks[i] = readString(in);
+      }
+    }
+    levels = new TileLevel[layoutChunks.length];
+    doorLinks = new List[layoutChunks.length];
+  }
+
+  /**
+   * Get the number of levels in the snapshot.
+   *
+   * @return The number of levels.
+   */
+  public int levelCount() {
+    return levels.length;
+  }
+
+  /**
+   * Get the index of the level that was the current level when the snapshot was saved.
+   *
+   * @return The index of the current level, or -1 if there was no current level.
+   */
+  public int currentLevel() {
+    return currentLevel;
+  }
+
+  /**
+   * Get the level with the given index.
+   *
+   * <p>The level is read the first time it is requested; later calls return the same level.
+   *
+   * @param index Index of the level (0 to {@link #levelCount()} - 1).
+   * @return The level.
+   * @throws IOException If the level could not be read.
+   */
+  public TileLevel level(int index) throws IOException {
+    if (levels[index] == null) {
+      SnapshotFormat.DecodedLevel decoded;
+      try {
+        decoded = SnapshotFormat.decodeLevel(map(layoutChunks[index]));
+      } catch (BufferUnderflowException | IllegalArgumentException | ClassCastException e) {
+        throw new IOException("Corrupt level in the snapshot: " + layoutChunks[index], e);
+      }
+      levels[index] = decoded.level();
+      doorLinks[index] = decoded.doorLinks();
+      linkDoors(index);
+    }
+    return levels[index];
+  }
+
+  /**
+   * Create the entities of the level with the given index.
+   *
+   * <p>Each call creates new entities. The entities are not added to the game.
+   *
+   * @param index Index of the level (0 to {@link #levelCount()} - 1).
+   * @return The entities of the level.
+   * @throws IOException If the entities could not be read.
+   */
+  public List<Entity> entities(int index) throws IOException {
+    try {
+      return SnapshotFormat.decodeEntities(map(entityChunks[index]), codecs, serializable);
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Corrupt entities in the snapshot: " + entityChunks[index], e);
+    }
+  }
+
+  /**
+   * Save the levels and entities of the game, which was resumed from this snapshot, into the given
+   * directory.
+   *
+   * <p>The levels of this snapshot that were not requested yet are saved as well, see {@link
+   * Snapshot#save(Path, SnapshotReader)}. Must be called on the game thread between two frames.
+   *
+   * @param directory Directory of the snapshot; created if it does not exist.
+   * @return A future that completes when the snapshot is written, or completes exceptionally if
+   *     writing failed.
+   */
+  public CompletableFuture<Void> save(final Path directory) {
+    return Snapshot.save(directory, this);
+  }
+
+  /**
+   * Get the level with the given index if it was already read.
+   *
+   * @param index Index of the level.
+   * @return The level, or null if it was not requested yet.
+   */
+  TileLevel loadedLevel(int index) {
+    return levels[index];
+  }
+
+  /**
+   * Get the links of the doors of the given level, as read from the snapshot.
+   *
+   * @param index Index of a level that was already read.
+   * @return The door links, empty if the level was not read yet.
+   */
+  List<SnapshotFormat.DoorLink> doorLinks(int index) {
+    return doorLinks[index] == null ? List.of() : doorLinks[index];
+  }
+
+  /**
+   * Get the directory of the snapshot.
+   *
+   * @return The directory of the snapshot.
+   */
+  Path directory() {
+    return directory;
+  }
+
+  /**
+   * Get the name of the layout chunk of the given level.
+   *
+   * @param index Index of the level.
+   * @return The file name of the layout chunk.
+   */
+  String layoutChunk(int index) {
+    return layoutChunks[index];
+  }
+
+  /**
+   * Get the name of the entity chunk of the given level.
+   *
+   * @param index Index of the level.
+   * @return The file name of the entity chunk.
+   */
+  String entityChunk(int index) {
+    return entityChunks[index];
+  }
+
+  // link the doors of the level with the doors of the levels that were read before
+  private void linkDoors(int index) {
+    for (int i = 0; i < levels.length; i++) {
+      if (levels[i] == null) continue;
+      for (SnapshotFormat.DoorLink link : doorLinks[i]) {
+        int other = link.otherLevel();
+        if ((i == index || other == index) && other < levels.length && levels[other] != null)
+          door(i, link.door()).otherDoor(door(other, link.otherDoor()));
+      }
+    }
+  }
+
+  private DoorTile door(int level, int index) {
+    int width = levels[level].size().a();
+    return (DoorTile) levels[level].tileAt(new Coordinate(index % width, index / width));
+  }
+
+  private ByteBuffer map(final String chunk) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(directory.resolve(chunk), StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    byte[] data = new byte[in.readInt()];
+    in.readFully(data);
+    return new String(data, StandardCharsets.UTF_8);
+  }
+}
@@ -2,6 +2,7 @@ package core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
@@ -116,5 +117,106 @@ public class SystemTest {
     assertTrue(stream.contains(e2));
   }
 
+  /**
+   * Tests the forEachEntity method. Ensures that each matching entity is visited once and that the
+   * component can be read from the view.
+   */
+  @Test
+  public void forEachEntity() {
+    Entity e1 = new Entity();
+    Entity e2 = new Entity();
+    DummyComponent dc = new DummyComponent();
+    e1.add(dc);
+    Game.add(e1);
+    Game.add(e2);
+    List<Entity> visited = new ArrayList<>();
+    testSystem.forEachEntity(
+        view -> {
+          visited.add(view.entity());
+          assertSame(dc, view.fetch(DummyComponent.class));
+        });
+    assertEquals(List.of(e1), visited);
+  }
+
+  /**
+   * Tests the forEachEntity method while entities are removed. Ensures that removed entities are
+   * skipped and that the remaining entities are still visited afterward.
+   */
+  @Test
+  public void forEachEntity_remove_while_iterating() {
+    List<Entity> entities = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Entity e = new Entity();
+      e.add(new DummyComponent());
+      Game.add(e);
+      entities.add(e);
+    }
+    List<Entity> visited = new ArrayList<>();
+    testSystem.forEachEntity(
+        view -> {
+          visited.add(view.entity());
+          // remove the next entity, it must not be visited
+          int next = entities.indexOf(view.entity()) + 1;
+          if (next < entities.size()) Game.remove(entities.get(next));
+        });
+    assertEquals(List.of(entities.get(0), entities.get(2), entities.get(4)), visited);
+
+    List<Entity> remaining = new ArrayList<>();
+    testSystem.forEachEntity(view -> remaining.add(view.entity()));
+    assertEquals(3, remaining.size());
+    assertTrue(visited.containsAll(remaining));
+  }
+
+  /**
+   * Tests adding and removing a component of an entity in the game. Ensures that the system is
+   * informed if the entity starts or stops matching its filter rules.
+   */
+  @Test
+  public void componentChange_entity_in_game() {
+    Game.add(testSystem);
+    Entity e = new Entity();
+    Game.add(e);
+    assertFalse(onAdd[0]);
+    e.add(new DummyComponent());
+    assertTrue(onAdd[0]);
+    assertTrue(testSystem.filteredEntityStream().toList().contains(e));
+    e.remove(DummyComponent.class);
+    assertTrue(onRemove[0]);
+    assertFalse(testSystem.filteredEntityStream().toList().contains(e));
+  }
+
+  /**
+   * Tests changing a component that is not part of the filter rules. Ensures that the system keeps
+   * the entity and is not informed.
+   */
+  @Test
+  public void componentChange_other_component() {
+    Game.add(testSystem);
+    Entity e = new Entity();
+    e.add(new DummyComponent());
+    Game.add(e);
+    onAdd[0] = false;
+    e.add(new OtherComponent());
+    e.remove(OtherComponent.class);
+    assertFalse(onAdd[0]);
+    assertFalse(onRemove[0]);
+    assertTrue(testSystem.filteredEntityStream().toList().contains(e));
+  }
+
+  /**
+   * Tests adding a component to an entity that is not in the game. Ensures that the system is not
+   * informed.
+   */
+  @Test
+  public void componentChange_entity_not_in_game() {
+    Game.add(testSystem);
+    Entity e = new Entity();
+    e.add(new DummyComponent());
+    assertFalse(onAdd[0]);
+    assertFalse(testSystem.filteredEntityStream().toList().contains(e));
+  }
+
   private static class DummyComponent implements Component {}
+
+  private static class OtherComponent implements Component {}
 }
@@ -1,11 +1,18 @@
 package core.components;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import core.utils.components.draw.Animation;
+import core.utils.components.draw.AnimationCache;
 import core.utils.components.draw.CoreAnimations;
 import core.utils.components.path.IPath;
 import core.utils.components.path.SimpleIPath;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -74,4 +81,28 @@ public class DrawComponentTest {
     assertTrue(animationComponent.hasAnimation(CoreAnimations.RUN_LEFT));
     assertFalse(animationComponent.hasAnimation(CoreAnimations.RUN_DOWN));
   }
+
+  /** Components of the same path share the frames, but not the animations. */
+  @Test
+  public void sharedFrames() throws IOException {
+    DrawComponent other = new DrawComponent(animationPath);
+    Animation animation = animationComponent.animation(CoreAnimations.RUN_LEFT).orElseThrow();
+    Animation otherAnimation = other.animation(CoreAnimations.RUN_LEFT).orElseThrow();
+
+    assertNotSame(animation, otherAnimation);
+    assertSame(
+        AnimationCache.instance().frames(animationPath).orElseThrow(),
+        AnimationCache.instance().frames(animationPath).orElseThrow());
+    assertEquals(animation.animationFrames(), otherAnimation.animationFrames());
+
+    animation.loop(false);
+    assertTrue(otherAnimation.isLooping());
+  }
+
+  /** A missing asset directory is reported as FileNotFoundException. */
+  @Test
+  public void missingPath() {
+    assertThrows(
+        FileNotFoundException.class, () -> new DrawComponent(new SimpleIPath("does/not/exist")));
+  }
 }
@@ -1,7 +1,9 @@
 package core.components;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import core.utils.IVoidFunction;
 import core.utils.Point;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,4 +28,20 @@ public class PositionComponentTest {
     positionComponent.position(newPoint);
     assertTrue(newPoint.equals(positionComponent.position()));
   }
+
+  /** Every position listener is executed, until it is removed. */
+  @Test
+  public void positionListeners() {
+    int[] calls = new int[2];
+    IVoidFunction first = () -> calls[0]++;
+    positionComponent.addPositionListener(first);
+    positionComponent.addPositionListener(() -> calls[1]++);
+
+    positionComponent.position(new Point(1, 1));
+    positionComponent.removePositionListener(first);
+    positionComponent.position(new Point(2, 2));
+
+    assertEquals(1, calls[0]);
+    assertEquals(2, calls[1]);
+  }
 }
@@ -0,0 +1,73 @@
+package core.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import core.Game;
+import core.System;
+import core.level.TileLevel;
+import core.level.generator.IGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.systems.DrawSystem;
+import core.systems.LevelSystem;
+import core.systems.VelocitySystem;
+import java.util.Arrays;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/** Tests for the {@link HeadlessLoop} class. */
+public class HeadlessLoopTest {
+
+  private TileLevel level;
+  private IGenerator generator;
+
+  /** Create a small level and a generator that returns it. */
+  @BeforeEach
+  public void setup() {
+    LevelElement[][] layout = new LevelElement[3][3];
+    for (LevelElement[] row : layout) Arrays.fill(row, LevelElement.FLOOR);
+    level = new TileLevel(layout, DesignLabel.DEFAULT);
+    generator = Mockito.mock(IGenerator.class);
+    when(generator.level(any(), any())).thenReturn(level);
+  }
+
+  /** WTF? . */
+  @AfterEach
+  public void cleanup() {
+    Game.removeAllEntities();
+    Game.removeAllSystems();
+    Game.currentLevel(null);
+  }
+
+  /** The first tick loads the level and adds the default systems. */
+  @Test
+  public void run_loadsLevel() {
+    HeadlessLoop loop = new HeadlessLoop(generator, 60);
+    loop.run(5);
+    assertEquals(5, loop.ticks());
+    assertEquals(5 / 60f, loop.simulatedTime(), 0.0001f);
+    assertEquals(level, Game.currentLevel());
+    assertTrue(Game.systems().containsKey(LevelSystem.class));
+    assertTrue(Game.systems().containsKey(VelocitySystem.class));
+  }
+
+  /** Skipped systems are not added. */
+  @Test
+  public void add_skipsSystems() {
+    HeadlessLoop loop = new HeadlessLoop(generator, 60).skip(DummySystem.class);
+    assertTrue(loop.add(new DummySystem()).isEmpty());
+    assertFalse(Game.systems().containsKey(DummySystem.class));
+    assertFalse(Game.systems().containsKey(DrawSystem.class));
+  }
+
+  private static final class DummySystem extends System {
+    @Override
+    public void execute() {}
+  }
+}
@@ -0,0 +1,128 @@
+package core.level;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link CompactTileLevel} class. */
+public class CompactTileLevelTest {
+
+  private LevelElement[][] layout;
+
+  /** Create a layout with two ways around a wall. */
+  @BeforeEach
+  public void setup() {
+    /* How the level layout looks: (F=Floor, W=Wall)
+    WWWWW
+    WFWFW
+    WFFFW
+    WFFFW
+    WWWWW */
+    layout = new LevelElement[5][5];
+    for (LevelElement[] row : layout) Arrays.fill(row, LevelElement.WALL);
+    for (int y = 1; y < 4; y++) for (int x = 1; x < 4; x++) layout[y][x] = LevelElement.FLOOR;
+    layout[1][2] = LevelElement.WALL;
+  }
+
+  /** The same seed chooses the same start and exit as a TileLevel. */
+  @Test
+  public void startAndExit_sameAsTileLevel() {
+    for (long seed = 0; seed < 10; seed++) {
+      CompactTileLevel compact = new CompactTileLevel(layout, DesignLabel.DEFAULT, seed);
+      TileLevel tileLevel = new TileLevel(layout, DesignLabel.DEFAULT, seed);
+      assertEquals(tileLevel.startTile().coordinate(), compact.startTile().coordinate());
+      assertEquals(tileLevel.endTile().coordinate(), compact.endTile().coordinate());
+      assertEquals(1, compact.exitTiles().size());
+    }
+  }
+
+  /** A tile is only created once. */
+  @Test
+  public void tileAt_sameInstance() {
+    CompactTileLevel level = new CompactTileLevel(layout, DesignLabel.DEFAULT, 1);
+    Tile tile = level.tileAt(new Coordinate(2, 2));
+    assertSame(tile, level.tileAt(new Coordinate(2, 2)));
+    assertSame(tile, level.layout()[2][2]);
+    assertSame(level, tile.level());
+    assertNull(level.tileAt(new Coordinate(5, 0)));
+  }
+
+  /** Only a limited number of tiles is kept, besides the tiles with their own state. */
+  @Test
+  public void tileAt_boundedCache() {
+    int size = 300;
+    LevelElement[][] large = new LevelElement[size][size];
+    for (LevelElement[] row : large) Arrays.fill(row, LevelElement.FLOOR);
+    large[1][1] = LevelElement.DOOR;
+    CompactTileLevel level = new CompactTileLevel(large, DesignLabel.DEFAULT, 1);
+    Coordinate floor = new Coordinate(0, 0);
+    Coordinate door = new Coordinate(1, 1);
+    Tile floorTile = level.tileAt(floor);
+    Tile doorTile = level.tileAt(door);
+
+    for (int y = 0; y < size; y++)
+      for (int x = 0; x < size; x++) level.tileAt(new Coordinate(x, y));
+
+    assertTrue(size * size > CompactTileLevel.MAX_CACHED_TILES);
+    assertNotSame(floorTile, level.tileAt(floor));
+    assertEquals(floor, level.tileAt(floor).coordinate());
+    assertSame(doorTile, level.tileAt(door));
+  }
+
+  /** The connections of a tile are only derived once. */
+  @Test
+  public void getConnections_stored() {
+    CompactTileLevel level = new CompactTileLevel(layout, DesignLabel.DEFAULT, 1);
+    Tile tile = level.tileAt(new Coordinate(2, 2));
+    assertSame(level.getConnections(tile), level.getConnections(tile));
+    assertEquals(3, level.getConnections(tile).size);
+
+    level.changeTileElementType(level.tileAt(new Coordinate(2, 1)), LevelElement.FLOOR);
+    assertEquals(4, level.getConnections(level.tileAt(new Coordinate(2, 2))).size);
+  }
+
+  /** Changing a tile type changes the textures like in a TileLevel. */
+  @Test
+  public void changeTileElementType_sameTexturesAsTileLevel() {
+    CompactTileLevel compact = new CompactTileLevel(layout, DesignLabel.DEFAULT, 1);
+    TileLevel tileLevel = new TileLevel(layout, DesignLabel.DEFAULT, 1);
+    Coordinate wall = new Coordinate(2, 1);
+    compact.tileAt(wall).tintColor(0x00FF00FF);
+    compact.tileAt(new Coordinate(1, 1)).texturePath();
+    compact.changeTileElementType(compact.tileAt(wall), LevelElement.FLOOR);
+    tileLevel.changeTileElementType(tileLevel.tileAt(wall), LevelElement.FLOOR);
+
+    assertEquals(LevelElement.FLOOR, compact.tileAt(wall).levelElement());
+    assertEquals(0x00FF00FF, compact.tileAt(wall).tintColor());
+    for (int y = 0; y < layout.length; y++)
+      for (int x = 0; x < layout[0].length; x++) {
+        Coordinate coordinate = new Coordinate(x, y);
+        assertEquals(
+            tileLevel.tileAt(coordinate).texturePath().pathString(),
+            compact.tileAt(coordinate).texturePath().pathString());
+      }
+  }
+
+  /** The connections follow the changed tile types. */
+  @Test
+  public void findPath_changedConnections() {
+    CompactTileLevel level = new CompactTileLevel(layout, DesignLabel.DEFAULT, 1);
+    Tile start = level.tileAt(new Coordinate(1, 1));
+    Tile end = level.tileAt(new Coordinate(3, 1));
+    assertFalse(level.getConnections(level.tileAt(new Coordinate(0, 0))).notEmpty());
+    assertEquals(5, level.findPath(start, end).getCount());
+
+    level.changeTileElementType(level.tileAt(new Coordinate(2, 1)), LevelElement.FLOOR);
+    assertEquals(3, level.findPath(start, end).getCount());
+  }
+}
@@ -741,4 +741,33 @@ public class TileLevelTest {
     assertNotEquals(LevelElement.WALL, level.tileAt(new Coordinate(1, 0)).levelElement());
     assertEquals(3, counter.get());
   }
+
+  /** Changes of a tile change the version of its region, unchanged values do not. */
+  @Test
+  public void test_regionVersion_tileChanged() {
+    Tile[][] tileLayout =
+        new Tile[][] {
+          {
+            new WallTile(new SimpleIPath(""), new Coordinate(0, 0), DesignLabel.DEFAULT),
+            new FloorTile(new SimpleIPath(""), new Coordinate(1, 0), DesignLabel.DEFAULT)
+          },
+          {
+            new WallTile(new SimpleIPath(""), new Coordinate(0, 1), DesignLabel.DEFAULT),
+            new ExitTile(new SimpleIPath(""), new Coordinate(1, 1), DesignLabel.DEFAULT)
+          }
+        };
+    TileLevel tileLevel = new TileLevel(tileLayout);
+    int version = tileLevel.regionVersion(0, 0);
+
+    tileLayout[0][1].visible(true);
+    assertEquals(version, tileLevel.regionVersion(0, 0));
+
+    tileLayout[0][1].visible(false);
+    assertNotEquals(version, tileLevel.regionVersion(0, 0));
+
+    version = tileLevel.regionVersion(0, 0);
+    tileLayout[1][0].tintColor(0xFF0000FF);
+    assertNotEquals(version, tileLevel.regionVersion(0, 0));
+    assertEquals(0, tileLevel.regionVersion(1, 1));
+  }
 }
@@ -503,4 +503,40 @@ public class TileTextureFactoryTest {
                     layout[coordinate.y][coordinate.x], design, layout, coordinate))
             .pathString());
   }
+
+  /**
+   * The texture of a tile, found with its neighbourhood in the tile layout, should be the same as
+   * the texture found with the whole layout.
+   */
+  @Test
+  public void test_findTexturePath_tile_sameAsWholeLayout() {
+    Tile[][] tiles = new TileLevel(layout, design).layout();
+    for (int y = 0; y < layout.length; y++) {
+      for (int x = 0; x < layout[0].length; x++) {
+        Coordinate coordinate = new Coordinate(x, y);
+        assertEquals(
+            TileTextureFactory.findTexturePath(
+                    new TileTextureFactory.LevelPart(layout[y][x], design, layout, coordinate))
+                .pathString(),
+            TileTextureFactory.findTexturePath(tiles[y][x], tiles).pathString(),
+            "Texture of " + coordinate);
+      }
+    }
+  }
+
+  /** Changing the type of a tile should change the textures of the neighbours. */
+  @Test
+  public void test_changeTileElementType_retexturesNeighbours() {
+    TileLevel level = new TileLevel(layout, design);
+    level.changeTileElementType(level.tileAt(new Coordinate(2, 4)), LevelElement.FLOOR);
+    assertEquals(
+        targetTexture + "floor/floor_1.png",
+        level.tileAt(new Coordinate(2, 4)).texturePath().pathString());
+    assertEquals(
+        targetTexture + "floor/empty.png",
+        level.tileAt(new Coordinate(1, 4)).texturePath().pathString());
+    assertEquals(
+        targetTexture + "wall/wall_inner_corner_bottom_left.png",
+        level.tileAt(new Coordinate(3, 4)).texturePath().pathString());
+  }
 }
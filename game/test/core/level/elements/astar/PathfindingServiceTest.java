@@ -0,0 +1,115 @@
+package core.level.elements.astar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.GraphPath;
+import core.level.Tile;
+import core.level.TileLevel;
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link PathfindingService} class. */
+public class PathfindingServiceTest {
+
+  private TileLevel level;
+
+  /** Create a level with two ways around a wall. */
+  @BeforeEach
+  public void setup() {
+    /* How the level layout looks: (F=Floor, W=Wall)
+    FWF
+    FFF
+    FFF */
+    LevelElement[][] layout = new LevelElement[3][3];
+    for (LevelElement[] row : layout) Arrays.fill(row, LevelElement.FLOOR);
+    layout[0][1] = LevelElement.WALL;
+    level = new TileLevel(layout, DesignLabel.DEFAULT);
+  }
+
+  /** Cached paths are returned as copies. */
+  @Test
+  public void findPath_cached() {
+    Tile start = level.tileAt(new Coordinate(0, 0));
+    Tile end = level.tileAt(new Coordinate(2, 0));
+    GraphPath<Tile> first = level.pathfinding().findPath(start, end);
+    GraphPath<Tile> second = level.pathfinding().findPath(start, end);
+    assertNotSame(first, second);
+    assertEquals(5, first.getCount());
+    for (int i = 0; i < first.getCount(); i++) assertEquals(first.get(i), second.get(i));
+  }
+
+  /** The given path is cleared and filled again, so callers can reuse it. */
+  @Test
+  public void reusedPath() {
+    Tile start = level.tileAt(new Coordinate(0, 0));
+    Tile end = level.tileAt(new Coordinate(2, 0));
+    Tile other = level.tileAt(new Coordinate(2, 2));
+    GraphPath<Tile> path = new DefaultGraphPath<>();
+
+    assertSame(path, level.pathfinding().findPath(start, end, path));
+    assertEquals(5, path.getCount());
+    assertSame(path, level.pathfinding().flowPath(other, end, path));
+    assertEquals(3, path.getCount());
+    assertEquals(other, path.get(0));
+    assertEquals(end, path.get(2));
+    level.pathfinding().findPath(start, end, path);
+    assertEquals(5, path.getCount());
+    assertEquals(start, path.get(0));
+  }
+
+  /** The flow field finds a path as short as A*. */
+  @Test
+  public void flowPath() {
+    Tile goal = level.tileAt(new Coordinate(2, 0));
+    Tile start = level.tileAt(new Coordinate(0, 0));
+    GraphPath<Tile> path = level.pathfinding().flowPath(start, goal);
+    assertEquals(level.findPath(start, goal).getCount(), path.getCount());
+    assertEquals(start, path.get(0));
+    assertEquals(goal, path.get(path.getCount() - 1));
+
+    // same field, other start
+    Tile other = level.tileAt(new Coordinate(2, 2));
+    assertEquals(3, level.pathfinding().flowPath(other, goal).getCount());
+    assertEquals(1, level.pathfinding().flowPath(goal, goal).getCount());
+  }
+
+  /** Starts outside the range of the flow field still get a shortest path. */
+  @Test
+  public void flowPath_outsideRange() {
+    int length = (int) PathfindingService.FLOW_FIELD_RANGE * 2;
+    LevelElement[][] layout = new LevelElement[1][length];
+    Arrays.fill(layout[0], LevelElement.FLOOR);
+    TileLevel corridor = new TileLevel(layout, DesignLabel.DEFAULT);
+    Tile goal = corridor.tileAt(new Coordinate(0, 0));
+    Tile near = corridor.tileAt(new Coordinate(3, 0));
+    Tile far = corridor.tileAt(new Coordinate(length - 1, 0));
+
+    assertEquals(4, corridor.pathfinding().flowPath(near, goal).getCount());
+    GraphPath<Tile> path = corridor.pathfinding().flowPath(far, goal);
+    assertEquals(length, path.getCount());
+    assertEquals(far, path.get(0));
+    assertEquals(goal, path.get(path.getCount() - 1));
+  }
+
+  /** Changing the connections invalidates the cached paths. */
+  @Test
+  public void invalidate_onChangedConnections() {
+    Tile start = level.tileAt(new Coordinate(0, 0));
+    Tile end = level.tileAt(new Coordinate(2, 0));
+    assertEquals(5, level.findPath(start, end).getCount());
+    assertEquals(5, level.pathfinding().flowPath(start, end).getCount());
+
+    level.changeTileElementType(level.tileAt(new Coordinate(1, 0)), LevelElement.FLOOR);
+    start = level.tileAt(new Coordinate(0, 0));
+    end = level.tileAt(new Coordinate(2, 0));
+    assertEquals(3, level.findPath(start, end).getCount());
+    assertEquals(3, level.pathfinding().flowPath(start, end).getCount());
+  }
+}
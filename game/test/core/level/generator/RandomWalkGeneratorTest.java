@@ -1,9 +1,13 @@
 package core.level.generator;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import core.level.elements.ILevel;
 import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelSize;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -30,4 +34,16 @@ public class RandomWalkGeneratorTest {
     // can be beaten.
     assert ((level.findPath(level.startTile(), level.endTile()).getCount() > 0));
   }
+
+  /** WTF? . */
+  @Test
+  public void test_getLevel_sameSeed() {
+    ILevel a = new RandomWalkGenerator(42).level(DesignLabel.DEFAULT, LevelSize.SMALL);
+    ILevel b = new RandomWalkGenerator(42).level(DesignLabel.DEFAULT, LevelSize.SMALL);
+    assertArrayEquals(
+        new RandomWalkGenerator(7).layout(LevelSize.SMALL),
+        new RandomWalkGenerator(7).layout(LevelSize.SMALL));
+    assertEquals(a.startTile().coordinate(), b.startTile().coordinate());
+    assertEquals(a.endTile().coordinate(), b.endTile().coordinate());
+  }
 }
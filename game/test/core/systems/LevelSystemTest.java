@@ -0,0 +1,81 @@
+package core.systems;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import core.Game;
+import core.level.elements.ILevel;
+import core.level.generator.IGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.level.utils.LevelSize;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/** Tests for the pre-generation of the {@link LevelSystem}. */
+public class LevelSystemTest {
+
+  private final List<ILevel> generated = new CopyOnWriteArrayList<>();
+  private final Map<ILevel, LevelSize> sizes = new ConcurrentHashMap<>();
+  private LevelSize previousSize;
+  private LevelSystem system;
+
+  /** Create a level system whose generator records the generated levels. */
+  @BeforeEach
+  public void setup() {
+    previousSize = LevelSystem.levelSize();
+    LevelSystem.levelSize(LevelSize.SMALL);
+    IGenerator generator =
+        new IGenerator() {
+          @Override
+          public ILevel level(DesignLabel designLabel, LevelSize size) {
+            ILevel level = Mockito.mock(ILevel.class);
+            sizes.put(level, size);
+            generated.add(level);
+            return level;
+          }
+
+          @Override
+          public LevelElement[][] layout(LevelSize size) {
+            return new LevelElement[0][0];
+          }
+        };
+    system = new LevelSystem(null, generator, () -> {});
+    system.pregenerate(true);
+  }
+
+  /** Restore the static configuration of the level system. */
+  @AfterEach
+  public void cleanup() {
+    system.pregenerate(false);
+    LevelSystem.levelSize(previousSize);
+    Game.currentLevel(null);
+  }
+
+  /** A pre-generated level with the wanted configuration is used. */
+  @Test
+  public void pregeneratedLevel_matches() {
+    system.loadLevel(LevelSize.SMALL, DesignLabel.DEFAULT);
+    system.loadLevel(LevelSize.SMALL);
+
+    // the first level was loaded directly, the second one was pre-generated
+    assertSame(generated.get(1), LevelSystem.level());
+  }
+
+  /** A pre-generated level with another configuration is discarded. */
+  @Test
+  public void pregeneratedLevel_otherSize() {
+    system.loadLevel(LevelSize.SMALL, DesignLabel.DEFAULT);
+    system.loadLevel(LevelSize.LARGE, DesignLabel.DEFAULT);
+
+    assertEquals(LevelSize.LARGE, sizes.get(LevelSystem.level()));
+    assertNotSame(generated.get(0), LevelSystem.level());
+  }
+}
@@ -1,5 +1,6 @@
 package core.systems;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -15,6 +16,7 @@ import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.utils.Point;
 import core.utils.Tuple;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -87,4 +89,22 @@ public class PositionSystemTest {
     system.execute();
     assertFalse(pc.position().equals(point));
   }
+
+  /** A replaced position component is indexed instead of the old one. */
+  @Test
+  public void test_replacedComponent() {
+    pc.position(new Point(1.5f, 2.5f));
+    assertFalse(system.index().isEmpty(1, 2));
+
+    PositionComponent replacement = new PositionComponent(3.5f, 4.5f);
+    entity.add(replacement);
+    assertTrue(system.index().isEmpty(1, 2));
+    assertEquals(List.of(entity), system.index().entitiesAt(3, 4));
+
+    // only the new component moves the entity in the index
+    pc.position(new Point(5.5f, 5.5f));
+    assertTrue(system.index().isEmpty(5, 5));
+    replacement.position(new Point(6.5f, 6.5f));
+    assertEquals(List.of(entity), system.index().entitiesAt(6, 6));
+  }
 }
@@ -0,0 +1,98 @@
+package core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link BatchWriter} class. */
+public class BatchWriterTest {
+
+  // records the items and the size of the batches
+  private static class RecordingSink implements BatchWriter.Sink<Integer> {
+    private final List<Integer> items = new CopyOnWriteArrayList<>();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Override
+    public void write(final List<Integer> batch) {
+      items.addAll(batch);
+      batchSizes.add(batch.size());
+    }
+
+    @Override
+    public void close() {
+      closed.incrementAndGet();
+    }
+  }
+
+  /** All items are written in order, and the sink is closed once. */
+  @Test
+  public void close_writesRemaining() {
+    RecordingSink sink = new RecordingSink();
+    BatchWriter<Integer> writer = new BatchWriter<>("test-writer", 100, 8, sink);
+    for (int i = 0; i < 50; i++) assertTrue(writer.offer(i));
+    writer.close();
+    assertEquals(50, sink.items.size());
+    for (int i = 0; i < 50; i++) assertEquals(i, sink.items.get(i));
+    assertTrue(sink.batchSizes.stream().allMatch(size -> size > 0 && size <= 8));
+    assertEquals(1, sink.closed.get());
+  }
+
+  /** Items are rejected after the writer was closed. */
+  @Test
+  public void offer_afterClose() throws InterruptedException {
+    RecordingSink sink = new RecordingSink();
+    BatchWriter<Integer> writer = new BatchWriter<>("test-writer", 10, 8, sink);
+    writer.close();
+    assertTrue(writer.isClosed());
+    assertFalse(writer.offer(1));
+    assertFalse(writer.put(2));
+    assertTrue(sink.items.isEmpty());
+  }
+
+  /** Items are rejected while the queue is full. */
+  @Test
+  public void offer_full() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch writing = new CountDownLatch(1);
+    RecordingSink sink =
+        new RecordingSink() {
+          @Override
+          public void write(final List<Integer> batch) {
+            writing.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            super.write(batch);
+          }
+        };
+    BatchWriter<Integer> writer = new BatchWriter<>("test-writer", 1, 8, sink);
+    assertTrue(writer.offer(0));
+    writing.await();
+    assertTrue(writer.offer(1));
+    assertFalse(writer.offer(2));
+    release.countDown();
+    writer.close();
+    assertEquals(List.of(0, 1), sink.items);
+  }
+
+  /** Flush waits until the items added before are written. */
+  @Test
+  public void flush() throws InterruptedException {
+    RecordingSink sink = new RecordingSink();
+    BatchWriter<Integer> writer = new BatchWriter<>("test-writer", 100, 8, sink);
+    for (int i = 0; i < 20; i++) writer.offer(i);
+    writer.flush();
+    assertEquals(20, sink.items.size());
+    assertEquals(0, sink.closed.get());
+    writer.close();
+  }
+}
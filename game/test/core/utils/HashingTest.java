@@ -0,0 +1,30 @@
+package core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link Hashing} class. */
+public class HashingTest {
+
+  private static final String ABC_HASH =
+      "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+  /** The hash of a text matches the known SHA-256 hash of its UTF-8 bytes. */
+  @Test
+  public void sha256Hex() {
+    assertEquals(ABC_HASH, Hashing.sha256Hex("abc"));
+    assertEquals(ABC_HASH, Hashing.sha256Hex("abc".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** Hashing the data in parts results in the same hash. */
+  @Test
+  public void hex_parts() {
+    MessageDigest digest = Hashing.sha256();
+    digest.update((byte) 'a');
+    digest.update("bc".getBytes(StandardCharsets.UTF_8));
+    assertEquals(ABC_HASH, Hashing.hex(digest));
+  }
+}
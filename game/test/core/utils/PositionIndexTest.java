@@ -0,0 +1,74 @@
+package core.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.Entity;
+import core.components.PositionComponent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link PositionIndex} class. */
+public class PositionIndexTest {
+
+  private PositionIndex index;
+  private Entity entity;
+  private PositionComponent pc;
+
+  /** Index one entity on tile (1, 2). */
+  @BeforeEach
+  public void setup() {
+    index = new PositionIndex();
+    entity = new Entity();
+    pc = new PositionComponent(1.5f, 2.5f);
+    entity.add(pc);
+    index.add(entity, pc);
+  }
+
+  /** The entity is found on its tile. */
+  @Test
+  public void entitiesAt() {
+    assertEquals(List.of(entity), index.entitiesAt(1, 2));
+    assertTrue(index.entitiesAt(2, 2).isEmpty());
+    assertFalse(index.isEmpty(1, 2));
+    assertTrue(index.isEmpty(2, 2));
+  }
+
+  /** Changing the position moves the entity in the index. */
+  @Test
+  public void positionChange() {
+    pc.position(new Point(3.2f, 4.9f));
+    assertTrue(index.isEmpty(1, 2));
+    assertEquals(List.of(entity), index.entitiesAt(3, 4));
+  }
+
+  /** Removed entities are no longer indexed or updated. */
+  @Test
+  public void remove() {
+    index.remove(entity);
+    assertTrue(index.isEmpty(1, 2));
+    pc.position(new Point(3, 4));
+    assertTrue(index.isEmpty(3, 4));
+    assertEquals(0, index.size());
+  }
+
+  /** Only entities in the range are found. */
+  @Test
+  public void forEachInRange() {
+    Entity other = new Entity();
+    PositionComponent otherPc = new PositionComponent(5.5f, 2.5f);
+    other.add(otherPc);
+    index.add(other, otherPc);
+
+    List<Entity> found = new ArrayList<>();
+    index.forEachInRange(new Point(1.5f, 2.5f), 2, found::add);
+    assertEquals(List.of(entity), found);
+
+    found.clear();
+    index.forEachInRange(new Point(3.5f, 2.5f), 2, found::add);
+    assertEquals(2, found.size());
+  }
+}
@@ -0,0 +1,83 @@
+package core.utils.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the {@link AsyncFileHandler} class. */
+public class AsyncFileHandlerTest {
+
+  // a fixed format that does not depend on the locale of the test machine
+  private static final class TestFormatter extends Formatter {
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String format(final LogRecord record) {
+      threads.add(Thread.currentThread().getName());
+      return record.getLevel().getName()
+          + ": "
+          + formatMessage(record)
+          + " ("
+          + record.getSourceClassName()
+          + " "
+          + record.getSourceMethodName()
+          + ")"
+          + System.lineSeparator();
+    }
+  }
+
+  private static Logger logger(final AsyncFileHandler handler) {
+    Logger logger = Logger.getAnonymousLogger();
+    logger.setUseParentHandlers(false);
+    logger.setLevel(Level.ALL);
+    logger.addHandler(handler);
+    return logger;
+  }
+
+  /** All records are written in order when the handler is closed. */
+  @Test
+  public void publish(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("test.log");
+    AsyncFileHandler handler = new AsyncFileHandler(file, 1024);
+    TestFormatter formatter = new TestFormatter();
+    handler.setFormatter(formatter);
+    Logger logger = logger(handler);
+    for (int i = 0; i < 100; i++) logger.info("message " + i);
+    handler.close();
+
+    List<String> messages = Files.readAllLines(file);
+    assertEquals(100, messages.size());
+    String caller = " (" + AsyncFileHandlerTest.class.getName() + " publish)";
+    for (int i = 0; i < 100; i++) assertEquals("INFO: message " + i + caller, messages.get(i));
+    // the records are formatted on the logging thread
+    String thread = Thread.currentThread().getName();
+    assertTrue(formatter.threads.stream().allMatch(thread::equals));
+    assertEquals(0, handler.dropped());
+  }
+
+  /** If the queue is full, records below warning are dropped, warnings are not. */
+  @Test
+  public void fullQueue(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("test.log");
+    AsyncFileHandler handler = new AsyncFileHandler(file, 1);
+    handler.setFormatter(new TestFormatter());
+    Logger logger = logger(handler);
+    for (int i = 0; i < 1000; i++) logger.info("message " + i);
+    for (int i = 0; i < 10; i++) logger.log(Level.WARNING, "warning " + i);
+    handler.close();
+
+    String log = Files.readString(file);
+    for (int i = 0; i < 10; i++) assertTrue(log.contains("WARNING: warning " + i));
+    if (handler.dropped() > 0) assertTrue(log.contains("log records were dropped"));
+  }
+}
@@ -0,0 +1,204 @@
+package core.utils.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.Component;
+import core.Entity;
+import core.components.PositionComponent;
+import core.level.TileLevel;
+import core.level.elements.tile.DoorTile;
+import core.level.utils.Coordinate;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.utils.Point;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for the {@link Snapshot} and {@link SnapshotReader} classes. */
+public class SnapshotTest {
+
+  private static final Coordinate DOOR = new Coordinate(2, 0);
+
+  @TempDir private Path directory;
+  private TileLevel levelA;
+  private TileLevel levelB;
+  private Entity entity;
+
+  /** Create two levels with linked doors and an entity in the first level. */
+  @BeforeEach
+  public void setup() {
+    levelA = level();
+    levelB = level();
+    DoorTile doorA = (DoorTile) levelA.tileAt(DOOR);
+    DoorTile doorB = (DoorTile) levelB.tileAt(DOOR);
+    doorA.otherDoor(doorB);
+    doorB.otherDoor(doorA);
+    doorA.close();
+    levelA.tileAt(new Coordinate(1, 1)).tintColor(0x00FF00FF);
+    levelA.tileAt(new Coordinate(2, 2)).visible(false);
+
+    entity = new Entity("hero");
+    entity.add(new PositionComponent(1.5f, 2.5f));
+  }
+
+  /** A saved snapshot restores the layout, the tile states, the door links, and the entities. */
+  @Test
+  public void saveAndOpen() throws Exception {
+    save();
+
+    SnapshotReader reader = Snapshot.open(directory);
+    assertEquals(2, reader.levelCount());
+    assertEquals(0, reader.currentLevel());
+    TileLevel a = reader.level(0);
+    assertEquals(levelA.printLevel(), a.printLevel());
+    assertEquals(levelA.startTile().coordinate(), a.startTile().coordinate());
+    assertEquals(0x00FF00FF, a.tileAt(new Coordinate(1, 1)).tintColor());
+    assertFalse(a.tileAt(new Coordinate(2, 2)).visible());
+    assertFalse(((DoorTile) a.tileAt(DOOR)).isOpen());
+    assertSame(a, reader.level(0));
+
+    TileLevel b = reader.level(1);
+    assertSame(b.tileAt(DOOR), ((DoorTile) a.tileAt(DOOR)).otherDoor());
+    assertSame(a.tileAt(DOOR), ((DoorTile) b.tileAt(DOOR)).otherDoor());
+
+    List<Entity> entities = reader.entities(0);
+    assertEquals(1, entities.size());
+    assertEquals("hero", entities.get(0).name());
+    Point position = entities.get(0).fetch(PositionComponent.class).orElseThrow().position();
+    assertEquals(1.5f, position.x);
+    assertEquals(2.5f, position.y);
+    assertTrue(reader.entities(1).isEmpty());
+  }
+
+  /** Saving again only replaces the files of the changed level. */
+  @Test
+  public void save_incremental() throws Exception {
+    save();
+    Set<String> before = files();
+
+    levelB.tileAt(new Coordinate(1, 2)).tintColor(0xFF0000FF);
+    save();
+    Set<String> after = files();
+
+    // the chunks of level A and the entities did not change
+    assertEquals(before.size(), after.size());
+    before.retainAll(after);
+    assertEquals(after.size() - 1, before.size());
+  }
+
+  /** Saving a resumed game keeps the levels that were not loaded again. */
+  @Test
+  public void save_resumed() throws Exception {
+    levelB.tileAt(new Coordinate(1, 2)).tintColor(0xFF0000FF);
+    Entity monster = new Entity("monster");
+    monster.add(new PositionComponent(3f, 1f));
+    Snapshot.save(
+            directory,
+            List.of(levelA, levelB),
+            level -> level == levelA ? List.of(entity) : List.of(monster),
+            0)
+        .get();
+
+    // resume, only visit the first level, and save again
+    SnapshotReader resumed = Snapshot.open(directory);
+    TileLevel a = resumed.level(0);
+    a.tileAt(new Coordinate(3, 1)).tintColor(0x0000FFFF);
+    Snapshot.save(directory, List.of(a), a, level -> List.of(entity), resumed).get();
+
+    SnapshotReader reader = Snapshot.open(directory);
+    assertEquals(2, reader.levelCount());
+    assertEquals(0, reader.currentLevel());
+    TileLevel savedA = reader.level(0);
+    assertEquals(0x0000FFFF, savedA.tileAt(new Coordinate(3, 1)).tintColor());
+    TileLevel savedB = reader.level(1);
+    assertEquals(levelB.printLevel(), savedB.printLevel());
+    assertEquals(0xFF0000FF, savedB.tileAt(new Coordinate(1, 2)).tintColor());
+    assertSame(savedB.tileAt(DOOR), ((DoorTile) savedA.tileAt(DOOR)).otherDoor());
+    List<Entity> entities = reader.entities(1);
+    assertEquals(1, entities.size());
+    assertEquals("monster", entities.get(0).name());
+    assertEquals(1, reader.entities(0).size());
+  }
+
+  /** Registered serializable components are restored, other serialized classes are rejected. */
+  @Test
+  public void serializedComponents() throws Exception {
+    Snapshot.registerSerializable(Counter.class);
+    Snapshot.registerSerializable(Holder.class);
+    entity.add(new Counter(7, List.of("a", "b")));
+    // the field type is neither registered nor an allowed JDK type
+    entity.add(new Holder(new Date(0)));
+    entity.add(new Unregistered());
+    save();
+
+    Entity restored = Snapshot.open(directory).entities(0).get(0);
+    Counter counter = restored.fetch(Counter.class).orElseThrow();
+    assertEquals(7, counter.value);
+    assertEquals(List.of("a", "b"), counter.names);
+    assertFalse(restored.isPresent(Holder.class));
+    assertFalse(restored.isPresent(Unregistered.class));
+    assertTrue(restored.isPresent(PositionComponent.class));
+  }
+
+  /** The reader of a resumed game saves the levels that were not loaded again. */
+  @Test
+  public void save_reader() throws Exception {
+    save();
+
+    SnapshotReader resumed = Snapshot.open(directory);
+    resumed.level(0);
+    resumed.save(directory).get();
+
+    assertEquals(2, Snapshot.open(directory).levelCount());
+  }
+
+  private void save() throws Exception {
+    Snapshot.save(
+            directory,
+            List.of(levelA, levelB),
+            level -> level == levelA ? List.of(entity) : List.of(),
+            0)
+        .get();
+  }
+
+  private Set<String> files() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+    }
+  }
+
+  private record Counter(int value, List<String> names) implements Component, Serializable {}
+
+  private record Holder(Object payload) implements Component, Serializable {}
+
+  private static final class Unregistered implements Component, Serializable {}
+
+  private static TileLevel level() {
+    /* How the level layout looks: (F=Floor, W=Wall, D=Door, E=Exit)
+    WWDWW
+    WFFFW
+    WFFFW
+    WFFEW
+    WWWWW */
+    LevelElement[][] layout = new LevelElement[5][5];
+    for (LevelElement[] row : layout) Arrays.fill(row, LevelElement.WALL);
+    for (int y = 1; y < 4; y++) for (int x = 1; x < 4; x++) layout[y][x] = LevelElement.FLOOR;
+    layout[DOOR.y][DOOR.x] = LevelElement.DOOR;
+    layout[3][3] = LevelElement.EXIT;
+    return new TileLevel(layout, DesignLabel.DEFAULT);
+  }
+}